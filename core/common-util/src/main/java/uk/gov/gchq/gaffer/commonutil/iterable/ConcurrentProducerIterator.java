@@ -0,0 +1,329 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.commonutil.iterable;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+/**
+ * A {@link CloseableIterator} over the items added by several {@link Producer}s
+ * running concurrently. The items are passed to the iterator through a bounded
+ * queue, so the producers wait when the consumer falls behind. Items are
+ * returned in the order they are added, so the items from different producers
+ * are interleaved. Null items are supported.
+ * <p>
+ * The producers are run on the provided {@link ExecutorService}, or on a
+ * shared pool of daemon threads if none is provided or it rejects a producer.
+ * <p>
+ * If a producer fails, the other producers are stopped and the failure is
+ * thrown by the next call to {@link #hasNext()}, even if there are items left
+ * in the queue. Checked exceptions, and interruptions of the consumer, are
+ * wrapped using the exception factory.
+ * <p>
+ * Closing the iterator stops the producers. Producers that have not started
+ * are not run and, if they are {@link AutoCloseable}, are closed instead. If
+ * the consumer does not take an item from a full queue within the abandon
+ * timeout, the iterator is treated as abandoned: the producers are stopped and
+ * the next call to {@link #hasNext()} fails.
+ *
+ * @param <T> the type of items
+ */
+public class ConcurrentProducerIterator<T> implements CloseableIterator<T> {
+    public static final long DEFAULT_ABANDON_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConcurrentProducerIterator.class);
+    private static final long OFFER_TIMEOUT_MILLIS = 100L;
+    private static final Object END = new Object();
+    private static final Object NULL_ITEM = new Object();
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+    private static final ExecutorService EXECUTOR_SERVICE = Executors.newCachedThreadPool(runnable -> {
+        final Thread thread = new Thread(runnable, "concurrent-producer-" + THREAD_COUNT.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final BlockingQueue<Object> queue;
+    private final List<Task> tasks;
+    private final long abandonTimeoutMillis;
+    private final BiFunction<String, Throwable, ? extends RuntimeException> exceptionFactory;
+    private final Sink<T> sink = new QueueSink();
+    private int activeProducers;
+    private volatile boolean closed;
+    private volatile boolean stopped;
+    private volatile RuntimeException failure;
+    private boolean hasNext;
+    private T next;
+
+    /**
+     * Starts the producers on the shared pool of daemon threads.
+     *
+     * @param producers        the producers of the items
+     * @param queueSize        the maximum number of items to buffer
+     * @param exceptionFactory creates the exception to throw from a message and cause
+     */
+    public ConcurrentProducerIterator(final List<? extends Producer<T>> producers,
+                                      final int queueSize,
+                                      final BiFunction<String, Throwable, ? extends RuntimeException> exceptionFactory) {
+        this(producers, null, queueSize, DEFAULT_ABANDON_TIMEOUT_MILLIS, exceptionFactory);
+    }
+
+    /**
+     * Starts the producers on the executor service.
+     *
+     * @param producers            the producers of the items
+     * @param executorService      runs the producers, or null to use the shared pool of daemon threads
+     * @param queueSize            the maximum number of items to buffer
+     * @param abandonTimeoutMillis the maximum time to wait for the consumer to take an item from a full queue
+     * @param exceptionFactory     creates the exception to throw from a message and cause
+     */
+    public ConcurrentProducerIterator(final List<? extends Producer<T>> producers,
+                                      final ExecutorService executorService,
+                                      final int queueSize,
+                                      final long abandonTimeoutMillis,
+                                      final BiFunction<String, Throwable, ? extends RuntimeException> exceptionFactory) {
+        if (null == producers) {
+            throw new IllegalArgumentException("Producers are required");
+        }
+        if (queueSize < 1) {
+            throw new IllegalArgumentException("Queue size must be at least 1");
+        }
+        if (null == exceptionFactory) {
+            throw new IllegalArgumentException("An exception factory is required");
+        }
+        this.queue = new ArrayBlockingQueue<>(queueSize);
+        this.abandonTimeoutMillis = abandonTimeoutMillis;
+        this.exceptionFactory = exceptionFactory;
+        this.tasks = new ArrayList<>(producers.size());
+        for (final Producer<T> producer : producers) {
+            final Task task = new Task(producer);
+            tasks.add(task);
+            activeProducers++;
+            task.future = submit(null != executorService ? executorService : EXECUTOR_SERVICE, task);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!hasNext) {
+            if (closed) {
+                return false;
+            }
+            if (null != failure) {
+                close();
+                throw failure;
+            }
+            if (0 == activeProducers) {
+                close();
+                return false;
+            }
+
+            final Object item;
+            try {
+                item = queue.take();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                close();
+                throw exceptionFactory.apply("Interrupted whilst waiting for results", e);
+            }
+
+            if (END == item) {
+                activeProducers--;
+            } else if (!closed) {
+                next = NULL_ITEM == item ? null : (T) item;
+                hasNext = true;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        hasNext = false;
+        final T result = next;
+        next = null;
+        return result;
+    }
+
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            for (final Task task : tasks) {
+                if (task.started.compareAndSet(false, true)) {
+                    // The producer never started, so it will not be run
+                    task.future.cancel(false);
+                    CloseableUtil.close(task.producer);
+                } else {
+                    task.future.cancel(true);
+                }
+            }
+            queue.clear();
+            // Wake the consumer if it is waiting on another thread
+            queue.offer(END);
+        }
+    }
+
+    private Future<?> submit(final ExecutorService executorService, final Task task) {
+        try {
+            return executorService.submit(task);
+        } catch (final RejectedExecutionException e) {
+            if (EXECUTOR_SERVICE == executorService) {
+                throw e;
+            }
+            LOGGER.debug("Executor service is busy, so running producer on the shared pool");
+            return EXECUTOR_SERVICE.submit(task);
+        }
+    }
+
+    private void fail(final RuntimeException exception) {
+        synchronized (this) {
+            if (null == failure) {
+                failure = exception;
+            }
+        }
+        stopped = true;
+    }
+
+    private boolean offer(final Object item) {
+        final long deadline = System.currentTimeMillis() + abandonTimeoutMillis;
+        try {
+            while (!closed && !stopped) {
+                if (queue.offer(item, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                    return true;
+                }
+                if (System.currentTimeMillis() > deadline) {
+                    LOGGER.warn("No results were consumed for {}ms, so the producers have been stopped", abandonTimeoutMillis);
+                    fail(exceptionFactory.apply("No results were consumed for " + abandonTimeoutMillis
+                            + "ms, so the producers were stopped", null));
+                    return false;
+                }
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+
+    private void end() {
+        if (stopped) {
+            // The consumer will see the failure, this only wakes it if it is waiting
+            queue.offer(END);
+        } else {
+            offer(END);
+        }
+    }
+
+    /**
+     * Produces items by adding them to a {@link Sink}. A producer should stop
+     * and return as soon as the sink rejects an item or is closed.
+     *
+     * @param <T> the type of items
+     */
+    @FunctionalInterface
+    public interface Producer<T> {
+        void produce(final Sink<T> sink) throws Exception;
+    }
+
+    /**
+     * Accepts the items from a {@link Producer}.
+     *
+     * @param <T> the type of items
+     */
+    public interface Sink<T> {
+        /**
+         * Adds an item, waiting for space in the queue if necessary.
+         *
+         * @param item the item to add
+         * @return false if the item was not added because the producers have been stopped
+         */
+        boolean add(final T item);
+
+        /**
+         * @return true if the producers have been stopped
+         */
+        boolean isClosed();
+    }
+
+    private final class QueueSink implements Sink<T> {
+        @Override
+        public boolean add(final T item) {
+            return offer(null == item ? NULL_ITEM : item);
+        }
+
+        @Override
+        public boolean isClosed() {
+            return closed || stopped || Thread.currentThread().isInterrupted();
+        }
+    }
+
+    private final class Task implements Runnable {
+        private final Producer<T> producer;
+        private final AtomicBoolean started = new AtomicBoolean();
+        private Future<?> future;
+
+        private Task(final Producer<T> producer) {
+            this.producer = producer;
+        }
+
+        @Override
+        public void run() {
+            if (!started.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                if (closed || stopped) {
+                    CloseableUtil.close(producer);
+                    return;
+                }
+                producer.produce(sink);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                if (!closed) {
+                    fail(exceptionFactory.apply("Interrupted whilst producing results", e));
+                }
+            } catch (final RuntimeException e) {
+                if (!closed) {
+                    fail(e);
+                }
+            } catch (final Exception e) {
+                if (!closed) {
+                    fail(exceptionFactory.apply(e.getMessage(), e));
+                }
+            } finally {
+                end();
+            }
+        }
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.commonutil.iterable;
+
+import com.google.common.collect.Lists;
+import org.junit.Test;
+
+import java.io.Closeable;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ConcurrentProducerIteratorTest {
+    @Test
+    public void shouldReturnItemsFromAllProducers() {
+        // Given
+        final List<ConcurrentProducerIterator.Producer<Integer>> producers = Arrays.asList(
+                sink -> {
+                    sink.add(1);
+                    sink.add(2);
+                },
+                sink -> {
+                    sink.add(3);
+                    sink.add(null);
+                });
+
+        // When
+        final List<Integer> items;
+        try (final ConcurrentProducerIterator<Integer> iterator = new ConcurrentProducerIterator<>(producers, 1, RuntimeException::new)) {
+            items = Lists.newArrayList(iterator);
+        }
+
+        // Then
+        assertEquals(4, items.size());
+        assertTrue(items.containsAll(Arrays.asList(1, 2, 3, null)));
+    }
+
+    @Test
+    public void shouldThrowProducerFailureBeforeRemainingItems() throws InterruptedException {
+        // Given
+        final IllegalStateException exception = new IllegalStateException("Producer failed");
+        final CountDownLatch failed = new CountDownLatch(1);
+        final List<ConcurrentProducerIterator.Producer<Integer>> producers = Collections.singletonList(sink -> {
+            sink.add(1);
+            sink.add(2);
+            failed.countDown();
+            throw exception;
+        });
+
+        try (final ConcurrentProducerIterator<Integer> iterator = new ConcurrentProducerIterator<>(producers, 10, RuntimeException::new)) {
+            assertTrue(failed.await(5, TimeUnit.SECONDS));
+            Thread.sleep(100L);
+
+            // When / Then
+            try {
+                iterator.hasNext();
+                fail("Exception expected");
+            } catch (final IllegalStateException e) {
+                assertEquals(exception, e);
+            }
+            assertFalse(iterator.hasNext());
+        }
+    }
+
+    @Test
+    public void shouldWrapCheckedProducerFailures() {
+        // Given
+        final List<ConcurrentProducerIterator.Producer<Integer>> producers = Collections.singletonList(sink -> {
+            throw new Exception("Checked failure");
+        });
+
+        // When / Then
+        try (final ConcurrentProducerIterator<Integer> iterator = new ConcurrentProducerIterator<>(producers, 1, IllegalStateException::new)) {
+            iterator.hasNext();
+            fail("Exception expected");
+        } catch (final IllegalStateException e) {
+            assertEquals("Checked failure", e.getMessage());
+        }
+    }
+
+    @Test
+    public void shouldStopProducersWhenClosed() throws InterruptedException {
+        // Given
+        final CountDownLatch stopped = new CountDownLatch(1);
+        final List<ConcurrentProducerIterator.Producer<Integer>> producers = Collections.singletonList(sink -> {
+            int i = 0;
+            while (sink.add(i++)) {
+                // keep adding until the iterator is closed
+            }
+            stopped.countDown();
+        });
+        final ConcurrentProducerIterator<Integer> iterator = new ConcurrentProducerIterator<>(producers, 1, RuntimeException::new);
+        assertEquals(0, (int) iterator.next());
+
+        // When
+        iterator.close();
+
+        // Then
+        assertTrue(stopped.await(5, TimeUnit.SECONDS));
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    public void shouldStopProducersWhenIteratorIsAbandoned() throws InterruptedException {
+        // Given
+        final CountDownLatch stopped = new CountDownLatch(1);
+        final List<ConcurrentProducerIterator.Producer<Integer>> producers = Collections.singletonList(sink -> {
+            int i = 0;
+            while (sink.add(i++)) {
+                // keep adding until the iterator is abandoned
+            }
+            stopped.countDown();
+        });
+
+        // When
+        final ConcurrentProducerIterator<Integer> iterator = new ConcurrentProducerIterator<>(producers, null, 1, 200L, IllegalStateException::new);
+
+        // Then
+        assertTrue(stopped.await(5, TimeUnit.SECONDS));
+        try {
+            iterator.hasNext();
+            fail("Exception expected");
+        } catch (final IllegalStateException e) {
+            assertTrue(e.getMessage().contains("No results were consumed"));
+        }
+    }
+
+    @Test
+    public void shouldRunProducersOnSharedPoolWhenExecutorRejectsThem() {
+        // Given
+        final ExecutorService executorService = Executors.newSingleThreadExecutor();
+        executorService.shutdown();
+        final List<ConcurrentProducerIterator.Producer<Integer>> producers = Collections.singletonList(sink -> sink.add(1));
+
+        // When
+        final List<Integer> items;
+        try (final ConcurrentProducerIterator<Integer> iterator = new ConcurrentProducerIterator<>(producers, executorService, 1,
+                ConcurrentProducerIterator.DEFAULT_ABANDON_TIMEOUT_MILLIS, RuntimeException::new)) {
+            items = Lists.newArrayList(iterator);
+        }
+
+        // Then
+        assertEquals(Collections.singletonList(1), items);
+    }
+
+    @Test
+    public void shouldCloseProducersThatHaveNotStartedWhenClosed() throws InterruptedException {
+        // Given
+        final ExecutorService executorService = Executors.newSingleThreadExecutor();
+        final CountDownLatch started = new CountDownLatch(1);
+        final ClosingProducer notStarted = new ClosingProducer();
+        final List<ConcurrentProducerIterator.Producer<Integer>> producers = Arrays.asList(
+                sink -> {
+                    started.countDown();
+                    Thread.sleep(10000L);
+                },
+                notStarted);
+
+        try {
+            final ConcurrentProducerIterator<Integer> iterator = new ConcurrentProducerIterator<>(producers, executorService, 1,
+                    ConcurrentProducerIterator.DEFAULT_ABANDON_TIMEOUT_MILLIS, RuntimeException::new);
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            // When
+            iterator.close();
+
+            // Then
+            assertTrue(notStarted.closed);
+            assertFalse(notStarted.produced);
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    private static final class ClosingProducer implements ConcurrentProducerIterator.Producer<Integer>, Closeable {
+        private volatile boolean produced;
+        private volatile boolean closed;
+
+        @Override
+        public void produce(final ConcurrentProducerIterator.Sink<Integer> sink) {
+            produced = true;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
@@ -23,7 +23,9 @@ import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.Entity;
 import uk.gov.gchq.koryphe.tuple.predicate.KoryphePredicate2;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 
@@ -97,4 +99,37 @@ public class ElementJoinComparator extends KoryphePredicate2<Element, Element> {
 
         return true;
     }
+
+    /**
+     * Creates a key for an {@link Element} containing the values compared by
+     * {@link #test(Element, Element)}, so two elements have equal keys if and
+     * only if this comparator considers them equal. This allows elements to be
+     * matched using a hash lookup rather than comparing every pair.
+     * The group by properties must not be changed whilst the keys are in use.
+     *
+     * @param element the element to create the key for
+     * @return the join key, or null if the element is null
+     */
+    public List<Object> getJoinKey(final Element element) {
+        if (null == element) {
+            return null;
+        }
+
+        final List<Object> key = new ArrayList<>(5 + groupByProperties.size());
+        key.add(element.getClass());
+        key.add(element.getGroup());
+        if (element instanceof Entity) {
+            key.add(((Entity) element).getVertex());
+        } else {
+            key.add(((Edge) element).getSource());
+            key.add(((Edge) element).getDestination());
+            key.add(((Edge) element).getDirectedType());
+        }
+
+        for (final String property : groupByProperties) {
+            key.add(element.getProperty(property));
+        }
+
+        return key;
+    }
 }
@@ -36,6 +36,14 @@ import uk.gov.gchq.gaffer.core.exception.serialisation.StatusSerialiser;
  */
 @JsonDeserialize(builder = ErrorBuilder.class)
 public final class Error {
+    /**
+     * The prefix of the final chunk of a chunked response when the operation
+     * fails after results have been sent. It is followed by the JSON error. No
+     * JSON value can start with this prefix, so clients parsing the chunks as
+     * JSON fail rather than treating the partial results as complete.
+     */
+    public static final String CHUNKED_ERROR_PREFIX = "error:";
+
     private final int statusCode;
     private final Status status;
     private final String simpleMessage;
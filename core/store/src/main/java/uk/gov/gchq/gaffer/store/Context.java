@@ -79,6 +79,26 @@ public class Context {
         return new Context(this);
     }
 
+    /**
+     * Creates a clone of the current {@link Context} with a new job ID and its
+     * own copies of the config and variables, so changes made to either context
+     * are not seen by the other. This should be used when the contexts are used
+     * by different threads at the same time.
+     *
+     * @return cloned {@link Context}
+     */
+    public Context cloneForConcurrentUse() {
+        final Context clone = new Context(user, new HashMap<>(config));
+        clone.exporters.putAll(exporters);
+        if (null != variables) {
+            clone.variables = new HashMap<>(variables);
+        }
+        if (null != originalOpChain) {
+            clone.originalOpChain = originalOpChain.shallowClone();
+        }
+        return clone;
+    }
+
     private Context(final User user, final Map<String, Object> config) {
         if (null == user) {
             throw new IllegalArgumentException("User is required");
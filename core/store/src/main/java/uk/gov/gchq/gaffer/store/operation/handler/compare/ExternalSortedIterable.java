@@ -0,0 +1,357 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.store.operation.handler.compare;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.serialiser.SchemaElementSerialisationHelper;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A {@link CloseableIterable} of {@link Element}s sorted using an external merge
+ * sort, so inputs larger than the available memory can be sorted.
+ * <p>
+ * The input is read in batches of up to {@code maxInMemoryElements}. Each batch
+ * is sorted in memory and written to a temporary run file, apart from the final
+ * batch which is kept in memory. When iterated, the runs are streamed and merged,
+ * so only one element per file run is held in memory. If the input fits
+ * within a single batch, no files are written.
+ * Elements are written using the {@link Schema} serialisers if all of their
+ * properties are defined in the schema, otherwise they are written as JSON.
+ * <p>
+ * When deduplicating, elements that are equal according to the comparator are
+ * additionally ordered by their hash code, so duplicates are always adjacent
+ * and only elements with the same sort key and hash code need to be held in
+ * memory to remove them.
+ * <p>
+ * Each run file is deleted as soon as it has been read to the end, so if any
+ * runs were written to files the elements can only be iterated once. The files
+ * are also deleted when this iterable is closed, and any still left when the
+ * JVM shuts down are deleted then.
+ */
+public class ExternalSortedIterable implements CloseableIterable<Element> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExternalSortedIterable.class);
+    private static final byte SCHEMA_SERIALISED = 0;
+    private static final byte JSON_SERIALISED = 1;
+    private static final Set<File> RUN_FILES = ConcurrentHashMap.newKeySet();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            for (final File file : RUN_FILES) {
+                if (!file.delete() && file.exists()) {
+                    LOGGER.warn("Unable to delete sort run file {}", file);
+                }
+            }
+        }, "gaffer-sort-cleanup"));
+    }
+
+    private final Comparator<Element> comparator;
+    private final boolean deduplicate;
+    private final SchemaElementSerialisationHelper schemaSerialiser;
+    private final List<Run> runs = new ArrayList<>();
+    private volatile boolean consumed;
+
+    /**
+     * Reads and sorts the input, writing sorted runs to the temporary directory.
+     *
+     * @param input               the elements to sort
+     * @param comparator          the comparator to sort the elements with
+     * @param deduplicate         true if equal elements should only be returned once
+     * @param maxInMemoryElements the maximum number of elements to hold in memory whilst sorting
+     * @param tempDirectory       the directory to write the run files to, or null to use the default temporary directory
+     * @param schema              the schema used to serialise the elements, may be null
+     * @throws IOException if the run files could not be written
+     */
+    public ExternalSortedIterable(final Iterable<? extends Element> input,
+                                  final Comparator<Element> comparator,
+                                  final boolean deduplicate,
+                                  final int maxInMemoryElements,
+                                  final File tempDirectory,
+                                  final Schema schema) throws IOException {
+        if (null == comparator) {
+            throw new IllegalArgumentException("Comparator is required");
+        }
+        if (1 > maxInMemoryElements) {
+            throw new IllegalArgumentException("maxInMemoryElements must be greater than 0");
+        }
+        this.comparator = deduplicate ? comparator.thenComparingInt(Element::hashCode) : comparator;
+        this.deduplicate = deduplicate;
+        this.schemaSerialiser = new SchemaElementSerialisationHelper(schema);
+
+        try {
+            final List<Element> batch = new ArrayList<>(Math.min(maxInMemoryElements, 10000));
+            for (final Element element : input) {
+                if (null != element) {
+                    batch.add(element);
+                    if (batch.size() >= maxInMemoryElements) {
+                        writeRun(batch, tempDirectory);
+                        batch.clear();
+                    }
+                }
+            }
+            if (!batch.isEmpty()) {
+                // The final batch is kept in memory as it is already within the memory budget
+                batch.sort(this.comparator);
+                runs.add(new Run(batch, runs.size()));
+            }
+        } catch (final IOException | RuntimeException e) {
+            close();
+            throw e;
+        }
+        LOGGER.debug("Sorted input into {} runs", runs.size());
+    }
+
+    @Override
+    public CloseableIterator<Element> iterator() {
+        if (consumed) {
+            throw new IllegalStateException("The sorted elements have already been iterated, or this iterable has been closed");
+        }
+        return new MergeIterator();
+    }
+
+    @Override
+    public void close() {
+        for (final Run run : runs) {
+            deleteRunFile(run);
+        }
+        runs.clear();
+    }
+
+    private void deleteRunFile(final Run run) {
+        if (null == run.file) {
+            return;
+        }
+        consumed = true;
+        try {
+            Files.deleteIfExists(run.file.toPath());
+            RUN_FILES.remove(run.file);
+        } catch (final IOException e) {
+            LOGGER.warn("Unable to delete sort run file {}", run.file, e);
+        }
+    }
+
+    private void writeRun(final List<Element> batch, final File tempDirectory) throws IOException {
+        batch.sort(comparator);
+
+        final File file = File.createTempFile("gaffer-sort-", ".run", tempDirectory);
+        RUN_FILES.add(file);
+        final Run run = new Run(file, runs.size());
+        runs.add(run);
+        try (final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file.toPath())))) {
+            for (final Element element : batch) {
+                writeElement(element, out);
+                run.size++;
+            }
+        }
+    }
+
+    private void writeElement(final Element element, final DataOutputStream out) throws IOException {
+        final byte[] bytes;
+        if (schemaSerialiser.canSerialise(element)) {
+            out.writeByte(SCHEMA_SERIALISED);
+            bytes = schemaSerialiser.serialise(element);
+        } else {
+            out.writeByte(JSON_SERIALISED);
+            bytes = JSONSerialiser.serialise(element);
+        }
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private Element readElement(final DataInputStream in) throws IOException {
+        final byte format = in.readByte();
+        final byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        if (SCHEMA_SERIALISED == format) {
+            return schemaSerialiser.deserialise(bytes);
+        }
+        return JSONSerialiser.deserialise(bytes, Element.class);
+    }
+
+    private static final class Run {
+        private final File file;
+        private final List<Element> elements;
+        private final int index;
+        private long size;
+
+        private Run(final File file, final int index) {
+            this.file = file;
+            this.elements = null;
+            this.index = index;
+        }
+
+        private Run(final List<Element> elements, final int index) {
+            this.file = null;
+            this.elements = elements;
+            this.index = index;
+            this.size = elements.size();
+        }
+    }
+
+    /**
+     * A reader for a single run, holding the next element from the run.
+     */
+    private final class RunReader {
+        private final Run run;
+        private final DataInputStream in;
+        private final Iterator<Element> elements;
+        private long remaining;
+        private Element head;
+
+        private RunReader(final Run run) throws IOException {
+            this.run = run;
+            if (null == run.file) {
+                this.in = null;
+                this.elements = run.elements.iterator();
+            } else {
+                this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(run.file.toPath())));
+                this.elements = null;
+            }
+            this.remaining = run.size;
+        }
+
+        private boolean advance() throws IOException {
+            if (0 == remaining) {
+                head = null;
+                // The run is no longer needed, so delete its file rather than waiting for the iterable to be closed
+                close();
+                deleteRunFile(run);
+                return false;
+            }
+            head = null != elements ? elements.next() : readElement(in);
+            remaining--;
+            return true;
+        }
+
+        private void close() {
+            if (null == in) {
+                return;
+            }
+            try {
+                in.close();
+            } catch (final IOException e) {
+                LOGGER.warn("Unable to close sort run file {}", run.file, e);
+            }
+        }
+    }
+
+    /**
+     * Performs a k-way merge of the sorted runs. Runs are ordered by their
+     * current element, with ties broken by run index to keep the sort stable.
+     */
+    private final class MergeIterator implements CloseableIterator<Element> {
+        private final PriorityQueue<RunReader> queue;
+        private final List<RunReader> readers = new ArrayList<>();
+        private final Set<Element> emittedWithSameKeyAndHash = new HashSet<>();
+        private Element lastEmitted;
+        private Element next;
+
+        private MergeIterator() {
+            queue = new PriorityQueue<>(Math.max(1, runs.size()), (a, b) -> {
+                final int result = comparator.compare(a.head, b.head);
+                return 0 != result ? result : Integer.compare(a.run.index, b.run.index);
+            });
+            try {
+                for (final Run run : runs) {
+                    final RunReader reader = new RunReader(run);
+                    readers.add(reader);
+                    if (reader.advance()) {
+                        queue.add(reader);
+                    }
+                }
+            } catch (final IOException e) {
+                close();
+                throw new RuntimeException("Unable to read sorted runs", e);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (null == next && !queue.isEmpty()) {
+                final RunReader reader = queue.poll();
+                final Element candidate = reader.head;
+                try {
+                    if (reader.advance()) {
+                        queue.add(reader);
+                    }
+                } catch (final IOException e) {
+                    close();
+                    throw new RuntimeException("Unable to read sorted run " + reader.run.file, e);
+                }
+
+                if (!deduplicate) {
+                    next = candidate;
+                } else {
+                    // Duplicates will always be adjacent as they have the same sort key and hash code
+                    if (null == lastEmitted || 0 != comparator.compare(lastEmitted, candidate)) {
+                        emittedWithSameKeyAndHash.clear();
+                    }
+                    if (emittedWithSameKeyAndHash.add(candidate)) {
+                        lastEmitted = candidate;
+                        next = candidate;
+                    }
+                }
+            }
+
+            if (null == next) {
+                close();
+                return false;
+            }
+            return true;
+        }
+
+        @Override
+        public Element next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final Element element = next;
+            next = null;
+            return element;
+        }
+
+        @Override
+        public void close() {
+            for (final RunReader reader : readers) {
+                reader.close();
+            }
+            readers.clear();
+            queue.clear();
+        }
+    }
+}
@@ -26,19 +26,28 @@ import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.Collections;
 import java.util.Objects;
 import java.util.stream.Stream;
 
 /**
- * A {@code SortHandler} handles the {@link Sort} operation. It does that
- * in memory using the {@link uk.gov.gchq.gaffer.commonutil.iterable.LimitedInMemorySortedIterable}.
+ * A {@code SortHandler} handles the {@link Sort} operation. If a resultLimit
+ * is set, it does that in memory using the {@link uk.gov.gchq.gaffer.commonutil.iterable.LimitedInMemorySortedIterable}.
  * If the resultLimit is set to one that it just deletes the operation to the
  * {@link MaxHandler}.
+ * If there is no resultLimit then an {@link ExternalSortedIterable} is used,
+ * which spills sorted runs of up to maxInMemoryElements to temporary files,
+ * so the number of elements held in memory is bounded.
  */
 public class SortHandler implements OutputOperationHandler<Sort, Iterable<? extends Element>> {
+    public static final int DEFAULT_MAX_IN_MEMORY_ELEMENTS = 1000000;
     private static final MaxHandler MAX_HANDLER = new MaxHandler();
 
+    private int maxInMemoryElements = DEFAULT_MAX_IN_MEMORY_ELEMENTS;
+    private String tempDirectory;
+
     @Override
     public Iterable<? extends Element> doOperation(final Sort operation, final Context context, final Store store) throws OperationException {
         // If there is no input or there are no comparators, we return null
@@ -60,6 +69,22 @@ public class SortHandler implements OutputOperationHandler<Sort, Iterable<? exte
             return Collections.singletonList(max);
         }
 
+        if (null == operation.getResultLimit()) {
+            try {
+                return new ExternalSortedIterable(
+                        operation.getInput(),
+                        operation.getCombinedComparator(),
+                        operation.isDeduplicate(),
+                        maxInMemoryElements,
+                        null != tempDirectory ? new File(tempDirectory) : null,
+                        null != store ? store.getSchema() : null);
+            } catch (final IOException e) {
+                throw new OperationException("Unable to sort elements", e);
+            } finally {
+                CloseableUtil.close(operation);
+            }
+        }
+
         try (final Stream<? extends Element> stream =
                      Streams.toStream(operation.getInput())
                              .filter(Objects::nonNull)) {
@@ -74,4 +99,20 @@ public class SortHandler implements OutputOperationHandler<Sort, Iterable<? exte
             CloseableUtil.close(operation);
         }
     }
+
+    public int getMaxInMemoryElements() {
+        return maxInMemoryElements;
+    }
+
+    public void setMaxInMemoryElements(final int maxInMemoryElements) {
+        this.maxInMemoryElements = maxInMemoryElements;
+    }
+
+    public String getTempDirectory() {
+        return tempDirectory;
+    }
+
+    public void setTempDirectory(final String tempDirectory) {
+        this.tempDirectory = tempDirectory;
+    }
 }
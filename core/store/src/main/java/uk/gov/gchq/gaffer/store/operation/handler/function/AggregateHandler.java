@@ -35,6 +35,7 @@ import java.util.Map;
 
 public class AggregateHandler implements OutputOperationHandler<Aggregate, Iterable<? extends Element>> {
     private final FunctionValidator<Aggregate> validator = new AggregateValidator();
+    private int parallelism = 1;
 
     @Override
     public Iterable<? extends Element> doOperation(final Aggregate operation, final Context context, final Store store) throws OperationException {
@@ -63,7 +64,20 @@ public class AggregateHandler implements OutputOperationHandler<Aggregate, Itera
             throw new OperationException("Aggregate operation is invalid. " + result.getErrorString());
         }
 
-        return AggregatorUtil.queryAggregate(operation.getInput(), schema, buildView(operation));
+        return AggregatorUtil.queryAggregate(operation.getInput(), schema, buildView(operation), parallelism);
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Sets the number of partitions the elements are aggregated in parallel with.
+     *
+     * @param parallelism the number of partitions, 1 to aggregate on the calling thread
+     */
+    public void setParallelism(final int parallelism) {
+        this.parallelism = parallelism;
     }
 
     private View buildView(final Aggregate operation) {
@@ -21,15 +21,21 @@ import uk.gov.gchq.gaffer.data.element.comparison.ElementJoinComparator;
 import uk.gov.gchq.gaffer.operation.impl.join.match.Match;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
  * Tests for matches for Elements within a Join Operation, groupBy properties can be optionally specified.
+ * The match candidates are indexed by their {@link ElementJoinComparator} join key when initialised,
+ * so each test Element is matched using a single hash lookup.
  */
 public class ElementMatch implements Match {
     private ElementJoinComparator elementJoinComparator;
     private Iterable matchCandidates;
+    private Map<List<Object>, List<Element>> keyedMatchCandidates;
 
     private static final String NULL_MATCH_CANDIDATES_ERROR_MESSAGE = "ElementMatch must be initialised with non-null match candidates";
 
@@ -47,6 +53,10 @@ public class ElementMatch implements Match {
 
     public void setElementGroupByProperties(final Set<String> groupByProperties) {
         elementJoinComparator.setGroupByProperties(groupByProperties);
+        if (null != matchCandidates) {
+            // The join keys depend on the group by properties so the index must be rebuilt
+            keyedMatchCandidates = index(matchCandidates);
+        }
     }
 
     @Override
@@ -55,22 +65,31 @@ public class ElementMatch implements Match {
             throw new IllegalArgumentException(NULL_MATCH_CANDIDATES_ERROR_MESSAGE);
         }
         this.matchCandidates = matchCandidates;
+        this.keyedMatchCandidates = index(matchCandidates);
     }
 
     @Override
     public List matching(final Object testObject) {
-        if (matchCandidates == null) {
+        if (keyedMatchCandidates == null) {
             throw new IllegalArgumentException(NULL_MATCH_CANDIDATES_ERROR_MESSAGE);
         }
 
-        List matches = new ArrayList<>();
-
+        final List<Element> candidates = keyedMatchCandidates.getOrDefault(
+                elementJoinComparator.getJoinKey((Element) testObject), Collections.emptyList());
 
-        for (final Object entry : matchCandidates) {
-            if (elementJoinComparator.test((Element) entry, (Element) testObject)) {
-                matches.add(((Element) entry).shallowClone());
-            }
+        List matches = new ArrayList<>(candidates.size());
+        for (final Element candidate : candidates) {
+            matches.add(null != candidate ? candidate.shallowClone() : null);
         }
         return matches;
     }
+
+    private Map<List<Object>, List<Element>> index(final Iterable candidates) {
+        final Map<List<Object>, List<Element>> index = new HashMap<>();
+        for (final Object candidate : candidates) {
+            index.computeIfAbsent(elementJoinComparator.getJoinKey((Element) candidate), k -> new ArrayList<>())
+                    .add((Element) candidate);
+        }
+        return index;
+    }
 }
@@ -63,14 +63,10 @@ public class KeyFunctionMatch implements Match {
             throw new IllegalArgumentException(NULL_MATCH_CANDIDATES_ERROR_MESSAGE);
         }
         // Iterates over match candidates, creates an index using second key function.
+        keyedMatchCandidates = new HashMap<>();
         for (final Object matchCandidate : matchCandidates) {
-            Object key = secondKeyFunction.apply(matchCandidate);
-            List list = keyedMatchCandidates.get(key);
-            if (list == null) {
-                list = new ArrayList();
-            }
-            list.add(matchCandidate);
-            keyedMatchCandidates.put(key, list);
+            final Object key = secondKeyFunction.apply(matchCandidate);
+            keyedMatchCandidates.computeIfAbsent(key, k -> new ArrayList()).add(matchCandidate);
         }
 
     }
@@ -0,0 +1,238 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.store.serialiser;
+
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.commonutil.StringUtil;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads a stream of results written by a {@link BinaryResultsWriter}.
+ * <p>
+ * The results are deserialised lazily as they are iterated, so the whole
+ * stream is never held in memory. As the results are read from a stream they
+ * can only be iterated once. Closing the iterable closes the stream.
+ * <p>
+ * The schemas read from the stream headers are cached, so the schema does not
+ * need to be parsed again for each stream.
+ * <p>
+ * Results that were written as JSON are only deserialised if their class is
+ * the expected result class or a subclass of it. The class is checked before
+ * it is initialised, so the stream cannot cause arbitrary classes to be
+ * loaded and deserialised.
+ * <p>
+ * The length prefix of each block of bytes is checked before the bytes are
+ * allocated, so a corrupt stream cannot cause a huge allocation.
+ */
+public class BinaryResultsReader implements CloseableIterable<Object> {
+    /**
+     * The default maximum number of bytes in a schema or a single result.
+     */
+    public static final int DEFAULT_MAX_LENGTH = 256 * 1024 * 1024;
+
+    private static final int MAX_CACHED_SCHEMAS = 16;
+    private static final Map<String, Schema> SCHEMAS = new LinkedHashMap<String, Schema>(MAX_CACHED_SCHEMAS, 0.75f, true) {
+        private static final long serialVersionUID = -1264398707357458262L;
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, Schema> eldest) {
+            return size() > MAX_CACHED_SCHEMAS;
+        }
+    };
+
+    private final DataInputStream in;
+    private final Class<?> resultClass;
+    private final int maxLength;
+    private final NullPreservingElementSerialiser elementSerialiser;
+    private final EntityIdSerialiser entityIdSerialiser;
+    private final Map<String, Class<?>> jsonClasses = new LinkedHashMap<>();
+    private boolean iterated;
+
+    /**
+     * Creates a reader and reads the header from the input stream.
+     *
+     * @param inputStream the stream to read the results from
+     * @param resultClass the expected class of each result
+     * @throws IOException if the header is invalid or could not be read
+     */
+    public BinaryResultsReader(final InputStream inputStream, final Class<?> resultClass) throws IOException {
+        this(inputStream, resultClass, DEFAULT_MAX_LENGTH);
+    }
+
+    /**
+     * Creates a reader and reads the header from the input stream.
+     *
+     * @param inputStream the stream to read the results from
+     * @param resultClass the expected class of each result
+     * @param maxLength   the maximum number of bytes in the schema or a single result
+     * @throws IOException if the header is invalid or could not be read
+     */
+    public BinaryResultsReader(final InputStream inputStream, final Class<?> resultClass, final int maxLength) throws IOException {
+        this.in = new DataInputStream(new BufferedInputStream(inputStream));
+        this.resultClass = null != resultClass ? resultClass : Object.class;
+        this.maxLength = maxLength;
+        try {
+            if (BinaryResultsWriter.MAGIC != in.readInt()) {
+                throw new SerialisationException("Stream is not in the Gaffer binary results format");
+            }
+            final byte version = in.readByte();
+            if (BinaryResultsWriter.VERSION != version) {
+                throw new SerialisationException("Unsupported Gaffer binary results version: " + version);
+            }
+            final byte[] schemaBytes = readBytes();
+            final Schema schema = 0 == schemaBytes.length ? null : getSchema(schemaBytes);
+            this.elementSerialiser = null == schema ? null : new NullPreservingElementSerialiser(schema);
+            this.entityIdSerialiser = null == schema ? null : new EntityIdSerialiser(schema);
+        } catch (final IOException | RuntimeException e) {
+            CloseableUtil.close(in);
+            throw e;
+        }
+    }
+
+    @Override
+    public CloseableIterator<Object> iterator() {
+        if (iterated) {
+            throw new IllegalStateException("Binary results can only be iterated once");
+        }
+        iterated = true;
+        return new ResultsIterator();
+    }
+
+    @Override
+    public void close() {
+        CloseableUtil.close(in);
+    }
+
+    private byte[] readBytes() throws IOException {
+        final int length = in.readInt();
+        if (length < 0 || length > maxLength) {
+            throw new SerialisationException("Invalid length in binary results stream: " + length
+                    + " bytes (the maximum is " + maxLength + ")");
+        }
+        final byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    private Object readResult(final byte type) throws IOException {
+        switch (type) {
+            case BinaryResultsWriter.ELEMENT:
+                return getSerialiser(elementSerialiser).deserialise(readBytes());
+            case BinaryResultsWriter.ENTITY_SEED:
+                return getSerialiser(entityIdSerialiser).deserialise(readBytes());
+            case BinaryResultsWriter.JSON:
+                final String className = StringUtil.toString(readBytes());
+                final byte[] json = readBytes();
+                if (className.isEmpty()) {
+                    return null;
+                }
+                return JSONSerialiser.deserialise(json, getJsonClass(className));
+            default:
+                throw new SerialisationException("Unknown binary result type: " + type);
+        }
+    }
+
+    private Class<?> getJsonClass(final String className) throws SerialisationException {
+        Class<?> clazz = jsonClasses.get(className);
+        if (null == clazz) {
+            try {
+                // The class is not initialised until it has been validated
+                clazz = Class.forName(className, false, getClass().getClassLoader());
+            } catch (final ClassNotFoundException e) {
+                throw new SerialisationException("Unable to load result class: " + className, e);
+            }
+            if (!resultClass.isAssignableFrom(clazz)) {
+                throw new SerialisationException("Result class " + className + " is not a " + resultClass.getName());
+            }
+            jsonClasses.put(className, clazz);
+        }
+        return clazz;
+    }
+
+    private static <T> T getSerialiser(final T serialiser) throws SerialisationException {
+        if (null == serialiser) {
+            throw new SerialisationException("The stream does not contain a schema to deserialise the result with");
+        }
+        return serialiser;
+    }
+
+    private static Schema getSchema(final byte[] schemaBytes) {
+        final String schemaJson = StringUtil.toString(schemaBytes);
+        synchronized (SCHEMAS) {
+            return SCHEMAS.computeIfAbsent(schemaJson, json -> Schema.fromJson(schemaBytes));
+        }
+    }
+
+    private final class ResultsIterator implements CloseableIterator<Object> {
+        private boolean ended;
+        private boolean hasNext;
+        private Object next;
+
+        @Override
+        public boolean hasNext() {
+            if (!hasNext && !ended) {
+                try {
+                    final byte type = in.readByte();
+                    if (BinaryResultsWriter.END == type) {
+                        ended = true;
+                        close();
+                    } else {
+                        next = readResult(type);
+                        hasNext = true;
+                    }
+                } catch (final EOFException e) {
+                    close();
+                    throw new GafferRuntimeException("Binary results stream ended unexpectedly", e);
+                } catch (final IOException e) {
+                    close();
+                    throw new GafferRuntimeException("Unable to read binary results: " + e.getMessage(), e);
+                }
+            }
+            return hasNext;
+        }
+
+        @Override
+        public Object next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            hasNext = false;
+            final Object result = next;
+            next = null;
+            return result;
+        }
+
+        @Override
+        public void close() {
+            ended = true;
+            BinaryResultsReader.this.close();
+        }
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.store.serialiser;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.commonutil.StringUtil;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEdgeDefinition;
+import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
+import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+
+/**
+ * Writes a stream of results in the compact Gaffer binary results format,
+ * which can be read using a {@link BinaryResultsReader}.
+ * <p>
+ * The stream starts with a header containing the serialiser configuration
+ * from the {@link Schema}: the groups, their property names and types, and the
+ * class and serialiser of each type. Validation, aggregation and other parts
+ * of the schema are not sent. This means the reader does not need to share
+ * the writer's schema. Each result is then written as a record consisting of a type byte,
+ * the length of the result bytes and the result bytes. {@link Element}s and
+ * {@link EntitySeed}s are serialised using the schema {@link ToBytesSerialiser}s
+ * where possible, all other results are written as JSON along with their
+ * class. The stream is ended with an end marker, so truncated streams can be
+ * detected.
+ */
+public class BinaryResultsWriter implements Flushable {
+    /**
+     * The media type of the Gaffer binary results format.
+     */
+    public static final String MEDIA_TYPE = "application/x-gaffer-binary";
+
+    static final int MAGIC = 0x47424631;
+    static final byte VERSION = 2;
+    static final byte ELEMENT = 0;
+    static final byte ENTITY_SEED = 1;
+    static final byte JSON = 2;
+    static final byte END = 3;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BinaryResultsWriter.class);
+
+    private final DataOutputStream out;
+    private final SchemaElementSerialisationHelper schemaSerialiser;
+    private final EntityIdSerialiser entityIdSerialiser;
+
+    /**
+     * Creates a writer and writes the header to the output stream.
+     *
+     * @param outputStream the stream to write the results to
+     * @param schema       the schema used to serialise the results, may be null in which case all results are written as JSON
+     * @throws IOException if the header could not be written
+     */
+    public BinaryResultsWriter(final OutputStream outputStream, final Schema schema) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(outputStream));
+        this.schemaSerialiser = new SchemaElementSerialisationHelper(createSerialisationSchema(schema));
+
+        final Schema serialisationSchema = schemaSerialiser.getSchema();
+        EntityIdSerialiser entityIdSerialiser = null;
+        if (null != serialisationSchema) {
+            entityIdSerialiser = new EntityIdSerialiser(serialisationSchema);
+        } else if (null != schema) {
+            LOGGER.debug("Unable to serialise results using the schema, JSON will be used instead");
+        }
+        this.entityIdSerialiser = entityIdSerialiser;
+
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        writeBytes(null != serialisationSchema ? serialisationSchema.toCompactJson() : new byte[0]);
+    }
+
+    /**
+     * Writes a single result.
+     *
+     * @param result the result to write
+     * @throws IOException if the result could not be written
+     */
+    public void write(final Object result) throws IOException {
+        if (result instanceof Element && schemaSerialiser.canSerialise((Element) result)) {
+            out.writeByte(ELEMENT);
+            writeBytes(schemaSerialiser.serialise((Element) result));
+        } else if (null != result && EntitySeed.class == result.getClass() && null != entityIdSerialiser) {
+            out.writeByte(ENTITY_SEED);
+            writeBytes(entityIdSerialiser.serialise((EntitySeed) result));
+        } else {
+            // The class is included so the JSON can be deserialised back into the same type
+            out.writeByte(JSON);
+            writeBytes(StringUtil.toBytes(null != result ? result.getClass().getName() : ""));
+            writeBytes(JSONSerialiser.serialise(result));
+        }
+    }
+
+    /**
+     * Writes the end marker and flushes the stream. The underlying stream is
+     * not closed.
+     *
+     * @throws IOException if the end marker could not be written
+     */
+    public void end() throws IOException {
+        out.writeByte(END);
+        out.flush();
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    private void writeBytes(final byte[] bytes) throws IOException {
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Creates a copy of the schema containing only what is required to
+     * serialise and deserialise elements: the element groups with their
+     * identifier and property types, and the class and serialiser of those
+     * types.
+     *
+     * @param schema the full schema
+     * @return the serialisation schema, or null if the schema is null
+     */
+    static Schema createSerialisationSchema(final Schema schema) {
+        if (null == schema) {
+            return null;
+        }
+        final Schema.Builder builder = new Schema.Builder()
+                .vertexSerialiser(schema.getVertexSerialiser());
+        for (final Map.Entry<String, SchemaEntityDefinition> entry : schema.getEntities().entrySet()) {
+            builder.entity(entry.getKey(), new SchemaEntityDefinition.Builder()
+                    .identifiers(entry.getValue().getIdentifierMap())
+                    .properties(entry.getValue().getPropertyMap())
+                    .aggregate(false)
+                    .build());
+            addSerialisationTypes(schema, entry.getValue(), builder);
+        }
+        for (final Map.Entry<String, SchemaEdgeDefinition> entry : schema.getEdges().entrySet()) {
+            builder.edge(entry.getKey(), new SchemaEdgeDefinition.Builder()
+                    .identifiers(entry.getValue().getIdentifierMap())
+                    .properties(entry.getValue().getPropertyMap())
+                    .aggregate(false)
+                    .build());
+            addSerialisationTypes(schema, entry.getValue(), builder);
+        }
+        return builder.build();
+    }
+
+    private static void addSerialisationTypes(final Schema schema, final SchemaElementDefinition elementDef, final Schema.Builder builder) {
+        for (final String typeName : elementDef.getIdentifierTypeNames()) {
+            addSerialisationType(schema, typeName, builder);
+        }
+        for (final String typeName : elementDef.getPropertyTypeNames()) {
+            addSerialisationType(schema, typeName, builder);
+        }
+    }
+
+    private static void addSerialisationType(final Schema schema, final String typeName, final Schema.Builder builder) {
+        final TypeDefinition typeDef = schema.getType(typeName);
+        if (null != typeDef) {
+            builder.type(typeName, new TypeDefinition.Builder()
+                    .clazz(typeDef.getClazz())
+                    .serialiser(typeDef.getSerialiser())
+                    .build());
+        }
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.serialiser;
+
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+import uk.gov.gchq.gaffer.serialisation.util.LengthValueBytesSerialiserUtil;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+
+/**
+ * Serialiser to serialise and deserialise {@link Element} objects so that the
+ * deserialised element is equal to the original.
+ * <p>
+ * The {@link ElementSerialiser} writes a missing property using the
+ * {@code serialiseNull} method of the property serialiser and reads it back
+ * using {@code deserialiseEmpty}, which for some serialisers, such as the
+ * {@link uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser},
+ * is not null. This serialiser prefixes the element bytes with a bitmap of the
+ * properties in the schema that the element does not have, and removes them
+ * again when the element is deserialised.
+ */
+public class NullPreservingElementSerialiser implements ToBytesSerialiser<Element> {
+    private static final long serialVersionUID = -4937204593285014853L;
+    private final Schema schema;
+    private final ElementSerialiser elementSerialiser;
+
+    public NullPreservingElementSerialiser(final Schema schema) {
+        this.schema = schema;
+        this.elementSerialiser = new ElementSerialiser(schema);
+    }
+
+    @Override
+    public boolean canHandle(final Class clazz) {
+        return elementSerialiser.canHandle(clazz);
+    }
+
+    @Override
+    public byte[] serialise(final Element element) throws SerialisationException {
+        final SchemaElementDefinition elementDef = getElementDefinition(element.getGroup());
+        final byte[] nullProperties = new byte[(elementDef.getProperties().size() + 7) / 8];
+        int i = 0;
+        for (final String propertyName : elementDef.getProperties()) {
+            if (null == element.getProperty(propertyName)) {
+                nullProperties[i / 8] |= 1 << (i % 8);
+            }
+            i++;
+        }
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        LengthValueBytesSerialiserUtil.serialise(nullProperties, out);
+        final byte[] elementBytes = elementSerialiser.serialise(element);
+        out.write(elementBytes, 0, elementBytes.length);
+        return out.toByteArray();
+    }
+
+    @Override
+    public Element deserialise(final byte[] bytes) throws SerialisationException {
+        final int[] delimiter = {0};
+        final byte[] nullProperties = LengthValueBytesSerialiserUtil.deserialise(bytes, delimiter);
+        final Element element = elementSerialiser.deserialise(Arrays.copyOfRange(bytes, delimiter[0], bytes.length));
+
+        int i = 0;
+        for (final String propertyName : getElementDefinition(element.getGroup()).getProperties()) {
+            if (i / 8 < nullProperties.length && 0 != (nullProperties[i / 8] & (1 << (i % 8)))) {
+                element.getProperties().remove(propertyName);
+            }
+            i++;
+        }
+        return element;
+    }
+
+    @Override
+    public Element deserialiseEmpty() throws SerialisationException {
+        return null;
+    }
+
+    @Override
+    public boolean preservesObjectOrdering() {
+        return false;
+    }
+
+    @Override
+    public boolean isConsistent() {
+        return elementSerialiser.isConsistent();
+    }
+
+    private SchemaElementDefinition getElementDefinition(final String group) throws SerialisationException {
+        final SchemaElementDefinition elementDef = schema.getElement(group);
+        if (null == elementDef) {
+            throw new SerialisationException("No SchemaElementDefinition found for group " + group + ", is this group in your schema?");
+        }
+        return elementDef;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+
+        if (null == obj || getClass() != obj.getClass()) {
+            return false;
+        }
+
+        final NullPreservingElementSerialiser serialiser = (NullPreservingElementSerialiser) obj;
+
+        return new EqualsBuilder()
+                .append(elementSerialiser, serialiser.elementSerialiser)
+                .isEquals();
+    }
+
+    @Override
+    public int hashCode() {
+        return new HashCodeBuilder(17, 37)
+                .append(elementSerialiser)
+                .toHashCode();
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.store.serialiser;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Serialises {@link Element}s using the {@link ToBytesSerialiser}s in a
+ * {@link Schema}, for callers that need to fall back to another format for
+ * elements that the schema cannot represent.
+ * <p>
+ * An element can only be serialised with the schema if all of the properties
+ * in its group have a {@link ToBytesSerialiser}, it has no properties that are
+ * not in the schema and it is not an {@link Edge} with a matched vertex.
+ * Elements are serialised with a {@link NullPreservingElementSerialiser}, so
+ * they are deserialised back into an equal element.
+ */
+public class SchemaElementSerialisationHelper {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SchemaElementSerialisationHelper.class);
+
+    private final Schema schema;
+    private final NullPreservingElementSerialiser elementSerialiser;
+    private final Map<String, Boolean> groupHasBytesSerialisers = new HashMap<>();
+
+    /**
+     * @param schema the schema to serialise the elements with, may be null in
+     *               which case no elements can be serialised
+     */
+    public SchemaElementSerialisationHelper(final Schema schema) {
+        NullPreservingElementSerialiser elementSerialiser = null;
+        if (null != schema) {
+            try {
+                elementSerialiser = new NullPreservingElementSerialiser(schema);
+            } catch (final IllegalArgumentException e) {
+                LOGGER.debug("Unable to serialise elements using the schema: {}", e.getMessage());
+            }
+        }
+        this.schema = null != elementSerialiser ? schema : null;
+        this.elementSerialiser = elementSerialiser;
+    }
+
+    /**
+     * @return the schema used to serialise the elements, or null if the
+     * elements cannot be serialised using the schema
+     */
+    public Schema getSchema() {
+        return schema;
+    }
+
+    public boolean canSerialise(final Element element) {
+        if (null == elementSerialiser || null == element) {
+            return false;
+        }
+        // The schema serialisers do not store transient properties or the matched vertex
+        if (element instanceof Edge && null != ((Edge) element).getMatchedVertex()) {
+            return false;
+        }
+        final SchemaElementDefinition elementDef = schema.getElement(element.getGroup());
+        return groupHasBytesSerialisers.computeIfAbsent(element.getGroup(), g -> hasBytesSerialisers(elementDef))
+                && elementDef.getProperties().containsAll(element.getProperties().keySet());
+    }
+
+    public byte[] serialise(final Element element) throws SerialisationException {
+        if (!canSerialise(element)) {
+            throw new SerialisationException("Element cannot be serialised using the schema: " + element);
+        }
+        return elementSerialiser.serialise(element);
+    }
+
+    public Element deserialise(final byte[] bytes) throws SerialisationException {
+        if (null == elementSerialiser) {
+            throw new SerialisationException("Elements cannot be deserialised without a valid schema");
+        }
+        return elementSerialiser.deserialise(bytes);
+    }
+
+    private static boolean hasBytesSerialisers(final SchemaElementDefinition elementDef) {
+        if (null == elementDef) {
+            return false;
+        }
+        for (final String property : elementDef.getProperties()) {
+            final TypeDefinition typeDef = elementDef.getPropertyTypeDef(property);
+            if (null == typeDef || !(typeDef.getSerialiser() instanceof ToBytesSerialiser)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -18,7 +18,6 @@ package uk.gov.gchq.gaffer.store.util;
 
 import uk.gov.gchq.gaffer.commonutil.iterable.ChainedIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
-import uk.gov.gchq.gaffer.commonutil.stream.Streams;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.GroupedProperties;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
@@ -38,7 +37,11 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * Utility methods to help with doing aggregation of elements. Aggregation differs
@@ -47,6 +50,12 @@ import java.util.stream.Collectors;
  * checks the {@link View} to see if the groupBy properties have been overridden.
  */
 public final class AggregatorUtil {
+    /**
+     * The number of elements buffered before they are aggregated by the
+     * partitions when aggregating in parallel.
+     */
+    private static final int PARALLEL_BATCH_SIZE = 10000;
+
     private AggregatorUtil() {
     }
 
@@ -62,26 +71,31 @@ public final class AggregatorUtil {
      * @return the aggregated elements.
      */
     public static CloseableIterable<Element> ingestAggregate(final Iterable<? extends Element> elements, final Schema schema) {
+        return ingestAggregate(elements, schema, 1);
+    }
+
+    /**
+     * Applies ingest aggregation to the provided iterable of {@link Element}s.
+     * This uses the groupBy properties in the provided {@link Schema} to group
+     * the elements prior to aggregating them.
+     * <p>
+     * If the parallelism is greater than 1, the elements are hash partitioned
+     * by their ingest key and the partitions are aggregated in parallel.
+     * <p>
+     * NOTE - the aggregated elements are held in memory so the number of
+     * distinct keys should be limited.
+     *
+     * @param elements    the elements to be aggregated
+     * @param schema      the schema containing the aggregators and groupBy properties to use
+     * @param parallelism the number of partitions to aggregate in parallel
+     * @return the aggregated elements.
+     */
+    public static CloseableIterable<Element> ingestAggregate(final Iterable<? extends Element> elements, final Schema schema, final int parallelism) {
         if (null == schema) {
             throw new IllegalArgumentException("Schema is required");
         }
-        final Collection<String> aggregatedGroups = schema.getAggregatedGroups();
-        final List<Element> aggregatableElements = new ArrayList<>();
-        final List<Element> nonAggregatedElements = new ArrayList<>();
-        for (final Element element : elements) {
-            if (null != element) {
-                if (aggregatedGroups.contains(element.getGroup())) {
-                    aggregatableElements.add(element);
-                } else {
-                    nonAggregatedElements.add(element);
-                }
-            }
-        }
-
-        final Iterable<Element> aggregatedElements = Streams.toStream(aggregatableElements)
-                .collect(Collectors.groupingBy(new ToIngestElementKey(schema), Collectors.reducing(null, new IngestElementBinaryOperator(schema))))
-                .values();
-        return new ChainedIterable<>(aggregatedElements, nonAggregatedElements);
+        return aggregate(elements, schema.getAggregatedGroups(), new ToIngestElementKey(schema), parallelism,
+                () -> new IngestElementBinaryOperator(parallelism > 1 ? schema.clone() : schema));
     }
 
     /**
@@ -97,28 +111,135 @@ public final class AggregatorUtil {
      * @return the aggregated elements.
      */
     public static CloseableIterable<Element> queryAggregate(final Iterable<? extends Element> elements, final Schema schema, final View view) {
+        return queryAggregate(elements, schema, view, 1);
+    }
+
+    /**
+     * Applies query time aggregation to the provided iterable of {@link Element}s.
+     * This uses the groupBy properties in the provided {@link View} or {@link Schema} to group
+     * the elements prior to aggregating them.
+     * <p>
+     * If the parallelism is greater than 1, the elements are hash partitioned
+     * by their query time key and the partitions are aggregated in parallel.
+     * <p>
+     * NOTE - the aggregated elements are held in memory so the number of
+     * distinct keys should be limited.
+     *
+     * @param elements    the elements to be aggregated
+     * @param schema      the schema containing the aggregators and groupBy properties to use
+     * @param view        the view containing the aggregators and groupBy properties to use
+     * @param parallelism the number of partitions to aggregate in parallel
+     * @return the aggregated elements.
+     */
+    public static CloseableIterable<Element> queryAggregate(final Iterable<? extends Element> elements, final Schema schema, final View view, final int parallelism) {
         if (null == schema) {
             throw new IllegalArgumentException("Schema is required");
         }
         if (null == view) {
             throw new IllegalArgumentException("View is required");
         }
-        final Collection<String> aggregatedGroups = schema.getAggregatedGroups();
-        final List<Element> aggregatableElements = new ArrayList<>();
+        return aggregate(elements, schema.getAggregatedGroups(), new ToQueryElementKey(schema, view), parallelism,
+                () -> parallelism > 1 ? new QueryElementBinaryOperator(schema.clone(), view.clone()) : new QueryElementBinaryOperator(schema, view));
+    }
+
+    private static CloseableIterable<Element> aggregate(final Iterable<? extends Element> elements,
+                                                        final Collection<String> aggregatedGroups,
+                                                        final Function<Element, Element> toElementKey,
+                                                        final int parallelism,
+                                                        final Supplier<BinaryOperator<Element>> aggregatorSupplier) {
         final List<Element> nonAggregatedElements = new ArrayList<>();
+        if (parallelism < 2) {
+            final Partition partition = new Partition(aggregatorSupplier.get());
+            for (final Element element : elements) {
+                if (null != element) {
+                    if (aggregatedGroups.contains(element.getGroup())) {
+                        partition.aggregate(toElementKey.apply(element), element);
+                    } else {
+                        nonAggregatedElements.add(element);
+                    }
+                }
+            }
+            return new ChainedIterable<>(partition.aggregatedElements.values(), nonAggregatedElements);
+        }
+
+        // Each partition has its own aggregator as the aggregators are not thread safe
+        final List<Partition> partitions = new ArrayList<>(parallelism);
+        for (int i = 0; i < parallelism; i++) {
+            partitions.add(new Partition(aggregatorSupplier.get()));
+        }
+
+        // Elements are buffered and handed to the partitions in batches so the
+        // memory used by the input is bounded, whilst all elements with the
+        // same key are always aggregated by the same partition.
+        int bufferedCount = 0;
         for (final Element element : elements) {
             if (null != element) {
                 if (aggregatedGroups.contains(element.getGroup())) {
-                    aggregatableElements.add(element);
+                    final Element key = toElementKey.apply(element);
+                    partitions.get(Math.floorMod(key.hashCode(), parallelism)).buffer(key, element);
+                    bufferedCount++;
+                    if (bufferedCount >= PARALLEL_BATCH_SIZE) {
+                        aggregateBuffered(partitions);
+                        bufferedCount = 0;
+                    }
                 } else {
                     nonAggregatedElements.add(element);
                 }
             }
         }
-        final Iterable<Element> aggregatedElements = Streams.toStream(aggregatableElements)
-                .collect(Collectors.groupingBy(new ToQueryElementKey(schema, view), Collectors.reducing(null, new QueryElementBinaryOperator(schema, view))))
-                .values();
-        return new ChainedIterable<>(aggregatedElements, nonAggregatedElements);
+        aggregateBuffered(partitions);
+
+        final Iterable[] results = new Iterable[partitions.size() + 1];
+        for (int i = 0; i < partitions.size(); i++) {
+            results[i] = partitions.get(i).aggregatedElements.values();
+        }
+        results[partitions.size()] = nonAggregatedElements;
+        return new ChainedIterable<>(results);
+    }
+
+    private static void aggregateBuffered(final List<Partition> partitions) {
+        final List<ForkJoinTask<?>> tasks = new ArrayList<>(partitions.size());
+        for (final Partition partition : partitions) {
+            if (!partition.bufferedKeys.isEmpty()) {
+                tasks.add(ForkJoinPool.commonPool().submit(partition::aggregateBuffered));
+            }
+        }
+        for (final ForkJoinTask<?> task : tasks) {
+            task.join();
+        }
+    }
+
+    /**
+     * A partition of the aggregated elements. Elements with the same key
+     * are always added to the same partition, so a partition can be
+     * aggregated independently of the others.
+     */
+    private static final class Partition {
+        private final BinaryOperator<Element> aggregator;
+        private final Map<Element, Element> aggregatedElements = new HashMap<>();
+        private final List<Element> bufferedKeys = new ArrayList<>();
+        private final List<Element> bufferedElements = new ArrayList<>();
+
+        private Partition(final BinaryOperator<Element> aggregator) {
+            this.aggregator = aggregator;
+        }
+
+        private void aggregate(final Element key, final Element element) {
+            aggregatedElements.merge(key, element, aggregator);
+        }
+
+        private void buffer(final Element key, final Element element) {
+            bufferedKeys.add(key);
+            bufferedElements.add(element);
+        }
+
+        private void aggregateBuffered() {
+            for (int i = 0; i < bufferedKeys.size(); i++) {
+                aggregate(bufferedKeys.get(i), bufferedElements.get(i));
+            }
+            bufferedKeys.clear();
+            bufferedElements.clear();
+        }
     }
 
     /**
@@ -162,6 +162,32 @@ public class ContextTest {
         assertEquals(context.getVariables(), clonedContext.getVariables());
     }
 
+    @Test
+    public void shouldCloneContextWithItsOwnConfigAndVariablesForConcurrentUse() {
+        // Given
+        final User user = new User("user");
+        final String testConf = "testConf";
+        final Context context = new Context.Builder()
+                .user(user)
+                .config(testConf, "testConfVal")
+                .variable("testVar", "testVarVal")
+                .build();
+
+        // When
+        final Context clonedContext = context.cloneForConcurrentUse();
+        clonedContext.setConfig(testConf, "newConfVal");
+        clonedContext.setVariable("testVar2", "testVarVal2");
+
+        // Then
+        assertNotSame(context, clonedContext);
+        assertNotEquals(context.getJobId(), clonedContext.getJobId());
+        assertEquals(context.getUser(), clonedContext.getUser());
+        assertEquals("testConfVal", context.getConfig(testConf));
+        assertEquals("newConfVal", clonedContext.getConfig(testConf));
+        assertEquals(Collections.singletonMap("testVar", "testVarVal"), context.getVariables());
+        assertEquals("testVarVal", clonedContext.getVariable("testVar"));
+    }
+
     @Test
     public void shouldAddVariables() {
         // Given
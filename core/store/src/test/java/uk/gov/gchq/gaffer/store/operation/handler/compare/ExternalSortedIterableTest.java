@@ -0,0 +1,192 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.store.operation.handler.compare;
+
+import com.google.common.collect.Lists;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import uk.gov.gchq.gaffer.commonutil.CommonTestConstants;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.comparison.ElementPropertyComparator;
+import uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawIntegerSerialiser;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ExternalSortedIterableTest {
+    private static final Comparator<Element> COMPARATOR = new ElementPropertyComparator.Builder()
+            .groups(TestGroups.ENTITY)
+            .property(TestPropertyNames.COUNT)
+            .build();
+
+    @Rule
+    public final TemporaryFolder tempFolder = new TemporaryFolder(CommonTestConstants.TMP_DIRECTORY);
+
+    @Test
+    public void shouldSortElementsWithNullStringPropertiesUsingTheSchema() throws IOException {
+        // Given
+        final Entity entity1 = createEntity("vertex1", 1, null);
+        final Entity entity2 = createEntity("vertex2", 2, "");
+        final Entity entity3 = createEntity("vertex3", 3, "value");
+        final File tempDirectory = tempFolder.newFolder();
+
+        // When
+        final List<Element> result;
+        try (final ExternalSortedIterable sorted = new ExternalSortedIterable(
+                Lists.newArrayList(entity3, entity2, entity1), COMPARATOR, false, 1, tempDirectory, createSchema())) {
+            result = Lists.newArrayList(sorted);
+        }
+
+        // Then
+        assertEquals(Lists.newArrayList(entity1, entity2, entity3), result);
+        assertNull(result.get(0).getProperty(TestPropertyNames.STRING));
+        assertEquals("", result.get(1).getProperty(TestPropertyNames.STRING));
+    }
+
+    @Test
+    public void shouldDeduplicateElementsWithTheSameSortKeyUsingTheSchema() throws IOException {
+        // Given
+        final List<Element> input = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            input.add(createEntity("vertex" + (i % 50), 1, 0 == i % 3 ? null : "value"));
+        }
+        Collections.shuffle(input, new Random(1));
+        final List<Element> expected = new ArrayList<>();
+        for (final Element element : input) {
+            if (!expected.contains(element)) {
+                expected.add(element);
+            }
+        }
+
+        // When
+        final List<Element> result;
+        try (final ExternalSortedIterable sorted = new ExternalSortedIterable(
+                input, COMPARATOR, true, 7, tempFolder.newFolder(), createSchema())) {
+            result = Lists.newArrayList(sorted);
+        }
+
+        // Then
+        assertEquals(expected.size(), result.size());
+        assertTrue(result.containsAll(expected));
+    }
+
+    @Test
+    public void shouldDeduplicateInterleavedElementsWithTheSameSortKeyInASingleBatch() throws IOException {
+        // Given
+        final Entity entityA = createEntity("vertexA", 1, "value");
+        final Entity entityB = createEntity("vertexB", 1, "value");
+        final Entity entityC = createEntity("vertexC", 1, "value");
+        final List<Element> input = Lists.newArrayList(entityA, entityB, entityA, entityC, entityB, entityA);
+
+        // When
+        final List<Element> result;
+        try (final ExternalSortedIterable sorted = new ExternalSortedIterable(
+                input, COMPARATOR, true, 100, tempFolder.newFolder(), createSchema())) {
+            result = Lists.newArrayList(sorted);
+        }
+
+        // Then
+        assertEquals(3, result.size());
+        assertTrue(result.containsAll(Lists.newArrayList(entityA, entityB, entityC)));
+    }
+
+    @Test
+    public void shouldDeleteRunFilesOnceTheyHaveBeenRead() throws IOException {
+        // Given
+        final File tempDirectory = tempFolder.newFolder();
+        final ExternalSortedIterable sorted = new ExternalSortedIterable(
+                Lists.newArrayList(createEntity("vertex1", 2, null), createEntity("vertex2", 1, null), createEntity("vertex3", 3, null)),
+                COMPARATOR, false, 1, tempDirectory, createSchema());
+        assertEquals(2, tempDirectory.list().length);
+
+        // When
+        final List<Element> result = Lists.newArrayList(sorted);
+
+        // Then
+        assertEquals(3, result.size());
+        assertEquals(0, tempDirectory.list().length);
+        try {
+            sorted.iterator();
+            fail("Exception expected");
+        } catch (final IllegalStateException e) {
+            assertNotNull(e.getMessage());
+        }
+    }
+
+    @Test
+    public void shouldDeleteRunFilesWhenClosed() throws IOException {
+        // Given
+        final File tempDirectory = tempFolder.newFolder();
+        final ExternalSortedIterable sorted = new ExternalSortedIterable(
+                Lists.newArrayList(createEntity("vertex1", 2, null), createEntity("vertex2", 1, null), createEntity("vertex3", 3, null)),
+                COMPARATOR, false, 1, tempDirectory, createSchema());
+        assertEquals(2, tempDirectory.list().length);
+
+        // When
+        sorted.close();
+
+        // Then
+        assertEquals(0, tempDirectory.list().length);
+    }
+
+    private static Entity createEntity(final String vertex, final int count, final String string) {
+        return new Entity.Builder()
+                .group(TestGroups.ENTITY)
+                .vertex(vertex)
+                .property(TestPropertyNames.COUNT, count)
+                .property(TestPropertyNames.STRING, string)
+                .build();
+    }
+
+    private static Schema createSchema() {
+        return new Schema.Builder()
+                .entity(TestGroups.ENTITY, new SchemaEntityDefinition.Builder()
+                        .vertex("string")
+                        .property(TestPropertyNames.COUNT, "int")
+                        .property(TestPropertyNames.STRING, "string")
+                        .build())
+                .type("string", new TypeDefinition.Builder()
+                        .clazz(String.class)
+                        .serialiser(new StringSerialiser())
+                        .build())
+                .type("int", new TypeDefinition.Builder()
+                        .clazz(Integer.class)
+                        .serialiser(new CompactRawIntegerSerialiser())
+                        .build())
+                .vertexSerialiser(new StringSerialiser())
+                .build();
+    }
+}
@@ -21,15 +21,22 @@ import com.google.common.collect.Lists;
 import org.junit.Test;
 
 import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
 import uk.gov.gchq.gaffer.commonutil.stream.Streams;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.Entity;
 import uk.gov.gchq.gaffer.data.element.comparison.ElementPropertyComparator;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.impl.compare.Sort;
+import uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Random;
@@ -40,6 +47,9 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
 
 public class SortHandlerTest {
 
@@ -386,6 +396,134 @@ public class SortHandlerTest {
         assertEquals(resultLimit, Iterables.size(result));
     }
 
+    @Test
+    public void shouldSortAndDeduplicateElementsSpilledToDisk() throws OperationException {
+        // Given
+        final int numElements = 1000;
+        final List<Element> input = new ArrayList<>();
+        for (int i = 0; i < numElements; i++) {
+            input.add(new Entity.Builder()
+                    .group(TestGroups.ENTITY)
+                    .property("property", i % (numElements / 2))
+                    .build());
+        }
+        Collections.shuffle(input, new Random(1));
+
+        final Sort sort = new Sort.Builder()
+                .input(input)
+                .comparators(new ElementPropertyComparator.Builder()
+                        .groups(TestGroups.ENTITY)
+                        .property("property")
+                        .build())
+                .deduplicate(true)
+                .build();
+
+        final SortHandler handler = new SortHandler();
+        handler.setMaxInMemoryElements(30);
+
+        // When
+        final Iterable<? extends Element> result = handler.doOperation(sort, null, null);
+
+        // Then
+        final List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < numElements / 2; i++) {
+            expected.add(i);
+        }
+        final List<Object> actual = new ArrayList<>();
+        for (final Element element : result) {
+            actual.add(element.getProperty("property"));
+        }
+        assertEquals(expected, actual);
+        // The spilled runs are deleted once they have been read, so they cannot be iterated again
+        try {
+            result.iterator();
+            fail("Exception expected");
+        } catch (final IllegalStateException e) {
+            assertNotNull(e.getMessage());
+        }
+    }
+
+    @Test
+    public void shouldSortElementsSpilledToDiskWithoutDeduplicating() throws OperationException {
+        // Given
+        final Entity entity1 = new Entity.Builder().group(TestGroups.ENTITY)
+                .property("property", 1)
+                .build();
+        final Entity entity2 = new Entity.Builder().group(TestGroups.ENTITY)
+                .property("property", 2)
+                .build();
+        final Entity entity3 = new Entity.Builder().group(TestGroups.ENTITY)
+                .property("property", 3)
+                .build();
+
+        final List<Entity> input = Lists.newArrayList(entity3, entity1, entity2, entity3, entity1);
+
+        final Sort sort = new Sort.Builder()
+                .input(input)
+                .comparators(new ElementPropertyComparator.Builder()
+                        .groups(TestGroups.ENTITY)
+                        .property("property")
+                        .build())
+                .deduplicate(false)
+                .build();
+
+        final SortHandler handler = new SortHandler();
+        handler.setMaxInMemoryElements(2);
+
+        // When
+        final Iterable<? extends Element> result = handler.doOperation(sort, null, null);
+
+        // Then
+        assertEquals(Arrays.asList(entity1, entity1, entity2, entity3, entity3), Lists.newArrayList(result));
+    }
+
+    @Test
+    public void shouldSortElementsSpilledToDiskWithNullPropertiesUsingStoreSchema() throws OperationException {
+        // Given
+        final Entity entity1 = new Entity.Builder().group(TestGroups.ENTITY)
+                .vertex("vertex1")
+                .build();
+        final Entity entity2 = new Entity.Builder().group(TestGroups.ENTITY)
+                .vertex("vertex2")
+                .property(TestPropertyNames.STRING, "b")
+                .build();
+        final Entity entity3 = new Entity.Builder().group(TestGroups.ENTITY)
+                .vertex("vertex3")
+                .property(TestPropertyNames.STRING, "c")
+                .build();
+
+        final Store store = mock(Store.class);
+        given(store.getSchema()).willReturn(new Schema.Builder()
+                .entity(TestGroups.ENTITY, new SchemaEntityDefinition.Builder()
+                        .vertex("string")
+                        .property(TestPropertyNames.STRING, "string")
+                        .build())
+                .type("string", new TypeDefinition.Builder()
+                        .clazz(String.class)
+                        .serialiser(new StringSerialiser())
+                        .build())
+                .vertexSerialiser(new StringSerialiser())
+                .build());
+
+        final Sort sort = new Sort.Builder()
+                .input(Lists.newArrayList(entity3, entity2, entity1))
+                .comparators(new ElementPropertyComparator.Builder()
+                        .groups(TestGroups.ENTITY)
+                        .property(TestPropertyNames.STRING)
+                        .build())
+                .deduplicate(true)
+                .build();
+
+        final SortHandler handler = new SortHandler();
+        handler.setMaxInMemoryElements(1);
+
+        // When
+        final Iterable<? extends Element> result = handler.doOperation(sort, null, store);
+
+        // Then
+        assertEquals(Arrays.asList(entity2, entity3, entity1), Lists.newArrayList(result));
+    }
+
     private static class ElementComparatorImpl implements Comparator<Element> {
         @Override
         public int compare(final Element o1, final Element o2) {
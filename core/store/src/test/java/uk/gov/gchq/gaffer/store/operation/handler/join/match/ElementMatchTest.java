@@ -21,10 +21,13 @@ import org.junit.Test;
 import uk.gov.gchq.gaffer.commonutil.CollectionUtil;
 import uk.gov.gchq.gaffer.commonutil.TestGroups;
 import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
+import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.Entity;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import static org.junit.Assert.*;
@@ -235,4 +238,84 @@ public class ElementMatchTest {
         // Then
         assertEquals(0, matchingElements.size());
     }
+
+    @Test
+    public void shouldMatchEdgesOnSourceDestinationAndDirection() {
+        // Given
+        final Edge testEdge = new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .source("A")
+                .dest("B")
+                .directed(true)
+                .property(TestPropertyNames.COUNT, 3L)
+                .build();
+        final Edge undirectedEdge = new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .source("A")
+                .dest("B")
+                .directed(false)
+                .build();
+        final Edge reversedEdge = new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .source("B")
+                .dest("A")
+                .directed(true)
+                .build();
+
+        final ElementMatch elementMatch = new ElementMatch();
+        elementMatch.init(Arrays.asList(testEdge.shallowClone(), undirectedEdge, reversedEdge, new Entity(TestGroups.EDGE, "A")));
+
+        // When
+        final List<Element> matchingElements = elementMatch.matching(testEdge);
+
+        // Then
+        assertEquals(Collections.singletonList(testEdge), matchingElements);
+    }
+
+    @Test
+    public void shouldReindexMatchCandidatesWhenGroupByPropertiesChange() {
+        // Given
+        final Entity testEntity = new Entity.Builder()
+                .group(TestGroups.ENTITY_3)
+                .vertex("vertex")
+                .property(TestPropertyNames.COUNT, 3L)
+                .build();
+        final Entity testEntity2 = new Entity.Builder()
+                .group(TestGroups.ENTITY_3)
+                .vertex("vertex")
+                .property(TestPropertyNames.COUNT, 5L)
+                .build();
+
+        final ElementMatch elementMatch = new ElementMatch();
+        elementMatch.init(Arrays.asList(testEntity.shallowClone(), testEntity2.shallowClone()));
+
+        // When
+        elementMatch.setElementGroupByProperties(Collections.singleton(TestPropertyNames.COUNT));
+        final List<Element> matchingElements = elementMatch.matching(testEntity);
+
+        // Then
+        assertEquals(Collections.singletonList(testEntity), matchingElements);
+    }
+
+    @Test
+    public void shouldMatchLargeInputsUsingIndex() {
+        // Given
+        final int size = 100000;
+        final List<Entity> comparisonEntityList = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            comparisonEntityList.add(new Entity(TestGroups.ENTITY, "vertex" + i));
+        }
+
+        final ElementMatch elementMatch = new ElementMatch();
+        elementMatch.init(comparisonEntityList);
+
+        // When
+        int matches = 0;
+        for (final Entity testEntity : comparisonEntityList) {
+            matches += elementMatch.matching(testEntity).size();
+        }
+
+        // Then
+        assertEquals(size, matches);
+    }
 }
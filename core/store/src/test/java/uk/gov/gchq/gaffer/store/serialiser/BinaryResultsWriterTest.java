@@ -0,0 +1,272 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.store.serialiser;
+
+import com.google.common.collect.Lists;
+import org.junit.Before;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
+import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.id.EdgeId;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawIntegerSerialiser;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEdgeDefinition;
+import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+import uk.gov.gchq.koryphe.impl.binaryoperator.Sum;
+import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class BinaryResultsWriterTest {
+    private Schema schema;
+
+    @Before
+    public void setUp() {
+        schema = new Schema.Builder()
+                .entity(TestGroups.ENTITY, new SchemaEntityDefinition.Builder()
+                        .vertex("string")
+                        .property(TestPropertyNames.COUNT, "int")
+                        .property(TestPropertyNames.STRING, "string")
+                        .build())
+                .edge(TestGroups.EDGE, new SchemaEdgeDefinition.Builder()
+                        .source("string")
+                        .destination("string")
+                        .directed("true")
+                        .property(TestPropertyNames.COUNT, "int")
+                        .build())
+                .type("string", new TypeDefinition.Builder()
+                        .clazz(String.class)
+                        .serialiser(new StringSerialiser())
+                        .build())
+                .type("int", new TypeDefinition.Builder()
+                        .clazz(Integer.class)
+                        .serialiser(new CompactRawIntegerSerialiser())
+                        .validateFunctions(new IsMoreThan(0))
+                        .aggregateFunction(new Sum())
+                        .build())
+                .type("true", Boolean.class)
+                .vertexSerialiser(new StringSerialiser())
+                .build();
+    }
+
+    @Test
+    public void shouldWriteAndReadResults() throws IOException {
+        // Given
+        final List<Object> results = Arrays.asList(
+                new Entity.Builder()
+                        .group(TestGroups.ENTITY)
+                        .vertex("vertex1")
+                        .property(TestPropertyNames.COUNT, 1)
+                        .build(),
+                new Edge.Builder()
+                        .group(TestGroups.EDGE)
+                        .source("vertex1")
+                        .dest("vertex2")
+                        .directed(true)
+                        .property(TestPropertyNames.COUNT, 2)
+                        .build(),
+                new Edge.Builder()
+                        .group(TestGroups.EDGE)
+                        .source("vertex1")
+                        .dest("vertex2")
+                        .directed(true)
+                        .matchedVertex(EdgeId.MatchedVertex.DESTINATION)
+                        .property(TestPropertyNames.COUNT, 3)
+                        .build(),
+                new Entity.Builder()
+                        .group(TestGroups.ENTITY)
+                        .vertex("vertex2")
+                        .property(TestPropertyNames.COUNT, 4)
+                        .property("transientProperty", "value")
+                        .build(),
+                new EntitySeed("vertex3"),
+                "a string",
+                5L,
+                null);
+
+        // When
+        final List<Object> readResults = Lists.newArrayList(new BinaryResultsReader(new ByteArrayInputStream(write(results, schema)), Object.class));
+
+        // Then
+        assertEquals(results, readResults);
+    }
+
+    @Test
+    public void shouldWriteAllResultsAsJsonWithoutSchema() throws IOException {
+        // Given
+        final List<Object> results = Arrays.asList(
+                new Entity.Builder()
+                        .group(TestGroups.ENTITY)
+                        .vertex("vertex1")
+                        .property(TestPropertyNames.COUNT, 1)
+                        .build(),
+                new EntitySeed("vertex2"));
+
+        // When
+        final List<Object> readResults = Lists.newArrayList(new BinaryResultsReader(new ByteArrayInputStream(write(results, null)), Object.class));
+
+        // Then
+        assertEquals(results, readResults);
+    }
+
+    @Test
+    public void shouldThrowExceptionIfStreamIsTruncated() throws IOException {
+        // Given
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final BinaryResultsWriter writer = new BinaryResultsWriter(out, schema);
+        writer.write(new EntitySeed("vertex1"));
+        writer.flush();
+        final BinaryResultsReader reader = new BinaryResultsReader(new ByteArrayInputStream(out.toByteArray()), Object.class);
+
+        // When / Then
+        try {
+            Lists.newArrayList(reader);
+            fail("Exception expected");
+        } catch (final GafferRuntimeException e) {
+            assertEquals("Binary results stream ended unexpectedly", e.getMessage());
+        }
+    }
+
+    @Test
+    public void shouldThrowExceptionIfStreamIsNotBinaryResults() {
+        // When / Then
+        try {
+            new BinaryResultsReader(new ByteArrayInputStream("[]".getBytes()), Object.class);
+            fail("Exception expected");
+        } catch (final IOException e) {
+            assertEquals("Stream is not in the Gaffer binary results format", e.getMessage());
+        }
+    }
+
+    @Test
+    public void shouldThrowExceptionIfLengthIsNegative() throws IOException {
+        // Given
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final DataOutputStream dataOut = new DataOutputStream(out);
+        dataOut.writeInt(BinaryResultsWriter.MAGIC);
+        dataOut.writeByte(BinaryResultsWriter.VERSION);
+        dataOut.writeInt(-1);
+        dataOut.flush();
+
+        // When / Then
+        try {
+            new BinaryResultsReader(new ByteArrayInputStream(out.toByteArray()), Object.class);
+            fail("Exception expected");
+        } catch (final SerialisationException e) {
+            assertEquals("Invalid length in binary results stream: -1 bytes (the maximum is "
+                    + BinaryResultsReader.DEFAULT_MAX_LENGTH + ")", e.getMessage());
+        }
+    }
+
+    @Test
+    public void shouldThrowExceptionIfResultIsLongerThanMaxLength() throws IOException {
+        // Given
+        final byte[] bytes = write(Arrays.asList(new EntitySeed("a vertex that is too long")), null);
+        final BinaryResultsReader reader = new BinaryResultsReader(new ByteArrayInputStream(bytes), Object.class, 20);
+
+        // When / Then
+        try {
+            Lists.newArrayList(reader);
+            fail("Exception expected");
+        } catch (final GafferRuntimeException e) {
+            assertTrue(e.getCause() instanceof SerialisationException);
+            assertTrue(e.getMessage().contains("Invalid length in binary results stream"));
+        }
+    }
+
+    @Test
+    public void shouldPreserveNullStringProperties() throws IOException {
+        // Given
+        final List<Object> results = Arrays.asList(
+                new Entity.Builder()
+                        .group(TestGroups.ENTITY)
+                        .vertex("vertex1")
+                        .property(TestPropertyNames.COUNT, 1)
+                        .build(),
+                new Entity.Builder()
+                        .group(TestGroups.ENTITY)
+                        .vertex("vertex2")
+                        .property(TestPropertyNames.COUNT, 2)
+                        .property(TestPropertyNames.STRING, "")
+                        .build());
+
+        // When
+        final List<Object> readResults = Lists.newArrayList(new BinaryResultsReader(new ByteArrayInputStream(write(results, schema)), Element.class));
+
+        // Then
+        assertEquals(results, readResults);
+        assertNull(((Element) readResults.get(0)).getProperty(TestPropertyNames.STRING));
+    }
+
+    @Test
+    public void shouldNotDeserialiseJsonResultsThatAreNotOfTheResultClass() throws IOException {
+        // Given
+        final BinaryResultsReader reader = new BinaryResultsReader(new ByteArrayInputStream(write(Arrays.asList("a string"), schema)), Element.class);
+
+        // When / Then
+        try {
+            Lists.newArrayList(reader);
+            fail("Exception expected");
+        } catch (final GafferRuntimeException e) {
+            assertTrue(e.getMessage().contains("java.lang.String is not a " + Element.class.getName()));
+        }
+    }
+
+    @Test
+    public void shouldOnlyIncludeSerialiserConfigurationInSerialisationSchema() {
+        // When
+        final Schema serialisationSchema = BinaryResultsWriter.createSerialisationSchema(schema);
+
+        // Then
+        assertEquals(schema.getEntity(TestGroups.ENTITY).getPropertyMap(), serialisationSchema.getEntity(TestGroups.ENTITY).getPropertyMap());
+        assertEquals(schema.getEdge(TestGroups.EDGE).getIdentifierMap(), serialisationSchema.getEdge(TestGroups.EDGE).getIdentifierMap());
+        assertEquals(CompactRawIntegerSerialiser.class, serialisationSchema.getType("int").getSerialiser().getClass());
+        assertEquals(Integer.class, serialisationSchema.getType("int").getClazz());
+        assertNull(serialisationSchema.getType("int").getAggregateFunction());
+        assertNull(serialisationSchema.getType("int").getValidateFunctions());
+        assertFalse(serialisationSchema.getEntity(TestGroups.ENTITY).isAggregate());
+    }
+
+    private static byte[] write(final List<Object> results, final Schema schema) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final BinaryResultsWriter writer = new BinaryResultsWriter(out, schema);
+        for (final Object result : results) {
+            writer.write(result);
+        }
+        writer.end();
+        return out.toByteArray();
+    }
+}
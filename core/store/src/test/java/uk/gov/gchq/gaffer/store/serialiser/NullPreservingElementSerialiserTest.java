@@ -0,0 +1,115 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.serialiser;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEdgeDefinition;
+import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class NullPreservingElementSerialiserTest {
+
+    private NullPreservingElementSerialiser serialiser;
+
+    @Before
+    public void setUp() {
+        final Schema schema = new Schema.Builder()
+                .entity(TestGroups.ENTITY, new SchemaEntityDefinition.Builder()
+                        .vertex("string")
+                        .property(TestPropertyNames.PROP_1, "string")
+                        .property(TestPropertyNames.PROP_2, "string")
+                        .build())
+                .edge(TestGroups.EDGE, new SchemaEdgeDefinition.Builder()
+                        .source("string")
+                        .destination("string")
+                        .directed("true")
+                        .property(TestPropertyNames.PROP_1, "string")
+                        .build())
+                .type("string", new TypeDefinition.Builder()
+                        .clazz(String.class)
+                        .serialiser(new StringSerialiser())
+                        .build())
+                .type("true", Boolean.class)
+                .vertexSerialiser(new StringSerialiser())
+                .build();
+        serialiser = new NullPreservingElementSerialiser(schema);
+    }
+
+    @Test
+    public void shouldPreserveNullStringProperty() throws SerialisationException {
+        // Given
+        final Entity entity = new Entity.Builder()
+                .group(TestGroups.ENTITY)
+                .vertex("vertex")
+                .property(TestPropertyNames.PROP_2, "value")
+                .build();
+
+        // When
+        final Element deserialised = serialiser.deserialise(serialiser.serialise(entity));
+
+        // Then
+        assertEquals(entity, deserialised);
+        assertNull(deserialised.getProperty(TestPropertyNames.PROP_1));
+    }
+
+    @Test
+    public void shouldPreserveEmptyStringProperty() throws SerialisationException {
+        // Given
+        final Entity entity = new Entity.Builder()
+                .group(TestGroups.ENTITY)
+                .vertex("vertex")
+                .property(TestPropertyNames.PROP_1, "")
+                .build();
+
+        // When
+        final Element deserialised = serialiser.deserialise(serialiser.serialise(entity));
+
+        // Then
+        assertEquals(entity, deserialised);
+        assertEquals("", deserialised.getProperty(TestPropertyNames.PROP_1));
+    }
+
+    @Test
+    public void shouldSerialiseEdgeWithoutProperties() throws SerialisationException {
+        // Given
+        final Edge edge = new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .source("source")
+                .dest("destination")
+                .directed(true)
+                .build();
+
+        // When
+        final Element deserialised = serialiser.deserialise(serialiser.serialise(edge));
+
+        // Then
+        assertEquals(edge, deserialised);
+    }
+}
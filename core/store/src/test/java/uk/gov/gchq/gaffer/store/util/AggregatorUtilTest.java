@@ -24,9 +24,11 @@ import uk.gov.gchq.gaffer.store.schema.SchemaTest;
 import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
 import uk.gov.gchq.koryphe.impl.binaryoperator.Product;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -177,6 +179,50 @@ public class AggregatorUtilTest {
         assertElementEquals(expected, aggregatedElements);
     }
 
+    @Test
+    public void shouldIngestAggregateElementsInParallel() {
+        // given
+        final Schema schema = Schema.fromJson(StreamUtil.openStreams(getClass(), "schema-groupby"));
+        final int numVertices = 100;
+        final int numElementsPerVertex = 200;
+
+        final List<Element> elements = new ArrayList<>();
+        for (int i = 0; i < numElementsPerVertex; i++) {
+            for (int vertex = 0; vertex < numVertices; vertex++) {
+                elements.add(new Entity.Builder()
+                        .group(TestGroups.ENTITY)
+                        .vertex("vertex" + vertex)
+                        .property("count", 1)
+                        .build());
+            }
+        }
+        elements.add(new Entity.Builder()
+                .group(TestGroups.NON_AGG_ENTITY)
+                .vertex("vertex1")
+                .property("count", 1)
+                .build());
+
+        final Set<Element> expected = new HashSet<>();
+        for (int vertex = 0; vertex < numVertices; vertex++) {
+            expected.add(new Entity.Builder()
+                    .group(TestGroups.ENTITY)
+                    .vertex("vertex" + vertex)
+                    .property("count", numElementsPerVertex)
+                    .build());
+        }
+        expected.add(new Entity.Builder()
+                .group(TestGroups.NON_AGG_ENTITY)
+                .vertex("vertex1")
+                .property("count", 1)
+                .build());
+
+        // when
+        final CloseableIterable<Element> aggregatedElements = AggregatorUtil.ingestAggregate(elements, schema, 4);
+
+        // then
+        assertElementEquals(expected, aggregatedElements);
+    }
+
     @Test
     public void shouldIngestAggregateElementsWithGroupBy() {
         // given
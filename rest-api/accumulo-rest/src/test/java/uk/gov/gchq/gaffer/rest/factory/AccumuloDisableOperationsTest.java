@@ -16,7 +16,9 @@
 
 package uk.gov.gchq.gaffer.rest.factory;
 
+import uk.gov.gchq.gaffer.accumulostore.operation.hdfs.operation.ExportAccumuloKeyValueFiles;
 import uk.gov.gchq.gaffer.accumulostore.operation.hdfs.operation.ImportAccumuloKeyValueFiles;
+import uk.gov.gchq.gaffer.accumulostore.operation.impl.RebalanceTablets;
 import uk.gov.gchq.gaffer.hdfs.operation.AddElementsFromHdfs;
 import uk.gov.gchq.gaffer.hdfs.operation.SampleDataForSplitPoints;
 import uk.gov.gchq.gaffer.operation.impl.SplitStore;
@@ -31,7 +33,9 @@ public class AccumuloDisableOperationsTest extends DisableOperationsTest {
                 SplitStore.class,
                 AddElementsFromHdfs.class,
                 SampleDataForSplitPoints.class,
-                ImportAccumuloKeyValueFiles.class
+                ImportAccumuloKeyValueFiles.class,
+                ExportAccumuloKeyValueFiles.class,
+                RebalanceTablets.class
         );
     }
 }
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.rest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Holds the bounded {@link ExecutorService} used to execute chunked operations
+ * in the REST API.
+ * <p>
+ * The number of threads and the number of queued requests are limited by the
+ * {@link SystemProperty#CHUNKED_THREADS} and {@link SystemProperty#CHUNKED_QUEUE_SIZE}
+ * system properties. Requests submitted once the queue is full are rejected.
+ * If {@link SystemProperty#CHUNKED_VIRTUAL_THREADS} is true and the JVM supports
+ * virtual threads then these are used instead of platform threads.
+ */
+public final class ChunkedExecutorService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ChunkedExecutorService.class);
+    private static ExecutorService service;
+
+    private ChunkedExecutorService() {
+        // private constructor to prevent instantiation
+    }
+
+    public static synchronized ExecutorService getService() {
+        if (null == service) {
+            final int threads = Integer.parseInt(System.getProperty(SystemProperty.CHUNKED_THREADS, SystemProperty.CHUNKED_THREADS_DEFAULT));
+            final int queueSize = Integer.parseInt(System.getProperty(SystemProperty.CHUNKED_QUEUE_SIZE, SystemProperty.CHUNKED_QUEUE_SIZE_DEFAULT));
+            final boolean virtualThreads = Boolean.parseBoolean(System.getProperty(SystemProperty.CHUNKED_VIRTUAL_THREADS, SystemProperty.CHUNKED_VIRTUAL_THREADS_DEFAULT));
+            LOGGER.debug("Initialising ChunkedExecutorService with {} threads and a queue size of {}", threads, queueSize);
+
+            final ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads,
+                    60L, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(Math.max(1, queueSize)),
+                    createThreadFactory(virtualThreads));
+            executor.allowCoreThreadTimeOut(true);
+            service = executor;
+        }
+        return service;
+    }
+
+    public static synchronized void shutdown() {
+        if (null != service) {
+            service.shutdown();
+        }
+        service = null;
+    }
+
+    private static ThreadFactory createThreadFactory(final boolean virtualThreads) {
+        if (virtualThreads) {
+            try {
+                // Virtual threads are looked up reflectively so the REST API can still run on older JVMs
+                final Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+                final Method nameMethod = Class.forName("java.lang.Thread$Builder").getMethod("name", String.class, long.class);
+                final Method factoryMethod = Class.forName("java.lang.Thread$Builder").getMethod("factory");
+                return (ThreadFactory) factoryMethod.invoke(nameMethod.invoke(builder, "gaffer-chunked-", 0L));
+            } catch (final ReflectiveOperationException | RuntimeException e) {
+                LOGGER.warn("Virtual threads are not supported by this JVM, platform threads will be used instead");
+            }
+        }
+
+        final AtomicInteger threadCount = new AtomicInteger();
+        return runnable -> {
+            final Thread thread = new Thread(runnable, "gaffer-chunked-" + threadCount.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
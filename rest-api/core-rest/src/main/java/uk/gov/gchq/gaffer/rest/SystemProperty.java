@@ -45,6 +45,12 @@ public abstract class SystemProperty {
     public static final String JSON_SERIALISER_CLASS = JSONSerialiser.JSON_SERIALISER_CLASS_KEY;
     public static final String JSON_SERIALISER_MODULES = JSONSerialiser.JSON_SERIALISER_MODULES;
     public static final String REST_DEBUG = DebugUtil.DEBUG;
+    public static final String CHUNKED_THREADS = "gaffer.rest-api.chunked.threads";
+    public static final String CHUNKED_QUEUE_SIZE = "gaffer.rest-api.chunked.queue.size";
+    public static final String CHUNKED_VIRTUAL_THREADS = "gaffer.rest-api.chunked.virtual-threads";
+    public static final String CHUNKED_BUFFER_SIZE = "gaffer.rest-api.chunked.buffer.size";
+    public static final String CHUNKED_WRITE_TIMEOUT = "gaffer.rest-api.chunked.write.timeout";
+    public static final String CHUNKED_EXECUTE_TIMEOUT = "gaffer.rest-api.chunked.execute.timeout";
 
     // Exposed Property Keys
     /**
@@ -98,6 +104,25 @@ public abstract class SystemProperty {
     public static final String GRAPH_FACTORY_CLASS_DEFAULT = DefaultGraphFactory.class.getName();
     public static final String USER_FACTORY_CLASS_DEFAULT = UnknownUserFactory.class.getName();
     public static final String REST_DEBUG_DEFAULT = DebugUtil.DEBUG_DEFAULT;
+    public static final String CHUNKED_THREADS_DEFAULT = "50";
+    public static final String CHUNKED_QUEUE_SIZE_DEFAULT = "100";
+    public static final String CHUNKED_VIRTUAL_THREADS_DEFAULT = "false";
+    /**
+     * The number of serialised results buffered for a chunked response before
+     * the operation is paused until the client has read them.
+     */
+    public static final String CHUNKED_BUFFER_SIZE_DEFAULT = "1000";
+    /**
+     * The number of milliseconds to wait for a client to read a chunk before
+     * the chunked response is abandoned.
+     */
+    public static final String CHUNKED_WRITE_TIMEOUT_DEFAULT = "300000";
+    /**
+     * The number of milliseconds to wait for an operation chain to be executed
+     * before the chunked response is started. Any errors after this are
+     * returned as an error chunk rather than an error status.
+     */
+    public static final String CHUNKED_EXECUTE_TIMEOUT_DEFAULT = "30000";
     public static final String APP_TITLE_DEFAULT = "Gaffer REST";
     public static final String APP_DESCRIPTION_DEFAULT = "The Gaffer REST service.";
     public static final String APP_DOCUMENTATION_URL_DEFAULT = "https://gchq.github.io/gaffer-doc/";
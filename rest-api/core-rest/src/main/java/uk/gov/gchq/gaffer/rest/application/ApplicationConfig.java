@@ -27,7 +27,9 @@ import uk.gov.gchq.gaffer.rest.mapper.GenericExceptionMapper;
 import uk.gov.gchq.gaffer.rest.mapper.ProcessingExceptionMapper;
 import uk.gov.gchq.gaffer.rest.mapper.UnauthorisedExceptionMapper;
 import uk.gov.gchq.gaffer.rest.mapper.WebApplicationExceptionMapper;
+import uk.gov.gchq.gaffer.rest.serialisation.BinaryResultsMessageBodyWriter;
 import uk.gov.gchq.gaffer.rest.serialisation.RestJsonProvider;
+import uk.gov.gchq.gaffer.rest.serialisation.StreamingJsonMessageBodyWriter;
 import uk.gov.gchq.gaffer.rest.serialisation.TextMessageBodyWriter;
 
 import java.util.HashSet;
@@ -53,6 +55,8 @@ public abstract class ApplicationConfig extends ResourceConfig {
         resources.add(ApiListingResource.class);
         resources.add(SwaggerSerializers.class);
         resources.add(RestJsonProvider.class);
+        resources.add(StreamingJsonMessageBodyWriter.class);
+        resources.add(BinaryResultsMessageBodyWriter.class);
         resources.add(TextMessageBodyWriter.class);
     }
 
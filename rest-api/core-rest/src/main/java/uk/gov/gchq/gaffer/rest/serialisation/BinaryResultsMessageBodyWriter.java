@@ -0,0 +1,119 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.rest.serialisation;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.rest.factory.GraphFactory;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaOptimiser;
+import uk.gov.gchq.gaffer.store.serialiser.BinaryResultsWriter;
+
+import javax.inject.Inject;
+import javax.ws.rs.Produces;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.MessageBodyWriter;
+import javax.ws.rs.ext.Provider;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+/**
+ * A {@link MessageBodyWriter} that streams {@link CloseableIterable} results
+ * in the compact {@link BinaryResultsWriter#MEDIA_TYPE} format, for clients
+ * such as the ProxyStore that request it.
+ * <p>
+ * Elements are serialised using the graph schema, with default serialisers
+ * added for any types that do not have one. The iterable is closed once it
+ * has been written.
+ */
+@Provider
+@Produces(BinaryResultsWriter.MEDIA_TYPE)
+public class BinaryResultsMessageBodyWriter implements MessageBodyWriter<CloseableIterable<?>> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(BinaryResultsMessageBodyWriter.class);
+
+    @Inject
+    private GraphFactory graphFactory;
+
+    private Schema graphSchema;
+    private Schema serialisationSchema;
+
+    @Override
+    public boolean isWriteable(final Class<?> type, final Type genericType,
+                               final Annotation[] annotations, final MediaType mediaType) {
+        return null != type && CloseableIterable.class.isAssignableFrom(type);
+    }
+
+    @Override
+    public long getSize(final CloseableIterable<?> iterable, final Class<?> type,
+                        final Type genericType, final Annotation[] annotations,
+                        final MediaType mediaType) {
+        return -1;
+    }
+
+    @Override
+    public void writeTo(final CloseableIterable<?> iterable, final Class<?> type,
+                        final Type genericType, final Annotation[] annotations,
+                        final MediaType mediaType,
+                        final MultivaluedMap<String, Object> httpHeaders,
+                        final OutputStream entityStream)
+            throws IOException, WebApplicationException {
+        try {
+            final BinaryResultsWriter writer = new BinaryResultsWriter(entityStream, getSerialisationSchema());
+            boolean first = true;
+            for (final Object item : iterable) {
+                writer.write(item);
+                if (first) {
+                    // Send the first item straight away rather than waiting for the buffer to fill
+                    writer.flush();
+                    first = false;
+                }
+            }
+            writer.end();
+        } finally {
+            CloseableUtil.close(iterable);
+        }
+    }
+
+    private synchronized Schema getSerialisationSchema() {
+        final Schema schema = null != graphFactory ? graphFactory.getGraph().getSchema() : null;
+        if (schema != graphSchema) {
+            graphSchema = schema;
+            serialisationSchema = optimise(schema);
+        }
+        return serialisationSchema;
+    }
+
+    private static Schema optimise(final Schema schema) {
+        if (null == schema) {
+            return null;
+        }
+        try {
+            // The serialisers are sent with the results so any consistent serialisers can be used
+            return new SchemaOptimiser().optimise(schema.clone(), false);
+        } catch (final RuntimeException e) {
+            LOGGER.debug("Unable to add default serialisers to the schema, results without serialisers will be written as JSON: {}", e.getMessage());
+            return schema;
+        }
+    }
+}
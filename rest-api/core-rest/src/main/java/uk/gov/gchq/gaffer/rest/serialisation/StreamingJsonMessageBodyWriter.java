@@ -0,0 +1,100 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.rest.serialisation;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+
+import javax.ws.rs.Produces;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.MessageBodyWriter;
+import javax.ws.rs.ext.Provider;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+/**
+ * A {@link MessageBodyWriter} that streams {@link CloseableIterable} results
+ * to the response as a JSON array.
+ * <p>
+ * Each item is serialised directly to the response using a single
+ * {@link JsonGenerator}, so the memory used does not depend on the size of the
+ * result and the first item is sent as soon as it has been retrieved. The
+ * iterable is closed once it has been written.
+ * <p>
+ * If the iterable fails part way through, the array is not terminated and the
+ * exception is rethrown, so the response is aborted rather than appearing to
+ * be a complete but truncated result.
+ */
+@Provider
+@Produces(MediaType.APPLICATION_JSON)
+public class StreamingJsonMessageBodyWriter implements MessageBodyWriter<CloseableIterable<?>> {
+    @Override
+    public boolean isWriteable(final Class<?> type, final Type genericType,
+                               final Annotation[] annotations, final MediaType mediaType) {
+        return null != type && CloseableIterable.class.isAssignableFrom(type);
+    }
+
+    @Override
+    public long getSize(final CloseableIterable<?> iterable, final Class<?> type,
+                        final Type genericType, final Annotation[] annotations,
+                        final MediaType mediaType) {
+        return -1;
+    }
+
+    @Override
+    public void writeTo(final CloseableIterable<?> iterable, final Class<?> type,
+                        final Type genericType, final Annotation[] annotations,
+                        final MediaType mediaType,
+                        final MultivaluedMap<String, Object> httpHeaders,
+                        final OutputStream entityStream)
+            throws IOException, WebApplicationException {
+        final ObjectMapper mapper = JSONSerialiser.getMapper();
+        final ObjectWriter writer = mapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        final JsonGenerator generator = mapper.getFactory().createGenerator(entityStream, JsonEncoding.UTF8);
+        // The response stream is closed by the container
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        // Never complete the array on failure, otherwise a partial result would look valid
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+        try {
+            generator.writeStartArray();
+            boolean first = true;
+            for (final Object item : iterable) {
+                writer.writeValue(generator, item);
+                if (first) {
+                    // Send the first item straight away rather than waiting for the buffer to fill
+                    generator.flush();
+                    first = false;
+                }
+            }
+            generator.writeEndArray();
+            generator.close();
+        } finally {
+            CloseableUtil.close(iterable);
+        }
+    }
+}
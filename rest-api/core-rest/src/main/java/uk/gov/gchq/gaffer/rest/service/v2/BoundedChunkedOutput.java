@@ -0,0 +1,187 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.rest.service.v2;
+
+import javax.ws.rs.core.StreamingOutput;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link StreamingOutput} that hands chunks from the thread executing an
+ * operation to the thread writing the HTTP response, via a bounded buffer.
+ * <p>
+ * If the client reads the response more slowly than the results are produced,
+ * the buffer fills up and {@link #write(String)} blocks, so the server does not
+ * buffer the entire result. Each chunk is followed by a CRLF delimiter, matching
+ * the format of a Jersey {@code ChunkedOutput}.
+ * <p>
+ * If the operation fails after chunks have been sent, {@link #fail(byte[])}
+ * writes a final error chunk and the response is then aborted, so clients do
+ * not mistake a partial result for a complete one.
+ */
+public class BoundedChunkedOutput implements StreamingOutput, Closeable {
+    private static final byte[] DELIMITER = "\r\n".getBytes(StandardCharsets.UTF_8);
+    private static final Object END_OF_CHUNKS = new Object();
+    private static final long POLL_INTERVAL_MS = 100L;
+
+    private final BlockingQueue<Object> buffer;
+    private final long writeTimeoutMs;
+    private volatile boolean readerClosed;
+    private volatile boolean failed;
+    private volatile boolean closed;
+
+    public BoundedChunkedOutput(final int bufferSize, final long writeTimeoutMs) {
+        this.buffer = new ArrayBlockingQueue<>(Math.max(1, bufferSize));
+        this.writeTimeoutMs = writeTimeoutMs;
+    }
+
+    /**
+     * Adds a chunk to the buffer, blocking whilst the buffer is full.
+     *
+     * @param chunk the chunk to write
+     * @throws IOException if the output has been closed, the client has
+     *                     disconnected or the client has not read any chunks
+     *                     within the write timeout
+     */
+    public void write(final String chunk) throws IOException {
+        write(chunk.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Adds a chunk of UTF-8 encoded bytes to the buffer, blocking whilst the
+     * buffer is full.
+     *
+     * @param chunk the chunk to write
+     * @throws IOException if the output has been closed, the client has
+     *                     disconnected or the client has not read any chunks
+     *                     within the write timeout
+     */
+    public void write(final byte[] chunk) throws IOException {
+        if (closed) {
+            throw new IOException("Chunked output has been closed");
+        }
+        if (readerClosed) {
+            throw new IOException("Client is no longer reading the chunked output");
+        }
+        offer(chunk);
+    }
+
+    /**
+     * Marks the end of the chunks. Once the buffered chunks have been written
+     * the response will be completed.
+     */
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            try {
+                offer(END_OF_CHUNKS);
+            } catch (final IOException e) {
+                // The client has disconnected so there is nothing left to complete
+            }
+        }
+    }
+
+    /**
+     * Marks the chunks as having failed. Once the buffered chunks and the
+     * error chunk have been written, the response is aborted rather than
+     * completed.
+     *
+     * @param errorChunk the chunk describing the error
+     */
+    public void fail(final byte[] errorChunk) {
+        if (!closed) {
+            closed = true;
+            failed = true;
+            try {
+                offer(new ErrorChunk(errorChunk));
+            } catch (final IOException e) {
+                // The client has disconnected so there is nothing left to report the error to
+            }
+        }
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    public boolean isFailed() {
+        return failed;
+    }
+
+    @Override
+    public void write(final OutputStream output) throws IOException {
+        try {
+            Object chunk = buffer.take();
+            while (END_OF_CHUNKS != chunk) {
+                if (chunk instanceof ErrorChunk) {
+                    output.write(((ErrorChunk) chunk).bytes);
+                    output.write(DELIMITER);
+                    output.flush();
+                    // Abort the response so it is not terminated as if it were complete
+                    throw new IOException("The operation failed whilst writing the chunked output");
+                }
+                output.write((byte[]) chunk);
+                output.write(DELIMITER);
+                // Only flush once the buffer has been drained so bursts of chunks are sent together
+                if (buffer.isEmpty()) {
+                    output.flush();
+                }
+                chunk = buffer.take();
+            }
+            output.flush();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted whilst writing chunks");
+        } finally {
+            readerClosed = true;
+            buffer.clear();
+        }
+    }
+
+    private void offer(final Object chunk) throws IOException {
+        long waitedMs = 0;
+        try {
+            while (!buffer.offer(chunk, POLL_INTERVAL_MS, TimeUnit.MILLISECONDS)) {
+                if (readerClosed) {
+                    throw new IOException("Client is no longer reading the chunked output");
+                }
+                waitedMs += POLL_INTERVAL_MS;
+                if (waitedMs >= writeTimeoutMs) {
+                    throw new IOException("Timed out after " + writeTimeoutMs + "ms waiting for the client to read the chunked output");
+                }
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted whilst waiting to write a chunk");
+        }
+    }
+
+    private static final class ErrorChunk {
+        private final byte[] bytes;
+
+        private ErrorChunk(final byte[] bytes) {
+            this.bytes = bytes;
+        }
+    }
+}
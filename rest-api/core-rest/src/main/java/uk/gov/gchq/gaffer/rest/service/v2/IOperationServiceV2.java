@@ -26,6 +26,7 @@ import io.swagger.annotations.ResponseHeader;
 
 import uk.gov.gchq.gaffer.operation.Operation;
 import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.store.serialiser.BinaryResultsWriter;
 
 import javax.ws.rs.Consumes;
 import javax.ws.rs.GET;
@@ -84,11 +85,11 @@ public interface IOperationServiceV2 {
 
     @POST
     @Path("/execute")
-    @Produces({APPLICATION_JSON, TEXT_PLAIN})
+    @Produces({APPLICATION_JSON, TEXT_PLAIN, BinaryResultsWriter.MEDIA_TYPE})
     @ApiOperation(value = "Performs the given operation on the graph",
             notes = "Attempts to execute the provided operation on the graph, and returns the result below. " +
                     "Simple examples for each operation can be added using the drop-down below.",
-            produces = (APPLICATION_JSON + "," + TEXT_PLAIN),
+            produces = (APPLICATION_JSON + "," + TEXT_PLAIN + "," + BinaryResultsWriter.MEDIA_TYPE),
             response = Object.class,
             responseHeaders = {
                     @ResponseHeader(name = JOB_ID_HEADER, description = JOB_ID_HEADER_DESCRIPTION),
@@ -17,19 +17,19 @@
 package uk.gov.gchq.gaffer.rest.service.v2;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
-import org.glassfish.jersey.server.ChunkedOutput;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
 import uk.gov.gchq.gaffer.commonutil.Required;
+import uk.gov.gchq.gaffer.commonutil.StringUtil;
 import uk.gov.gchq.gaffer.commonutil.ToStringBuilder;
 import uk.gov.gchq.gaffer.commonutil.exception.UnauthorisedException;
 import uk.gov.gchq.gaffer.commonutil.pair.Pair;
 import uk.gov.gchq.gaffer.core.exception.Error;
+import uk.gov.gchq.gaffer.core.exception.ErrorFactory;
 import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
 import uk.gov.gchq.gaffer.core.exception.Status;
 import uk.gov.gchq.gaffer.graph.GraphRequest;
@@ -38,6 +38,8 @@ import uk.gov.gchq.gaffer.operation.Operation;
 import uk.gov.gchq.gaffer.operation.OperationChain;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.io.Output;
+import uk.gov.gchq.gaffer.rest.ChunkedExecutorService;
+import uk.gov.gchq.gaffer.rest.SystemProperty;
 import uk.gov.gchq.gaffer.rest.factory.GraphFactory;
 import uk.gov.gchq.gaffer.rest.factory.UserFactory;
 import uk.gov.gchq.gaffer.rest.service.v2.example.ExamplesFactory;
@@ -55,11 +57,18 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import static javax.ws.rs.core.Response.Status.FORBIDDEN;
 import static javax.ws.rs.core.Response.Status.INTERNAL_SERVER_ERROR;
 import static javax.ws.rs.core.Response.Status.NOT_FOUND;
+import static javax.ws.rs.core.Response.Status.SERVICE_UNAVAILABLE;
 import static uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser.createDefaultMapper;
 import static uk.gov.gchq.gaffer.rest.ServiceConstants.GAFFER_MEDIA_TYPE;
 import static uk.gov.gchq.gaffer.rest.ServiceConstants.GAFFER_MEDIA_TYPE_HEADER;
@@ -122,36 +131,60 @@ public class OperationServiceV2 implements IOperationServiceV2 {
         return executeChunkedChain(OperationChain.wrap(operation));
     }
 
-    @SuppressFBWarnings
     @Override
     public Response executeChunkedChain(final OperationChain opChain) {
-        // Create chunked output instance
-        final Throwable[] threadException = new Throwable[1];
-        final ChunkedOutput<String> output = new ChunkedOutput<>(String.class, "\r\n");
+        final BoundedChunkedOutput output = new BoundedChunkedOutput(
+                Integer.parseInt(System.getProperty(SystemProperty.CHUNKED_BUFFER_SIZE, SystemProperty.CHUNKED_BUFFER_SIZE_DEFAULT)),
+                Long.parseLong(System.getProperty(SystemProperty.CHUNKED_WRITE_TIMEOUT, SystemProperty.CHUNKED_WRITE_TIMEOUT_DEFAULT)));
+        final long executeTimeoutMs = Long.parseLong(System.getProperty(SystemProperty.CHUNKED_EXECUTE_TIMEOUT, SystemProperty.CHUNKED_EXECUTE_TIMEOUT_DEFAULT));
         final Context context = userFactory.createContext();
 
-        // create thread to write chunks to the chunked output object
-        Thread thread = new Thread(() -> {
-            try {
-                final Object result = _execute(opChain, context).getFirst();
-                chunkResult(result, output);
-            } catch (final Exception e) {
-                throw new RuntimeException(e);
-            } finally {
-                CloseableUtil.close(output);
-                CloseableUtil.close(opChain);
-            }
-        });
-
-        // By default threads throw nothing, so set the ExceptionHandler
-        thread.setUncaughtExceptionHandler((thread1, exception) -> threadException[0] = exception.getCause());
-
-        thread.start();
+        // Completed once the operation chain has been executed, so any errors can be returned to the client.
+        // If the chunked response has already been started, errors are written as an error chunk instead.
+        final CompletableFuture<Void> executed = new CompletableFuture<>();
+        try {
+            ChunkedExecutorService.getService().execute(() -> {
+                try {
+                    final Object result;
+                    try {
+                        result = _execute(opChain, context).getFirst();
+                    } catch (final Exception e) {
+                        if (!executed.completeExceptionally(e)) {
+                            LOGGER.error("Failed to execute operation chain (chunks)", e);
+                            output.fail(createErrorChunk(e));
+                        }
+                        return;
+                    }
+                    executed.complete(null);
+                    chunkResult(result, output);
+                } finally {
+                    CloseableUtil.close(output);
+                    CloseableUtil.close(opChain);
+                }
+            });
+        } catch (final RejectedExecutionException e) {
+            CloseableUtil.close(opChain);
+            return Response.status(SERVICE_UNAVAILABLE)
+                    .entity(new Error.ErrorBuilder()
+                            .status(Status.SERVICE_UNAVAILABLE)
+                            .statusCode(503)
+                            .simpleMessage("Too many chunked operations are being executed, please try again later")
+                            .build())
+                    .header(GAFFER_MEDIA_TYPE_HEADER, GAFFER_MEDIA_TYPE)
+                    .build();
+        }
 
-        // Sleep to check exception will be caught
         try {
-            Thread.sleep(1000);
+            try {
+                executed.get(executeTimeoutMs, TimeUnit.MILLISECONDS);
+            } catch (final TimeoutException e) {
+                // Start the chunked response rather than holding the request open.
+                // If the operation chain finished in the meantime its outcome is used.
+                executed.complete(null);
+                executed.get();
+            }
         } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
             return Response.status(INTERNAL_SERVER_ERROR)
                     .entity(new Error.ErrorBuilder()
                             .status(Status.INTERNAL_SERVER_ERROR)
@@ -160,16 +193,15 @@ public class OperationServiceV2 implements IOperationServiceV2 {
                             .build())
                     .header(GAFFER_MEDIA_TYPE_HEADER, GAFFER_MEDIA_TYPE)
                     .build();
-        }
-
-        // If there was an UnauthorisedException thrown return 403, else return a 500
-        if (null != threadException[0]) {
-            if (threadException.getClass().equals(UnauthorisedException.class)) {
-                return Response.status(INTERNAL_SERVER_ERROR)
+        } catch (final ExecutionException e) {
+            // If there was an UnauthorisedException thrown return 403, else return a 500
+            final Throwable cause = e.getCause();
+            if (cause instanceof UnauthorisedException) {
+                return Response.status(FORBIDDEN)
                         .entity(new Error.ErrorBuilder()
                                 .status(Status.FORBIDDEN)
                                 .statusCode(403)
-                                .simpleMessage(threadException[0].getMessage())
+                                .simpleMessage(cause.getMessage())
                                 .build())
                         .header(GAFFER_MEDIA_TYPE_HEADER, GAFFER_MEDIA_TYPE)
                         .build();
@@ -178,7 +210,7 @@ public class OperationServiceV2 implements IOperationServiceV2 {
                         .entity(new Error.ErrorBuilder()
                                 .status(Status.INTERNAL_SERVER_ERROR)
                                 .statusCode(500)
-                                .simpleMessage(threadException[0].getMessage())
+                                .simpleMessage(cause.getMessage())
                                 .build())
                         .header(GAFFER_MEDIA_TYPE_HEADER, GAFFER_MEDIA_TYPE)
                         .build();
@@ -296,27 +328,50 @@ public class OperationServiceV2 implements IOperationServiceV2 {
         return new Pair<>(result.getResult(), result.getContext().getJobId());
     }
 
-    protected void chunkResult(final Object result, final ChunkedOutput<String> output) {
+    /**
+     * Serialises the result and writes it to the output. If the result is an
+     * {@link Iterable} then each item is written as a separate chunk. Writes
+     * block whilst the output buffer is full, so results are only read from
+     * the iterable as fast as the client consumes them. If the iterable fails,
+     * the output is failed with an error chunk consisting of
+     * {@link Error#CHUNKED_ERROR_PREFIX} followed by the JSON {@link Error}.
+     *
+     * @param result the operation result
+     * @param output the output to write the chunks to
+     */
+    protected void chunkResult(final Object result, final BoundedChunkedOutput output) {
         if (result instanceof Iterable) {
             final Iterable itr = (Iterable) result;
             try {
                 for (final Object item : itr) {
-                    output.write(mapper.writeValueAsString(item));
+                    output.write(mapper.writeValueAsBytes(item));
                 }
             } catch (final IOException ioe) {
                 LOGGER.warn("IOException (chunks)", ioe);
+            } catch (final RuntimeException e) {
+                LOGGER.error("Failed to retrieve results (chunks)", e);
+                output.fail(createErrorChunk(e));
             } finally {
                 CloseableUtil.close(itr);
             }
         } else {
             try {
-                output.write(mapper.writeValueAsString(result));
+                output.write(mapper.writeValueAsBytes(result));
             } catch (final IOException ioe) {
                 LOGGER.warn("IOException (chunks)", ioe);
             }
         }
     }
 
+    private byte[] createErrorChunk(final Exception e) {
+        final Error error = ErrorFactory.from(e);
+        try {
+            return StringUtil.toBytes(Error.CHUNKED_ERROR_PREFIX + mapper.writeValueAsString(error));
+        } catch (final IOException ioe) {
+            return StringUtil.toBytes(Error.CHUNKED_ERROR_PREFIX + "{\"simpleMessage\":\"Failed to retrieve results\"}");
+        }
+    }
+
     private Operation generateExampleJson(final Class<? extends Operation> opClass) throws IllegalAccessException, InstantiationException {
         return examplesFactory.generateExample(opClass);
     }
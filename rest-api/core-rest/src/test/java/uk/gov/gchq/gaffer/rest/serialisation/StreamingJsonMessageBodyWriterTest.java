@@ -0,0 +1,143 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.rest.serialisation;
+
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.JsonAssert;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterator;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class StreamingJsonMessageBodyWriterTest {
+    @Test
+    public void shouldOnlyHandleCloseableIterables() {
+        // Given
+        final StreamingJsonMessageBodyWriter writer = new StreamingJsonMessageBodyWriter();
+
+        // When / Then
+        assertTrue(writer.isWriteable(CloseableIterable.class, null, null, null));
+        assertFalse(writer.isWriteable(List.class, null, null, null));
+        assertFalse(writer.isWriteable(Object.class, null, null, null));
+        assertFalse(writer.isWriteable(null, null, null, null));
+    }
+
+    @Test
+    public void shouldReturnUnknownSize() {
+        // Given
+        final StreamingJsonMessageBodyWriter writer = new StreamingJsonMessageBodyWriter();
+
+        // When
+        final long size = writer.getSize(null, null, null, null, null);
+
+        // Then
+        assertEquals(-1L, size);
+    }
+
+    @Test
+    public void shouldStreamIterableAsJsonArrayAndClose() throws IOException {
+        // Given
+        final StreamingJsonMessageBodyWriter writer = new StreamingJsonMessageBodyWriter();
+        final List<Element> elements = Arrays.asList(
+                new Entity.Builder()
+                        .group(TestGroups.ENTITY)
+                        .vertex("vertex1")
+                        .property(TestPropertyNames.COUNT, 1)
+                        .build(),
+                new Edge.Builder()
+                        .group(TestGroups.EDGE)
+                        .source("vertex1")
+                        .dest("vertex2")
+                        .directed(true)
+                        .build());
+        final CloseableIterable<Element> iterable = mock(CloseableIterable.class);
+        given(iterable.iterator()).willReturn(new WrappedCloseableIterator<>(elements.iterator()));
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // When
+        writer.writeTo(iterable, null, null, null, null, null, outputStream);
+
+        // Then
+        JsonAssert.assertEquals(JSONSerialiser.serialise(elements), outputStream.toByteArray());
+        verify(iterable).close();
+    }
+
+    @Test
+    public void shouldWriteEmptyJsonArrayForEmptyIterable() throws IOException {
+        // Given
+        final StreamingJsonMessageBodyWriter writer = new StreamingJsonMessageBodyWriter();
+        final CloseableIterable<Element> iterable = mock(CloseableIterable.class);
+        given(iterable.iterator()).willReturn(new WrappedCloseableIterator<>(Collections.<Element>emptyIterator()));
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // When
+        writer.writeTo(iterable, null, null, null, null, null, outputStream);
+
+        // Then
+        JsonAssert.assertEquals("[]", new String(outputStream.toByteArray()));
+        verify(iterable).close();
+    }
+
+    @Test
+    public void shouldNotTerminateJsonArrayWhenIterableFailsMidStream() throws IOException {
+        // Given
+        final StreamingJsonMessageBodyWriter writer = new StreamingJsonMessageBodyWriter();
+        final Element element = new Entity.Builder()
+                .group(TestGroups.ENTITY)
+                .vertex("vertex1")
+                .build();
+        final Iterator<Element> failingIterator = mock(Iterator.class);
+        given(failingIterator.hasNext()).willReturn(true);
+        given(failingIterator.next()).willReturn(element).willThrow(new IllegalStateException("Store failure"));
+        final CloseableIterable<Element> iterable = mock(CloseableIterable.class);
+        given(iterable.iterator()).willReturn(new WrappedCloseableIterator<>(failingIterator));
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // When
+        try {
+            writer.writeTo(iterable, null, null, null, null, null, outputStream);
+            fail("Exception expected");
+        } catch (final IllegalStateException e) {
+            assertEquals("Store failure", e.getMessage());
+        }
+
+        // Then
+        final String json = new String(outputStream.toByteArray());
+        assertTrue(json.startsWith("["));
+        assertFalse(json.trim().endsWith("]"));
+        verify(iterable).close();
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.rest.service.v2;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class BoundedChunkedOutputTest {
+
+    @Test
+    public void shouldWriteChunksSeparatedByDelimiter() throws Exception {
+        // Given
+        final BoundedChunkedOutput output = new BoundedChunkedOutput(10, 1000L);
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+
+        // When
+        output.write("chunk1");
+        output.write("chunk2");
+        output.close();
+        output.write(stream);
+
+        // Then
+        assertEquals("chunk1\r\nchunk2\r\n", new String(stream.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void shouldBlockWriterUntilChunksAreRead() throws Exception {
+        // Given
+        final int numChunks = 100;
+        final BoundedChunkedOutput output = new BoundedChunkedOutput(2, 10000L);
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        // When
+        final Future<?> writer = executor.submit(() -> {
+            for (int i = 0; i < numChunks; i++) {
+                output.write(String.valueOf(i));
+            }
+            output.close();
+            return null;
+        });
+        output.write(stream);
+        writer.get();
+        executor.shutdown();
+
+        // Then
+        final StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < numChunks; i++) {
+            expected.append(i).append("\r\n");
+        }
+        assertEquals(expected.toString(), new String(stream.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void shouldTimeOutIfChunksAreNotRead() throws IOException {
+        // Given
+        final BoundedChunkedOutput output = new BoundedChunkedOutput(1, 200L);
+        output.write("chunk1");
+
+        // When / Then
+        try {
+            output.write("chunk2");
+            fail("Exception expected");
+        } catch (final IOException e) {
+            assertEquals("Timed out after 200ms waiting for the client to read the chunked output", e.getMessage());
+        }
+    }
+
+    @Test
+    public void shouldNotAllowWritesAfterClose() {
+        // Given
+        final BoundedChunkedOutput output = new BoundedChunkedOutput(10, 1000L);
+        output.close();
+
+        // When / Then
+        try {
+            output.write("chunk1");
+            fail("Exception expected");
+        } catch (final IOException e) {
+            assertEquals("Chunked output has been closed", e.getMessage());
+        }
+    }
+
+    @Test
+    public void shouldWriteErrorChunkAndAbortWhenFailed() throws IOException {
+        // Given
+        final BoundedChunkedOutput output = new BoundedChunkedOutput(10, 1000L);
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        output.write("chunk1");
+
+        // When
+        output.fail("error".getBytes(StandardCharsets.UTF_8));
+        try {
+            output.write(stream);
+            fail("Exception expected");
+        } catch (final IOException e) {
+            assertEquals("The operation failed whilst writing the chunked output", e.getMessage());
+        }
+
+        // Then
+        assertEquals("chunk1\r\nerror\r\n", new String(stream.toByteArray(), StandardCharsets.UTF_8));
+        assertTrue(output.isFailed());
+    }
+}
@@ -212,7 +212,7 @@ public class OperationServiceV2IT extends OperationServiceIT {
 
         Response response = ((RestApiV2TestClient) client).executeOperationChainChunkedWithHeaders(opChain, "BasicUser");
 
-        assertEquals(500, response.getStatus());
+        assertEquals(403, response.getStatus());
     }
 
     @Override
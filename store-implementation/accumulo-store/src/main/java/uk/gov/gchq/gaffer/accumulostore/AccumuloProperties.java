@@ -44,19 +44,37 @@ public class AccumuloProperties extends StoreProperties {
     public static final String PASSWORD = "accumulo.password";
     public static final String THREADS_FOR_BATCH_SCANNER = "accumulo.batchScannerThreads";
     public static final String MAX_ENTRIES_FOR_BATCH_SCANNER = "accumulo.entriesForBatchScanner";
+    public static final String CONCURRENT_BATCH_SCANNERS = "accumulo.concurrentBatchScanners";
+    public static final String BATCH_SCANNER_QUEUE_SIZE = "accumulo.batchScannerQueueSize";
+    public static final String SORT_AND_MERGE_RANGES = "accumulo.sortAndMergeRanges";
+    public static final String RANGE_GROUPING_WINDOW_SIZE = "accumulo.rangeGroupingWindowSize";
+    public static final String ELEMENT_DECODER_THREADS = "accumulo.elementDecoderThreads";
+    public static final String ELEMENT_DECODER_QUEUE_SIZE = "accumulo.elementDecoderQueueSize";
     public static final String CLIENT_SIDE_BLOOM_FILTER_SIZE = "accumulo.clientSideBloomFilterSize";
     public static final String FALSE_POSITIVE_RATE = "accumulo.falsePositiveRate";
     public static final String MAX_BLOOM_FILTER_TO_PASS_TO_AN_ITERATOR = "accumulo.maxBloomFilterToPassToAnIterator";
     public static final String MAX_BUFFER_SIZE_FOR_BATCH_WRITER = "accumulo.maxBufferSizeForBatchWriterInBytes";
     public static final String MAX_TIME_OUT_FOR_BATCH_WRITER = "accumulo.maxTimeOutForBatchWriterInMilliseconds";
     public static final String NUM_THREADS_FOR_BATCH_WRITER = "accumulo.numThreadsForBatchWriter";
+    public static final String INGEST_THREADS = "accumulo.ingestThreads";
+    public static final String MAX_INGEST_THREADS = "accumulo.maxIngestThreads";
+    public static final String MAX_EXPORT_THREADS = "accumulo.maxExportThreads";
     public static final String TABLE_REPLICATION_FACTOR = "accumulo.file.replication";
     public static final String ENABLE_VALIDATOR_ITERATOR = "gaffer.store.accumulo.enable.validator.iterator";
     public static final String HDFS_SKIP_PERMISSIONS = "accumulostore.operation.hdfs.skip_permissions";
 
     // default values
     private static final String NUM_THREADS_FOR_BATCH_WRITER_DEFAULT = "10";
+    private static final String INGEST_THREADS_DEFAULT = "1";
+    private static final String MAX_INGEST_THREADS_DEFAULT = "10";
+    private static final String MAX_EXPORT_THREADS_DEFAULT = "8";
     private static final String MAX_ENTRIES_FOR_BATCH_SCANNER_DEFAULT = "50000";
+    private static final String CONCURRENT_BATCH_SCANNERS_DEFAULT = "1";
+    private static final String BATCH_SCANNER_QUEUE_SIZE_DEFAULT = "10000";
+    private static final String SORT_AND_MERGE_RANGES_DEFAULT = "false";
+    private static final String RANGE_GROUPING_WINDOW_SIZE_DEFAULT = "500000";
+    private static final String ELEMENT_DECODER_THREADS_DEFAULT = "1";
+    private static final String ELEMENT_DECODER_QUEUE_SIZE_DEFAULT = "10000";
     private static final String CLIENT_SIDE_BLOOM_FILTER_SIZE_DEFAULT = "838860800";
     private static final String FALSE_POSITIVE_RATE_DEFAULT = "0.0002";
     private static final String MAX_BLOOM_FILTER_TO_PASS_TO_AN_ITERATOR_DEFAULT = "8388608";
@@ -130,6 +148,70 @@ public class AccumuloProperties extends StoreProperties {
         return Integer.parseInt(get(NUM_THREADS_FOR_BATCH_WRITER, NUM_THREADS_FOR_BATCH_WRITER_DEFAULT));
     }
 
+    /**
+     * Gets the number of threads that should be used to convert elements into
+     * Accumulo mutations when adding elements. If this is 1 the elements are
+     * converted on the thread adding the elements.
+     *
+     * @return The number of threads to use to convert elements when adding elements.
+     */
+    public int getIngestThreads() {
+        return Integer.parseInt(get(INGEST_THREADS, INGEST_THREADS_DEFAULT));
+    }
+
+    /**
+     * Sets the number of threads that should be used to convert elements into
+     * Accumulo mutations when adding elements.
+     *
+     * @param ingestThreads The number of threads to use to convert elements when adding elements.
+     */
+    public void setIngestThreads(final String ingestThreads) {
+        set(INGEST_THREADS, ingestThreads);
+    }
+
+    /**
+     * Gets the maximum number of threads that the store uses to convert
+     * elements into Accumulo mutations, shared by all concurrent add elements
+     * operations. Once they are all busy, further chunks of elements wait for
+     * a thread to become free.
+     *
+     * @return The maximum number of threads converting elements.
+     */
+    public int getMaxIngestThreads() {
+        return Integer.parseInt(get(MAX_INGEST_THREADS, MAX_INGEST_THREADS_DEFAULT));
+    }
+
+    /**
+     * Sets the maximum number of threads that the store uses to convert
+     * elements into Accumulo mutations.
+     *
+     * @param maxIngestThreads The maximum number of threads converting elements.
+     */
+    public void setMaxIngestThreads(final String maxIngestThreads) {
+        set(MAX_INGEST_THREADS, maxIngestThreads);
+    }
+
+    /**
+     * Gets the maximum number of threads that the store uses to export
+     * tablets to files, shared by all concurrent export operations. Once they
+     * are all busy, further tablets wait for a thread to become free.
+     *
+     * @return The maximum number of threads exporting tablets.
+     */
+    public int getMaxExportThreads() {
+        return Integer.parseInt(get(MAX_EXPORT_THREADS, MAX_EXPORT_THREADS_DEFAULT));
+    }
+
+    /**
+     * Sets the maximum number of threads that the store uses to export
+     * tablets to files.
+     *
+     * @param maxExportThreads The maximum number of threads exporting tablets.
+     */
+    public void setMaxExportThreads(final String maxExportThreads) {
+        set(MAX_EXPORT_THREADS, maxExportThreads);
+    }
+
     /**
      * Gets the time out/latency that should be used for the Accumulo batch
      * writers.
@@ -284,6 +366,131 @@ public class AccumuloProperties extends StoreProperties {
         set(MAX_ENTRIES_FOR_BATCH_SCANNER, maxEntriesForBatchScanner);
     }
 
+    /**
+     * Gets the max number of batches of seeds that should be scanned
+     * concurrently when querying with a large number of seeds. If this is 1
+     * the next batch is only scanned once the current batch has been read.
+     *
+     * @return An integer representing the max number of batch scanners that
+     * should be open at any one time for a single query.
+     */
+    public int getConcurrentBatchScanners() {
+        return Integer.parseInt(get(CONCURRENT_BATCH_SCANNERS, CONCURRENT_BATCH_SCANNERS_DEFAULT));
+    }
+
+    /**
+     * Sets the max number of batches of seeds that should be scanned
+     * concurrently when querying with a large number of seeds.
+     *
+     * @param concurrentBatchScanners the max number of batch scanners that should be open at any one time for a single query.
+     */
+    public void setConcurrentBatchScanners(final String concurrentBatchScanners) {
+        set(CONCURRENT_BATCH_SCANNERS, concurrentBatchScanners);
+    }
+
+    /**
+     * Gets the max number of entries that should be buffered from concurrent
+     * batch scanners before they are read.
+     *
+     * @return An integer representing the max number of entries to buffer.
+     */
+    public int getBatchScannerQueueSize() {
+        return Integer.parseInt(get(BATCH_SCANNER_QUEUE_SIZE, BATCH_SCANNER_QUEUE_SIZE_DEFAULT));
+    }
+
+    /**
+     * Sets the max number of entries that should be buffered from concurrent
+     * batch scanners before they are read.
+     *
+     * @param batchScannerQueueSize the max number of entries to buffer.
+     */
+    public void setBatchScannerQueueSize(final String batchScannerQueueSize) {
+        set(BATCH_SCANNER_QUEUE_SIZE, batchScannerQueueSize);
+    }
+
+    /**
+     * Gets whether the ranges for a query with a large number of seeds
+     * should be sorted, merged and batched by tablet before they are scanned,
+     * rather than being scanned in the order the seeds are provided.
+     *
+     * @return true if the ranges should be sorted and merged.
+     */
+    public boolean getSortAndMergeRanges() {
+        return Boolean.parseBoolean(get(SORT_AND_MERGE_RANGES, SORT_AND_MERGE_RANGES_DEFAULT));
+    }
+
+    /**
+     * Sets whether the ranges for a query with a large number of seeds
+     * should be sorted, merged and batched by tablet before they are scanned.
+     *
+     * @param sortAndMergeRanges true if the ranges should be sorted and merged.
+     */
+    public void setSortAndMergeRanges(final String sortAndMergeRanges) {
+        set(SORT_AND_MERGE_RANGES, sortAndMergeRanges);
+    }
+
+    /**
+     * Gets the number of seeds that should be read at a time when sorting and
+     * merging ranges. The ranges for these seeds are sorted and then split into
+     * batches for the batch scanners.
+     *
+     * @return An integer representing the number of seeds to sort at a time.
+     */
+    public int getRangeGroupingWindowSize() {
+        return Integer.parseInt(get(RANGE_GROUPING_WINDOW_SIZE, RANGE_GROUPING_WINDOW_SIZE_DEFAULT));
+    }
+
+    /**
+     * Sets the number of seeds that should be read at a time when sorting and
+     * merging ranges.
+     *
+     * @param rangeGroupingWindowSize the number of seeds to sort at a time.
+     */
+    public void setRangeGroupingWindowSize(final String rangeGroupingWindowSize) {
+        set(RANGE_GROUPING_WINDOW_SIZE, rangeGroupingWindowSize);
+    }
+
+    /**
+     * Gets the number of threads that should be used to convert the entries
+     * returned from Accumulo into elements for a single query. If this is 1
+     * the entries are converted on the thread reading the results.
+     *
+     * @return An integer representing the number of element decoder threads.
+     */
+    public int getElementDecoderThreads() {
+        return Integer.parseInt(get(ELEMENT_DECODER_THREADS, ELEMENT_DECODER_THREADS_DEFAULT));
+    }
+
+    /**
+     * Sets the number of threads that should be used to convert the entries
+     * returned from Accumulo into elements for a single query.
+     *
+     * @param elementDecoderThreads the number of element decoder threads.
+     */
+    public void setElementDecoderThreads(final String elementDecoderThreads) {
+        set(ELEMENT_DECODER_THREADS, elementDecoderThreads);
+    }
+
+    /**
+     * Gets the max number of elements that should be buffered from the
+     * element decoder threads before they are read.
+     *
+     * @return An integer representing the max number of elements to buffer.
+     */
+    public int getElementDecoderQueueSize() {
+        return Integer.parseInt(get(ELEMENT_DECODER_QUEUE_SIZE, ELEMENT_DECODER_QUEUE_SIZE_DEFAULT));
+    }
+
+    /**
+     * Sets the max number of elements that should be buffered from the
+     * element decoder threads before they are read.
+     *
+     * @param elementDecoderQueueSize the max number of elements to buffer.
+     */
+    public void setElementDecoderQueueSize(final String elementDecoderQueueSize) {
+        set(ELEMENT_DECODER_QUEUE_SIZE, elementDecoderQueueSize);
+    }
+
     /**
      * Gets the size that should be used for the creation of bloom filters on the
      * client side.
@@ -49,13 +49,36 @@ import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Set;
 
 @SuppressWarnings("unchecked")
 public abstract class AbstractCoreKeyAccumuloElementConverter implements AccumuloElementConverter {
+    /**
+     * The maximum number of serialised vertices to cache on each thread.
+     */
+    public static final int VERTEX_CACHE_SIZE = 1000;
+
+    /**
+     * Vertices of these types are immutable, so their serialised bytes can
+     * safely be cached.
+     */
+    private static final Set<Class<?>> CACHEABLE_VERTEX_CLASSES = Collections.unmodifiableSet(Sets.newHashSet(
+            String.class, Long.class, Integer.class, Short.class, Byte.class,
+            Double.class, Float.class, Boolean.class, Character.class));
+
+    /**
+     * Buffers larger than this are not kept for reuse, so a single large
+     * element does not hold on to memory.
+     */
+    private static final int MAX_RETAINED_BUFFER_SIZE = 64 * 1024;
+
     protected final Schema schema;
     private final String timestampProperty;
     private final Set<String> aggregatedGroups;
+    private final ThreadLocal<Map<Object, byte[]>> serialisedVertexCache = ThreadLocal.withInitial(() -> new LruCache<>(VERTEX_CACHE_SIZE));
+    private final ThreadLocal<ByteArrayOutputStream> buffers = new ThreadLocal<>();
 
     public AbstractCoreKeyAccumuloElementConverter(final Schema schema) {
         this.schema = schema;
@@ -120,8 +143,8 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
     @SuppressWarnings("Convert2streamapi")
     @Override
     public Value getValueFromProperties(final String group, final Properties properties) {
-        final ByteArrayOutputStream stream = new ByteArrayOutputStream();
         final SchemaElementDefinition elementDefinition = getSchemaElementDefinition(group);
+        final ByteArrayOutputStream stream = borrowBuffer();
 
         for (final String propertyName : elementDefinition.getProperties()) {
             if (isStoredInValue(propertyName, elementDefinition)) {
@@ -129,7 +152,7 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
             }
         }
 
-        return new Value(stream.toByteArray());
+        return new Value(returnBuffer(stream));
     }
 
     @Override
@@ -258,14 +281,14 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
 
     @Override
     public byte[] buildColumnQualifier(final String group, final Properties properties) {
-        final ByteArrayOutputStream stream = new ByteArrayOutputStream();
         final SchemaElementDefinition elementDefinition = getSchemaElementDefinition(group);
+        final ByteArrayOutputStream stream = borrowBuffer();
 
         for (final String groupByPropertyName : elementDefinition.getGroupBy()) {
             serialiseSizeAndPropertyValue(groupByPropertyName, elementDefinition, properties, stream);
         }
 
-        return stream.toByteArray();
+        return returnBuffer(stream);
     }
 
     private SchemaElementDefinition getSchemaElementDefinition(final String group) {
@@ -475,22 +498,83 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
         }
     }
 
+    /**
+     * Serialises and escapes the source of an edge. The returned bytes may be
+     * shared with other calls, so must not be modified.
+     *
+     * @param edge the edge
+     * @return the serialised and escaped source
+     */
     protected byte[] getSerialisedSource(final Edge edge) {
         try {
-            return ByteArrayEscapeUtils.escape(((ToBytesSerialiser) schema.getVertexSerialiser()).serialise(edge.getSource()));
+            return getEscapedSerialisedVertex(edge.getSource());
         } catch (final SerialisationException e) {
             throw new AccumuloElementConversionException("Failed to serialise Edge Source", e);
         }
     }
 
+    /**
+     * Serialises and escapes the destination of an edge. The returned bytes
+     * may be shared with other calls, so must not be modified.
+     *
+     * @param edge the edge
+     * @return the serialised and escaped destination
+     */
     protected byte[] getSerialisedDestination(final Edge edge) {
         try {
-            return ByteArrayEscapeUtils.escape(((ToBytesSerialiser) schema.getVertexSerialiser()).serialise(edge.getDestination()));
+            return getEscapedSerialisedVertex(edge.getDestination());
         } catch (final SerialisationException e) {
             throw new AccumuloElementConversionException("Failed to serialise Edge Destination", e);
         }
     }
 
+    /**
+     * Serialises and escapes a vertex. Vertices that are connected to lots of
+     * edges are serialised over and over again during ingest, so the bytes for
+     * recently seen vertices of immutable types are cached on each thread.
+     *
+     * @param vertex the vertex to serialise
+     * @return the serialised and escaped vertex
+     * @throws SerialisationException if the vertex could not be serialised
+     */
+    private byte[] getEscapedSerialisedVertex(final Object vertex) throws SerialisationException {
+        if (null == vertex || !CACHEABLE_VERTEX_CLASSES.contains(vertex.getClass())) {
+            return ByteArrayEscapeUtils.escape(((ToBytesSerialiser) schema.getVertexSerialiser()).serialise(vertex));
+        }
+
+        final Map<Object, byte[]> cache = serialisedVertexCache.get();
+        byte[] bytes = cache.get(vertex);
+        if (null == bytes) {
+            bytes = ByteArrayEscapeUtils.escape(((ToBytesSerialiser) schema.getVertexSerialiser()).serialise(vertex));
+            cache.put(vertex, bytes);
+        }
+        return bytes;
+    }
+
+    /**
+     * Gets an empty buffer to serialise properties into, reusing this
+     * thread's buffer if it is not already in use.
+     *
+     * @return an empty buffer
+     */
+    private ByteArrayOutputStream borrowBuffer() {
+        final ByteArrayOutputStream buffer = buffers.get();
+        if (null == buffer) {
+            return new ByteArrayOutputStream();
+        }
+        buffers.set(null);
+        buffer.reset();
+        return buffer;
+    }
+
+    private byte[] returnBuffer(final ByteArrayOutputStream buffer) {
+        final byte[] bytes = buffer.toByteArray();
+        if (bytes.length <= MAX_RETAINED_BUFFER_SIZE) {
+            buffers.set(buffer);
+        }
+        return bytes;
+    }
+
     protected String getGroupFromKey(final Key key) {
         try {
             return new String(key.getColumnFamilyData().getBackingArray(), CommonConstants.UTF_8);
@@ -535,4 +619,19 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
         }
     }
 
+    private static final class LruCache<K, V> extends LinkedHashMap<K, V> {
+        private static final long serialVersionUID = -6528829213683291329L;
+        private final int maxSize;
+
+        private LruCache(final int maxSize) {
+            super(16, 0.75f, true);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<K, V> eldest) {
+            return size() > maxSize;
+        }
+    }
+
 }
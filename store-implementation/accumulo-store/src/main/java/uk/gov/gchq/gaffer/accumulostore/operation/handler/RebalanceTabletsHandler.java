@@ -0,0 +1,241 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.operation.handler;
+
+import org.apache.accumulo.core.client.AccumuloException;
+import org.apache.accumulo.core.client.AccumuloSecurityException;
+import org.apache.accumulo.core.client.Scanner;
+import org.apache.accumulo.core.client.TableNotFoundException;
+import org.apache.accumulo.core.client.admin.TableOperations;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.metadata.MetadataTable;
+import org.apache.accumulo.core.metadata.schema.DataFileValue;
+import org.apache.accumulo.core.metadata.schema.MetadataSchema;
+import org.apache.accumulo.core.security.Authorizations;
+import org.apache.hadoop.io.Text;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.operation.impl.RebalanceTablets;
+import uk.gov.gchq.gaffer.accumulostore.utils.TableUtils;
+import uk.gov.gchq.gaffer.commonutil.ByteArrayEscapeUtils;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.store.operation.handler.OperationHandler;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * Handles {@link RebalanceTablets} operations. The tablets of the table are
+ * checked one at a time, and the keys of each tablet that is too large are
+ * scanned to find split points that divide it into tablets with roughly equal
+ * numbers of entries.
+ * <p>
+ * Both the {@link uk.gov.gchq.gaffer.accumulostore.key.core.impl.byteEntity.ByteEntityKeyPackage}
+ * and {@link uk.gov.gchq.gaffer.accumulostore.key.core.impl.classic.ClassicKeyPackage}
+ * row keys start with the escaped serialised vertex, followed by a delimiter
+ * if there is anything else in the row. Each split point is the vertex part of
+ * a row followed by {@link ByteArrayEscapeUtils#DELIMITER_PLUS_ONE}. This sorts
+ * after every row for that vertex and before the rows for any other vertex,
+ * so all the data for a vertex stays together in the same tablet.
+ */
+public class RebalanceTabletsHandler implements OperationHandler<RebalanceTablets> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RebalanceTabletsHandler.class);
+
+    @Override
+    public Void doOperation(final RebalanceTablets operation, final Context context, final Store store)
+            throws OperationException {
+        doOperation(operation, context.getUser(), (AccumuloStore) store);
+        return null;
+    }
+
+    private void doOperation(final RebalanceTablets operation, final User user, final AccumuloStore store)
+            throws OperationException {
+        if (null == operation.getMaxEntriesPerTablet() || operation.getMaxEntriesPerTablet() < 1) {
+            throw new OperationException("maxEntriesPerTablet must be at least 1");
+        }
+        final long maxEntriesPerTablet = operation.getMaxEntriesPerTablet();
+
+        try {
+            final TableOperations tableOperations = store.getConnection().tableOperations();
+            if (operation.isFlush()) {
+                LOGGER.info("Flushing table {}", store.getTableName());
+                tableOperations.flush(store.getTableName(), null, null, true);
+            }
+
+            final List<Text> splits = new ArrayList<>(tableOperations.listSplits(store.getTableName()));
+            splits.sort(null);
+            final Map<Text, Long> estimatedEntries = getEstimatedEntriesPerTablet(store);
+            final Authorizations authorisations = TableUtils.getAuthorizations(user);
+
+            final SortedSet<Text> newSplits = new TreeSet<>();
+            Text start = null;
+            for (int i = 0; i <= splits.size(); i++) {
+                final Text end = i < splits.size() ? splits.get(i) : null;
+                final Range tablet = new Range(start, false, end, true);
+                final long entries = null != estimatedEntries
+                        ? estimatedEntries.getOrDefault(end, 0L)
+                        : countEntries(store, authorisations, tablet);
+                if (entries > maxEntriesPerTablet) {
+                    final Scanner scanner = store.getConnection().createScanner(store.getTableName(), authorisations);
+                    try {
+                        scanner.setRange(tablet);
+                        newSplits.addAll(getSplitPoints(scanner, start, end, entries, maxEntriesPerTablet));
+                    } finally {
+                        scanner.close();
+                    }
+                }
+                start = end;
+            }
+
+            if (!newSplits.isEmpty()) {
+                tableOperations.addSplits(store.getTableName(), newSplits);
+            }
+            LOGGER.info("Added {} splits to table {}", newSplits.size(), store.getTableName());
+        } catch (final TableNotFoundException | AccumuloException | AccumuloSecurityException | StoreException e) {
+            throw new OperationException("Failed to rebalance the tablets of table " + store.getTableName() + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Gets the split points that divide the entries of a tablet into tablets
+     * of no more than the given size. The entries must be in key order, as
+     * returned by a {@link Scanner}.
+     *
+     * @param entries             the entries in the tablet
+     * @param tabletStart         the start (exclusive) of the tablet, or null if it is the first tablet
+     * @param tabletEnd           the end (inclusive) of the tablet, or null if it is the last tablet
+     * @param numEntries          the number of entries in the tablet
+     * @param maxEntriesPerTablet the maximum number of entries for each of the new tablets
+     * @return the split points
+     */
+    static SortedSet<Text> getSplitPoints(final Iterable<Map.Entry<Key, Value>> entries, final Text tabletStart,
+                                          final Text tabletEnd, final long numEntries, final long maxEntriesPerTablet) {
+        final SortedSet<Text> splits = new TreeSet<>();
+        final long numTablets = (numEntries + maxEntriesPerTablet - 1) / maxEntriesPerTablet;
+        if (numTablets < 2) {
+            return splits;
+        }
+        final long entriesPerTablet = numEntries / numTablets;
+
+        long count = 0;
+        long nextSplit = entriesPerTablet;
+        for (final Map.Entry<Key, Value> entry : entries) {
+            count++;
+            if (count >= nextSplit) {
+                final Text split = getSplitAfterVertex(entry.getKey().getRowData().toArray());
+                // The split must be within the tablet. This may not be the case
+                // if the existing split points are not between vertices.
+                if ((null == tabletStart || split.compareTo(tabletStart) > 0)
+                        && (null == tabletEnd || split.compareTo(tabletEnd) < 0)) {
+                    splits.add(split);
+                }
+                nextSplit += entriesPerTablet;
+                if (splits.size() >= numTablets - 1) {
+                    break;
+                }
+            }
+        }
+        return splits;
+    }
+
+    private static Text getSplitAfterVertex(final byte[] row) {
+        int vertexLength = row.length;
+        for (int i = 0; i < row.length; i++) {
+            if (ByteArrayEscapeUtils.DELIMITER == row[i]) {
+                vertexLength = i;
+                break;
+            }
+        }
+        final byte[] split = new byte[vertexLength + 1];
+        System.arraycopy(row, 0, split, 0, vertexLength);
+        split[vertexLength] = ByteArrayEscapeUtils.DELIMITER_PLUS_ONE;
+        return new Text(split);
+    }
+
+    /**
+     * Estimates the number of entries in each tablet from the sizes of the
+     * files recorded in the Accumulo metadata table.
+     *
+     * @param store the store
+     * @return the estimated number of entries, keyed by the end row of each
+     * tablet (null for the last tablet), or null if the estimates could not
+     * be read
+     */
+    private Map<Text, Long> getEstimatedEntriesPerTablet(final AccumuloStore store) {
+        try {
+            final String tableId = store.getConnection().tableOperations().tableIdMap().get(store.getTableName());
+            final Text firstRow = new Text(tableId + ";");
+            final Text lastRow = new Text(tableId + "<");
+            final Map<Text, Long> entriesPerTablet = new HashMap<>();
+            final Scanner scanner = store.getConnection().createScanner(MetadataTable.NAME, Authorizations.EMPTY);
+            try {
+                scanner.setRange(new Range(firstRow, true, lastRow, true));
+                scanner.fetchColumnFamily(MetadataSchema.TabletsSection.DataFileColumnFamily.NAME);
+                for (final Map.Entry<Key, Value> entry : scanner) {
+                    // Metadata rows are tableId;endRow, or tableId< for the last tablet
+                    final Text row = entry.getKey().getRow();
+                    final Text endRow;
+                    if (row.equals(lastRow)) {
+                        endRow = null;
+                    } else {
+                        endRow = new Text();
+                        endRow.set(row.getBytes(), firstRow.getLength(), row.getLength() - firstRow.getLength());
+                    }
+                    final long numEntries = new DataFileValue(entry.getValue().get()).getNumEntries();
+                    entriesPerTablet.merge(endRow, numEntries, Long::sum);
+                }
+            } finally {
+                scanner.close();
+            }
+            if (entriesPerTablet.isEmpty()) {
+                LOGGER.info("No file information found in the metadata for table {}, counting entries instead", store.getTableName());
+                return null;
+            }
+            return entriesPerTablet;
+        } catch (final TableNotFoundException | StoreException | RuntimeException e) {
+            LOGGER.warn("Unable to read the tablet sizes for table {} from the metadata, counting entries instead", store.getTableName(), e);
+            return null;
+        }
+    }
+
+    private long countEntries(final AccumuloStore store, final Authorizations authorisations, final Range tablet)
+            throws StoreException, TableNotFoundException {
+        final Scanner scanner = store.getConnection().createScanner(store.getTableName(), authorisations);
+        try {
+            scanner.setRange(tablet);
+            long count = 0;
+            for (final Map.Entry<Key, Value> ignored : scanner) {
+                count++;
+            }
+            return count;
+        } finally {
+            scanner.close();
+        }
+    }
+}
@@ -0,0 +1,248 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.operation.hdfs.handler;
+
+import org.apache.accumulo.core.client.AccumuloException;
+import org.apache.accumulo.core.client.AccumuloSecurityException;
+import org.apache.accumulo.core.client.Scanner;
+import org.apache.accumulo.core.client.TableNotFoundException;
+import org.apache.accumulo.core.client.rfile.RFile;
+import org.apache.accumulo.core.client.rfile.RFileWriter;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.security.Authorizations;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.Text;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.operation.hdfs.operation.ExportAccumuloKeyValueFiles;
+import uk.gov.gchq.gaffer.accumulostore.utils.TableUtils;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.store.operation.handler.OperationHandler;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Handles {@link ExportAccumuloKeyValueFiles} operations by scanning each
+ * tablet of the table and appending the keys and values, unchanged, to an
+ * Accumulo RFile. As a {@link Scanner} returns the keys of a tablet in sorted
+ * order, the files can be written directly without sorting, and can then be
+ * bulk imported using {@link uk.gov.gchq.gaffer.accumulostore.operation.hdfs.operation.ImportAccumuloKeyValueFiles}.
+ * <p>
+ * The tablets are exported on the store's pool of at most
+ * {@link uk.gov.gchq.gaffer.accumulostore.AccumuloProperties#getMaxExportThreads()}
+ * threads, which is shared by all exports from the store.
+ */
+public class ExportAccumuloKeyValueFilesHandler implements OperationHandler<ExportAccumuloKeyValueFiles> {
+    public static final int DEFAULT_NUM_THREADS = 4;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExportAccumuloKeyValueFilesHandler.class);
+
+    @Override
+    public Void doOperation(final ExportAccumuloKeyValueFiles operation,
+                            final Context context, final Store store)
+            throws OperationException {
+        doOperation(operation, context.getUser(), (AccumuloStore) store);
+        return null;
+    }
+
+    public void doOperation(final ExportAccumuloKeyValueFiles operation, final User user, final AccumuloStore store) throws OperationException {
+        final Path outputPath = new Path(operation.getOutputPath());
+        final FileSystem fs;
+        final boolean createdOutputDirectory;
+        try {
+            fs = outputPath.getFileSystem(new Configuration());
+            createdOutputDirectory = checkOutputDirectory(outputPath, fs);
+        } catch (final IOException e) {
+            throw new OperationException("Failed to create the output directory " + outputPath, e);
+        }
+
+        try {
+            exportTablets(operation, user, store, outputPath, fs);
+        } catch (final OperationException | RuntimeException e) {
+            // Do not leave a partial export behind
+            deleteOutput(outputPath, fs, createdOutputDirectory);
+            throw e;
+        }
+    }
+
+    private void exportTablets(final ExportAccumuloKeyValueFiles operation, final User user, final AccumuloStore store,
+                               final Path outputPath, final FileSystem fs) throws OperationException {
+        final List<Range> tablets = getTabletRanges(store);
+        final Authorizations authorisations = TableUtils.getAuthorizations(user);
+        final int numThreads = Math.max(1, Math.min(tablets.size(),
+                null != operation.getNumThreads() ? operation.getNumThreads() : DEFAULT_NUM_THREADS));
+        LOGGER.info("Exporting {} tablets from table {} to {} using {} threads",
+                tablets.size(), store.getTableName(), outputPath, numThreads);
+
+        // Each task takes the next tablet until there are none left
+        final AtomicInteger nextTablet = new AtomicInteger();
+        final List<Future<Void>> tasks = new ArrayList<>(numThreads);
+        for (int i = 0; i < numThreads; i++) {
+            tasks.add(store.getExportExecutorService().submit(() -> {
+                int tablet;
+                while ((tablet = nextTablet.getAndIncrement()) < tablets.size()) {
+                    exportTablet(store, authorisations, tablets.get(tablet),
+                            new Path(outputPath, String.format("part-%05d.rf", tablet)), fs);
+                }
+                return null;
+            }));
+        }
+
+        try {
+            for (final Future<Void> task : tasks) {
+                task.get();
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            stopTasks(tasks, nextTablet, tablets.size());
+            throw new OperationException("Interrupted whilst exporting table " + store.getTableName(), e);
+        } catch (final ExecutionException e) {
+            stopTasks(tasks, nextTablet, tablets.size());
+            throw new OperationException("Failed to export table " + store.getTableName() + ": " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    /**
+     * Stops the other tasks once one has failed and waits for them to finish
+     * their current tablet, so no files are written after the output is
+     * deleted. If this thread has been interrupted the tasks are interrupted
+     * rather than waited for.
+     *
+     * @param tasks      the export tasks
+     * @param nextTablet the index of the next tablet to export
+     * @param numTablets the number of tablets
+     */
+    private void stopTasks(final List<Future<Void>> tasks, final AtomicInteger nextTablet, final int numTablets) {
+        nextTablet.set(numTablets);
+        for (final Future<Void> task : tasks) {
+            if (Thread.currentThread().isInterrupted()) {
+                task.cancel(true);
+                continue;
+            }
+            try {
+                task.get();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                task.cancel(true);
+            } catch (final ExecutionException | CancellationException e) {
+                // The failure has already been reported
+            }
+        }
+    }
+
+    private void deleteOutput(final Path outputPath, final FileSystem fs, final boolean createdOutputDirectory) {
+        try {
+            if (createdOutputDirectory) {
+                fs.delete(outputPath, true);
+            } else {
+                // The directory was empty before the export, so only the exported files need deleting
+                for (final FileStatus file : fs.listStatus(outputPath)) {
+                    fs.delete(file.getPath(), true);
+                }
+            }
+        } catch (final IOException e) {
+            LOGGER.warn("Failed to delete the partial export in {}", outputPath, e);
+        }
+    }
+
+    private void exportTablet(final AccumuloStore store, final Authorizations authorisations, final Range tablet,
+                              final Path file, final FileSystem fs) throws StoreException, TableNotFoundException, IOException {
+        final Scanner scanner = store.getConnection().createScanner(store.getTableName(), authorisations);
+        RFileWriter writer = null;
+        try {
+            scanner.setRange(tablet);
+            for (final Map.Entry<Key, Value> entry : scanner) {
+                // Only create the file once there is something to write to it
+                if (null == writer) {
+                    writer = RFile.newWriter().to(file.toString()).withFileSystem(fs).build();
+                    writer.startDefaultLocalityGroup();
+                }
+                writer.append(entry.getKey(), entry.getValue());
+            }
+        } finally {
+            scanner.close();
+            if (null != writer) {
+                writer.close();
+            }
+        }
+    }
+
+    /**
+     * Gets a range for each tablet. Tablet i contains the rows after split
+     * i - 1, up to and including split i.
+     *
+     * @param store the store
+     * @return the ranges of the tablets, in order
+     * @throws OperationException if the split points cannot be listed
+     */
+    private List<Range> getTabletRanges(final AccumuloStore store) throws OperationException {
+        final List<Text> splits;
+        try {
+            splits = new ArrayList<>(store.getConnection().tableOperations().listSplits(store.getTableName()));
+        } catch (final StoreException | TableNotFoundException | AccumuloSecurityException | AccumuloException e) {
+            throw new OperationException("Failed to get the split points for table " + store.getTableName(), e);
+        }
+        splits.sort(null);
+
+        final List<Range> tablets = new ArrayList<>(splits.size() + 1);
+        Text start = null;
+        for (final Text split : splits) {
+            tablets.add(new Range(start, false, split, true));
+            start = split;
+        }
+        tablets.add(new Range(start, false, null, true));
+        return tablets;
+    }
+
+    /**
+     * Checks the output directory is empty, creating it if it does not exist.
+     *
+     * @param outputPath the output directory
+     * @param fs         the file system
+     * @return true if the output directory was created
+     * @throws IOException        if the output directory cannot be checked or created
+     * @throws OperationException if the output directory is not empty
+     */
+    private boolean checkOutputDirectory(final Path outputPath, final FileSystem fs) throws IOException, OperationException {
+        if (fs.exists(outputPath)) {
+            if (fs.listFiles(outputPath, true).hasNext()) {
+                throw new OperationException("Output directory is not empty: " + outputPath);
+            }
+            return false;
+        }
+        fs.mkdirs(outputPath);
+        return true;
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.operation.hdfs.operation;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import uk.gov.gchq.gaffer.commonutil.Required;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.koryphe.Since;
+import uk.gov.gchq.koryphe.Summary;
+
+import java.util.Map;
+
+/**
+ * An {@code ExportAccumuloKeyValueFiles} operation exports the contents of the
+ * Accumulo table backing the graph to a directory of Accumulo RFiles, without
+ * converting the keys and values into {@link uk.gov.gchq.gaffer.data.element.Element}s.
+ * <p>
+ * One file is written for each tablet, named {@code part-<tablet index>.rf}, and
+ * the tablets are scanned in parallel using up to {@code numThreads} threads.
+ * Tablets containing no visible data do not produce a file. Only the data
+ * visible to the user running the operation is exported.
+ * <p>
+ * The output directory can be imported into a graph with the same schema and
+ * key package using {@link ImportAccumuloKeyValueFiles}.
+ */
+@JsonPropertyOrder(value = {"class", "outputPath", "numThreads"}, alphabetic = true)
+@Since("1.9.0")
+@Summary("Exports the graph to Accumulo key value files")
+public class ExportAccumuloKeyValueFiles implements
+        Operation {
+    @Required
+    private String outputPath;
+    private Integer numThreads;
+    private Map<String, String> options;
+
+    public String getOutputPath() {
+        return outputPath;
+    }
+
+    public void setOutputPath(final String outputPath) {
+        this.outputPath = outputPath;
+    }
+
+    public Integer getNumThreads() {
+        return numThreads;
+    }
+
+    public void setNumThreads(final Integer numThreads) {
+        this.numThreads = numThreads;
+    }
+
+    @Override
+    public Map<String, String> getOptions() {
+        return options;
+    }
+
+    @Override
+    public void setOptions(final Map<String, String> options) {
+        this.options = options;
+    }
+
+    @Override
+    public ExportAccumuloKeyValueFiles shallowClone() {
+        return new ExportAccumuloKeyValueFiles.Builder()
+                .outputPath(outputPath)
+                .numThreads(numThreads)
+                .options(options)
+                .build();
+    }
+
+    public static class Builder extends Operation.BaseBuilder<ExportAccumuloKeyValueFiles, Builder> {
+        public Builder() {
+            super(new ExportAccumuloKeyValueFiles());
+        }
+
+        public Builder outputPath(final String outputPath) {
+            _getOp().setOutputPath(outputPath);
+            return _self();
+        }
+
+        public Builder numThreads(final Integer numThreads) {
+            _getOp().setNumThreads(numThreads);
+            return _self();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.operation.impl;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import uk.gov.gchq.gaffer.commonutil.Required;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.koryphe.Since;
+import uk.gov.gchq.koryphe.Summary;
+
+import java.util.Map;
+
+/**
+ * A {@code RebalanceTablets} operation adds split points to the tablets of a
+ * live Accumulo table that contain more than {@code maxEntriesPerTablet}
+ * entries, so that each of these tablets is split into tablets of roughly
+ * equal size.
+ * <p>
+ * The number of entries in each tablet is estimated from the Accumulo
+ * metadata, which only includes data that has been flushed to disk. Set
+ * {@code flush} to flush the table before estimating the tablet sizes. The new
+ * split points are chosen from the row keys within each large tablet, and
+ * always fall between vertices so that all the data for a vertex stays
+ * within a single tablet. Existing split points are never removed.
+ */
+@JsonPropertyOrder(value = {"class", "maxEntriesPerTablet", "flush"}, alphabetic = true)
+@Since("1.9.0")
+@Summary("Splits tablets that contain too many entries")
+public class RebalanceTablets implements
+        Operation {
+    @Required
+    private Long maxEntriesPerTablet;
+    private boolean flush;
+    private Map<String, String> options;
+
+    public Long getMaxEntriesPerTablet() {
+        return maxEntriesPerTablet;
+    }
+
+    public void setMaxEntriesPerTablet(final Long maxEntriesPerTablet) {
+        this.maxEntriesPerTablet = maxEntriesPerTablet;
+    }
+
+    public boolean isFlush() {
+        return flush;
+    }
+
+    public void setFlush(final boolean flush) {
+        this.flush = flush;
+    }
+
+    @Override
+    public Map<String, String> getOptions() {
+        return options;
+    }
+
+    @Override
+    public void setOptions(final Map<String, String> options) {
+        this.options = options;
+    }
+
+    @Override
+    public RebalanceTablets shallowClone() {
+        return new RebalanceTablets.Builder()
+                .maxEntriesPerTablet(maxEntriesPerTablet)
+                .flush(flush)
+                .options(options)
+                .build();
+    }
+
+    public static class Builder extends Operation.BaseBuilder<RebalanceTablets, Builder> {
+        public Builder() {
+            super(new RebalanceTablets());
+        }
+
+        public Builder maxEntriesPerTablet(final Long maxEntriesPerTablet) {
+            _getOp().setMaxEntriesPerTablet(maxEntriesPerTablet);
+            return _self();
+        }
+
+        public Builder flush(final boolean flush) {
+            _getOp().setFlush(flush);
+            return _self();
+        }
+    }
+}
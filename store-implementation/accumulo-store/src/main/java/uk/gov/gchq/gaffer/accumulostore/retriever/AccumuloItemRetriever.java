@@ -16,9 +16,7 @@
 
 package uk.gov.gchq.gaffer.accumulostore.retriever;
 
-import org.apache.accumulo.core.client.BatchScanner;
 import org.apache.accumulo.core.client.IteratorSetting;
-import org.apache.accumulo.core.client.TableNotFoundException;
 import org.apache.accumulo.core.data.Key;
 import org.apache.accumulo.core.data.Range;
 import org.apache.accumulo.core.data.Value;
@@ -33,6 +31,7 @@ import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
 import uk.gov.gchq.gaffer.commonutil.iterable.EmptyCloseableIterator;
 import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewUtil;
 import uk.gov.gchq.gaffer.operation.graph.GraphFilters;
 import uk.gov.gchq.gaffer.operation.io.Input;
@@ -41,7 +40,6 @@ import uk.gov.gchq.gaffer.store.StoreException;
 import uk.gov.gchq.gaffer.user.User;
 
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Map.Entry;
 import java.util.NoSuchElementException;
@@ -88,94 +86,82 @@ public abstract class AccumuloItemRetriever<OP extends Output<CloseableIterable<
 
     protected abstract void addToRanges(final I_ITEM seed, final Set<Range> ranges) throws RangeFactoryException;
 
+    /**
+     * Converts an Accumulo entry into an element and applies the transformations
+     * and post filters in the provided view.
+     *
+     * @param entry the Accumulo entry
+     * @param view  the view to apply
+     * @return the element, or null if it could not be converted or did not pass the post filters
+     */
+    protected Element decode(final Entry<Key, Value> entry, final View view) {
+        final Element element;
+        try {
+            element = elementConverter.getFullElement(
+                    entry.getKey(),
+                    entry.getValue(),
+                    includeMatchedVertex);
+        } catch (final AccumuloElementConversionException e) {
+            LOGGER.error("Failed to re-create an element from a key value entry set returning next element as null",
+                    e);
+            return null;
+        }
+        doTransformation(element, view);
+        if (doPostFilter(element, view)) {
+            ViewUtil.removeProperties(view, element);
+            return element;
+        }
+        return null;
+    }
+
     protected class ElementIterator implements CloseableIterator<Element> {
-        private final Iterator<? extends I_ITEM> idsIterator;
-        private int count;
-        private BatchScanner scanner;
-        private Iterator<Entry<Key, Value>> scannerIterator;
+        private final BatchScannerEntryIterator<I_ITEM> entries;
+        private final ParallelDecodingIterator<Entry<Key, Value>, Element> decodedElements;
         private Element nextElm;
 
         public ElementIterator(final Iterator<? extends I_ITEM> idIterator) throws RetrieverException {
-            idsIterator = idIterator;
-            count = 0;
-            final Set<Range> ranges = new HashSet<>();
-            while (idsIterator.hasNext() && count < store.getProperties().getMaxEntriesForBatchScanner()) {
-                count++;
-                try {
-                    addToRanges(idsIterator.next(), ranges);
-                } catch (final RangeFactoryException e) {
-                    LOGGER.error("Failed to create a range from given seed pair", e);
-                }
-            }
-
-            // Create BatchScanner, appropriately configured (i.e. ranges,
-            // iterators, etc).
             try {
-                scanner = getScanner(ranges);
-            } catch (final Exception e) {
-                CloseableUtil.close(idsIterator);
+                entries = createEntryIterator(idIterator, AccumuloItemRetriever.this::addToRanges);
+            } catch (final RetrieverException e) {
+                CloseableUtil.close(idIterator);
                 CloseableUtil.close(ids);
-                throw new RetrieverException(e);
+                throw e;
+            }
+
+            final int decoderThreads = store.getProperties().getElementDecoderThreads();
+            if (decoderThreads > 1) {
+                // Element filters and transformers are not thread safe, so each thread needs its own copy of the view
+                decodedElements = new ParallelDecodingIterator<>(entries,
+                        () -> {
+                            final View view = operation.getView().clone();
+                            return entry -> decode(entry, view);
+                        },
+                        decoderThreads,
+                        store.getProperties().getElementDecoderQueueSize());
+            } else {
+                decodedElements = null;
             }
-            scannerIterator = scanner.iterator();
         }
 
         @Override
         public boolean hasNext() {
-            // If current scanner has next then return true.
             if (null != nextElm) {
                 return true;
             }
-            while (scannerIterator.hasNext()) {
-                final Entry<Key, Value> entry = scannerIterator.next();
-                try {
-                    nextElm = elementConverter.getFullElement(
-                            entry.getKey(),
-                            entry.getValue(),
-                            includeMatchedVertex);
-                } catch (final AccumuloElementConversionException e) {
-                    LOGGER.error("Failed to re-create an element from a key value entry set returning next element as null",
-                            e);
-                    continue;
-                }
-                doTransformation(nextElm);
-                if (doPostFilter(nextElm)) {
-                    ViewUtil.removeProperties(operation.getView(), nextElm);
+            if (null != decodedElements) {
+                if (decodedElements.hasNext()) {
+                    nextElm = decodedElements.next();
                     return true;
-                } else {
-                    nextElm = null;
                 }
+                return false;
             }
-            // If current scanner is spent then go back to the iterator
-            // through the provided entities, and see if there are more.
-            // If so create the next scanner, if there are no more entities
-            // then return false.
-            while (idsIterator.hasNext() && !scannerIterator.hasNext()) {
-                count = 0;
-                final Set<Range> ranges = new HashSet<>();
-                while (idsIterator.hasNext() && count < store.getProperties().getMaxEntriesForBatchScanner()) {
-                    count++;
-                    try {
-                        addToRanges(idsIterator.next(), ranges);
-                    } catch (final RangeFactoryException e) {
-                        LOGGER.error("Failed to create a range from given seed", e);
-                    }
-                }
-                scanner.close();
-                try {
-                    scanner = getScanner(ranges);
-                } catch (final TableNotFoundException | StoreException e) {
-                    LOGGER.error("{} returning iterator doesn't have any more elements", e.getMessage(), e);
-                    return false;
+            while (entries.hasNext()) {
+                nextElm = decode(entries.next(), operation.getView());
+                if (null != nextElm) {
+                    return true;
                 }
-                scannerIterator = scanner.iterator();
-            }
-            if (!scannerIterator.hasNext()) {
-                scanner.close();
-                return false;
-            } else {
-                return hasNext();
             }
+            return false;
         }
 
         @Override
@@ -197,9 +183,10 @@ public abstract class AccumuloItemRetriever<OP extends Output<CloseableIterable<
 
         @Override
         public void close() {
-            if (null != scanner) {
-                scanner.close();
+            if (null != decodedElements) {
+                decodedElements.close();
             }
+            entries.close();
         }
     }
 }
@@ -16,6 +16,8 @@
 
 package uk.gov.gchq.gaffer.accumulostore.retriever;
 
+import org.apache.accumulo.core.client.AccumuloException;
+import org.apache.accumulo.core.client.AccumuloSecurityException;
 import org.apache.accumulo.core.client.BatchScanner;
 import org.apache.accumulo.core.client.IteratorSetting;
 import org.apache.accumulo.core.client.TableNotFoundException;
@@ -29,17 +31,22 @@ import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
 import uk.gov.gchq.gaffer.accumulostore.key.AccumuloElementConverter;
 import uk.gov.gchq.gaffer.accumulostore.key.IteratorSettingFactory;
 import uk.gov.gchq.gaffer.accumulostore.key.RangeFactory;
+import uk.gov.gchq.gaffer.accumulostore.utils.TableUtils;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
 import uk.gov.gchq.gaffer.data.element.function.ElementTransformer;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
 import uk.gov.gchq.gaffer.operation.graph.GraphFilters;
 import uk.gov.gchq.gaffer.operation.io.Output;
 import uk.gov.gchq.gaffer.store.StoreException;
 import uk.gov.gchq.gaffer.user.User;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.Set;
 
 public abstract class AccumuloRetriever<OP extends Output & GraphFilters, O_ITEM> implements CloseableIterable<O_ITEM> {
@@ -65,12 +72,7 @@ public abstract class AccumuloRetriever<OP extends Output & GraphFilters, O_ITEM
         this.operation = operation;
         this.iteratorSettings = iteratorSettings;
         this.user = user;
-        if (null != user && null != user.getDataAuths()) {
-            this.authorisations = new Authorizations(
-                    user.getDataAuths().toArray(new String[user.getDataAuths().size()]));
-        } else {
-            this.authorisations = new Authorizations();
-        }
+        this.authorisations = TableUtils.getAuthorizations(user);
     }
 
     /**
@@ -79,7 +81,17 @@ public abstract class AccumuloRetriever<OP extends Output & GraphFilters, O_ITEM
      * @param element the element to transform
      */
     public void doTransformation(final Element element) {
-        final ViewElementDefinition viewDef = operation.getView().getElement(element.getGroup());
+        doTransformation(element, operation.getView());
+    }
+
+    /**
+     * Performs any transformations specified in the provided view on an element
+     *
+     * @param element the element to transform
+     * @param view    the view containing the transformations
+     */
+    public void doTransformation(final Element element, final View view) {
+        final ViewElementDefinition viewDef = view.getElement(element.getGroup());
         if (null != viewDef) {
             transform(element, viewDef.getTransformer());
         }
@@ -92,7 +104,18 @@ public abstract class AccumuloRetriever<OP extends Output & GraphFilters, O_ITEM
      * @return the result of validating the element against the post filters
      */
     public boolean doPostFilter(final Element element) {
-        final ViewElementDefinition viewDef = operation.getView().getElement(element.getGroup());
+        return doPostFilter(element, operation.getView());
+    }
+
+    /**
+     * Performs any post Filtering specified in the provided view on an element
+     *
+     * @param element the element to post Filter
+     * @param view    the view containing the post filters
+     * @return the result of validating the element against the post filters
+     */
+    public boolean doPostFilter(final Element element, final View view) {
+        final ViewElementDefinition viewDef = view.getElement(element.getGroup());
         if (null != viewDef) {
             return postFilter(element, viewDef.getPostTransformFilter());
         }
@@ -143,6 +166,44 @@ public abstract class AccumuloRetriever<OP extends Output & GraphFilters, O_ITEM
         return scanner;
     }
 
+    /**
+     * Create an iterator over the Accumulo entries for the provided seeds,
+     * scanning batches of the seeds as configured in the store properties.
+     *
+     * @param seeds      the seeds to scan for
+     * @param rangeAdder adds the ranges for a seed
+     * @param <SEED>     the type of seed
+     * @return an iterator of the Accumulo entries
+     * @throws RetrieverException if the first scanner could not be created
+     */
+    protected <SEED> BatchScannerEntryIterator<SEED> createEntryIterator(final Iterator<? extends SEED> seeds,
+                                                                          final BatchScannerEntryIterator.RangeAdder<SEED> rangeAdder)
+            throws RetrieverException {
+        final SortedRangeBatcher rangeBatcher = store.getProperties().getSortAndMergeRanges()
+                ? new SortedRangeBatcher(store.getProperties().getMaxEntriesForBatchScanner(), getSplits())
+                : null;
+        return new BatchScannerEntryIterator<>(seeds, rangeAdder, this::getScanner,
+                store.getProperties().getMaxEntriesForBatchScanner(),
+                store.getProperties().getConcurrentBatchScanners(),
+                store.getProperties().getBatchScannerQueueSize(),
+                rangeBatcher,
+                store.getProperties().getRangeGroupingWindowSize());
+    }
+
+    /**
+     * Gets the split points of the table, so ranges can be grouped by tablet.
+     *
+     * @return the split points, or an empty collection if they could not be retrieved
+     */
+    protected Collection<Text> getSplits() {
+        try {
+            return store.getConnection().tableOperations().listSplits(store.getTableName());
+        } catch (final StoreException | TableNotFoundException | AccumuloSecurityException | AccumuloException e) {
+            LOGGER.warn("Unable to get the split points for table {}, ranges will not be grouped by tablet", store.getTableName(), e);
+            return Collections.emptyList();
+        }
+    }
+
     protected void transform(final Element element, final ElementTransformer transformer) {
         if (null != transformer) {
             transformer.apply(element);
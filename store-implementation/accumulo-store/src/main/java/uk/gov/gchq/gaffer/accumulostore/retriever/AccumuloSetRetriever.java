@@ -46,6 +46,7 @@ import uk.gov.gchq.gaffer.store.StoreException;
 import uk.gov.gchq.gaffer.user.User;
 
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Map.Entry;
@@ -129,6 +130,16 @@ public abstract class AccumuloSetRetriever<OP extends InputOutput<Iterable<? ext
         return vertices;
     }
 
+    /**
+     * Gets the number of seeds, if it is known without iterating through them.
+     *
+     * @param seeds the seeds
+     * @return the number of seeds, or -1 if the number is not known
+     */
+    protected int getNumberOfSeeds(final Iterable<? extends EntityId> seeds) {
+        return seeds instanceof Collection ? ((Collection<?>) seeds).size() : -1;
+    }
+
     protected void addToBloomFilter(final Iterable<? extends Object> vertices, final BloomFilter filter)
             throws RetrieverException {
         addToBloomFilter(vertices.iterator(), filter);
@@ -158,13 +169,19 @@ public abstract class AccumuloSetRetriever<OP extends InputOutput<Iterable<? ext
 
     protected void addToBloomFilter(final EntityId seed, final BloomFilter filter1, final BloomFilter filter2)
             throws RetrieverException {
-        addToBloomFilter(seed.getVertex(), filter1);
-        addToBloomFilter(seed.getVertex(), filter2);
+        // Only serialise the vertex once for both filters
+        final org.apache.hadoop.util.bloom.Key key = getBloomKey(seed.getVertex());
+        filter1.add(key);
+        filter2.add(key);
     }
 
     private void addToBloomFilter(final Object vertex, final BloomFilter filter) throws RetrieverException {
+        filter.add(getBloomKey(vertex));
+    }
+
+    private org.apache.hadoop.util.bloom.Key getBloomKey(final Object vertex) throws RetrieverException {
         try {
-            filter.add(new org.apache.hadoop.util.bloom.Key(elementConverter.serialiseVertex(vertex)));
+            return new org.apache.hadoop.util.bloom.Key(elementConverter.serialiseVertex(vertex));
         } catch (final AccumuloElementConversionException e) {
             throw new RetrieverException("Failed to add identifier to the bloom key", e);
         }
@@ -272,17 +289,43 @@ public abstract class AccumuloSetRetriever<OP extends InputOutput<Iterable<? ext
         protected Set<Object> currentSeeds;
         protected BatchScanner scanner;
         protected BloomFilter filter;
+        // Set when seeds are added to the filter, so that the filter is only
+        // serialised again for the next batch if it has changed.
+        protected boolean filterUpdated = true;
+        private IteratorSetting bloomFilterIteratorSetting;
         private Iterator<Entry<Key, Value>> scannerIterator;
         private Element nextElm;
         private int count;
 
         public AbstractElementIteratorFromBatches() {
-            // Set up client side filter
-            clientSideFilter = BloomFilterUtils.getBloomFilter(store.getProperties().getClientSideBloomFilterSize());
-            // Create Bloom filter to be passed to iterators.
-            filter = BloomFilterUtils.getBloomFilter(store.getProperties().getFalsePositiveRate(),
-                    store.getProperties().getMaxEntriesForBatchScanner(),
-                    store.getProperties().getMaxBloomFilterToPassToAnIterator());
+            this(-1);
+        }
+
+        /**
+         * If the number of seeds that will be added to the Bloom filters is
+         * known then the filters are sized from it, rather than from the
+         * configured sizes. The client-side filter is sized for the square of
+         * the false positive rate, so it is independent of the filter passed
+         * to the iterators.
+         *
+         * @param numSeedsInFilters the number of seeds that will be added to
+         *                          the Bloom filters, or -1 if it is not known
+         */
+        public AbstractElementIteratorFromBatches(final int numSeedsInFilters) {
+            final double falsePositiveRate = store.getProperties().getFalsePositiveRate();
+            if (numSeedsInFilters > 0) {
+                clientSideFilter = BloomFilterUtils.getBloomFilter(falsePositiveRate * falsePositiveRate,
+                        numSeedsInFilters, store.getProperties().getClientSideBloomFilterSize());
+                filter = BloomFilterUtils.getBloomFilter(falsePositiveRate, numSeedsInFilters,
+                        store.getProperties().getMaxBloomFilterToPassToAnIterator());
+            } else {
+                // Set up client side filter
+                clientSideFilter = BloomFilterUtils.getBloomFilter(store.getProperties().getClientSideBloomFilterSize());
+                // Create Bloom filter to be passed to iterators.
+                filter = BloomFilterUtils.getBloomFilter(falsePositiveRate,
+                        store.getProperties().getMaxEntriesForBatchScanner(),
+                        store.getProperties().getMaxBloomFilterToPassToAnIterator());
+            }
             currentSeeds = new HashSet<>();
         }
 
@@ -367,10 +410,16 @@ public abstract class AccumuloSetRetriever<OP extends InputOutput<Iterable<? ext
                 CloseableUtil.close(operation);
                 throw new RetrieverException(e);
             }
-            try {
-                scanner.addScanIterator(iteratorSettingFactory.getBloomFilterIteratorSetting(filter));
-            } catch (final IteratorSettingException e) {
-                LOGGER.error("Failed to apply the bloom filter iterator setting continuing without bloom filter", e);
+            if (filterUpdated || null == bloomFilterIteratorSetting) {
+                try {
+                    bloomFilterIteratorSetting = iteratorSettingFactory.getBloomFilterIteratorSetting(filter);
+                    filterUpdated = false;
+                } catch (final IteratorSettingException e) {
+                    LOGGER.error("Failed to apply the bloom filter iterator setting continuing without bloom filter", e);
+                }
+            }
+            if (null != bloomFilterIteratorSetting) {
+                scanner.addScanIterator(bloomFilterIteratorSetting);
             }
             scannerIterator = scanner.iterator();
         }
@@ -0,0 +1,321 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.retriever;
+
+import org.apache.accumulo.core.client.BatchScanner;
+import org.apache.accumulo.core.client.TableNotFoundException;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.accumulostore.key.exception.RangeFactoryException;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.commonutil.iterable.ConcurrentProducerIterator;
+import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
+import uk.gov.gchq.gaffer.store.StoreException;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Iterates over the Accumulo entries for a set of seeds. The seeds are
+ * converted into batches of ranges, with up to maxEntriesForBatchScanner seeds
+ * per batch, and each batch is scanned using a {@link BatchScanner}.
+ * <p>
+ * If only 1 batch is allowed in flight, the batches are scanned one after the
+ * other on the calling thread, with the next scanner only created once the
+ * current scanner has been drained. Otherwise, the batches are scanned
+ * concurrently using a {@link ConcurrentProducerIterator}, so the next
+ * scanners are already running whilst the entries from the current scanners
+ * are being converted. The order of the entries is not preserved, but
+ * {@link BatchScanner}s do not return entries in order anyway. When scanning
+ * concurrently, a failure to create a scanner is thrown to the consumer.
+ * <p>
+ * Optionally, a larger window of seeds can be read at once and their ranges
+ * sorted, merged and batched using a {@link SortedRangeBatcher}, so each
+ * scanner covers fewer tablets.
+ * <p>
+ * Closing the iterator closes all open scanners.
+ *
+ * @param <SEED> the type of seed
+ */
+public class BatchScannerEntryIterator<SEED> implements CloseableIterator<Map.Entry<Key, Value>> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(BatchScannerEntryIterator.class);
+
+    private final Iterator<? extends SEED> seeds;
+    private final RangeAdder<SEED> rangeAdder;
+    private final ScannerFactory scannerFactory;
+    private final int maxEntriesForBatchScanner;
+    private final SortedRangeBatcher rangeBatcher;
+    private final int seedWindowSize;
+    private final Deque<Set<Range>> batchedRanges = new ArrayDeque<>();
+
+    // Used when scanning batches on the calling thread
+    private BatchScanner scanner;
+    private Iterator<Map.Entry<Key, Value>> scannerIterator;
+
+    // Used when scanning batches concurrently
+    private final ConcurrentProducerIterator<Map.Entry<Key, Value>> concurrentIterator;
+    private final Set<BatchScanner> openScanners;
+    private volatile boolean closed;
+
+    private Map.Entry<Key, Value> nextEntry;
+
+    /**
+     * Creates the iterator and starts scanning the first batches.
+     *
+     * @param seeds                     the seeds to scan for
+     * @param rangeAdder                adds the ranges for a seed
+     * @param scannerFactory            creates a scanner for a batch of ranges
+     * @param maxEntriesForBatchScanner the maximum number of seeds in each batch
+     * @param concurrentBatchScanners   the maximum number of batches to scan at once
+     * @param queueSize                 the maximum number of entries to buffer when scanning batches concurrently
+     * @throws RetrieverException if the first scanner cannot be created
+     */
+    public BatchScannerEntryIterator(final Iterator<? extends SEED> seeds,
+                                     final RangeAdder<SEED> rangeAdder,
+                                     final ScannerFactory scannerFactory,
+                                     final int maxEntriesForBatchScanner,
+                                     final int concurrentBatchScanners,
+                                     final int queueSize) throws RetrieverException {
+        this(seeds, rangeAdder, scannerFactory, maxEntriesForBatchScanner, concurrentBatchScanners, queueSize, null, 0);
+    }
+
+    /**
+     * Creates the iterator and starts scanning the first batches. If a range
+     * batcher is provided, the ranges for each window of seeds are sorted,
+     * merged and batched by the range batcher, rather than each batch of
+     * seeds being scanned as it is read.
+     *
+     * @param seeds                     the seeds to scan for
+     * @param rangeAdder                adds the ranges for a seed
+     * @param scannerFactory            creates a scanner for a batch of ranges
+     * @param maxEntriesForBatchScanner the maximum number of seeds in each batch
+     * @param concurrentBatchScanners   the maximum number of batches to scan at once
+     * @param queueSize                 the maximum number of entries to buffer when scanning batches concurrently
+     * @param rangeBatcher              sorts, merges and batches the ranges, or null to scan the batches of seeds as they are read
+     * @param seedWindowSize            the number of seeds to read before batching their ranges with the range batcher
+     * @throws RetrieverException if the first scanner cannot be created
+     */
+    public BatchScannerEntryIterator(final Iterator<? extends SEED> seeds,
+                                     final RangeAdder<SEED> rangeAdder,
+                                     final ScannerFactory scannerFactory,
+                                     final int maxEntriesForBatchScanner,
+                                     final int concurrentBatchScanners,
+                                     final int queueSize,
+                                     final SortedRangeBatcher rangeBatcher,
+                                     final int seedWindowSize) throws RetrieverException {
+        this.seeds = seeds;
+        this.rangeAdder = rangeAdder;
+        this.scannerFactory = scannerFactory;
+        this.maxEntriesForBatchScanner = maxEntriesForBatchScanner;
+        this.rangeBatcher = rangeBatcher;
+        this.seedWindowSize = Math.max(seedWindowSize, maxEntriesForBatchScanner);
+
+        if (concurrentBatchScanners > 1) {
+            openScanners = Collections.newSetFromMap(new ConcurrentHashMap<>());
+            final List<ConcurrentProducerIterator.Producer<Map.Entry<Key, Value>>> producers = new ArrayList<>(concurrentBatchScanners);
+            for (int i = 0; i < concurrentBatchScanners; i++) {
+                producers.add(this::scanBatches);
+            }
+            concurrentIterator = new ConcurrentProducerIterator<>(producers, queueSize, GafferRuntimeException::new);
+        } else {
+            concurrentIterator = null;
+            openScanners = null;
+            final Set<Range> ranges = nextRanges();
+            if (null == ranges) {
+                scannerIterator = Collections.emptyIterator();
+            } else {
+                try {
+                    scanner = scannerFactory.getScanner(ranges);
+                } catch (final Exception e) {
+                    throw new RetrieverException(e);
+                }
+                scannerIterator = scanner.iterator();
+            }
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (null != nextEntry) {
+            return true;
+        }
+        if (null == concurrentIterator) {
+            return hasNextFromScanner();
+        }
+        if (concurrentIterator.hasNext()) {
+            nextEntry = concurrentIterator.next();
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public Map.Entry<Key, Value> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        final Map.Entry<Key, Value> entry = nextEntry;
+        nextEntry = null;
+        return entry;
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (null != scanner) {
+            scanner.close();
+            scanner = null;
+        }
+        if (null != concurrentIterator) {
+            concurrentIterator.close();
+            for (final BatchScanner openScanner : openScanners) {
+                openScanner.close();
+            }
+        }
+    }
+
+    private boolean hasNextFromScanner() {
+        while (!closed) {
+            if (scannerIterator.hasNext()) {
+                nextEntry = scannerIterator.next();
+                return true;
+            }
+
+            // The current scanner is spent so create a scanner for the next batch of seeds
+            if (null != scanner) {
+                scanner.close();
+                scanner = null;
+            }
+            final Set<Range> ranges = nextRanges();
+            if (null == ranges) {
+                break;
+            }
+            try {
+                scanner = scannerFactory.getScanner(ranges);
+            } catch (final TableNotFoundException | StoreException e) {
+                LOGGER.error("{} returning iterator doesn't have any more elements", e.getMessage(), e);
+                break;
+            }
+            scannerIterator = scanner.iterator();
+        }
+        close();
+        return false;
+    }
+
+    private void scanBatches(final ConcurrentProducerIterator.Sink<Map.Entry<Key, Value>> sink)
+            throws TableNotFoundException, StoreException {
+        Set<Range> ranges;
+        while (!sink.isClosed() && null != (ranges = nextRanges())) {
+            final BatchScanner batchScanner = scannerFactory.getScanner(ranges);
+            openScanners.add(batchScanner);
+            try {
+                for (final Map.Entry<Key, Value> entry : batchScanner) {
+                    if (!sink.add(entry)) {
+                        return;
+                    }
+                }
+            } finally {
+                openScanners.remove(batchScanner);
+                batchScanner.close();
+            }
+        }
+    }
+
+    /**
+     * Reads the next batch of seeds and converts them into ranges. The seeds
+     * iterator is shared by all the scanning threads, so only 1 batch is read
+     * at a time. If there is a range batcher, the next of the batches created
+     * from the current window of seeds is returned instead.
+     *
+     * @return the ranges, or null if there are no more seeds
+     */
+    private Set<Range> nextRanges() {
+        synchronized (seeds) {
+            if (null != rangeBatcher) {
+                return nextBatchedRanges();
+            }
+            while (seeds.hasNext()) {
+                final Set<Range> ranges = new HashSet<>();
+                int count = 0;
+                while (seeds.hasNext() && count < maxEntriesForBatchScanner) {
+                    count++;
+                    try {
+                        rangeAdder.addToRanges(seeds.next(), ranges);
+                    } catch (final RangeFactoryException e) {
+                        LOGGER.error("Failed to create a range from given seed", e);
+                    }
+                }
+                // Skip batches with no valid ranges, as a scanner requires at least 1 range
+                if (!ranges.isEmpty()) {
+                    return ranges;
+                }
+            }
+            return null;
+        }
+    }
+
+    private Set<Range> nextBatchedRanges() {
+        while (batchedRanges.isEmpty() && seeds.hasNext()) {
+            final Set<Range> ranges = new HashSet<>();
+            int count = 0;
+            while (seeds.hasNext() && count < seedWindowSize) {
+                count++;
+                try {
+                    rangeAdder.addToRanges(seeds.next(), ranges);
+                } catch (final RangeFactoryException e) {
+                    LOGGER.error("Failed to create a range from given seed", e);
+                }
+            }
+            batchedRanges.addAll(rangeBatcher.batch(ranges));
+        }
+        return batchedRanges.poll();
+    }
+
+    /**
+     * Adds the ranges for a seed.
+     *
+     * @param <SEED> the type of seed
+     */
+    @FunctionalInterface
+    public interface RangeAdder<SEED> {
+        void addToRanges(final SEED seed, final Set<Range> ranges) throws RangeFactoryException;
+    }
+
+    /**
+     * Creates a {@link BatchScanner} for a batch of ranges.
+     */
+    @FunctionalInterface
+    public interface ScannerFactory {
+        BatchScanner getScanner(final Set<Range> ranges) throws TableNotFoundException, StoreException;
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.accumulostore.retriever;
+
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.commonutil.iterable.ConcurrentProducerIterator;
+import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Decodes the items from a source iterator on several threads at once.
+ * <p>
+ * Each decoding thread takes a chunk of items from the source, decodes them
+ * using its own decoder and passes the results on through a
+ * {@link ConcurrentProducerIterator}. Results are returned in the order they
+ * are decoded rather than the order of the source items, so a slow item does
+ * not hold up the others. A decoder may return null to drop an item, e.g. if
+ * it fails a filter.
+ * <p>
+ * Each thread is given its own decoder from the supplier, so decoders do not
+ * need to be thread safe. The source iterator is only ever read by 1 thread at
+ * a time.
+ * <p>
+ * Closing the iterator stops the decoding threads and closes the source.
+ *
+ * @param <I> the type of the source items
+ * @param <O> the type of the decoded items
+ */
+public class ParallelDecodingIterator<I, O> implements CloseableIterator<O> {
+    public static final int CHUNK_SIZE = 100;
+
+    private final Iterator<? extends I> source;
+    private final ConcurrentProducerIterator<O> decoded;
+    private volatile boolean closed;
+
+    /**
+     * @param source          the items to decode
+     * @param decoderSupplier supplies a decoder for each thread
+     * @param threads         the number of decoding threads
+     * @param queueSize       the maximum number of decoded items to buffer
+     */
+    public ParallelDecodingIterator(final Iterator<? extends I> source,
+                                    final Supplier<Function<I, O>> decoderSupplier,
+                                    final int threads,
+                                    final int queueSize) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("At least 1 decoding thread is required");
+        }
+        this.source = source;
+        final List<ConcurrentProducerIterator.Producer<O>> decoders = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            final Function<I, O> decoder = decoderSupplier.get();
+            decoders.add(sink -> decode(decoder, sink));
+        }
+        this.decoded = new ConcurrentProducerIterator<>(decoders, queueSize, GafferRuntimeException::new);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (closed) {
+            return false;
+        }
+        final boolean hasNext;
+        try {
+            hasNext = decoded.hasNext();
+        } catch (final RuntimeException e) {
+            close();
+            throw e;
+        }
+        if (!hasNext) {
+            close();
+        }
+        return hasNext;
+    }
+
+    @Override
+    public O next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return decoded.next();
+    }
+
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            decoded.close();
+            CloseableUtil.close(source);
+        }
+    }
+
+    private void decode(final Function<I, O> decoder, final ConcurrentProducerIterator.Sink<O> sink) {
+        final List<I> chunk = new ArrayList<>(CHUNK_SIZE);
+        while (!sink.isClosed() && readChunk(chunk, sink)) {
+            for (final I item : chunk) {
+                final O result = decoder.apply(item);
+                if (null != result && !sink.add(result)) {
+                    return;
+                }
+            }
+            chunk.clear();
+        }
+    }
+
+    private boolean readChunk(final List<I> chunk, final ConcurrentProducerIterator.Sink<O> sink) {
+        synchronized (source) {
+            while (!sink.isClosed() && chunk.size() < CHUNK_SIZE && source.hasNext()) {
+                chunk.add(source.next());
+            }
+        }
+        return !chunk.isEmpty();
+    }
+}
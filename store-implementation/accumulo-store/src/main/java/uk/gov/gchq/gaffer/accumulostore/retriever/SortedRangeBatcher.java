@@ -0,0 +1,100 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.retriever;
+
+import org.apache.accumulo.core.data.Range;
+import org.apache.hadoop.io.Text;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Splits a collection of ranges into batches for {@link org.apache.accumulo.core.client.BatchScanner}s,
+ * so that each batch covers as few tablets as possible.
+ * <p>
+ * The ranges are sorted and any overlapping ranges are merged. The sorted
+ * ranges are then split into batches of consecutive ranges. A batch is ended
+ * when it is full, or when it is at least half full and the next range is in a
+ * different tablet to the previous range.
+ */
+public class SortedRangeBatcher {
+    private final int maxRangesPerBatch;
+    private final List<Text> splits;
+
+    /**
+     * @param maxRangesPerBatch the maximum number of ranges in each batch
+     * @param splits            the split points of the table, used to find the tablet for each range
+     */
+    public SortedRangeBatcher(final int maxRangesPerBatch, final Collection<Text> splits) {
+        if (maxRangesPerBatch < 1) {
+            throw new IllegalArgumentException("Batches must contain at least 1 range");
+        }
+        this.maxRangesPerBatch = maxRangesPerBatch;
+        if (null == splits) {
+            this.splits = Collections.emptyList();
+        } else {
+            this.splits = new ArrayList<>(splits);
+            Collections.sort(this.splits);
+        }
+    }
+
+    /**
+     * Sorts and merges the ranges, then splits them into batches.
+     *
+     * @param ranges the ranges to batch
+     * @return the batches of ranges, in sorted order
+     */
+    public List<Set<Range>> batch(final Collection<Range> ranges) {
+        final List<Set<Range>> batches = new ArrayList<>();
+        Set<Range> batch = new HashSet<>();
+        int batchTablet = -1;
+        for (final Range range : Range.mergeOverlapping(ranges)) {
+            final int tablet = getTablet(range);
+            if (!batch.isEmpty()
+                    && (batch.size() >= maxRangesPerBatch
+                    || (tablet != batchTablet && batch.size() * 2 >= maxRangesPerBatch))) {
+                batches.add(batch);
+                batch = new HashSet<>();
+            }
+            batch.add(range);
+            batchTablet = tablet;
+        }
+        if (!batch.isEmpty()) {
+            batches.add(batch);
+        }
+        return batches;
+    }
+
+    /**
+     * Gets the index of the tablet containing the start of a range. Tablet i
+     * contains the rows after split i - 1, up to and including split i.
+     *
+     * @param range the range
+     * @return the index of the tablet
+     */
+    private int getTablet(final Range range) {
+        if (splits.isEmpty() || range.isInfiniteStartKey()) {
+            return 0;
+        }
+        final int index = Collections.binarySearch(splits, range.getStartKey().getRow());
+        return index >= 0 ? index : -index - 1;
+    }
+}
@@ -16,8 +16,6 @@
 
 package uk.gov.gchq.gaffer.accumulostore.retriever.impl;
 
-import org.apache.accumulo.core.client.BatchScanner;
-import org.apache.accumulo.core.client.TableNotFoundException;
 import org.apache.accumulo.core.data.Key;
 import org.apache.accumulo.core.data.Range;
 import org.apache.accumulo.core.data.Value;
@@ -29,6 +27,7 @@ import uk.gov.gchq.gaffer.accumulostore.key.exception.AccumuloElementConversionE
 import uk.gov.gchq.gaffer.accumulostore.key.exception.IteratorSettingException;
 import uk.gov.gchq.gaffer.accumulostore.key.exception.RangeFactoryException;
 import uk.gov.gchq.gaffer.accumulostore.retriever.AccumuloRetriever;
+import uk.gov.gchq.gaffer.accumulostore.retriever.BatchScannerEntryIterator;
 import uk.gov.gchq.gaffer.accumulostore.retriever.RetrieverException;
 import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
 import uk.gov.gchq.gaffer.commonutil.StringUtil;
@@ -100,43 +99,26 @@ public class AccumuloAdjacentIdRetriever extends AccumuloRetriever<GetAdjacentId
     }
 
     private final class EntityIdIterator implements CloseableIterator<EntityId> {
-        private final Iterator<? extends ElementId> idsIterator;
-        private int count;
-        private BatchScanner scanner;
-        private Iterator<Map.Entry<Key, Value>> scannerIterator;
+        private final BatchScannerEntryIterator<ElementId> entries;
         private EntityId nextId;
 
         private EntityIdIterator(final Iterator<? extends ElementId> idIterator) throws RetrieverException {
-            idsIterator = idIterator;
-            count = 0;
-            final Set<Range> ranges = new HashSet<>();
-            while (idsIterator.hasNext() && count < store.getProperties().getMaxEntriesForBatchScanner()) {
-                count++;
-                try {
-                    addToRanges(idsIterator.next(), ranges);
-                } catch (final RangeFactoryException e) {
-                    LOGGER.error("Failed to create a range from given seed pair", e);
-                }
-            }
-
             try {
-                scanner = getScanner(ranges);
-            } catch (final Exception e) {
-                CloseableUtil.close(idsIterator);
+                entries = createEntryIterator(idIterator, AccumuloAdjacentIdRetriever.this::addToRanges);
+            } catch (final RetrieverException e) {
+                CloseableUtil.close(idIterator);
                 CloseableUtil.close(ids);
-                throw new RetrieverException(e);
+                throw e;
             }
-            scannerIterator = scanner.iterator();
         }
 
         @Override
         public boolean hasNext() {
-            // If current scanner has next then return true.
             if (null != nextId) {
                 return true;
             }
-            while (scannerIterator.hasNext()) {
-                final Map.Entry<Key, Value> entry = scannerIterator.next();
+            while (entries.hasNext()) {
+                final Map.Entry<Key, Value> entry = entries.next();
 
                 final String group = StringUtil.toString(entry.getKey().getColumnFamilyData().getBackingArray());
                 ElementId elementId = null;
@@ -181,36 +163,7 @@ public class AccumuloAdjacentIdRetriever extends AccumuloRetriever<GetAdjacentId
                 }
             }
 
-            // If current scanner is spent then go back to the iterator
-            // through the provided entities, and see if there are more.
-            // If so create the next scanner, if there are no more entities
-            // then return false.
-            while (idsIterator.hasNext() && !scannerIterator.hasNext()) {
-                count = 0;
-                final Set<Range> ranges = new HashSet<>();
-                while (idsIterator.hasNext() && count < store.getProperties().getMaxEntriesForBatchScanner()) {
-                    count++;
-                    try {
-                        addToRanges(idsIterator.next(), ranges);
-                    } catch (final RangeFactoryException e) {
-                        LOGGER.error("Failed to create a range from given seed", e);
-                    }
-                }
-                scanner.close();
-                try {
-                    scanner = getScanner(ranges);
-                } catch (final TableNotFoundException | StoreException e) {
-                    LOGGER.error("{} returning iterator doesn't have any more elements", e.getMessage(), e);
-                    return false;
-                }
-                scannerIterator = scanner.iterator();
-            }
-            if (!scannerIterator.hasNext()) {
-                scanner.close();
-                return false;
-            } else {
-                return hasNext();
-            }
+            return false;
         }
 
         @Override
@@ -232,9 +185,7 @@ public class AccumuloAdjacentIdRetriever extends AccumuloRetriever<GetAdjacentId
 
         @Override
         public void close() {
-            if (null != scanner) {
-                scanner.close();
-            }
+            entries.close();
         }
     }
 
@@ -150,6 +150,7 @@ public class AccumuloIDBetweenSetsRetriever extends AccumuloSetRetriever<GetElem
 
     private class ElementIteratorFromBatches extends AbstractElementIteratorFromBatches {
         ElementIteratorFromBatches() throws RetrieverException {
+            super(getNumberOfSeeds(seedSetB));
             try {
                 addToBloomFilter(seedSetBIter, filter, clientSideFilter);
                 idsAIterator = seedSetAIter;
@@ -164,7 +165,8 @@ public class AccumuloIDBetweenSetsRetriever extends AccumuloSetRetriever<GetElem
 
         @Override
         protected void updateBloomFilterIfRequired(final EntityId seed) throws RetrieverException {
-            // no action required.
+            // no action required - the filters only contain set B, so the
+            // serialised filter is reused for every batch.
         }
 
         @Override
@@ -142,6 +142,7 @@ public class AccumuloIDWithinSetRetriever extends AccumuloSetRetriever<GetElemen
 
     private class ElementIteratorFromBatches extends AbstractElementIteratorFromBatches {
         ElementIteratorFromBatches() throws RetrieverException {
+            super(getNumberOfSeeds(seeds));
             idsAIterator = seedsIter;
             updateScanner();
         }
@@ -155,6 +156,7 @@ public class AccumuloIDWithinSetRetriever extends AccumuloSetRetriever<GetElemen
             // contain both the first batch and the second batch
             // (and so we find edges from the second batch to either the first or second batches).
             addToBloomFilter(seed, filter, clientSideFilter);
+            filterUpdated = true;
         }
 
         @Override
@@ -0,0 +1,224 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.utils;
+
+import org.apache.accumulo.core.client.BatchWriter;
+import org.apache.accumulo.core.client.MutationsRejectedException;
+import org.apache.accumulo.core.data.ByteSequence;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Mutation;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.security.ColumnVisibility;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.accumulostore.key.AccumuloElementConverter;
+import uk.gov.gchq.gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import uk.gov.gchq.gaffer.commonutil.pair.Pair;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.store.StoreException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static uk.gov.gchq.gaffer.accumulostore.AccumuloStore.FAILED_TO_CREATE_AN_ACCUMULO_FROM_ELEMENT_OF_TYPE_WHEN_TRYING_TO_INSERT_ELEMENTS;
+
+/**
+ * Writes elements to Accumulo, optionally using several threads to convert
+ * the elements into {@link Mutation}s.
+ * <p>
+ * The elements are read in chunks on the calling thread. If there is more
+ * than 1 thread each chunk is converted on a thread from the given
+ * {@link ExecutorService}, otherwise the chunks are converted on the calling
+ * thread. The executor service can be shared with other writers, in which case
+ * chunks may wait in its queue for a thread to become free. The keys for a chunk are grouped by row, so
+ * all the keys for the same row (e.g. the entity and edges for a vertex) are
+ * written in a single {@link Mutation}. The mutations are then added to the
+ * shared {@link BatchWriter}. At most 1 chunk per thread is converted at a
+ * time, so the calling thread waits for a worker to become free rather than
+ * reading all the elements into memory.
+ * <p>
+ * Mutations rejected by Accumulo are reported by throwing a
+ * {@link StoreException}. Elements that cannot be converted are logged and
+ * skipped.
+ */
+public class ParallelElementWriter {
+    public static final int DEFAULT_CHUNK_SIZE = 1000;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ParallelElementWriter.class);
+
+    private final AccumuloElementConverter elementConverter;
+    private final BatchWriter writer;
+    private final ExecutorService executorService;
+    private final int threads;
+    private final int chunkSize;
+
+    public ParallelElementWriter(final AccumuloElementConverter elementConverter, final BatchWriter writer,
+                                 final ExecutorService executorService, final int threads) {
+        this(elementConverter, writer, executorService, threads, DEFAULT_CHUNK_SIZE);
+    }
+
+    public ParallelElementWriter(final AccumuloElementConverter elementConverter, final BatchWriter writer,
+                                 final ExecutorService executorService, final int threads, final int chunkSize) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("At least 1 thread is required");
+        }
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be at least 1");
+        }
+        if (threads > 1 && null == executorService) {
+            throw new IllegalArgumentException("An executor service is required to use more than 1 thread");
+        }
+        this.elementConverter = elementConverter;
+        this.writer = writer;
+        this.executorService = executorService;
+        this.threads = threads;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Writes the elements and closes the {@link BatchWriter}.
+     *
+     * @param elements the elements to write
+     * @throws StoreException if the mutations could not be written to Accumulo
+     */
+    public void write(final Iterable<? extends Element> elements) throws StoreException {
+        final AtomicReference<Exception> failure = new AtomicReference<>();
+        final Semaphore freeThreads = new Semaphore(threads);
+        try {
+            final Iterator<? extends Element> iterator = elements.iterator();
+            List<Element> chunk = readChunk(iterator);
+            if (1 == threads || !iterator.hasNext()) {
+                // There is no benefit in using another thread
+                while (!chunk.isEmpty() && null == failure.get()) {
+                    writeChunk(chunk, failure);
+                    chunk = readChunk(iterator);
+                }
+            } else {
+                while (!chunk.isEmpty() && null == failure.get()) {
+                    freeThreads.acquire();
+                    final List<Element> elementsToWrite = chunk;
+                    try {
+                        executorService.execute(() -> {
+                            try {
+                                writeChunk(elementsToWrite, failure);
+                            } finally {
+                                freeThreads.release();
+                            }
+                        });
+                    } catch (final RuntimeException e) {
+                        freeThreads.release();
+                        throw e;
+                    }
+                    chunk = readChunk(iterator);
+                }
+                // Wait for the remaining chunks to be written
+                freeThreads.acquire(threads);
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure.compareAndSet(null, e);
+        } finally {
+            try {
+                writer.close();
+            } catch (final MutationsRejectedException e) {
+                failure.compareAndSet(null, e);
+            }
+        }
+
+        final Exception e = failure.get();
+        if (e instanceof MutationsRejectedException) {
+            throw new StoreException("Accumulo rejected mutations whilst adding elements: " + e.getMessage(), e);
+        }
+        if (e instanceof InterruptedException) {
+            throw new StoreException("Interrupted whilst adding elements", e);
+        }
+        if (e instanceof RuntimeException) {
+            throw (RuntimeException) e;
+        }
+    }
+
+    private List<Element> readChunk(final Iterator<? extends Element> iterator) {
+        final List<Element> chunk = new ArrayList<>(chunkSize);
+        while (chunk.size() < chunkSize && iterator.hasNext()) {
+            chunk.add(iterator.next());
+        }
+        return chunk;
+    }
+
+    private void writeChunk(final List<Element> chunk, final AtomicReference<Exception> failure) {
+        if (null != failure.get()) {
+            return;
+        }
+        try {
+            final Iterable<Mutation> mutations = getMutations(chunk);
+            // Check again, as another thread may have failed whilst the mutations were being created
+            if (null == failure.get()) {
+                writer.addMutations(mutations);
+            }
+        } catch (final MutationsRejectedException | RuntimeException e) {
+            failure.compareAndSet(null, e);
+        }
+    }
+
+    private Iterable<Mutation> getMutations(final List<Element> chunk) {
+        final Map<ByteSequence, Mutation> mutations = new HashMap<>();
+        for (final Element element : chunk) {
+            final Pair<Key, Key> keys;
+            try {
+                keys = elementConverter.getKeysFromElement(element);
+            } catch (final AccumuloElementConversionException e) {
+                LOGGER.error(FAILED_TO_CREATE_AN_ACCUMULO_FROM_ELEMENT_OF_TYPE_WHEN_TRYING_TO_INSERT_ELEMENTS, "key", element.getGroup());
+                continue;
+            }
+            final Value value;
+            try {
+                value = elementConverter.getValueFromElement(element);
+            } catch (final AccumuloElementConversionException e) {
+                LOGGER.error(FAILED_TO_CREATE_AN_ACCUMULO_FROM_ELEMENT_OF_TYPE_WHEN_TRYING_TO_INSERT_ELEMENTS, "value", element.getGroup());
+                continue;
+            }
+            // Both keys have the same column visibility, so it only needs parsing once
+            final ColumnVisibility columnVisibility = new ColumnVisibility(keys.getFirst().getColumnVisibilityData().toArray());
+            addToMutations(keys.getFirst(), columnVisibility, value, mutations);
+            // If the element is an entity then there will only be 1 key,
+            // and the second will be null.
+            if (null != keys.getSecond()) {
+                addToMutations(keys.getSecond(), columnVisibility, value, mutations);
+            }
+        }
+        return mutations.values();
+    }
+
+    private void addToMutations(final Key key, final ColumnVisibility columnVisibility, final Value value, final Map<ByteSequence, Mutation> mutations) {
+        final ByteSequence row = key.getRowData();
+        Mutation mutation = mutations.get(row);
+        if (null == mutation) {
+            mutation = new Mutation(row.toArray());
+            mutations.put(row, mutation);
+        }
+        // Write the key's bytes straight into the mutation, rather than copying them into Text objects first
+        mutation.put(key.getColumnFamilyData().toArray(), key.getColumnQualifierData().toArray(),
+                columnVisibility, key.getTimestamp(), value.get());
+    }
+}
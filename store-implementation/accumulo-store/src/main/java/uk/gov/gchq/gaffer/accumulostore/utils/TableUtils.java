@@ -39,6 +39,7 @@ import uk.gov.gchq.gaffer.accumulostore.key.AccumuloRuntimeException;
 import uk.gov.gchq.gaffer.accumulostore.key.core.impl.CoreKeyBloomFunctor;
 import uk.gov.gchq.gaffer.accumulostore.key.exception.IteratorSettingException;
 import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.user.User;
 import uk.gov.gchq.koryphe.ValidationResult;
 
 import java.util.EnumSet;
@@ -221,6 +222,20 @@ public final class TableUtils {
         }
     }
 
+    /**
+     * Returns the {@link org.apache.accumulo.core.security.Authorizations}
+     * for the data auths of a Gaffer user.
+     *
+     * @param user the user, may be null
+     * @return The accumulo Authorisations for the user's data auths, empty if there is no user
+     */
+    public static Authorizations getAuthorizations(final User user) {
+        if (null != user && null != user.getDataAuths()) {
+            return new Authorizations(user.getDataAuths().toArray(new String[user.getDataAuths().size()]));
+        }
+        return new Authorizations();
+    }
+
     /**
      * Creates a {@link org.apache.accumulo.core.client.BatchWriter} for the
      * specified table
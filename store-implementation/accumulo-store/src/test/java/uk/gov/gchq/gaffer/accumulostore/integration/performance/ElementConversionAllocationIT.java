@@ -0,0 +1,89 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.integration.performance;
+
+import org.junit.Assume;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.accumulostore.key.AccumuloElementConverter;
+import uk.gov.gchq.gaffer.accumulostore.key.core.impl.byteEntity.ByteEntityAccumuloElementConverter;
+import uk.gov.gchq.gaffer.accumulostore.key.core.impl.classic.ClassicAccumuloElementConverter;
+import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloPropertyNames;
+import uk.gov.gchq.gaffer.commonutil.StreamUtil;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures the bytes allocated per edge when converting edges into Accumulo
+ * keys and values, for edges connected to a small number of hub vertices.
+ * The measurements are logged rather than asserted, as they depend on the JVM.
+ */
+public class ElementConversionAllocationIT {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ElementConversionAllocationIT.class);
+    private static final int NUM_EDGES = 200000;
+    private static final int NUM_HUBS = 10;
+    private static final Schema SCHEMA = Schema.fromJson(StreamUtil.schemas(ElementConversionAllocationIT.class));
+
+    @Test
+    public void shouldMeasureAllocationPerEdge() {
+        final java.lang.management.ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(threadMXBean instanceof com.sun.management.ThreadMXBean);
+
+        final List<Edge> edges = new ArrayList<>(NUM_EDGES);
+        for (int i = 0; i < NUM_EDGES; i++) {
+            edges.add(new Edge.Builder()
+                    .group(TestGroups.EDGE)
+                    .source("hub" + (i % NUM_HUBS))
+                    .dest("vertex" + i)
+                    .directed(true)
+                    .property(AccumuloPropertyNames.COLUMN_QUALIFIER, i)
+                    .property(AccumuloPropertyNames.PROP_1, i)
+                    .build());
+        }
+
+        measure("byte entity", new ByteEntityAccumuloElementConverter(SCHEMA), edges, (com.sun.management.ThreadMXBean) threadMXBean);
+        measure("classic", new ClassicAccumuloElementConverter(SCHEMA), edges, (com.sun.management.ThreadMXBean) threadMXBean);
+    }
+
+    private void measure(final String name, final AccumuloElementConverter converter, final List<Edge> edges, final com.sun.management.ThreadMXBean threadMXBean) {
+        // Warm up
+        for (final Edge edge : edges) {
+            converter.getKeysFromElement(edge);
+            converter.getValueFromElement(edge);
+        }
+
+        final long threadId = Thread.currentThread().getId();
+        final long startBytes = threadMXBean.getThreadAllocatedBytes(threadId);
+        final long startTime = System.nanoTime();
+        for (final Edge edge : edges) {
+            converter.getKeysFromElement(edge);
+            converter.getValueFromElement(edge);
+        }
+        final long time = System.nanoTime() - startTime;
+        final long allocated = threadMXBean.getThreadAllocatedBytes(threadId) - startBytes;
+
+        LOGGER.info("Converted {} edges using the {} converter in {}ms, allocating {} bytes per edge",
+                edges.size(), name, time / 1000000, allocated / edges.size());
+    }
+}
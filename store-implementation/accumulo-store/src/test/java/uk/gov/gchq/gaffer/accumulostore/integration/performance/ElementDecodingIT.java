@@ -0,0 +1,118 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.integration.performance;
+
+import com.google.common.collect.Iterables;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.accumulostore.AccumuloProperties;
+import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.SingleUseMockAccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.retriever.impl.AccumuloAllElementsRetriever;
+import uk.gov.gchq.gaffer.commonutil.StreamUtil;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Compares the time taken to retrieve all elements from a mock Accumulo store
+ * with different numbers of element decoder threads. The timings are logged
+ * rather than asserted, as they depend on the number of cores available.
+ */
+public class ElementDecodingIT {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ElementDecodingIT.class);
+    private static final int NUM_ENTRIES = 50000;
+    private static final int REPEATS = 3;
+    private static final Schema SCHEMA = Schema.fromJson(StreamUtil.schemas(ElementDecodingIT.class));
+    private static final AccumuloProperties PROPERTIES = AccumuloProperties.loadStoreProperties(StreamUtil.storeProps(ElementDecodingIT.class));
+
+    @Test
+    public void shouldRetrieveAllElementsWithDifferentNumbersOfDecoderThreads() throws Exception {
+        final int cores = Runtime.getRuntime().availableProcessors();
+        long sequentialTime = 0;
+        for (final int threads : new int[]{1, 2, 4, cores}) {
+            final long time = timeGetAllElements(threads);
+            if (1 == threads) {
+                sequentialTime = time;
+            }
+            LOGGER.info("Retrieved {} elements using {} decoder threads in {}ms ({}x)",
+                    NUM_ENTRIES * 3, threads, time, String.format("%.2f", (double) sequentialTime / time));
+        }
+    }
+
+    private long timeGetAllElements(final int decoderThreads) throws Exception {
+        final AccumuloProperties properties = PROPERTIES.clone();
+        properties.setElementDecoderThreads(String.valueOf(decoderThreads));
+        final AccumuloStore store = new SingleUseMockAccumuloStore();
+        store.initialise("elementDecodingGraph", SCHEMA, properties);
+        addElements(store);
+
+        final GetAllElements operation = new GetAllElements.Builder()
+                .view(new View.Builder()
+                        .entity(TestGroups.ENTITY)
+                        .edge(TestGroups.EDGE)
+                        .build())
+                .build();
+
+        long bestTime = Long.MAX_VALUE;
+        for (int i = 0; i < REPEATS; i++) {
+            final long start = System.currentTimeMillis();
+            try (final AccumuloAllElementsRetriever retriever = new AccumuloAllElementsRetriever(store, operation, new User())) {
+                assertEquals(NUM_ENTRIES * 3, Iterables.size(retriever));
+            }
+            bestTime = Math.min(bestTime, System.currentTimeMillis() - start);
+        }
+        return bestTime;
+    }
+
+    private static void addElements(final AccumuloStore store) throws Exception {
+        final List<Element> elements = new ArrayList<>(NUM_ENTRIES * 3);
+        for (int i = 0; i < NUM_ENTRIES; i++) {
+            elements.add(new Entity.Builder()
+                    .group(TestGroups.ENTITY)
+                    .vertex("" + i)
+                    .build());
+            elements.add(new Edge.Builder()
+                    .group(TestGroups.EDGE)
+                    .source("" + i)
+                    .dest("B")
+                    .directed(false)
+                    .build());
+            elements.add(new Edge.Builder()
+                    .group(TestGroups.EDGE)
+                    .source("" + i)
+                    .dest("C")
+                    .directed(true)
+                    .build());
+        }
+        store.execute(new AddElements.Builder().input(elements).build(), new Context(new User()));
+    }
+}
@@ -16,10 +16,14 @@
 package uk.gov.gchq.gaffer.accumulostore.key.core;
 
 import com.google.common.primitives.Bytes;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Value;
 import org.junit.Test;
 
 import uk.gov.gchq.gaffer.accumulostore.key.AbstractAccumuloElementConverterTest;
+import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloPropertyNames;
 import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.pair.Pair;
 import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.EdgeDirection;
 import uk.gov.gchq.gaffer.data.element.Properties;
@@ -32,6 +36,7 @@ import java.io.ByteArrayOutputStream;
 
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 
 public abstract class AbstractCoreKeyAccumuloElementConverterTest extends AbstractAccumuloElementConverterTest<AbstractCoreKeyAccumuloElementConverter> {
 
@@ -127,6 +132,67 @@ public abstract class AbstractCoreKeyAccumuloElementConverterTest extends Abstra
         assertEquals(EdgeDirection.UNDIRECTED, direction);
     }
 
+    @Test
+    public void shouldReuseSerialisedBytesForRepeatedVertices() {
+        // Given
+        final Edge edge1 = new Edge.Builder()
+                .source("hub")
+                .dest("1")
+                .directed(true)
+                .group(TestGroups.EDGE)
+                .build();
+        final Edge edge2 = new Edge.Builder()
+                .source("2")
+                .dest("hub")
+                .directed(true)
+                .group(TestGroups.EDGE)
+                .build();
+
+        // When
+        final byte[] source = converter.getSerialisedSource(edge1);
+        final byte[] destination = converter.getSerialisedDestination(edge2);
+
+        // Then
+        assertSame(source, destination);
+        assertArrayEquals(converter.serialiseVertex("hub"), source);
+    }
+
+    @Test
+    public void shouldCreateTheSameKeysAndValuesWhenReusingBuffers() {
+        // Given
+        final Edge edge = new Edge.Builder()
+                .source("1")
+                .dest("2")
+                .directed(true)
+                .group(TestGroups.EDGE)
+                .property(AccumuloPropertyNames.COLUMN_QUALIFIER, 100)
+                .property(AccumuloPropertyNames.PROP_1, 1)
+                .build();
+        final Edge otherEdge = new Edge.Builder()
+                .source("3")
+                .dest("4")
+                .directed(true)
+                .group(TestGroups.EDGE)
+                .property(AccumuloPropertyNames.COLUMN_QUALIFIER, 200)
+                .property(AccumuloPropertyNames.PROP_1, 2)
+                .build();
+
+        // When
+        final Pair<Key, Key> keys = converter.getKeysFromElement(edge);
+        final Value value = converter.getValueFromElement(edge);
+        converter.getKeysFromElement(otherEdge);
+        converter.getValueFromElement(otherEdge);
+        final Pair<Key, Key> keysAgain = converter.getKeysFromElement(edge);
+        final Value valueAgain = converter.getValueFromElement(edge);
+
+        // Then
+        assertEquals(keys, keysAgain);
+        assertEquals(value, valueAgain);
+        final Edge newEdge = (Edge) converter.getFullElement(keysAgain.getFirst(), valueAgain, false);
+        assertEquals(100, newEdge.getProperty(AccumuloPropertyNames.COLUMN_QUALIFIER));
+        assertEquals(1, newEdge.getProperty(AccumuloPropertyNames.PROP_1));
+    }
+
     private class UnusualTestSerialiser extends StringSerialiser {
         @Override
         public byte[] serialiseNull() {
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.operation.handler;
+
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Value;
+import org.apache.hadoop.io.Text;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.accumulostore.AccumuloProperties;
+import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.SingleUseMockAccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.operation.impl.RebalanceTablets;
+import uk.gov.gchq.gaffer.commonutil.StreamUtil;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class RebalanceTabletsHandlerTest {
+    private static final Schema SCHEMA = Schema.fromJson(StreamUtil.schemas(RebalanceTabletsHandlerTest.class));
+    private static final AccumuloProperties PROPERTIES = AccumuloProperties.loadStoreProperties(StreamUtil.storeProps(RebalanceTabletsHandlerTest.class));
+    private static final AccumuloProperties CLASSIC_PROPERTIES = AccumuloProperties.loadStoreProperties(StreamUtil.openStream(RebalanceTabletsHandlerTest.class, "/accumuloStoreClassicKeys.properties"));
+
+    @Test
+    public void shouldSplitLargeTabletBetweenVerticesByteEntityStore() throws Exception {
+        shouldSplitLargeTabletBetweenVertices(PROPERTIES);
+    }
+
+    @Test
+    public void shouldSplitLargeTabletBetweenVerticesGaffer1Store() throws Exception {
+        shouldSplitLargeTabletBetweenVertices(CLASSIC_PROPERTIES);
+    }
+
+    private void shouldSplitLargeTabletBetweenVertices(final AccumuloProperties properties) throws Exception {
+        // Given
+        final AccumuloStore store = new SingleUseMockAccumuloStore();
+        store.initialise("graphId", SCHEMA, properties);
+        final List<Element> elements = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            elements.add(new Entity(TestGroups.ENTITY, "vertex" + i));
+            elements.add(new Edge(TestGroups.EDGE, "vertex" + i, "vertex" + (i + 1), true));
+        }
+        store.execute(new AddElements.Builder().input(elements).build(), new Context(new User()));
+
+        // When
+        store.execute(new RebalanceTablets.Builder().maxEntriesPerTablet(100L).build(), new Context(new User()));
+
+        // Then
+        final Collection<Text> splits = store.getConnection().tableOperations().listSplits(store.getTableName());
+        assertFalse(splits.isEmpty());
+        for (final Text split : splits) {
+            assertTrue(split.toString().matches("vertex[0-9]+\u0001"));
+        }
+    }
+
+    @Test
+    public void shouldNotSplitSmallTablet() throws Exception {
+        // Given
+        final AccumuloStore store = new SingleUseMockAccumuloStore();
+        store.initialise("graphId", SCHEMA, PROPERTIES);
+        store.execute(new AddElements.Builder().input(new Entity(TestGroups.ENTITY, "vertex")).build(), new Context(new User()));
+
+        // When
+        store.execute(new RebalanceTablets.Builder().maxEntriesPerTablet(100L).build(), new Context(new User()));
+
+        // Then
+        assertTrue(store.getConnection().tableOperations().listSplits(store.getTableName()).isEmpty());
+    }
+
+    @Test
+    public void shouldGetSplitPointsAfterVertexPartOfRows() {
+        // Given
+        final List<Map.Entry<Key, Value>> entries = Arrays.asList(
+                entry("a\u0000\u0001"),
+                entry("a\u0000\u0002\u0000b\u0000\u0001"),
+                entry("b\u0000\u0001"),
+                entry("b\u0000\u0002\u0000c\u0000\u0001"),
+                entry("c\u0000\u0001"),
+                entry("d\u0000\u0001"));
+
+        // When
+        final SortedSet<Text> splits = RebalanceTabletsHandler.getSplitPoints(entries, null, null, entries.size(), 2);
+
+        // Then
+        assertEquals(2, splits.size());
+        assertTrue(splits.contains(new Text("a\u0001")));
+        assertTrue(splits.contains(new Text("b\u0001")));
+    }
+
+    @Test
+    public void shouldNotReturnSplitPointsAfterEndOfTablet() {
+        // Given
+        final List<Map.Entry<Key, Value>> entries = Arrays.asList(
+                entry("a\u0000\u0001"),
+                entry("b\u0000\u0001"),
+                entry("b\u0000\u0002\u0000c\u0000\u0001"),
+                entry("b\u0000\u0002\u0000d\u0000\u0001"));
+
+        // When
+        final SortedSet<Text> splits = RebalanceTabletsHandler.getSplitPoints(entries, null, new Text("b\u0000\u0002\u0000d\u0000\u0001"), entries.size(), 2);
+
+        // Then
+        assertTrue(splits.isEmpty());
+    }
+
+    @Test(expected = OperationException.class)
+    public void shouldRequireMaxEntriesPerTablet() throws Exception {
+        // Given
+        final AccumuloStore store = new SingleUseMockAccumuloStore();
+        store.initialise("graphId", SCHEMA, PROPERTIES);
+
+        // When
+        new RebalanceTabletsHandler().doOperation(new RebalanceTablets(), new Context(new User()), store);
+    }
+
+    private static Map.Entry<Key, Value> entry(final String row) {
+        return new AbstractMap.SimpleEntry<>(new Key(row), new Value(new byte[0]));
+    }
+}
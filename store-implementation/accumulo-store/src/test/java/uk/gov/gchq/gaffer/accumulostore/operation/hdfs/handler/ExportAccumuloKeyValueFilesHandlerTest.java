@@ -0,0 +1,230 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.operation.hdfs.handler;
+
+import com.google.common.collect.Sets;
+import org.apache.accumulo.core.client.Scanner;
+import org.apache.accumulo.core.client.rfile.RFile;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.security.Authorizations;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.io.Text;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import uk.gov.gchq.gaffer.accumulostore.AccumuloProperties;
+import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.SingleUseMockAccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.operation.hdfs.operation.ExportAccumuloKeyValueFiles;
+import uk.gov.gchq.gaffer.accumulostore.operation.hdfs.operation.ImportAccumuloKeyValueFiles;
+import uk.gov.gchq.gaffer.commonutil.CommonTestConstants;
+import uk.gov.gchq.gaffer.commonutil.StreamUtil;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ExportAccumuloKeyValueFilesHandlerTest {
+    private static final Schema SCHEMA = Schema.fromJson(StreamUtil.schemas(ExportAccumuloKeyValueFilesHandlerTest.class));
+    private static final AccumuloProperties PROPERTIES = AccumuloProperties.loadStoreProperties(StreamUtil.storeProps(ExportAccumuloKeyValueFilesHandlerTest.class));
+
+    @Rule
+    public final TemporaryFolder testFolder = new TemporaryFolder(CommonTestConstants.TMP_DIRECTORY);
+
+    private AccumuloStore store;
+
+    @Before
+    public void setUp() throws Exception {
+        store = new SingleUseMockAccumuloStore();
+        store.initialise("graphId", SCHEMA, PROPERTIES);
+
+        final List<Element> elements = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            elements.add(new Entity.Builder()
+                    .group(TestGroups.ENTITY)
+                    .vertex("vertex" + i)
+                    .build());
+            elements.add(new Edge.Builder()
+                    .group(TestGroups.EDGE)
+                    .source("vertex" + i)
+                    .dest("vertex" + (i + 1))
+                    .directed(true)
+                    .build());
+        }
+        store.execute(new AddElements.Builder().input(elements).build(), new Context(new User()));
+    }
+
+    @Test
+    public void shouldExportEachTabletToAFile() throws Exception {
+        // Given
+        store.getConnection().tableOperations().addSplits(store.getTableName(),
+                new TreeSet<>(Arrays.asList(new Text("vertex3"), new Text("vertex6"))));
+        final File outputDir = new File(testFolder.getRoot(), "export");
+        final ExportAccumuloKeyValueFiles op = new ExportAccumuloKeyValueFiles.Builder()
+                .outputPath(outputDir.getAbsolutePath())
+                .numThreads(2)
+                .build();
+
+        // When
+        new ExportAccumuloKeyValueFilesHandler().doOperation(op, new Context(new User()), store);
+
+        // Then
+        final File[] files = outputDir.listFiles((dir, name) -> name.endsWith(".rf"));
+        assertEquals(3, files.length);
+        assertEquals(getTableEntries(), getFileEntries(files));
+    }
+
+    @Test
+    public void shouldExportEachTabletToAFileWhenTabletsWaitForASingleExportThread() throws Exception {
+        // Given
+        final AccumuloProperties properties = PROPERTIES.clone();
+        properties.setMaxExportThreads("1");
+        store = new SingleUseMockAccumuloStore();
+        store.initialise("graphId", SCHEMA, properties);
+        store.execute(new AddElements.Builder().input(new Entity(TestGroups.ENTITY, "vertex1"),
+                new Entity(TestGroups.ENTITY, "vertex5"), new Entity(TestGroups.ENTITY, "vertex8")).build(),
+                new Context(new User()));
+        store.getConnection().tableOperations().addSplits(store.getTableName(),
+                new TreeSet<>(Arrays.asList(new Text("vertex3"), new Text("vertex6"))));
+        final File outputDir = new File(testFolder.getRoot(), "export");
+        final ExportAccumuloKeyValueFiles op = new ExportAccumuloKeyValueFiles.Builder()
+                .outputPath(outputDir.getAbsolutePath())
+                .numThreads(3)
+                .build();
+
+        // When
+        new ExportAccumuloKeyValueFilesHandler().doOperation(op, new Context(new User()), store);
+
+        // Then
+        final File[] files = outputDir.listFiles((dir, name) -> name.endsWith(".rf"));
+        assertEquals(3, files.length);
+        assertEquals(getTableEntries(), getFileEntries(files));
+    }
+
+    @Test
+    public void shouldNotExportToANonEmptyDirectory() throws Exception {
+        // Given
+        final File outputDir = testFolder.newFolder("export");
+        assertTrue(new File(outputDir, "existing").createNewFile());
+        final ExportAccumuloKeyValueFiles op = new ExportAccumuloKeyValueFiles.Builder()
+                .outputPath(outputDir.getAbsolutePath())
+                .build();
+
+        // When / Then
+        try {
+            new ExportAccumuloKeyValueFilesHandler().doOperation(op, new Context(new User()), store);
+            fail("Exception expected");
+        } catch (final OperationException e) {
+            assertTrue(e.getMessage().contains("not empty"));
+        }
+    }
+
+    @Test
+    public void shouldImportExportedFilesIntoANewTable() throws Exception {
+        // Given
+        store.getConnection().tableOperations().addSplits(store.getTableName(),
+                new TreeSet<>(Arrays.asList(new Text("vertex3"), new Text("vertex6"))));
+        final File outputDir = new File(testFolder.getRoot(), "export");
+        new ExportAccumuloKeyValueFilesHandler().doOperation(new ExportAccumuloKeyValueFiles.Builder()
+                .outputPath(outputDir.getAbsolutePath())
+                .build(), new Context(new User()), store);
+        final AccumuloStore importStore = new SingleUseMockAccumuloStore();
+        importStore.initialise("importGraphId", SCHEMA, PROPERTIES);
+
+        // When
+        new ImportAccumuloKeyValueFilesHandler().doOperation(new ImportAccumuloKeyValueFiles.Builder()
+                .inputPath(outputDir.getAbsolutePath())
+                .failurePath(new File(testFolder.getRoot(), "failures").getAbsolutePath())
+                .option(AccumuloProperties.HDFS_SKIP_PERMISSIONS, "true")
+                .build(), new Context(new User()), importStore);
+
+        // Then
+        assertEquals(getAllElements(store), getAllElements(importStore));
+        assertEquals(200, getAllElements(importStore).size());
+    }
+
+    @Test
+    public void shouldDeleteOutputDirectoryWhenExportFails() throws Exception {
+        // Given
+        store.getConnection().tableOperations().delete(store.getTableName());
+        final File outputDir = new File(testFolder.getRoot(), "export");
+        final ExportAccumuloKeyValueFiles op = new ExportAccumuloKeyValueFiles.Builder()
+                .outputPath(outputDir.getAbsolutePath())
+                .build();
+
+        // When / Then
+        try {
+            new ExportAccumuloKeyValueFilesHandler().doOperation(op, new Context(new User()), store);
+            fail("Exception expected");
+        } catch (final OperationException e) {
+            assertFalse(outputDir.exists());
+        }
+    }
+
+    private Set<Element> getAllElements(final AccumuloStore accumuloStore) throws OperationException {
+        return Sets.newHashSet(accumuloStore.execute(new GetAllElements(), new Context(new User())));
+    }
+
+    private List<Map.Entry<Key, Value>> getTableEntries() throws Exception {
+        final List<Map.Entry<Key, Value>> entries = new ArrayList<>();
+        final Scanner scanner = store.getConnection().createScanner(store.getTableName(), new Authorizations());
+        for (final Map.Entry<Key, Value> entry : scanner) {
+            entries.add(entry);
+        }
+        return entries;
+    }
+
+    private List<Map.Entry<Key, Value>> getFileEntries(final File[] files) throws Exception {
+        final String[] paths = new String[files.length];
+        for (int i = 0; i < files.length; i++) {
+            paths[i] = files[i].getAbsolutePath();
+        }
+        final List<Map.Entry<Key, Value>> entries = new ArrayList<>();
+        final Scanner scanner = RFile.newScanner()
+                .from(paths)
+                .withFileSystem(FileSystem.getLocal(new Configuration()))
+                .build();
+        for (final Map.Entry<Key, Value> entry : scanner) {
+            entries.add(entry);
+        }
+        scanner.close();
+        return entries;
+    }
+}
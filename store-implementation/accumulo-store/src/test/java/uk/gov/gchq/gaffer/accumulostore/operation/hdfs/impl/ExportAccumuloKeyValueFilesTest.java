@@ -0,0 +1,97 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.operation.hdfs.impl;
+
+import com.google.common.collect.Sets;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.accumulostore.operation.hdfs.operation.ExportAccumuloKeyValueFiles;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.operation.OperationTest;
+
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+
+public class ExportAccumuloKeyValueFilesTest extends OperationTest<ExportAccumuloKeyValueFiles> {
+    private static final String OUTPUT_DIRECTORY = "/output";
+    private static final String TEST_OPTION_KEY = "testOption";
+
+    @Override
+    protected Set<String> getRequiredFields() {
+        return Sets.newHashSet("outputPath");
+    }
+
+    @Test
+    public void shouldJSONSerialiseAndDeserialise() throws SerialisationException {
+        // Given
+        final ExportAccumuloKeyValueFiles op = new ExportAccumuloKeyValueFiles();
+        op.setOutputPath(OUTPUT_DIRECTORY);
+        op.setNumThreads(8);
+
+        // When
+        byte[] json = JSONSerialiser.serialise(op, true);
+
+        final ExportAccumuloKeyValueFiles deserialisedOp = JSONSerialiser.deserialise(json, ExportAccumuloKeyValueFiles.class);
+
+        // Then
+        assertEquals(OUTPUT_DIRECTORY, deserialisedOp.getOutputPath());
+        assertEquals(8, (int) deserialisedOp.getNumThreads());
+    }
+
+    @Test
+    @Override
+    public void builderShouldCreatePopulatedOperation() {
+        // When
+        final ExportAccumuloKeyValueFiles exportAccumuloKeyValueFiles = new ExportAccumuloKeyValueFiles.Builder()
+                .outputPath(OUTPUT_DIRECTORY)
+                .numThreads(8)
+                .option(TEST_OPTION_KEY, "true")
+                .build();
+
+        // Then
+        assertEquals(OUTPUT_DIRECTORY, exportAccumuloKeyValueFiles.getOutputPath());
+        assertEquals(8, (int) exportAccumuloKeyValueFiles.getNumThreads());
+        assertEquals("true", exportAccumuloKeyValueFiles.getOption(TEST_OPTION_KEY));
+    }
+
+    @Override
+    public void shouldShallowCloneOperation() {
+        // Given
+        final ExportAccumuloKeyValueFiles exportAccumuloKeyValueFiles = new ExportAccumuloKeyValueFiles.Builder()
+                .outputPath(OUTPUT_DIRECTORY)
+                .numThreads(8)
+                .option(TEST_OPTION_KEY, "true")
+                .build();
+
+        // When
+        final ExportAccumuloKeyValueFiles clone = exportAccumuloKeyValueFiles.shallowClone();
+
+        // Then
+        assertNotSame(exportAccumuloKeyValueFiles, clone);
+        assertEquals("true", clone.getOption(TEST_OPTION_KEY));
+        assertEquals(OUTPUT_DIRECTORY, clone.getOutputPath());
+        assertEquals(8, (int) clone.getNumThreads());
+    }
+
+    @Override
+    protected ExportAccumuloKeyValueFiles getTestObject() {
+        return new ExportAccumuloKeyValueFiles();
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.operation.impl;
+
+import com.google.common.collect.Sets;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.operation.OperationTest;
+
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+public class RebalanceTabletsTest extends OperationTest<RebalanceTablets> {
+
+    @Override
+    protected Set<String> getRequiredFields() {
+        return Sets.newHashSet("maxEntriesPerTablet");
+    }
+
+    @Test
+    public void shouldJSONSerialiseAndDeserialise() throws SerialisationException {
+        // Given
+        final RebalanceTablets op = new RebalanceTablets.Builder()
+                .maxEntriesPerTablet(1000L)
+                .flush(true)
+                .build();
+
+        // When
+        final byte[] json = JSONSerialiser.serialise(op, true);
+        final RebalanceTablets deserialisedOp = JSONSerialiser.deserialise(json, RebalanceTablets.class);
+
+        // Then
+        assertEquals(1000L, (long) deserialisedOp.getMaxEntriesPerTablet());
+        assertTrue(deserialisedOp.isFlush());
+    }
+
+    @Test
+    @Override
+    public void builderShouldCreatePopulatedOperation() {
+        // When
+        final RebalanceTablets op = new RebalanceTablets.Builder()
+                .maxEntriesPerTablet(1000L)
+                .flush(true)
+                .option("testOption", "true")
+                .build();
+
+        // Then
+        assertEquals(1000L, (long) op.getMaxEntriesPerTablet());
+        assertTrue(op.isFlush());
+        assertEquals("true", op.getOption("testOption"));
+    }
+
+    @Test
+    @Override
+    public void shouldShallowCloneOperation() {
+        // Given
+        final RebalanceTablets op = new RebalanceTablets.Builder()
+                .maxEntriesPerTablet(1000L)
+                .flush(true)
+                .option("testOption", "true")
+                .build();
+
+        // When
+        final RebalanceTablets clone = op.shallowClone();
+
+        // Then
+        assertNotSame(op, clone);
+        assertEquals(1000L, (long) clone.getMaxEntriesPerTablet());
+        assertTrue(clone.isFlush());
+        assertEquals("true", clone.getOption("testOption"));
+    }
+
+    @Override
+    protected RebalanceTablets getTestObject() {
+        return new RebalanceTablets();
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.retriever;
+
+import com.google.common.collect.Lists;
+import org.apache.accumulo.core.client.BatchScanner;
+import org.apache.accumulo.core.client.TableNotFoundException;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class BatchScannerEntryIteratorTest {
+    private static final BatchScannerEntryIterator.RangeAdder<String> RANGE_ADDER =
+            (seed, ranges) -> ranges.add(new Range(seed));
+
+    @Test
+    public void shouldScanBatchesSequentially() throws RetrieverException {
+        // Given
+        final List<BatchScanner> scanners = new ArrayList<>();
+        final List<Set<Range>> batches = new ArrayList<>();
+        final BatchScannerEntryIterator.ScannerFactory scannerFactory = ranges -> {
+            batches.add(ranges);
+            final BatchScanner scanner = createScanner(ranges);
+            scanners.add(scanner);
+            return scanner;
+        };
+
+        // When
+        final BatchScannerEntryIterator<String> iterator = new BatchScannerEntryIterator<>(
+                Arrays.asList("a", "b", "c").iterator(), RANGE_ADDER, scannerFactory, 2, 1, 10);
+        final List<String> rows = getRows(iterator);
+
+        // Then
+        assertEquals(3, rows.size());
+        assertEquals(new HashSet<>(Arrays.asList("a", "b", "c")), new HashSet<>(rows));
+        assertEquals(2, batches.size());
+        assertEquals(2, batches.get(0).size());
+        assertEquals(1, batches.get(1).size());
+        for (final BatchScanner scanner : scanners) {
+            verify(scanner).close();
+        }
+    }
+
+    @Test
+    public void shouldScanBatchesConcurrently() throws RetrieverException {
+        // Given
+        final List<String> seeds = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            seeds.add("seed" + i);
+        }
+        final List<BatchScanner> scanners = Collections.synchronizedList(new ArrayList<>());
+        final BatchScannerEntryIterator.ScannerFactory scannerFactory = ranges -> {
+            final BatchScanner scanner = createScanner(ranges);
+            scanners.add(scanner);
+            return scanner;
+        };
+
+        // When
+        final BatchScannerEntryIterator<String> iterator = new BatchScannerEntryIterator<>(
+                seeds.iterator(), RANGE_ADDER, scannerFactory, 10, 4, 5);
+        final List<String> rows = getRows(iterator);
+
+        // Then
+        assertEquals(new HashSet<>(seeds), new HashSet<>(rows));
+        assertEquals(seeds.size(), rows.size());
+        assertEquals(100, scanners.size());
+        for (final BatchScanner scanner : scanners) {
+            verify(scanner).close();
+        }
+    }
+
+    @Test
+    public void shouldScanSortedBatchesWhenUsingRangeBatcher() throws RetrieverException {
+        // Given
+        final List<Set<Range>> batches = new ArrayList<>();
+        final BatchScannerEntryIterator.ScannerFactory scannerFactory = ranges -> {
+            batches.add(ranges);
+            return createScanner(ranges);
+        };
+        final SortedRangeBatcher rangeBatcher = new SortedRangeBatcher(2, Collections.emptyList());
+
+        // When
+        final BatchScannerEntryIterator<String> iterator = new BatchScannerEntryIterator<>(
+                Arrays.asList("d", "b", "a", "c", "b").iterator(), RANGE_ADDER, scannerFactory, 2, 1, 10, rangeBatcher, 10);
+        final List<String> rows = getRows(iterator);
+
+        // Then
+        assertEquals(4, rows.size());
+        assertEquals(Arrays.asList(
+                new HashSet<>(Arrays.asList(new Range("a"), new Range("b"))),
+                new HashSet<>(Arrays.asList(new Range("c"), new Range("d")))), batches);
+    }
+
+    @Test
+    public void shouldReturnNoEntriesWhenThereAreNoSeeds() throws RetrieverException {
+        // Given
+        final BatchScannerEntryIterator.ScannerFactory scannerFactory = mock(BatchScannerEntryIterator.ScannerFactory.class);
+
+        // When
+        final BatchScannerEntryIterator<String> sequential = new BatchScannerEntryIterator<>(
+                Collections.<String>emptyIterator(), RANGE_ADDER, scannerFactory, 10, 1, 10);
+        final BatchScannerEntryIterator<String> concurrent = new BatchScannerEntryIterator<>(
+                Collections.<String>emptyIterator(), RANGE_ADDER, scannerFactory, 10, 4, 10);
+
+        // Then
+        assertFalse(sequential.hasNext());
+        assertFalse(concurrent.hasNext());
+    }
+
+    @Test
+    public void shouldThrowExceptionIfFirstScannerCannotBeCreated() {
+        // Given
+        final BatchScannerEntryIterator.ScannerFactory scannerFactory = ranges -> {
+            throw new TableNotFoundException("1", "table", "Table not found");
+        };
+
+        // When / Then
+        try {
+            new BatchScannerEntryIterator<>(Arrays.asList("a", "b").iterator(), RANGE_ADDER, scannerFactory, 10, 1, 10);
+            fail("Exception expected");
+        } catch (final RetrieverException e) {
+            assertEquals(TableNotFoundException.class, e.getCause().getClass());
+        }
+    }
+
+    @Test
+    public void shouldThrowExceptionIfScannerCannotBeCreatedWhenScanningConcurrently() throws RetrieverException {
+        // Given
+        final BatchScannerEntryIterator.ScannerFactory scannerFactory = ranges -> {
+            throw new TableNotFoundException("1", "table", "Table not found");
+        };
+        final BatchScannerEntryIterator<String> iterator = new BatchScannerEntryIterator<>(
+                Arrays.asList("a", "b").iterator(), RANGE_ADDER, scannerFactory, 1, 2, 10);
+
+        // When / Then
+        try {
+            iterator.hasNext();
+            fail("Exception expected");
+        } catch (final GafferRuntimeException e) {
+            assertEquals(TableNotFoundException.class, e.getCause().getClass());
+        }
+    }
+
+    @Test
+    public void shouldCloseScannerWhenClosed() throws RetrieverException {
+        // Given
+        final BatchScanner scanner = createScanner(new HashSet<>(Arrays.asList(new Range("a"), new Range("b"))));
+        final BatchScannerEntryIterator<String> iterator = new BatchScannerEntryIterator<>(
+                Arrays.asList("a", "b").iterator(), RANGE_ADDER, ranges -> scanner, 10, 1, 10);
+        iterator.next();
+
+        // When
+        iterator.close();
+
+        // Then
+        verify(scanner).close();
+        assertFalse(iterator.hasNext());
+    }
+
+    private static BatchScanner createScanner(final Set<Range> ranges) {
+        final List<Map.Entry<Key, Value>> entries = new ArrayList<>();
+        for (final Range range : ranges) {
+            entries.add(new AbstractMap.SimpleEntry<>(range.getStartKey(), new Value()));
+        }
+        final BatchScanner scanner = mock(BatchScanner.class);
+        given(scanner.iterator()).willReturn(entries.iterator());
+        return scanner;
+    }
+
+    private static List<String> getRows(final BatchScannerEntryIterator<String> iterator) {
+        final List<String> rows = new ArrayList<>();
+        for (final Map.Entry<Key, Value> entry : Lists.newArrayList(iterator)) {
+            rows.add(entry.getKey().getRow().toString());
+        }
+        return rows;
+    }
+}
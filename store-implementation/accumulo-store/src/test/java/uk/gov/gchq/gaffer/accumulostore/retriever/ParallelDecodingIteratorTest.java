@@ -0,0 +1,147 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.retriever;
+
+import com.google.common.collect.Lists;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class ParallelDecodingIteratorTest {
+
+    @Test
+    public void shouldDecodeAllItems() {
+        // Given
+        final List<Integer> source = range(10000);
+
+        // When
+        final List<String> results = Lists.newArrayList(new ParallelDecodingIterator<Integer, String>(
+                source.iterator(), () -> Object::toString, 4, 10));
+
+        // Then
+        assertEquals(source.size(), results.size());
+        final Set<String> expected = new HashSet<>();
+        for (final Integer item : source) {
+            expected.add(String.valueOf(item));
+        }
+        assertEquals(expected, new HashSet<>(results));
+    }
+
+    @Test
+    public void shouldDropItemsDecodedToNull() {
+        // Given
+        final List<Integer> source = range(1000);
+
+        // When
+        final List<Integer> results = Lists.newArrayList(new ParallelDecodingIterator<Integer, Integer>(
+                source.iterator(), () -> item -> 0 == item % 2 ? item : null, 3, 10));
+
+        // Then
+        assertEquals(500, results.size());
+        for (final Integer result : results) {
+            assertEquals(0, result % 2);
+        }
+    }
+
+    @Test
+    public void shouldUseADecoderPerThread() {
+        // Given
+        final AtomicInteger decoders = new AtomicInteger();
+
+        // When
+        Lists.newArrayList(new ParallelDecodingIterator<Integer, Integer>(
+                range(10).iterator(), () -> {
+            decoders.incrementAndGet();
+            return item -> item;
+        }, 4, 10));
+
+        // Then
+        assertEquals(4, decoders.get());
+    }
+
+    @Test
+    public void shouldReturnNoItemsFromEmptySource() {
+        // When
+        final ParallelDecodingIterator<Integer, Integer> iterator = new ParallelDecodingIterator<>(
+                Collections.<Integer>emptyIterator(), () -> item -> item, 2, 10);
+
+        // Then
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    public void shouldRethrowExceptionFromDecoder() {
+        // Given
+        final ParallelDecodingIterator<Integer, Integer> iterator = new ParallelDecodingIterator<>(
+                range(1000).iterator(), () -> item -> {
+            if (500 == item) {
+                throw new IllegalArgumentException("Test exception");
+            }
+            return item;
+        }, 2, 10);
+
+        // When / Then
+        try {
+            Lists.newArrayList(iterator);
+            fail("Exception expected");
+        } catch (final IllegalArgumentException e) {
+            assertEquals("Test exception", e.getMessage());
+        }
+    }
+
+    @Test
+    public void shouldCloseSourceWhenClosed() {
+        // Given
+        final CloseableIterator<Integer> source = mock(CloseableIterator.class);
+        final Iterator<Integer> items = range(1000).iterator();
+        given(source.hasNext()).willAnswer(invocation -> items.hasNext());
+        given(source.next()).willAnswer(invocation -> items.next());
+        final ParallelDecodingIterator<Integer, Integer> iterator = new ParallelDecodingIterator<>(
+                source, () -> item -> item, 2, 10);
+        iterator.next();
+
+        // When
+        iterator.close();
+
+        // Then
+        verify(source).close();
+        assertFalse(iterator.hasNext());
+    }
+
+    private static List<Integer> range(final int size) {
+        final List<Integer> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(i);
+        }
+        return list;
+    }
+}
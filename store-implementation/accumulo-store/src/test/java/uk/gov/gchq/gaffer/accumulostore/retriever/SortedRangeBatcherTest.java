@@ -0,0 +1,103 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.retriever;
+
+import com.google.common.collect.Sets;
+import org.apache.accumulo.core.data.Range;
+import org.apache.hadoop.io.Text;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SortedRangeBatcherTest {
+
+    @Test
+    public void shouldSortRangesIntoBatches() {
+        // Given
+        final SortedRangeBatcher batcher = new SortedRangeBatcher(2, Collections.emptyList());
+        final List<Range> ranges = Arrays.asList(new Range("e"), new Range("a"), new Range("c"), new Range("b"), new Range("d"));
+
+        // When
+        final List<Set<Range>> batches = batcher.batch(ranges);
+
+        // Then
+        assertEquals(Arrays.asList(
+                Sets.newHashSet(new Range("a"), new Range("b")),
+                Sets.newHashSet(new Range("c"), new Range("d")),
+                Collections.singleton(new Range("e"))), batches);
+    }
+
+    @Test
+    public void shouldMergeOverlappingRanges() {
+        // Given
+        final SortedRangeBatcher batcher = new SortedRangeBatcher(10, Collections.emptyList());
+        final List<Range> ranges = Arrays.asList(new Range("a", "c"), new Range("b", "d"), new Range("x"));
+
+        // When
+        final List<Set<Range>> batches = batcher.batch(ranges);
+
+        // Then
+        assertEquals(Collections.singletonList(Sets.newHashSet(new Range("a", "d"), new Range("x"))), batches);
+    }
+
+    @Test
+    public void shouldEndBatchAtTabletBoundaryOnceHalfFull() {
+        // Given
+        final SortedRangeBatcher batcher = new SortedRangeBatcher(4, Arrays.asList(new Text("b"), new Text("d")));
+        final List<Range> ranges = Arrays.asList(new Range("a"), new Range("b"), new Range("c"), new Range("d"), new Range("e"), new Range("f"));
+
+        // When
+        final List<Set<Range>> batches = batcher.batch(ranges);
+
+        // Then
+        assertEquals(Arrays.asList(
+                Sets.newHashSet(new Range("a"), new Range("b")),
+                Sets.newHashSet(new Range("c"), new Range("d")),
+                Sets.newHashSet(new Range("e"), new Range("f"))), batches);
+    }
+
+    @Test
+    public void shouldNotEndBatchAtTabletBoundaryWhenLessThanHalfFull() {
+        // Given
+        final SortedRangeBatcher batcher = new SortedRangeBatcher(8, Arrays.asList(new Text("a"), new Text("b")));
+        final List<Range> ranges = Arrays.asList(new Range("a"), new Range("b"), new Range("c"));
+
+        // When
+        final List<Set<Range>> batches = batcher.batch(ranges);
+
+        // Then
+        assertEquals(Collections.singletonList(Sets.newHashSet(new Range("a"), new Range("b"), new Range("c"))), batches);
+    }
+
+    @Test
+    public void shouldReturnNoBatchesForNoRanges() {
+        // Given
+        final SortedRangeBatcher batcher = new SortedRangeBatcher(4, null);
+
+        // When
+        final List<Set<Range>> batches = batcher.batch(Collections.emptyList());
+
+        // Then
+        assertTrue(batches.isEmpty());
+    }
+}
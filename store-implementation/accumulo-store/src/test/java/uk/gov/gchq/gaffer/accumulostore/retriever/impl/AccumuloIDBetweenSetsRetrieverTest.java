@@ -293,8 +293,9 @@ public class AccumuloIDBetweenSetsRetrieverTest {
         }
 
         // Need to make sure that the Bloom filter we create has the same size and the same number of hashes as the
-        // one that GraphElementsWithStatisticsWithinSetRetriever creates.
-        final int numItemsToBeAdded = loadIntoMemory ? seeds.size() : 20;
+        // one that GraphElementsWithStatisticsWithinSetRetriever creates. The seeds are a set, so in both modes the
+        // filter is sized from the number of seeds.
+        final int numItemsToBeAdded = seeds.size();
         if (!loadIntoMemory) {
             store.getProperties().setMaxEntriesForBatchScanner("20");
         }
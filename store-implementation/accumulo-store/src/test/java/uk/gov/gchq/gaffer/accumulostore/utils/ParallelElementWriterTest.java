@@ -0,0 +1,209 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.utils;
+
+import org.apache.accumulo.core.client.BatchWriter;
+import org.apache.accumulo.core.client.MutationsRejectedException;
+import org.apache.accumulo.core.data.Mutation;
+import org.junit.After;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.accumulostore.key.core.impl.byteEntity.ByteEntityAccumuloElementConverter;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser;
+import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEdgeDefinition;
+import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class ParallelElementWriterTest {
+    private static final Schema SCHEMA = new Schema.Builder()
+            .type("string", String.class)
+            .type("true", Boolean.class)
+            .edge(TestGroups.EDGE, new SchemaEdgeDefinition.Builder()
+                    .source("string")
+                    .destination("string")
+                    .directed("true")
+                    .build())
+            .entity(TestGroups.ENTITY, new SchemaEntityDefinition.Builder()
+                    .vertex("string")
+                    .build())
+            .vertexSerialiser(new StringSerialiser())
+            .build();
+
+    private final ByteEntityAccumuloElementConverter converter = new ByteEntityAccumuloElementConverter(SCHEMA);
+    private final ExecutorService executorService = Executors.newFixedThreadPool(2);
+
+    @After
+    public void after() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    public void shouldWriteAllElementsUsingSeveralThreads() throws Exception {
+        // Given
+        final List<Element> elements = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            elements.add(new Entity(TestGroups.ENTITY, "vertex" + i));
+            elements.add(new Edge(TestGroups.EDGE, "vertex" + i, "dest", true));
+        }
+        final BatchWriter writer = mock(BatchWriter.class);
+        final List<Mutation> mutations = Collections.synchronizedList(new ArrayList<>());
+        willAnswer(invocation -> {
+            for (final Mutation mutation : (Iterable<Mutation>) invocation.getArguments()[0]) {
+                mutations.add(mutation);
+            }
+            return null;
+        }).given(writer).addMutations(any(Iterable.class));
+
+        // When
+        new ParallelElementWriter(converter, writer, executorService, 4, 50).write(elements);
+
+        // Then
+        assertEquals(3000, countUpdates(mutations));
+        verify(writer).close();
+    }
+
+    @Test
+    public void shouldGroupKeysWithTheSameRowIntoOneMutation() throws Exception {
+        // Given
+        final Entity entity = new Entity(TestGroups.ENTITY, "vertex");
+        final BatchWriter writer = mock(BatchWriter.class);
+        final List<Mutation> mutations = new ArrayList<>();
+        willAnswer(invocation -> {
+            for (final Mutation mutation : (Iterable<Mutation>) invocation.getArguments()[0]) {
+                mutations.add(mutation);
+            }
+            return null;
+        }).given(writer).addMutations(any(Iterable.class));
+
+        // When
+        new ParallelElementWriter(converter, writer, executorService, 2).write(Arrays.asList(entity, entity));
+
+        // Then
+        assertEquals(1, mutations.size());
+        assertEquals(2, mutations.get(0).getUpdates().size());
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenMutationsAreRejected() throws Exception {
+        // Given
+        final List<Element> elements = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            elements.add(new Entity(TestGroups.ENTITY, "vertex" + i));
+        }
+        final BatchWriter writer = mock(BatchWriter.class);
+        final MutationsRejectedException rejectedException = mock(MutationsRejectedException.class);
+        willThrow(rejectedException).given(writer).addMutations(any(Iterable.class));
+
+        // When / Then
+        try {
+            new ParallelElementWriter(converter, writer, executorService, 4, 10).write(elements);
+            fail("Exception expected");
+        } catch (final StoreException e) {
+            assertSame(rejectedException, e.getCause());
+        }
+        verify(writer).close();
+    }
+
+    @Test
+    public void shouldWriteAllElementsOnCallingThreadWhenOnly1Thread() throws Exception {
+        // Given
+        final List<Element> elements = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            elements.add(new Edge(TestGroups.EDGE, "vertex" + i, "dest", true));
+        }
+        final Thread callingThread = Thread.currentThread();
+        final BatchWriter writer = mock(BatchWriter.class);
+        final List<Mutation> mutations = new ArrayList<>();
+        willAnswer(invocation -> {
+            assertSame(callingThread, Thread.currentThread());
+            for (final Mutation mutation : (Iterable<Mutation>) invocation.getArguments()[0]) {
+                mutations.add(mutation);
+            }
+            return null;
+        }).given(writer).addMutations(any(Iterable.class));
+
+        // When
+        new ParallelElementWriter(converter, writer, null, 1, 10).write(elements);
+
+        // Then
+        assertEquals(200, countUpdates(mutations));
+        verify(writer).close();
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenMutationsAreRejectedWithOnly1Thread() throws Exception {
+        // Given
+        final List<Element> elements = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            elements.add(new Entity(TestGroups.ENTITY, "vertex" + i));
+        }
+        final BatchWriter writer = mock(BatchWriter.class);
+        final MutationsRejectedException rejectedException = mock(MutationsRejectedException.class);
+        willThrow(rejectedException).given(writer).close();
+
+        // When / Then
+        try {
+            new ParallelElementWriter(converter, writer, null, 1, 10).write(elements);
+            fail("Exception expected");
+        } catch (final StoreException e) {
+            assertSame(rejectedException, e.getCause());
+        }
+    }
+
+    @Test
+    public void shouldRequireAnExecutorServiceForMoreThan1Thread() {
+        // Given
+        final BatchWriter writer = mock(BatchWriter.class);
+
+        // When / Then
+        try {
+            new ParallelElementWriter(converter, writer, null, 2);
+            fail("Exception expected");
+        } catch (final IllegalArgumentException e) {
+            assertEquals("An executor service is required to use more than 1 thread", e.getMessage());
+        }
+    }
+
+    private static int countUpdates(final List<Mutation> mutations) {
+        int count = 0;
+        for (final Mutation mutation : mutations) {
+            count += mutation.getUpdates().size();
+        }
+        return count;
+    }
+}
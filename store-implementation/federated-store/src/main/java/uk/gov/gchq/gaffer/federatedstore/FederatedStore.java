@@ -79,6 +79,11 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static uk.gov.gchq.gaffer.federatedstore.FederatedStoreProperties.IS_PUBLIC_ACCESS_ALLOWED_DEFAULT;
 import static uk.gov.gchq.gaffer.federatedstore.util.FederatedStoreUtil.getCleanStrings;
@@ -100,6 +105,7 @@ public class FederatedStore extends Store {
     private FederatedGraphStorage graphStorage = new FederatedGraphStorage();
     private Set<String> customPropertiesAuths;
     private Boolean isPublicAccessAllowed = Boolean.valueOf(IS_PUBLIC_ACCESS_ALLOWED_DEFAULT);
+    private ExecutorService graphExecutorService;
 
     /**
      * Initialise this FederatedStore with any sub-graphs defined within the
@@ -116,6 +122,7 @@ public class FederatedStore extends Store {
         super.initialise(graphId, new Schema(), properties);
         customPropertiesAuths = getCustomPropertiesAuths();
         isPublicAccessAllowed = Boolean.valueOf(getProperties().getIsPublicAccessAllowed());
+        graphExecutorService = createGraphExecutorService(graphId, getProperties().getGraphExecutorThreads());
     }
 
     @Override
@@ -305,6 +312,33 @@ public class FederatedStore extends Store {
         return graphStorage.get(user, getCleanStrings(graphIdsCsv));
     }
 
+    /**
+     * Get the {@link ExecutorService} used to execute operations against
+     * sub-graphs concurrently.
+     *
+     * @return the executor service, or null if operations should be executed
+     * against each sub-graph in turn.
+     */
+    public ExecutorService getGraphExecutorService() {
+        return graphExecutorService;
+    }
+
+    /**
+     * @return the maximum time in milliseconds to wait for a sub-graph to
+     * execute an operation, 0 waits indefinitely.
+     */
+    public long getGraphExecuteTimeout() {
+        return getProperties().getGraphExecuteTimeout();
+    }
+
+    /**
+     * @return true if iterable results from sub-graphs should be interleaved
+     * as they are produced.
+     */
+    public boolean isInterleaveResults() {
+        return getProperties().isInterleaveResults();
+    }
+
     /**
      * The FederatedStore at time of initialisation, can set the auths required
      * to allow users to use custom {@link StoreProperties} outside the
@@ -401,6 +435,25 @@ public class FederatedStore extends Store {
         return (Strings.isNullOrEmpty(value)) ? null : Sets.newHashSet(getCleanStrings(value));
     }
 
+    private ExecutorService createGraphExecutorService(final String graphId, final int threads) {
+        if (null != graphExecutorService) {
+            graphExecutorService.shutdown();
+        }
+        if (threads <= 1) {
+            return null;
+        }
+
+        // Threads are only created when needed and time out when idle. When
+        // all threads are busy submissions are rejected, so the caller can
+        // execute the operation itself rather than queuing behind other operations.
+        final AtomicInteger threadCount = new AtomicInteger();
+        return new ThreadPoolExecutor(0, threads, 60L, TimeUnit.SECONDS, new SynchronousQueue<>(), runnable -> {
+            final Thread thread = new Thread(runnable, "federated-store-" + graphId + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
     private void _add(final GraphSerialisable newGraph, final FederatedAccess access) throws StorageException {
         graphStorage.put(newGraph, access);
     }
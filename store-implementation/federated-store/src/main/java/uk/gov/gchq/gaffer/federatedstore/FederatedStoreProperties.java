@@ -47,6 +47,34 @@ public class FederatedStoreProperties extends StoreProperties {
     public static final String CACHE_SERVICE_CLASS = CacheProperties.CACHE_SERVICE_CLASS;
     public static final String CACHE_SERVICE_CLASS_DEFAULT = null;
 
+    /**
+     * The maximum number of threads used to execute operations against the
+     * sub-graphs concurrently. By default this is 1, which executes against
+     * each sub-graph in turn on the calling thread.
+     * e.g gaffer.federatedstore.graph.executor.threads=10
+     */
+    public static final String GRAPH_EXECUTOR_THREADS = "gaffer.federatedstore.graph.executor.threads";
+    public static final String GRAPH_EXECUTOR_THREADS_DEFAULT = "1";
+
+    /**
+     * The maximum time in milliseconds to wait for a sub-graph to execute an
+     * operation, 0 waits indefinitely. A sub-graph that times out is treated
+     * as a failure, so is skipped if skipFailedFederatedStoreExecute is set.
+     * When sub-graphs are executed in turn a running execution cannot be
+     * interrupted, so the timeout is checked after each sub-graph completes.
+     * e.g gaffer.federatedstore.graph.execute.timeout=60000
+     */
+    public static final String GRAPH_EXECUTE_TIMEOUT = "gaffer.federatedstore.graph.execute.timeout";
+    public static final String GRAPH_EXECUTE_TIMEOUT_DEFAULT = "0";
+
+    /**
+     * Whether iterable results from the sub-graphs are interleaved as each
+     * sub-graph produces them, rather than returned one sub-graph after another.
+     * e.g gaffer.federatedstore.interleaveResults=true
+     */
+    public static final String INTERLEAVE_RESULTS = "gaffer.federatedstore.interleaveResults";
+    public static final String INTERLEAVE_RESULTS_DEFAULT = String.valueOf(false);
+
     public FederatedStoreProperties() {
         super(FederatedStore.class);
     }
@@ -83,6 +111,30 @@ public class FederatedStoreProperties extends StoreProperties {
         return get(IS_PUBLIC_ACCESS_ALLOWED, IS_PUBLIC_ACCESS_ALLOWED_DEFAULT);
     }
 
+    public int getGraphExecutorThreads() {
+        return Integer.parseInt(get(GRAPH_EXECUTOR_THREADS, GRAPH_EXECUTOR_THREADS_DEFAULT));
+    }
+
+    public void setGraphExecutorThreads(final int threads) {
+        set(GRAPH_EXECUTOR_THREADS, String.valueOf(threads));
+    }
+
+    public long getGraphExecuteTimeout() {
+        return Long.parseLong(get(GRAPH_EXECUTE_TIMEOUT, GRAPH_EXECUTE_TIMEOUT_DEFAULT));
+    }
+
+    public void setGraphExecuteTimeout(final long timeoutMillis) {
+        set(GRAPH_EXECUTE_TIMEOUT, String.valueOf(timeoutMillis));
+    }
+
+    public boolean isInterleaveResults() {
+        return Boolean.valueOf(get(INTERLEAVE_RESULTS, INTERLEAVE_RESULTS_DEFAULT));
+    }
+
+    public void setInterleaveResults(final boolean interleaveResults) {
+        set(INTERLEAVE_RESULTS, String.valueOf(interleaveResults));
+    }
+
     public void setFalseGraphsCanHavePublicAccess() {
         setGraphsCanHavePublicAccess(false);
     }
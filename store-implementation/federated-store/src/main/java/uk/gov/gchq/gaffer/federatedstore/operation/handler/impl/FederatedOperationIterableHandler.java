@@ -19,7 +19,9 @@ package uk.gov.gchq.gaffer.federatedstore.operation.handler.impl;
 import uk.gov.gchq.gaffer.commonutil.CollectionUtil;
 import uk.gov.gchq.gaffer.commonutil.iterable.ChainedIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.EmptyClosableIterable;
+import uk.gov.gchq.gaffer.federatedstore.FederatedStore;
 import uk.gov.gchq.gaffer.federatedstore.operation.handler.FederatedOperationOutputHandler;
+import uk.gov.gchq.gaffer.federatedstore.util.InterleavedIterable;
 import uk.gov.gchq.gaffer.operation.io.Output;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
@@ -29,7 +31,8 @@ import java.util.List;
 /**
  * A generic handler for Operations with CloseableIterable of elements for FederatedStore.
  * Simply executes the operation on each delegate graph then chains the results together
- * using a {@link ChainedIterable}.
+ * using a {@link ChainedIterable}, or if the store is configured to interleave results,
+ * merges them as they are produced using an {@link InterleavedIterable}.
  *
  * @see FederatedOperationOutputHandler
  */
@@ -40,6 +43,12 @@ public class FederatedOperationIterableHandler<OP extends Output<O>, O extends I
             return (O) new EmptyClosableIterable<>();
         }
 
+        final FederatedStore federatedStore = (FederatedStore) store;
+        if (results.size() > 1 && federatedStore.isInterleaveResults() && null != federatedStore.getGraphExecutorService()) {
+            // Return the results from each graph as they are produced
+            return (O) new InterleavedIterable<>((List) results, federatedStore.getGraphExecutorService());
+        }
+
         // Concatenate all the results into 1 iterable
         return (O) new ChainedIterable<>(CollectionUtil.toIterableArray(results));
     }
@@ -21,13 +21,18 @@ import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.federatedstore.FederatedStore;
 import uk.gov.gchq.gaffer.graph.Graph;
 import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.Operations;
 import uk.gov.gchq.gaffer.operation.graph.OperationView;
 import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 
 import java.util.ArrayList;
@@ -38,10 +43,19 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.regex.Pattern;
 
 import static uk.gov.gchq.gaffer.federatedstore.FederatedStoreConstants.KEY_OPERATION_OPTIONS_GRAPH_IDS;
 import static uk.gov.gchq.gaffer.federatedstore.FederatedStoreConstants.KEY_SKIP_FAILED_FEDERATED_STORE_EXECUTE;
+import static uk.gov.gchq.gaffer.federatedstore.FederatedStoreConstants.getSkipFailedFederatedStoreExecute;
 
 public final class FederatedStoreUtil {
     private static final Logger LOGGER = LoggerFactory.getLogger(FederatedStoreUtil.class);
@@ -60,6 +74,210 @@ public final class FederatedStoreUtil {
                 operation.getClass().getSimpleName(), graphId, additionalInfo, e.getMessage());
     }
 
+    /**
+     * <p>
+     * Executes the operation against each of the sub-graphs the user has
+     * access to, returning the non-null results in sub-graph order.
+     * </p>
+     * <p>
+     * If the {@link FederatedStore} has a graph executor service, the
+     * sub-graphs are executed concurrently, each with a clone of the context
+     * that has its own config and variables. If the executor service is busy
+     * the operation is executed against the sub-graph on the calling thread.
+     * {@link AddElements} is always executed against the sub-graphs in turn,
+     * as each sub-graph reads the same input iterable, which may not be safe
+     * to read from several threads at once.
+     * </p>
+     * <p>
+     * If a graph execute timeout is set, a sub-graph that has not completed
+     * within the timeout is treated as having failed. When executing on the
+     * calling thread a sub-graph cannot be interrupted, so the timeout is
+     * checked once it completes and the remaining sub-graphs are not started.
+     * Failed or timed out sub-graphs are skipped if skipFailedFederatedStoreExecute
+     * is set, otherwise any other executions are cancelled and an
+     * {@link OperationException} is thrown. The results of abandoned
+     * executions are closed, including those that complete after they have
+     * been abandoned.
+     * </p>
+     *
+     * @param operation      the operation to execute
+     * @param context        the context
+     * @param store          the {@link FederatedStore}
+     * @param graphExecution executes the operation against a single sub-graph
+     * @param <OP>           the operation type
+     * @param <O>            the output type
+     * @return the results from each sub-graph
+     * @throws OperationException if the operation fails on a sub-graph and failures are not skipped
+     */
+    public static <OP extends Operation, O> List<O> executeOnGraphs(final OP operation, final Context context,
+                                                                    final Store store, final GraphExecution<OP, O> graphExecution)
+            throws OperationException {
+        final FederatedStore federatedStore = (FederatedStore) store;
+        final Collection<Graph> graphs = federatedStore.getGraphs(context.getUser(), operation.getOption(KEY_OPERATION_OPTIONS_GRAPH_IDS));
+        final ExecutorService executorService = federatedStore.getGraphExecutorService();
+        final long timeout = federatedStore.getGraphExecuteTimeout();
+        if (null == executorService || operation instanceof AddElements) {
+            return executeOnGraphsInTurn(graphs, operation, context, graphExecution, timeout);
+        }
+
+        final List<Graph> executedGraphs = new ArrayList<>(graphs.size());
+        final List<OP> updatedOps = new ArrayList<>(graphs.size());
+        final List<GraphTask<O>> tasks = new ArrayList<>(graphs.size());
+        for (final Graph graph : graphs) {
+            final OP updatedOp = updateOperationForGraph(operation, graph);
+            if (null != updatedOp) {
+                // Each sub-graph has its own context, as the context is not thread safe
+                final Context graphContext = context.cloneForConcurrentUse();
+                final GraphTask<O> task = new GraphTask<>(() -> graphExecution.execute(graph, updatedOp, graphContext));
+                task.submit(executorService);
+                executedGraphs.add(graph);
+                updatedOps.add(updatedOp);
+                tasks.add(task);
+            }
+        }
+
+        final long deadline = System.currentTimeMillis() + timeout;
+        final List<O> results = new ArrayList<>(tasks.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            final GraphTask<O> task = tasks.get(i);
+            O result = null;
+            try {
+                result = timeout > 0
+                        ? task.future.get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS)
+                        : task.future.get();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                abandon(tasks);
+                throw new OperationException("Interrupted whilst executing " + operation.getClass().getSimpleName() + " on sub-graphs", e);
+            } catch (final ExecutionException | TimeoutException e) {
+                task.abandon();
+                final Exception cause;
+                if (e instanceof TimeoutException) {
+                    cause = new TimeoutException("Timed out after " + timeout + "ms");
+                } else if (e.getCause() instanceof Exception) {
+                    cause = (Exception) e.getCause();
+                } else {
+                    cause = e;
+                }
+                if (!Boolean.valueOf(getSkipFailedFederatedStoreExecute(updatedOps.get(i)))) {
+                    // Closes the results of the completed executions too
+                    abandon(tasks);
+                    throw new OperationException(createOperationErrorMsg(operation, executedGraphs.get(i).getGraphId(), cause), cause);
+                }
+                LOGGER.debug("Skipping failed execution on graph {}: {}", executedGraphs.get(i).getGraphId(), cause.getMessage());
+            }
+            if (null != result) {
+                results.add(result);
+            }
+        }
+        return results;
+    }
+
+    private static <OP extends Operation, O> List<O> executeOnGraphsInTurn(final Collection<Graph> graphs, final OP operation,
+                                                                           final Context context, final GraphExecution<OP, O> graphExecution,
+                                                                           final long timeout)
+            throws OperationException {
+        final long deadline = System.currentTimeMillis() + timeout;
+        final List<O> results = new ArrayList<>(graphs.size());
+        for (final Graph graph : graphs) {
+            final OP updatedOp = updateOperationForGraph(operation, graph);
+            if (null != updatedOp) {
+                O result = null;
+                try {
+                    if (timeout > 0 && System.currentTimeMillis() > deadline) {
+                        throw new TimeoutException("Timed out after " + timeout + "ms");
+                    }
+                    result = graphExecution.execute(graph, updatedOp, context);
+                    if (timeout > 0 && System.currentTimeMillis() > deadline) {
+                        CloseableUtil.close(result);
+                        result = null;
+                        throw new TimeoutException("Timed out after " + timeout + "ms");
+                    }
+                } catch (final Exception e) {
+                    if (!Boolean.valueOf(getSkipFailedFederatedStoreExecute(updatedOp))) {
+                        closeResults(results);
+                        throw new OperationException(createOperationErrorMsg(operation, graph.getGraphId(), e), e);
+                    }
+                }
+                if (null != result) {
+                    results.add(result);
+                }
+            }
+        }
+        return results;
+    }
+
+    private static <O> void abandon(final List<GraphTask<O>> tasks) {
+        for (final GraphTask<O> task : tasks) {
+            task.abandon();
+        }
+    }
+
+    private static <O> void closeResults(final List<O> results) {
+        for (final O result : results) {
+            CloseableUtil.close(result);
+        }
+    }
+
+    /**
+     * Executes an operation on a sub-graph. If the execution is abandoned,
+     * the result is closed as soon as it is available, as the caller will
+     * never read it.
+     *
+     * @param <O> the output type
+     */
+    private static final class GraphTask<O> implements Callable<O> {
+        private final Callable<O> execution;
+        private Future<O> future;
+        private boolean abandoned;
+        private boolean completed;
+        private O result;
+
+        private GraphTask(final Callable<O> execution) {
+            this.execution = execution;
+        }
+
+        private void submit(final ExecutorService executorService) {
+            try {
+                future = executorService.submit(this);
+            } catch (final RejectedExecutionException e) {
+                // All the threads are busy, so execute on this thread
+                final FutureTask<O> futureTask = new FutureTask<>(this);
+                futureTask.run();
+                future = futureTask;
+            }
+        }
+
+        @Override
+        public O call() throws Exception {
+            final O output = execution.call();
+            synchronized (this) {
+                if (abandoned) {
+                    CloseableUtil.close(output);
+                    return null;
+                }
+                completed = true;
+                result = output;
+            }
+            return output;
+        }
+
+        private void abandon() {
+            final O completedResult;
+            synchronized (this) {
+                if (abandoned) {
+                    return;
+                }
+                abandoned = true;
+                completedResult = completed ? result : null;
+                result = null;
+            }
+            // Interrupt the execution if it is still running, the store may not respond to it
+            future.cancel(true);
+            CloseableUtil.close(completedResult);
+        }
+    }
+
     public static List<String> getGraphIds(final Map<String, String> config) {
         if (null == config) {
             return null;
@@ -177,4 +395,15 @@ public final class FederatedStoreUtil {
         }
         return newView;
     }
+
+    /**
+     * Executes an operation against a single sub-graph.
+     *
+     * @param <OP> the operation type
+     * @param <O>  the output type
+     */
+    @FunctionalInterface
+    public interface GraphExecution<OP extends Operation, O> {
+        O execute(final Graph graph, final OP operation, final Context context) throws OperationException;
+    }
 }
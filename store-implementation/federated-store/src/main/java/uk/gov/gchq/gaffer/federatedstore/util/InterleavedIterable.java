@@ -0,0 +1,162 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.federatedstore.util;
+
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.commonutil.iterable.ConcurrentProducerIterator;
+import uk.gov.gchq.gaffer.commonutil.iterable.ConcurrentProducerIterator.Producer;
+import uk.gov.gchq.gaffer.commonutil.iterable.ConcurrentProducerIterator.Sink;
+import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * A {@link CloseableIterable} that merges several iterables by reading each of
+ * them concurrently and returning their items in the order they are produced.
+ * A slow iterable therefore does not hold up the items from the others. The
+ * relative order of the items from each iterable is preserved.
+ * <p>
+ * Each iterable is read on the provided {@link ExecutorService} into a bounded
+ * buffer, using a {@link ConcurrentProducerIterator}. If the executor service
+ * rejects a reader, that iterable is read on a shared pool of daemon threads
+ * instead. If the buffer stays full for longer than the abandon timeout, the
+ * iterator is treated as abandoned and the readers are stopped.
+ *
+ * @param <T> the type of items in the iterables
+ */
+public class InterleavedIterable<T> implements CloseableIterable<T> {
+    public static final int DEFAULT_BUFFER_SIZE = 1000;
+
+    private final List<? extends Iterable<? extends T>> iterables;
+    private final ExecutorService executorService;
+    private final int bufferSize;
+    private final long abandonTimeoutMillis;
+    private final Set<InterleavedIterator> openIterators = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+    public InterleavedIterable(final List<? extends Iterable<? extends T>> iterables, final ExecutorService executorService) {
+        this(iterables, executorService, DEFAULT_BUFFER_SIZE);
+    }
+
+    public InterleavedIterable(final List<? extends Iterable<? extends T>> iterables, final ExecutorService executorService, final int bufferSize) {
+        this(iterables, executorService, bufferSize, ConcurrentProducerIterator.DEFAULT_ABANDON_TIMEOUT_MILLIS);
+    }
+
+    public InterleavedIterable(final List<? extends Iterable<? extends T>> iterables, final ExecutorService executorService,
+                               final int bufferSize, final long abandonTimeoutMillis) {
+        if (null == iterables) {
+            throw new IllegalArgumentException("Iterables are required");
+        }
+        if (null == executorService) {
+            throw new IllegalArgumentException("An executor service is required");
+        }
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("Buffer size must be at least 1");
+        }
+        this.iterables = iterables;
+        this.executorService = executorService;
+        this.bufferSize = bufferSize;
+        this.abandonTimeoutMillis = abandonTimeoutMillis;
+    }
+
+    @Override
+    public CloseableIterator<T> iterator() {
+        final InterleavedIterator iterator = new InterleavedIterator();
+        openIterators.add(iterator);
+        return iterator;
+    }
+
+    @Override
+    public void close() {
+        for (final InterleavedIterator iterator : openIterators) {
+            iterator.close();
+        }
+        for (final Iterable<? extends T> iterable : iterables) {
+            CloseableUtil.close(iterable);
+        }
+    }
+
+    private final class InterleavedIterator implements CloseableIterator<T> {
+        private final CloseableIterator<T> items;
+
+        private InterleavedIterator() {
+            final List<Reader> readers = new ArrayList<>(iterables.size());
+            for (final Iterable<? extends T> iterable : iterables) {
+                readers.add(new Reader(iterable.iterator()));
+            }
+            items = new ConcurrentProducerIterator<>(readers, executorService, bufferSize, abandonTimeoutMillis,
+                    GafferRuntimeException::new);
+        }
+
+        @Override
+        public boolean hasNext() {
+            final boolean hasNext = items.hasNext();
+            if (!hasNext) {
+                close();
+            }
+            return hasNext;
+        }
+
+        @Override
+        public T next() {
+            return items.next();
+        }
+
+        @Override
+        public void close() {
+            items.close();
+            openIterators.remove(this);
+        }
+    }
+
+    /**
+     * Reads an iterator into a {@link Sink}. A reader that is never run is
+     * closed instead, which closes its iterator.
+     */
+    private final class Reader implements Producer<T>, AutoCloseable {
+        private final Iterator<? extends T> iterator;
+
+        private Reader(final Iterator<? extends T> iterator) {
+            this.iterator = iterator;
+        }
+
+        @Override
+        public void produce(final Sink<T> sink) {
+            try {
+                while (!sink.isClosed() && iterator.hasNext()) {
+                    if (!sink.add(iterator.next())) {
+                        return;
+                    }
+                }
+            } finally {
+                close();
+            }
+        }
+
+        @Override
+        public void close() {
+            CloseableUtil.close(iterator);
+        }
+    }
+}
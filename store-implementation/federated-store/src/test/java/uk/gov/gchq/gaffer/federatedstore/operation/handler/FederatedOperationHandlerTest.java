@@ -21,12 +21,14 @@ import org.junit.Before;
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
 
+import uk.gov.gchq.gaffer.data.element.Entity;
 import uk.gov.gchq.gaffer.federatedstore.FederatedStore;
 import uk.gov.gchq.gaffer.graph.Graph;
 import uk.gov.gchq.gaffer.graph.GraphConfig;
 import uk.gov.gchq.gaffer.operation.Operation;
 import uk.gov.gchq.gaffer.operation.OperationChain;
 import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.gaffer.store.StoreProperties;
@@ -35,6 +37,7 @@ import uk.gov.gchq.gaffer.user.User;
 
 import java.util.HashSet;
 import java.util.LinkedHashSet;
+import java.util.concurrent.ExecutorService;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
@@ -46,6 +49,7 @@ import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 import static uk.gov.gchq.gaffer.federatedstore.FederatedStoreConstants.KEY_OPERATION_OPTIONS_GRAPH_IDS;
 import static uk.gov.gchq.gaffer.federatedstore.FederatedStoreConstants.KEY_SKIP_FAILED_FEDERATED_STORE_EXECUTE;
@@ -133,6 +137,34 @@ public class FederatedOperationHandlerTest {
         verify(mockStore4, never()).execute(eq(opChainClone), any(Context.class));
     }
 
+    @Test
+    public final void shouldAddElementsToGraphsInTurnEvenWithAnExecutorService() throws Exception {
+        // Given
+        final AddElements op = new AddElements.Builder()
+                .input(new Entity("group", "vertex"))
+                .build();
+        Schema unusedSchema = new Schema.Builder().build();
+        StoreProperties storeProperties = new StoreProperties();
+        Store mockStore1 = getMockStore(unusedSchema, storeProperties);
+        Store mockStore2 = getMockStore(unusedSchema, storeProperties);
+
+        FederatedStore mockStore = mock(FederatedStore.class);
+        LinkedHashSet<Graph> linkedGraphs = Sets.newLinkedHashSet();
+        linkedGraphs.add(getGraphWithMockStore(mockStore1));
+        linkedGraphs.add(getGraphWithMockStore(mockStore2));
+        when(mockStore.getGraphs(user, null)).thenReturn(linkedGraphs);
+        final ExecutorService executorService = mock(ExecutorService.class);
+        when(mockStore.getGraphExecutorService()).thenReturn(executorService);
+
+        // When
+        new FederatedOperationHandler().doOperation(op, context, mockStore);
+
+        // Then
+        verify(mockStore1).execute(any(OperationChain.class), any(Context.class));
+        verify(mockStore2).execute(any(OperationChain.class), any(Context.class));
+        verifyZeroInteractions(executorService);
+    }
+
     private Graph getGraphWithMockStore(final Store mockStore) {
         return new Graph.Builder()
                 .config(new GraphConfig(TEST_GRAPH_ID))
@@ -38,9 +38,13 @@ import uk.gov.gchq.gaffer.user.User;
 
 import java.util.HashSet;
 import java.util.LinkedHashSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeoutException;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Matchers.any;
@@ -240,6 +244,154 @@ public abstract class FederatedOperationOutputHandlerTest<OP extends Output<O>,
         verify(mockStore4, never()).execute(any(OperationChain.class), any(Context.class));
     }
 
+    @Test
+    public final void shouldMergeResultsFromGraphsExecutedConcurrently() throws Exception {
+        // Given
+        final OP op = getExampleOperation();
+
+        Schema unusedSchema = new Schema.Builder().build();
+        StoreProperties storeProperties = new StoreProperties();
+
+        Store mockStore1 = getMockStore(unusedSchema, storeProperties, o1);
+        Store mockStore2 = getMockStore(unusedSchema, storeProperties, o2);
+        Store mockStore3 = getMockStore(unusedSchema, storeProperties, o3);
+        Store mockStore4 = getMockStore(unusedSchema, storeProperties, o4);
+
+        FederatedStore mockStore = Mockito.mock(FederatedStore.class);
+        LinkedHashSet<Graph> linkedGraphs = Sets.newLinkedHashSet();
+        linkedGraphs.add(getGraphWithMockStore(mockStore1));
+        linkedGraphs.add(getGraphWithMockStore(mockStore2));
+        linkedGraphs.add(getGraphWithMockStore(mockStore3));
+        linkedGraphs.add(getGraphWithMockStore(mockStore4));
+        Mockito.when(mockStore.getGraphs(user, null)).thenReturn(linkedGraphs);
+        final ExecutorService executorService = Executors.newFixedThreadPool(4);
+        Mockito.when(mockStore.getGraphExecutorService()).thenReturn(executorService);
+
+        // When
+        final O theMergedResultsOfOperation;
+        try {
+            theMergedResultsOfOperation = getFederatedHandler().doOperation(op, context, mockStore);
+        } finally {
+            executorService.shutdown();
+        }
+
+        //Then
+        validateMergeResultsFromFieldObjects(theMergedResultsOfOperation, o1, o2, o3, o4);
+        verify(mockStore1).execute(any(OperationChain.class), any(Context.class));
+        verify(mockStore2).execute(any(OperationChain.class), any(Context.class));
+        verify(mockStore3).execute(any(OperationChain.class), any(Context.class));
+        verify(mockStore4).execute(any(OperationChain.class), any(Context.class));
+    }
+
+    @Test
+    public final void shouldSkipGraphThatTimesOutWhenSkipFailedIsSet() throws Exception {
+        // Given
+        final OP op = getExampleOperation();
+        op.addOption(KEY_SKIP_FAILED_FEDERATED_STORE_EXECUTE, String.valueOf(true));
+
+        Schema unusedSchema = new Schema.Builder().build();
+        StoreProperties storeProperties = new StoreProperties();
+
+        Store mockStore1 = getMockStore(unusedSchema, storeProperties, o1);
+        Store mockStore2 = Mockito.mock(Store.class);
+        given(mockStore2.getSchema()).willReturn(unusedSchema);
+        given(mockStore2.getProperties()).willReturn(storeProperties);
+        given(mockStore2.execute(any(OperationChain.class), any(Context.class))).willAnswer(invocation -> {
+            Thread.sleep(10000);
+            return o2;
+        });
+
+        FederatedStore mockStore = Mockito.mock(FederatedStore.class);
+        LinkedHashSet<Graph> linkedGraphs = Sets.newLinkedHashSet();
+        linkedGraphs.add(getGraphWithMockStore(mockStore1));
+        linkedGraphs.add(getGraphWithMockStore(mockStore2));
+        Mockito.when(mockStore.getGraphs(user, null)).thenReturn(linkedGraphs);
+        final ExecutorService executorService = Executors.newFixedThreadPool(2);
+        Mockito.when(mockStore.getGraphExecutorService()).thenReturn(executorService);
+        Mockito.when(mockStore.getGraphExecuteTimeout()).thenReturn(100L);
+
+        // When
+        final O theMergedResultsOfOperation;
+        try {
+            theMergedResultsOfOperation = getFederatedHandler().doOperation(op, context, mockStore);
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        //Then
+        validateMergeResultsFromFieldObjects(theMergedResultsOfOperation, o1);
+    }
+
+    @Test
+    public final void shouldThrowExceptionWhenGraphTimesOut() throws Exception {
+        // Given
+        final OP op = getExampleOperation();
+
+        Schema unusedSchema = new Schema.Builder().build();
+        StoreProperties storeProperties = new StoreProperties();
+
+        Store mockStore1 = Mockito.mock(Store.class);
+        given(mockStore1.getSchema()).willReturn(unusedSchema);
+        given(mockStore1.getProperties()).willReturn(storeProperties);
+        given(mockStore1.execute(any(OperationChain.class), any(Context.class))).willAnswer(invocation -> {
+            Thread.sleep(10000);
+            return o1;
+        });
+
+        FederatedStore mockStore = Mockito.mock(FederatedStore.class);
+        LinkedHashSet<Graph> linkedGraphs = Sets.newLinkedHashSet();
+        linkedGraphs.add(getGraphWithMockStore(mockStore1));
+        Mockito.when(mockStore.getGraphs(user, null)).thenReturn(linkedGraphs);
+        final ExecutorService executorService = Executors.newFixedThreadPool(1);
+        Mockito.when(mockStore.getGraphExecutorService()).thenReturn(executorService);
+        Mockito.when(mockStore.getGraphExecuteTimeout()).thenReturn(100L);
+
+        // When / Then
+        try {
+            getFederatedHandler().doOperation(op, context, mockStore);
+            fail("Exception not thrown");
+        } catch (final OperationException e) {
+            assertTrue(e.getCause() instanceof TimeoutException);
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public final void shouldSkipRemainingGraphsWhenTimeoutExpiresExecutingInTurn() throws Exception {
+        // Given
+        final OP op = getExampleOperation();
+        op.addOption(KEY_SKIP_FAILED_FEDERATED_STORE_EXECUTE, String.valueOf(true));
+
+        Schema unusedSchema = new Schema.Builder().build();
+        StoreProperties storeProperties = new StoreProperties();
+
+        Store mockStore1 = getMockStore(unusedSchema, storeProperties, o1);
+        Store mockStore2 = Mockito.mock(Store.class);
+        given(mockStore2.getSchema()).willReturn(unusedSchema);
+        given(mockStore2.getProperties()).willReturn(storeProperties);
+        given(mockStore2.execute(any(OperationChain.class), any(Context.class))).willAnswer(invocation -> {
+            Thread.sleep(200);
+            return o2;
+        });
+        Store mockStore3 = getMockStore(unusedSchema, storeProperties, o3);
+
+        FederatedStore mockStore = Mockito.mock(FederatedStore.class);
+        LinkedHashSet<Graph> linkedGraphs = Sets.newLinkedHashSet();
+        linkedGraphs.add(getGraphWithMockStore(mockStore1));
+        linkedGraphs.add(getGraphWithMockStore(mockStore2));
+        linkedGraphs.add(getGraphWithMockStore(mockStore3));
+        Mockito.when(mockStore.getGraphs(user, null)).thenReturn(linkedGraphs);
+        Mockito.when(mockStore.getGraphExecuteTimeout()).thenReturn(100L);
+
+        // When
+        final O theMergedResultsOfOperation = getFederatedHandler().doOperation(op, context, mockStore);
+
+        //Then
+        validateMergeResultsFromFieldObjects(theMergedResultsOfOperation, o1);
+        verify(mockStore3, never()).execute(any(OperationChain.class), any(Context.class));
+    }
+
     protected abstract boolean validateMergeResultsFromFieldObjects(final O result, final Object... resultParts);
 
     private Graph getGraphWithMockStore(final Store mockStore) {
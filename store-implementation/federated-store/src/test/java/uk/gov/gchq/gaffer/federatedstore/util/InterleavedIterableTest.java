@@ -0,0 +1,253 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.federatedstore.util;
+
+import com.google.common.collect.Lists;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterable;
+import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class InterleavedIterableTest {
+    private ExecutorService executorService;
+
+    @Before
+    public void setUp() {
+        executorService = Executors.newFixedThreadPool(4);
+    }
+
+    @After
+    public void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    public void shouldReturnAllItemsPreservingOrderOfEachIterable() {
+        // Given
+        final List<Integer> itr1 = range(0, 1000);
+        final List<Integer> itr2 = range(1000, 2000);
+        final List<Integer> itr3 = Collections.emptyList();
+        final InterleavedIterable<Integer> iterable = new InterleavedIterable<>(Arrays.asList(itr1, itr2, itr3), executorService, 10);
+
+        // When
+        final List<Integer> items = Lists.newArrayList(iterable);
+
+        // Then
+        assertEquals(2000, items.size());
+        assertEquals(itr1, filter(items, 0, 1000));
+        assertEquals(itr2, filter(items, 1000, 2000));
+    }
+
+    @Test
+    public void shouldReturnItemsFromFastIterableWithoutWaitingForSlowIterable() throws InterruptedException {
+        // Given
+        final CountDownLatch fastItemRead = new CountDownLatch(1);
+        final Iterable<Integer> slow = () -> new Iterator<Integer>() {
+            private boolean hasNext = true;
+
+            @Override
+            public boolean hasNext() {
+                return hasNext;
+            }
+
+            @Override
+            public Integer next() {
+                try {
+                    fastItemRead.await(10, TimeUnit.SECONDS);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                hasNext = false;
+                return 2;
+            }
+        };
+        final InterleavedIterable<Integer> iterable = new InterleavedIterable<>(Arrays.asList(slow, Collections.singletonList(1)), executorService);
+
+        // When
+        final CloseableIterator<Integer> iterator = iterable.iterator();
+        final Integer first = iterator.next();
+        fastItemRead.countDown();
+        final Integer second = iterator.next();
+
+        // Then
+        assertEquals(1, (int) first);
+        assertEquals(2, (int) second);
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    public void shouldReadIterablesOnSharedPoolWhenExecutorIsBusy() {
+        // Given
+        final ExecutorService busyExecutor = new ThreadPoolExecutor(0, 1, 1, TimeUnit.SECONDS, new SynchronousQueue<>());
+        final CountDownLatch release = new CountDownLatch(1);
+        busyExecutor.submit(() -> {
+            release.await();
+            return null;
+        });
+        final InterleavedIterable<Integer> iterable = new InterleavedIterable<>(Arrays.asList(range(0, 3), range(3, 6)), busyExecutor);
+
+        // When
+        final List<Integer> items;
+        try {
+            items = Lists.newArrayList(iterable);
+        } finally {
+            release.countDown();
+            busyExecutor.shutdown();
+        }
+
+        // Then
+        assertEquals(6, items.size());
+        assertEquals(range(0, 3), filter(items, 0, 3));
+        assertEquals(range(3, 6), filter(items, 3, 6));
+    }
+
+    @Test
+    public void shouldStopReadersWhenIteratorIsAbandoned() throws InterruptedException {
+        // Given
+        final CountDownLatch readerClosed = new CountDownLatch(1);
+        final CloseableIterator<Integer> endless = new CloseableIterator<Integer>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public Integer next() {
+                return next++;
+            }
+
+            @Override
+            public void close() {
+                readerClosed.countDown();
+            }
+        };
+        final InterleavedIterable<Integer> iterable = new InterleavedIterable<>(
+                Collections.singletonList(() -> endless), executorService, 1, 100);
+        final CloseableIterator<Integer> iterator = iterable.iterator();
+        iterator.next();
+
+        // When
+        final boolean stopped = readerClosed.await(10, TimeUnit.SECONDS);
+
+        // Then
+        assertTrue(stopped);
+        try {
+            iterator.hasNext();
+            fail("Exception expected");
+        } catch (final GafferRuntimeException e) {
+            assertTrue(e.getMessage().contains("No results were consumed"));
+        }
+    }
+
+    @Test
+    public void shouldRethrowExceptionFromIterable() {
+        // Given
+        final Iterable<Integer> failingIterable = () -> new Iterator<Integer>() {
+            @Override
+            public boolean hasNext() {
+                throw new IllegalStateException("Test exception");
+            }
+
+            @Override
+            public Integer next() {
+                throw new IllegalStateException("Test exception");
+            }
+        };
+        final InterleavedIterable<Integer> iterable = new InterleavedIterable<>(Arrays.asList(range(0, 3), failingIterable), executorService);
+
+        // When / Then
+        try {
+            Lists.newArrayList(iterable);
+            fail("Exception expected");
+        } catch (final IllegalStateException e) {
+            assertEquals("Test exception", e.getMessage());
+        }
+    }
+
+    @Test
+    public void shouldCloseIterablesWhenClosed() {
+        // Given
+        final CloseableIterable<Integer> itr1 = mock(CloseableIterable.class);
+        given(itr1.iterator()).willReturn(new WrappedCloseableIterable<>(range(0, 3)).iterator());
+        final CloseableIterable<Integer> itr2 = mock(CloseableIterable.class);
+        given(itr2.iterator()).willReturn(new WrappedCloseableIterable<>(range(3, 6)).iterator());
+        final InterleavedIterable<Integer> iterable = new InterleavedIterable<>(Arrays.asList(itr1, itr2), executorService);
+
+        // When
+        iterable.iterator().next();
+        iterable.close();
+
+        // Then
+        verify(itr1).close();
+        verify(itr2).close();
+    }
+
+    @Test
+    public void shouldThrowExceptionWithoutExecutorService() {
+        // When / Then
+        try {
+            new InterleavedIterable<>(Collections.<List<Integer>>emptyList(), null);
+            fail("Exception expected");
+        } catch (final IllegalArgumentException e) {
+            assertEquals("An executor service is required", e.getMessage());
+        }
+    }
+
+    private static List<Integer> range(final int start, final int end) {
+        final List<Integer> list = new ArrayList<>(end - start);
+        for (int i = start; i < end; i++) {
+            list.add(i);
+        }
+        return list;
+    }
+
+    private static List<Integer> filter(final List<Integer> items, final int start, final int end) {
+        final List<Integer> filtered = new ArrayList<>();
+        for (final Integer item : items) {
+            if (item >= start && item < end) {
+                filtered.add(item);
+            }
+        }
+        return filtered;
+    }
+}
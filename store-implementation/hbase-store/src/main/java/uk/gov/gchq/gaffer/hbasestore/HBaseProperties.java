@@ -42,9 +42,13 @@ public class HBaseProperties extends StoreProperties {
     public static final String WRITE_BUFFER_SIZE = "hbase.writeBufferSize";
     public static final String DEPENDENCY_JARS_HDFS_DIR_PATH = "hbase.hdfs.jars.path";
     public static final String MAX_ENTRIES_FOR_BATCH_SCANNER = "hbase.entriesForBatchScanner";
+    public static final String THREADS_FOR_BATCH_SCANNER = "hbase.threadsForBatchScanner";
+    public static final String BATCH_SCANNER_QUEUE_SIZE = "hbase.batchScannerQueueSize";
 
     public static final int WRITE_BUFFER_SIZE_DEFAULT = 1000000;
     public static final String MAX_ENTRIES_FOR_BATCH_SCANNER_DEFAULT = "50000";
+    public static final String THREADS_FOR_BATCH_SCANNER_DEFAULT = "1";
+    public static final String BATCH_SCANNER_QUEUE_SIZE_DEFAULT = "1000";
 
     public HBaseProperties() {
         super(HBaseStore.class);
@@ -164,6 +168,48 @@ public class HBaseProperties extends StoreProperties {
         set(MAX_ENTRIES_FOR_BATCH_SCANNER, maxEntriesForBatchScanner);
     }
 
+    /**
+     * Get the number of threads used to scan the regions of the table in
+     * parallel when retrieving elements for a batch of seeds. If this is 1 the
+     * batch is fetched using a single scan.
+     *
+     * @return the number of threads to use for each batch of seeds
+     */
+    public int getThreadsForBatchScanner() {
+        return Integer.parseInt(get(THREADS_FOR_BATCH_SCANNER, THREADS_FOR_BATCH_SCANNER_DEFAULT));
+    }
+
+    /**
+     * Set the number of threads used to scan the regions of the table in
+     * parallel when retrieving elements for a batch of seeds.
+     *
+     * @param threadsForBatchScanner the number of threads to use for each
+     *                               batch of seeds
+     */
+    public void setThreadsForBatchScanner(final String threadsForBatchScanner) {
+        set(THREADS_FOR_BATCH_SCANNER, threadsForBatchScanner);
+    }
+
+    /**
+     * Get the maximum number of rows that the parallel region scans can
+     * buffer before they wait for the rows to be consumed.
+     *
+     * @return the maximum number of buffered rows
+     */
+    public int getBatchScannerQueueSize() {
+        return Integer.parseInt(get(BATCH_SCANNER_QUEUE_SIZE, BATCH_SCANNER_QUEUE_SIZE_DEFAULT));
+    }
+
+    /**
+     * Set the maximum number of rows that the parallel region scans can
+     * buffer before they wait for the rows to be consumed.
+     *
+     * @param batchScannerQueueSize the maximum number of buffered rows
+     */
+    public void setBatchScannerQueueSize(final String batchScannerQueueSize) {
+        set(BATCH_SCANNER_QUEUE_SIZE, batchScannerQueueSize);
+    }
+
     @Override
     public String getJsonSerialiserModules() {
         return new StringDeduplicateConcat().apply(
@@ -37,6 +37,9 @@ import uk.gov.gchq.gaffer.store.schema.Schema;
 import java.io.IOException;
 
 public class GafferCoprocessor extends BaseRegionObserver {
+    // Shared by all the regions on a region server
+    private static final ViewCache VIEW_CACHE = new ViewCache();
+
     private Schema schema;
     private ElementSerialisation serialisation;
 
@@ -73,6 +76,6 @@ public class GafferCoprocessor extends BaseRegionObserver {
 
     @Override
     public RegionScanner postScannerOpen(final ObserverContext<RegionCoprocessorEnvironment> e, final Scan scan, final RegionScanner scanner) throws IOException {
-        return new QueryScanner(scanner, scan, schema, serialisation);
+        return new QueryScanner(scanner, scan, schema, serialisation, VIEW_CACHE);
     }
 }
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.hbasestore.coprocessor;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import uk.gov.gchq.gaffer.data.element.function.ElementAggregator;
+import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
+import uk.gov.gchq.gaffer.data.element.function.ElementTransformer;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A cache of {@link View}s parsed from the compact JSON sent in the
+ * attributes of each scan, so that the JSON does not need to be parsed every
+ * time a scanner is opened.
+ * <p>
+ * The filters and aggregators in a {@link View} must not be used by more than
+ * one scanner at a time, so views are borrowed from the cache and returned to
+ * it when the scanner is closed. If all the cached copies of a view are in
+ * use then a new copy is parsed. The cache holds at most {@code maxViews}
+ * distinct views, evicting the least recently used, and at most
+ * {@code maxCopiesPerView} idle copies of each view.
+ * <p>
+ * A released view is reused by later scans, so only stateless views are
+ * cached. A view is treated as stateless if all the classes named in its JSON
+ * are Koryphe implementations or Gaffer view classes, none of which keep state
+ * between elements. Any other view, e.g. one using a custom function, is
+ * parsed for every scan.
+ */
+public class ViewCache {
+    public static final int DEFAULT_MAX_VIEWS = 100;
+    public static final int DEFAULT_MAX_COPIES_PER_VIEW = 10;
+
+    private static final String CLASS_FIELD = "class";
+    private static final List<String> STATELESS_PACKAGES = Arrays.asList(
+            "uk.gov.gchq.koryphe.impl.",
+            View.class.getPackage().getName() + ".");
+    private static final Set<String> STATELESS_CLASSES = new HashSet<>(Arrays.asList(
+            ElementFilter.class.getName(),
+            ElementAggregator.class.getName(),
+            ElementTransformer.class.getName()));
+
+    private final int maxCopiesPerView;
+    private final Map<ByteBuffer, Copies> views;
+
+    public ViewCache() {
+        this(DEFAULT_MAX_VIEWS, DEFAULT_MAX_COPIES_PER_VIEW);
+    }
+
+    public ViewCache(final int maxViews, final int maxCopiesPerView) {
+        this.maxCopiesPerView = maxCopiesPerView;
+        this.views = new LinkedHashMap<ByteBuffer, Copies>(16, 0.75f, true) {
+            private static final long serialVersionUID = -6285416536452381413L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<ByteBuffer, Copies> eldest) {
+                return size() > maxViews;
+            }
+        };
+    }
+
+    /**
+     * Borrows a view from the cache, parsing the JSON if there are no idle
+     * copies of the view. The view should be returned using
+     * {@link #release(byte[], View)} once it is no longer being used.
+     *
+     * @param viewJson the compact JSON of the view
+     * @return the view
+     */
+    public View borrow(final byte[] viewJson) {
+        final View view;
+        synchronized (views) {
+            final Copies copies = views.get(ByteBuffer.wrap(viewJson));
+            view = null != copies ? copies.idle.poll() : null;
+        }
+        return null != view ? view : View.fromJson(viewJson);
+    }
+
+    /**
+     * Returns a borrowed view to the cache. The view is discarded if it is
+     * not stateless.
+     *
+     * @param viewJson the compact JSON the view was borrowed with
+     * @param view     the view
+     */
+    public void release(final byte[] viewJson, final View view) {
+        final ByteBuffer key = ByteBuffer.wrap(viewJson);
+        Copies copies;
+        synchronized (views) {
+            copies = views.get(key);
+        }
+        if (null == copies) {
+            // Only check whether the view is stateless the first time it is released
+            final Copies newCopies = new Copies(isStateless(viewJson));
+            synchronized (views) {
+                copies = views.get(key);
+                if (null == copies) {
+                    copies = newCopies;
+                    // Copy the JSON, as the key must not change whilst it is in the cache
+                    views.put(ByteBuffer.wrap(viewJson.clone()), copies);
+                }
+            }
+        }
+        synchronized (views) {
+            if (copies.stateless && copies.idle.size() < maxCopiesPerView) {
+                copies.idle.push(view);
+            }
+        }
+    }
+
+    /**
+     * Checks whether a view can be reused by later scans.
+     *
+     * @param viewJson the JSON of the view
+     * @return true if all the classes named in the view are known to be stateless
+     */
+    public static boolean isStateless(final byte[] viewJson) {
+        final JsonNode json;
+        try {
+            json = JSONSerialiser.getMapper().readTree(viewJson);
+        } catch (final IOException e) {
+            return false;
+        }
+        return isStateless(json);
+    }
+
+    private static boolean isStateless(final JsonNode json) {
+        if (json.isObject()) {
+            final JsonNode className = json.get(CLASS_FIELD);
+            if (null != className && !isStatelessClass(className.asText())) {
+                return false;
+            }
+        }
+        for (final JsonNode child : json) {
+            if (!isStateless(child)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isStatelessClass(final String className) {
+        if (STATELESS_CLASSES.contains(className)) {
+            return true;
+        }
+        for (final String statelessPackage : STATELESS_PACKAGES) {
+            if (className.startsWith(statelessPackage)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class Copies {
+        private final boolean stateless;
+        private final Deque<View> idle = new ArrayDeque<>();
+
+        private Copies(final boolean stateless) {
+            this.stateless = stateless;
+        }
+    }
+}
@@ -17,12 +17,14 @@
 package uk.gov.gchq.gaffer.hbasestore.retriever;
 
 import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.client.RegionLocator;
 import org.apache.hadoop.hbase.client.Result;
 import org.apache.hadoop.hbase.client.Scan;
 import org.apache.hadoop.hbase.client.Table;
 import org.apache.hadoop.hbase.filter.MultiRowRangeFilter;
 import org.apache.hadoop.hbase.security.visibility.Authorizations;
 import org.apache.hadoop.hbase.util.Bytes;
+import org.apache.hadoop.hbase.util.Pair;
 
 import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
 import uk.gov.gchq.gaffer.commonutil.StringUtil;
@@ -64,6 +66,7 @@ public class HBaseRetriever<OP extends Output<CloseableIterable<? extends Elemen
     private final OP operation;
     private final byte[] extraProcessors;
     private final boolean includeMatchedVertex;
+    private final byte[] viewJson;
 
     private CloseableIterator<Element> iterator;
     private Iterator<? extends ElementId> idsIterator;
@@ -88,6 +91,8 @@ public class HBaseRetriever<OP extends Output<CloseableIterable<? extends Elemen
         }
 
         this.includeMatchedVertex = includeMatchedVertex;
+        // Only serialise the view once, rather than for every batch of ids
+        this.viewJson = operation.getView().toCompactJson();
 
         if (null != extraProcessors && extraProcessors.length > 0) {
             this.extraProcessors = StringUtil.toCsv(extraProcessors);
@@ -152,10 +157,9 @@ public class HBaseRetriever<OP extends Output<CloseableIterable<? extends Elemen
 
         Table table = null;
         try {
-            final Scan scan = new Scan();
-
+            List<MultiRowRangeFilter.RowRange> rowRanges = null;
             if (null != idsIterator) {
-                final List<MultiRowRangeFilter.RowRange> rowRanges = new ArrayList<>();
+                rowRanges = new ArrayList<>();
                 final int maxEntriesForBatchScanner = store.getProperties().getMaxEntriesForBatchScanner();
                 int count = 0;
                 while (idsIterator.hasNext() && count < maxEntriesForBatchScanner) {
@@ -167,20 +171,17 @@ public class HBaseRetriever<OP extends Output<CloseableIterable<? extends Elemen
                     return new WrappedCloseableIterable<>(Collections.emptyList());
                 }
 
-                scan.setFilter(new MultiRowRangeFilter(rowRanges));
+                final int numThreads = store.getProperties().getThreadsForBatchScanner();
+                if (numThreads > 1) {
+                    return createParallelScanner(rowRanges, numThreads);
+                }
             }
 
-            scan.setAuthorizations(authorisations);
-            scan.setAttribute(HBaseStoreConstants.SCHEMA, store.getSchema().toCompactJson());
-            scan.setAttribute(HBaseStoreConstants.INCLUDE_MATCHED_VERTEX, Bytes.toBytes(Boolean.toString(includeMatchedVertex)));
-            scan.setAttribute(HBaseStoreConstants.VIEW, operation.getView().toCompactJson());
-            if (null != operation.getDirectedType()) {
-                scan.setAttribute(HBaseStoreConstants.DIRECTED_TYPE, Bytes.toBytes(operation.getDirectedType().name()));
-            }
-            if (null != extraProcessors) {
-                scan.setAttribute(HBaseStoreConstants.EXTRA_PROCESSORS, extraProcessors);
+            // Only create the scan for a serial scanner, as the parallel scanner creates a scan per region
+            final Scan scan = createScan();
+            if (null != rowRanges) {
+                scan.setFilter(new MultiRowRangeFilter(rowRanges));
             }
-            scan.setMaxVersions();
             table = store.getTable();
             return new WrappedCloseableIterable<>(table.getScanner(scan));
         } catch (final IOException | StoreException e) {
@@ -191,6 +192,94 @@ public class HBaseRetriever<OP extends Output<CloseableIterable<? extends Elemen
         }
     }
 
+    /**
+     * Creates a scanner that scans each region containing any of the row
+     * ranges in parallel.
+     *
+     * @param rowRanges  the row ranges to scan
+     * @param numThreads the number of regions to scan at once
+     * @return the scanner
+     * @throws IOException    if the region boundaries cannot be fetched
+     * @throws StoreException if the connection to HBase cannot be created
+     */
+    private CloseableIterable<Result> createParallelScanner(final List<MultiRowRangeFilter.RowRange> rowRanges,
+                                                            final int numThreads) throws IOException, StoreException {
+        final Pair<byte[][], byte[][]> regions;
+        try (final RegionLocator regionLocator = store.getConnection().getRegionLocator(store.getTableName())) {
+            regions = regionLocator.getStartEndKeys();
+        }
+
+        final List<List<MultiRowRangeFilter.RowRange>> rowRangesByRegion =
+                getRowRangesByRegion(rowRanges, regions.getFirst(), regions.getSecond());
+        final List<Scan> scans = new ArrayList<>();
+        for (int i = 0; i < rowRangesByRegion.size(); i++) {
+            final List<MultiRowRangeFilter.RowRange> regionRowRanges = rowRangesByRegion.get(i);
+            if (!regionRowRanges.isEmpty()) {
+                final Scan scan = createScan();
+                scan.setStartRow(regions.getFirst()[i]);
+                scan.setStopRow(regions.getSecond()[i]);
+                scan.setFilter(new MultiRowRangeFilter(regionRowRanges));
+                scans.add(scan);
+            }
+        }
+
+        return new ParallelResultScanner(store, scans, numThreads, store.getProperties().getBatchScannerQueueSize());
+    }
+
+    private Scan createScan() {
+        final Scan scan = new Scan();
+        scan.setAuthorizations(authorisations);
+        scan.setAttribute(HBaseStoreConstants.INCLUDE_MATCHED_VERTEX, Bytes.toBytes(Boolean.toString(includeMatchedVertex)));
+        scan.setAttribute(HBaseStoreConstants.VIEW, viewJson);
+        if (null != operation.getDirectedType()) {
+            scan.setAttribute(HBaseStoreConstants.DIRECTED_TYPE, Bytes.toBytes(operation.getDirectedType().name()));
+        }
+        if (null != extraProcessors) {
+            scan.setAttribute(HBaseStoreConstants.EXTRA_PROCESSORS, extraProcessors);
+        }
+        scan.setMaxVersions();
+        return scan;
+    }
+
+    /**
+     * Groups row ranges by the regions they overlap. A row range that spans
+     * several regions is included in the group for each of them; the scan of
+     * each region is limited to the rows in that region.
+     *
+     * @param rowRanges       the row ranges
+     * @param regionStartKeys the start key (inclusive) of each region, empty for the first region
+     * @param regionEndKeys   the end key (exclusive) of each region, empty for the last region
+     * @return a list of the row ranges overlapping each region, in the same
+     * order as the regions
+     */
+    static List<List<MultiRowRangeFilter.RowRange>> getRowRangesByRegion(
+            final List<MultiRowRangeFilter.RowRange> rowRanges,
+            final byte[][] regionStartKeys, final byte[][] regionEndKeys) {
+        final List<List<MultiRowRangeFilter.RowRange>> rowRangesByRegion = new ArrayList<>(regionStartKeys.length);
+        for (int i = 0; i < regionStartKeys.length; i++) {
+            final byte[] regionStart = regionStartKeys[i];
+            final byte[] regionEnd = regionEndKeys[i];
+            final List<MultiRowRangeFilter.RowRange> regionRowRanges = new ArrayList<>();
+            for (final MultiRowRangeFilter.RowRange rowRange : rowRanges) {
+                final byte[] start = rowRange.getStartRow();
+                final byte[] stop = rowRange.getStopRow();
+                final boolean startsBeforeRegionEnd = isEmpty(regionEnd) || isEmpty(start)
+                        || Bytes.compareTo(start, regionEnd) < 0;
+                final boolean endsAfterRegionStart = isEmpty(regionStart) || isEmpty(stop)
+                        || Bytes.compareTo(stop, regionStart) >= 0;
+                if (startsBeforeRegionEnd && endsAfterRegionStart) {
+                    regionRowRanges.add(rowRange);
+                }
+            }
+            rowRangesByRegion.add(regionRowRanges);
+        }
+        return rowRangesByRegion;
+    }
+
+    private static boolean isEmpty(final byte[] bytes) {
+        return null == bytes || 0 == bytes.length;
+    }
+
     public class BatchedResultScanner extends BatchedIterable<Result> {
         @Override
         protected Iterable<Result> createBatch() {
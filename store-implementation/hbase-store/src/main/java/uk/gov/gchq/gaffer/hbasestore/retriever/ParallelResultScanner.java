@@ -0,0 +1,118 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.hbasestore.retriever;
+
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.client.Table;
+
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.commonutil.iterable.ConcurrentProducerIterator;
+import uk.gov.gchq.gaffer.commonutil.iterable.ConcurrentProducerIterator.Sink;
+import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
+import uk.gov.gchq.gaffer.hbasestore.HBaseStore;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A {@code ParallelResultScanner} runs a list of {@link Scan}s, typically one
+ * for each region of the table, concurrently and merges the {@link Result}s
+ * into a single iterator. The results of the different scans are interleaved,
+ * so are not returned in row order.
+ * <p>
+ * The scans are run by up to {@code numThreads} tasks, each of which takes the
+ * next scan from the list until there are none left. The results are passed to
+ * the iterator through a queue of at most {@code queueSize} results, so the
+ * scans wait when the consumer falls behind. Closing the iterator, or this
+ * iterable, stops the scans and closes their scanners.
+ * <p>
+ * As with a single {@link ResultScanner}, only one iterator can be open at a
+ * time.
+ */
+public class ParallelResultScanner implements CloseableIterable<Result> {
+    private final HBaseStore store;
+    private final List<Scan> scans;
+    private final int numThreads;
+    private final int queueSize;
+
+    private CloseableIterator<Result> iterator;
+
+    public ParallelResultScanner(final HBaseStore store, final List<Scan> scans,
+                                 final int numThreads, final int queueSize) {
+        if (numThreads < 1) {
+            throw new IllegalArgumentException("The number of threads must be at least 1");
+        }
+        if (queueSize < 1) {
+            throw new IllegalArgumentException("The queue size must be at least 1");
+        }
+        this.store = store;
+        this.scans = scans;
+        this.numThreads = numThreads;
+        this.queueSize = queueSize;
+    }
+
+    @Override
+    public CloseableIterator<Result> iterator() {
+        // By design, only 1 iterator can be open at a time
+        close();
+
+        final AtomicInteger nextScan = new AtomicInteger();
+        final int numTasks = Math.min(numThreads, scans.size());
+        final List<ConcurrentProducerIterator.Producer<Result>> producers = new ArrayList<>(numTasks);
+        for (int i = 0; i < numTasks; i++) {
+            producers.add(sink -> runScans(nextScan, sink));
+        }
+        iterator = new ConcurrentProducerIterator<>(producers, queueSize, GafferRuntimeException::new);
+        return iterator;
+    }
+
+    @Override
+    public void close() {
+        if (null != iterator) {
+            iterator.close();
+            iterator = null;
+        }
+    }
+
+    /**
+     * Runs scans, taking the next scan from the list until there are none
+     * left or the results are no longer wanted.
+     *
+     * @param nextScan the index of the next scan to run
+     * @param sink     accepts the results
+     * @throws Exception if a scan fails
+     */
+    private void runScans(final AtomicInteger nextScan, final Sink<Result> sink) throws Exception {
+        // HBase tables are not thread safe, so each task uses its own
+        try (final Table table = store.getTable()) {
+            int scan;
+            while (!sink.isClosed() && (scan = nextScan.getAndIncrement()) < scans.size()) {
+                try (final ResultScanner scanner = table.getScanner(scans.get(scan))) {
+                    for (final Result result : scanner) {
+                        if (!sink.add(result)) {
+                            return;
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
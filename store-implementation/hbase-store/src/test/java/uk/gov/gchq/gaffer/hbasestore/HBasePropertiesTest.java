@@ -39,11 +39,15 @@ public class HBasePropertiesTest {
         properties.setDependencyJarsHdfsDirPath("pathTo/jars");
         properties.setWriteBufferSize(10);
         properties.setZookeepers("zookeeper1,zookeeper2");
+        properties.setThreadsForBatchScanner("4");
+        properties.setBatchScannerQueueSize("100");
 
         // Then
         assertEquals(new Path("pathTo/jars"), properties.getDependencyJarsHdfsDirPath());
         assertEquals(10, properties.getWriteBufferSize());
         assertEquals("zookeeper1,zookeeper2", properties.getZookeepers());
+        assertEquals(4, properties.getThreadsForBatchScanner());
+        assertEquals(100, properties.getBatchScannerQueueSize());
     }
 
     @Test
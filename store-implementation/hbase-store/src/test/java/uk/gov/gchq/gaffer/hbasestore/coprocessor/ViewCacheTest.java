@@ -0,0 +1,164 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.hbasestore.coprocessor;
+
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
+import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
+
+import java.util.function.Predicate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ViewCacheTest {
+    private static final byte[] VIEW_JSON = new View.Builder()
+            .entity(TestGroups.ENTITY)
+            .edge(TestGroups.EDGE)
+            .build()
+            .toCompactJson();
+
+    @Test
+    public void shouldReuseReleasedView() {
+        // Given
+        final ViewCache cache = new ViewCache();
+        final View view = cache.borrow(VIEW_JSON);
+        cache.release(VIEW_JSON, view);
+
+        // When
+        final View reusedView = cache.borrow(VIEW_JSON.clone());
+
+        // Then
+        assertSame(view, reusedView);
+    }
+
+    @Test
+    public void shouldNotShareViewBetweenConcurrentBorrowers() {
+        // Given
+        final ViewCache cache = new ViewCache();
+
+        // When
+        final View view1 = cache.borrow(VIEW_JSON);
+        final View view2 = cache.borrow(VIEW_JSON);
+
+        // Then
+        assertNotSame(view1, view2);
+        assertEquals(view1, view2);
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedView() {
+        // Given
+        final ViewCache cache = new ViewCache(1, 1);
+        final byte[] otherViewJson = new View.Builder()
+                .entity(TestGroups.ENTITY_2)
+                .build()
+                .toCompactJson();
+        final View view = cache.borrow(VIEW_JSON);
+        cache.release(VIEW_JSON, view);
+        cache.release(otherViewJson, cache.borrow(otherViewJson));
+
+        // When
+        final View parsedView = cache.borrow(VIEW_JSON);
+
+        // Then
+        assertNotSame(view, parsedView);
+    }
+
+    @Test
+    public void shouldLimitIdleCopiesOfView() {
+        // Given
+        final ViewCache cache = new ViewCache(1, 1);
+        final View view1 = cache.borrow(VIEW_JSON);
+        final View view2 = cache.borrow(VIEW_JSON);
+        cache.release(VIEW_JSON, view1);
+        cache.release(VIEW_JSON, view2);
+
+        // When
+        final View reused = cache.borrow(VIEW_JSON);
+        final View parsed = cache.borrow(VIEW_JSON);
+
+        // Then
+        assertSame(view1, reused);
+        assertNotSame(view2, parsed);
+    }
+
+    @Test
+    public void shouldReuseReleasedViewWithKorypheFunctions() {
+        // Given
+        final byte[] viewJson = new View.Builder()
+                .entity(TestGroups.ENTITY, new ViewElementDefinition.Builder()
+                        .preAggregationFilter(new ElementFilter.Builder()
+                                .select(TestPropertyNames.COUNT)
+                                .execute(new IsMoreThan(1))
+                                .build())
+                        .build())
+                .build()
+                .toCompactJson();
+        final ViewCache cache = new ViewCache();
+        final View view = cache.borrow(viewJson);
+        cache.release(viewJson, view);
+
+        // When
+        final View reusedView = cache.borrow(viewJson);
+
+        // Then
+        assertTrue(ViewCache.isStateless(viewJson));
+        assertSame(view, reusedView);
+    }
+
+    @Test
+    public void shouldNotReuseViewWithCustomFunction() {
+        // Given
+        final byte[] viewJson = new View.Builder()
+                .entity(TestGroups.ENTITY, new ViewElementDefinition.Builder()
+                        .preAggregationFilter(new ElementFilter.Builder()
+                                .select(TestPropertyNames.COUNT)
+                                .execute(new CountingPredicate())
+                                .build())
+                        .build())
+                .build()
+                .toCompactJson();
+        final ViewCache cache = new ViewCache();
+        final View view = cache.borrow(viewJson);
+        cache.release(viewJson, view);
+
+        // When
+        final View parsedView = cache.borrow(viewJson);
+
+        // Then
+        assertFalse(ViewCache.isStateless(viewJson));
+        assertNotSame(view, parsedView);
+    }
+
+    public static class CountingPredicate implements Predicate<Object> {
+        private int count;
+
+        @Override
+        public boolean test(final Object value) {
+            return count++ < 10;
+        }
+    }
+}
@@ -26,6 +26,7 @@ import uk.gov.gchq.gaffer.commonutil.StringUtil;
 import uk.gov.gchq.gaffer.commonutil.TestGroups;
 import uk.gov.gchq.gaffer.data.element.id.DirectedType;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.hbasestore.coprocessor.ViewCache;
 import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.ElementDedupeFilterProcessor;
 import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.GafferScannerProcessor;
 import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.GroupFilterProcessor;
@@ -55,6 +56,7 @@ import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 public class QueryScannerTest {
@@ -255,6 +257,27 @@ public class QueryScannerTest {
         }
     }
 
+    @Test
+    public void shouldReleaseViewToCacheOnceWhenClosed() throws IOException {
+        // Given
+        final RegionScanner scanner = mock(RegionScanner.class);
+        final Scan scan = mock(Scan.class);
+        final byte[] viewJson = VIEW.toCompactJson();
+        given(scan.getAttribute(HBaseStoreConstants.VIEW)).willReturn(viewJson);
+        final View view = VIEW.clone();
+        final ViewCache viewCache = mock(ViewCache.class);
+        given(viewCache.borrow(viewJson)).willReturn(view);
+        final QueryScanner queryScanner = new QueryScanner(scanner, scan, SCHEMA, serialisation, viewCache);
+
+        // When
+        queryScanner.close();
+        queryScanner.close();
+
+        // Then
+        verify(viewCache).borrow(viewJson);
+        verify(viewCache, times(1)).release(viewJson, view);
+    }
+
     @Test
     public void shouldDelegateMethodsToInternalScanner() throws IOException {
         final RegionScanner scanner = mock(RegionScanner.class);
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.hbasestore.retriever;
+
+import org.apache.hadoop.hbase.HConstants;
+import org.apache.hadoop.hbase.filter.MultiRowRangeFilter.RowRange;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class HBaseRetrieverTest {
+    private static final byte[][] REGION_START_KEYS = {HConstants.EMPTY_START_ROW, Bytes.toBytes("c"), Bytes.toBytes("f")};
+    private static final byte[][] REGION_END_KEYS = {Bytes.toBytes("c"), Bytes.toBytes("f"), HConstants.EMPTY_END_ROW};
+
+    @Test
+    public void shouldGroupRowRangesByRegion() {
+        // Given
+        final RowRange inFirstRegion = rowRange("a", "b");
+        final RowRange inLastRegion = rowRange("g", "h");
+        final RowRange spanningRegions = rowRange("b", "d");
+        final List<RowRange> rowRanges = Arrays.asList(inFirstRegion, inLastRegion, spanningRegions);
+
+        // When
+        final List<List<RowRange>> rowRangesByRegion =
+                HBaseRetriever.getRowRangesByRegion(rowRanges, REGION_START_KEYS, REGION_END_KEYS);
+
+        // Then
+        assertEquals(Arrays.asList(
+                Arrays.asList(inFirstRegion, spanningRegions),
+                Collections.singletonList(spanningRegions),
+                Collections.singletonList(inLastRegion)
+        ), rowRangesByRegion);
+    }
+
+    @Test
+    public void shouldIncludeRowRangeStartingAtRegionStartOnlyInThatRegion() {
+        // Given
+        final RowRange rowRange = rowRange("c", "c\u0001");
+
+        // When
+        final List<List<RowRange>> rowRangesByRegion =
+                HBaseRetriever.getRowRangesByRegion(Collections.singletonList(rowRange), REGION_START_KEYS, REGION_END_KEYS);
+
+        // Then
+        assertEquals(Arrays.asList(
+                Collections.emptyList(),
+                Collections.singletonList(rowRange),
+                Collections.emptyList()
+        ), rowRangesByRegion);
+    }
+
+    @Test
+    public void shouldIncludeUnboundedRowRangeInAllRegions() {
+        // Given
+        final RowRange rowRange = new RowRange(HConstants.EMPTY_START_ROW, true, HConstants.EMPTY_END_ROW, true);
+
+        // When
+        final List<List<RowRange>> rowRangesByRegion =
+                HBaseRetriever.getRowRangesByRegion(Collections.singletonList(rowRange), REGION_START_KEYS, REGION_END_KEYS);
+
+        // Then
+        assertEquals(Arrays.asList(
+                Collections.singletonList(rowRange),
+                Collections.singletonList(rowRange),
+                Collections.singletonList(rowRange)
+        ), rowRangesByRegion);
+    }
+
+    private static RowRange rowRange(final String start, final String stop) {
+        return new RowRange(Bytes.toBytes(start), true, Bytes.toBytes(stop), true);
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.hbasestore.retriever;
+
+import com.google.common.collect.Lists;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.client.Table;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
+import uk.gov.gchq.gaffer.hbasestore.HBaseStore;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+public class ParallelResultScannerTest {
+    @Test
+    public void shouldReturnResultsOfAllScans() throws Exception {
+        // Given
+        final Scan scan1 = new Scan();
+        final Scan scan2 = new Scan();
+        final Scan scan3 = new Scan();
+        final Result result1 = new Result();
+        final Result result2 = new Result();
+        final Result result3 = new Result();
+        final Table table = mock(Table.class);
+        final ResultScanner scanner1 = mockScanner(table, scan1, result1, result2);
+        final ResultScanner scanner2 = mockScanner(table, scan2);
+        final ResultScanner scanner3 = mockScanner(table, scan3, result3);
+        final HBaseStore store = mock(HBaseStore.class);
+        given(store.getTable()).willReturn(table);
+
+        // When
+        final Set<Result> results;
+        try (final ParallelResultScanner scanner = new ParallelResultScanner(store, Arrays.asList(scan1, scan2, scan3), 2, 1)) {
+            results = new HashSet<>(Lists.newArrayList(scanner));
+        }
+
+        // Then
+        assertEquals(new HashSet<>(Arrays.asList(result1, result2, result3)), results);
+        verify(scanner1).close();
+        verify(scanner2).close();
+        verify(scanner3).close();
+    }
+
+    @Test
+    public void shouldReturnNoResultsWhenThereAreNoScans() throws Exception {
+        // Given
+        final HBaseStore store = mock(HBaseStore.class);
+
+        // When
+        try (final ParallelResultScanner scanner = new ParallelResultScanner(store, Lists.newArrayList(), 2, 1)) {
+            // Then
+            assertFalse(scanner.iterator().hasNext());
+        }
+    }
+
+    @Test
+    public void shouldStopScansWhenClosed() throws Exception {
+        // Given
+        final Scan scan = new Scan();
+        final Table table = mock(Table.class);
+        final ResultScanner resultScanner = mockScanner(table, scan, new Result(), new Result(), new Result());
+        final HBaseStore store = mock(HBaseStore.class);
+        given(store.getTable()).willReturn(table);
+        final ParallelResultScanner scanner = new ParallelResultScanner(store, Arrays.asList(scan), 1, 1);
+        final CloseableIterator<Result> iterator = scanner.iterator();
+        assertTrue(iterator.hasNext());
+        iterator.next();
+
+        // When
+        scanner.close();
+
+        // Then
+        verify(resultScanner, timeout(10000)).close();
+        verify(table, timeout(10000)).close();
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenScanFails() throws Exception {
+        // Given
+        final Scan scan = new Scan();
+        final Table table = mock(Table.class);
+        given(table.getScanner(scan)).willThrow(new IOException("Scan failed"));
+        final HBaseStore store = mock(HBaseStore.class);
+        given(store.getTable()).willReturn(table);
+
+        // When / Then
+        try (final ParallelResultScanner scanner = new ParallelResultScanner(store, Arrays.asList(scan), 1, 1)) {
+            scanner.iterator().hasNext();
+            fail("Exception expected");
+        } catch (final GafferRuntimeException e) {
+            assertTrue(e.getMessage().contains("Scan failed"));
+            assertTrue(e.getCause() instanceof IOException);
+        }
+    }
+
+    private static ResultScanner mockScanner(final Table table, final Scan scan, final Result... results) throws IOException {
+        final ResultScanner scanner = mock(ResultScanner.class);
+        given(scanner.iterator()).willReturn(Arrays.asList(results).iterator());
+        given(table.getScanner(scan)).willReturn(scanner);
+        return scanner;
+    }
+}
@@ -15,6 +15,7 @@
  */
 package uk.gov.gchq.gaffer.mapstore;
 
+import uk.gov.gchq.gaffer.mapstore.factory.ConcurrentMapFactory;
 import uk.gov.gchq.gaffer.mapstore.factory.MapFactory;
 import uk.gov.gchq.gaffer.mapstore.factory.SimpleMapFactory;
 import uk.gov.gchq.gaffer.store.StoreProperties;
@@ -32,6 +33,24 @@ public class MapStoreProperties extends StoreProperties {
     public static final String MAP_FACTORY = "gaffer.store.mapstore.map.factory";
     public static final Class<? extends MapFactory> MAP_FACTORY_DEFAULT = SimpleMapFactory.class;
 
+    /**
+     * Property name for enabling concurrent ingest and query. If true and no
+     * map factory has been configured then a {@link ConcurrentMapFactory} is
+     * used, allowing AddElements and GetElements operations to be executed
+     * against the same store from multiple threads.
+     */
+    public static final String CONCURRENT = "gaffer.store.mapstore.concurrent";
+    public static final String CONCURRENT_DEFAULT = "false";
+    public static final Class<? extends MapFactory> CONCURRENT_MAP_FACTORY_DEFAULT = ConcurrentMapFactory.class;
+
+    /**
+     * Property name for the number of locks used to guard ingest aggregation
+     * when the store is concurrent. Elements are assigned to a lock based on
+     * their hash code, so more stripes means less contention.
+     */
+    public static final String CONCURRENT_LOCK_STRIPES = "gaffer.store.mapstore.concurrent.lock.stripes";
+    public static final int CONCURRENT_LOCK_STRIPES_DEFAULT = 256;
+
     public static final String MAP_FACTORY_CONFIG = "gaffer.store.mapstore.map.factory.config";
     public static final String MAP_FACTORY_CONFIG_DEFAULT = null;
 
@@ -47,6 +66,24 @@ public class MapStoreProperties extends StoreProperties {
     public static final String INGEST_BUFFER_SIZE = "gaffer.store.mapstore.map.ingest.buffer.size";
     public static final int INGEST_BUFFER_SIZE_DEFAULT = 0;
 
+    /**
+     * Property name for the number of partitions each ingest buffer is
+     * aggregated in parallel with. This is only used if an ingest buffer
+     * size has been set.
+     */
+    public static final String INGEST_AGGREGATION_PARALLELISM = "gaffer.store.mapstore.map.ingest.aggregation.parallelism";
+    public static final int INGEST_AGGREGATION_PARALLELISM_DEFAULT = 1;
+
+    /**
+     * Property name for the maximum size in bytes of each block of off-heap
+     * memory allocated for the indexes by the
+     * {@link uk.gov.gchq.gaffer.mapstore.factory.OffHeapIndexMapFactory}.
+     * The first block is small and each block is double the size of the
+     * previous one, up to this size.
+     */
+    public static final String OFF_HEAP_CHUNK_SIZE = "gaffer.store.mapstore.map.offheap.chunk.size";
+    public static final int OFF_HEAP_CHUNK_SIZE_DEFAULT = 64 * 1024 * 1024;
+
     public MapStoreProperties() {
         super(MapStore.class);
     }
@@ -81,6 +118,9 @@ public class MapStoreProperties extends StoreProperties {
     }
 
     public String getMapFactory() {
+        if (isConcurrent()) {
+            return get(MAP_FACTORY, CONCURRENT_MAP_FACTORY_DEFAULT.getName());
+        }
         return get(MAP_FACTORY, MAP_FACTORY_DEFAULT.getName());
     }
 
@@ -113,6 +153,19 @@ public class MapStoreProperties extends StoreProperties {
         set(INGEST_BUFFER_SIZE, String.valueOf(ingestBufferSize));
     }
 
+    public int getIngestAggregationParallelism() {
+        final String parallelism = get(INGEST_AGGREGATION_PARALLELISM, null);
+        if (null == parallelism) {
+            return INGEST_AGGREGATION_PARALLELISM_DEFAULT;
+        }
+
+        return Integer.parseInt(parallelism);
+    }
+
+    public void setIngestAggregationParallelism(final int parallelism) {
+        set(INGEST_AGGREGATION_PARALLELISM, String.valueOf(parallelism));
+    }
+
     public boolean isStaticMap() {
         return Boolean.parseBoolean(get(STATIC_MAP, STATIC_MAP_DEFAULT));
     }
@@ -120,4 +173,38 @@ public class MapStoreProperties extends StoreProperties {
     public void setStaticMap(final boolean staticMap) {
         set(STATIC_MAP, Boolean.toString(staticMap));
     }
+
+    public boolean isConcurrent() {
+        return Boolean.parseBoolean(get(CONCURRENT, CONCURRENT_DEFAULT));
+    }
+
+    public void setConcurrent(final boolean concurrent) {
+        set(CONCURRENT, Boolean.toString(concurrent));
+    }
+
+    public int getConcurrentLockStripes() {
+        final String stripes = get(CONCURRENT_LOCK_STRIPES, null);
+        if (null == stripes) {
+            return CONCURRENT_LOCK_STRIPES_DEFAULT;
+        }
+
+        return Integer.parseInt(stripes);
+    }
+
+    public void setConcurrentLockStripes(final int lockStripes) {
+        set(CONCURRENT_LOCK_STRIPES, String.valueOf(lockStripes));
+    }
+
+    public int getOffHeapChunkSize() {
+        final String chunkSize = get(OFF_HEAP_CHUNK_SIZE, null);
+        if (null == chunkSize) {
+            return OFF_HEAP_CHUNK_SIZE_DEFAULT;
+        }
+
+        return Integer.parseInt(chunkSize);
+    }
+
+    public void setOffHeapChunkSize(final int chunkSize) {
+        set(OFF_HEAP_CHUNK_SIZE, String.valueOf(chunkSize));
+    }
 }
@@ -77,6 +77,16 @@ public interface MapFactory {
         // no action required.
     }
 
+    /**
+     * Whether the maps and multi maps created by this factory are safe to be
+     * read and updated from multiple threads at the same time.
+     *
+     * @return true if the created maps support concurrent access
+     */
+    default boolean isConcurrent() {
+        return false;
+    }
+
     /**
      * Clear any currently configured Maps.
      */
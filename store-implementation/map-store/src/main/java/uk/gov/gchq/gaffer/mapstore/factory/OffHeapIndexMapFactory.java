@@ -0,0 +1,166 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.factory;
+
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.id.EdgeId;
+import uk.gov.gchq.gaffer.data.element.id.EntityId;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
+import uk.gov.gchq.gaffer.mapstore.multimap.MultiMap;
+import uk.gov.gchq.gaffer.mapstore.multimap.OffHeapMultiMap;
+import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.serialiser.EdgeIdSerialiser;
+import uk.gov.gchq.gaffer.store.serialiser.EntityIdSerialiser;
+import uk.gov.gchq.gaffer.store.serialiser.NullPreservingElementSerialiser;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * An extension of the {@link SimpleMapFactory} that holds the
+ * {@link uk.gov.gchq.gaffer.mapstore.MapStore} entity id and edge id indexes in
+ * {@link OffHeapMultiMap}s. The ids are serialised using the schema vertex
+ * serialiser and the indexed elements are serialised using the schema property
+ * serialisers, so all of these must be {@link ToBytesSerialiser}s. Missing
+ * properties are recorded so that the indexed elements are equal to the
+ * elements in the element maps when they are deserialised.
+ * <p>
+ * This significantly reduces the heap used by the indexes for large graphs, at
+ * the cost of deserialising the indexed elements each time they are looked up.
+ * Each index entry holds its own serialised copy of the element, rather than a
+ * reference to a single copy, so an edge is stored once for each of its ids.
+ * The element maps themselves are still created by the {@link SimpleMapFactory}.
+ */
+public class OffHeapIndexMapFactory extends SimpleMapFactory {
+    private final Map<String, MultiMap> indexes = new HashMap<>();
+    private ToBytesSerialiser<EntityId> entityIdSerialiser;
+    private ToBytesSerialiser<EdgeId> edgeIdSerialiser;
+    private ToBytesSerialiser<Element> elementSerialiser;
+    private int chunkSize = MapStoreProperties.OFF_HEAP_CHUNK_SIZE_DEFAULT;
+
+    @Override
+    public void initialise(final Schema schema, final MapStoreProperties properties) {
+        super.initialise(schema, properties);
+        entityIdSerialiser = new EntityIdSerialiser(schema);
+        edgeIdSerialiser = new EdgeIdSerialiser(schema);
+        elementSerialiser = new IndexedElementSerialiser(new NullPreservingElementSerialiser(schema));
+        chunkSize = properties.getOffHeapChunkSize();
+    }
+
+    @Override
+    public <K, V> MultiMap<K, V> getMultiMap(final String mapName, final Class<K> keyClass, final Class<V> valueClass) {
+        if (!Element.class.equals(valueClass)) {
+            return super.getMultiMap(mapName, keyClass, valueClass);
+        }
+
+        final ToBytesSerialiser keySerialiser;
+        if (EntityId.class.equals(keyClass)) {
+            keySerialiser = entityIdSerialiser;
+        } else if (EdgeId.class.equals(keyClass)) {
+            keySerialiser = edgeIdSerialiser;
+        } else {
+            return super.getMultiMap(mapName, keyClass, valueClass);
+        }
+
+        if (null == keySerialiser) {
+            throw new IllegalStateException(getClass().getSimpleName() + " has not been initialised");
+        }
+        return indexes.computeIfAbsent(mapName, n -> new OffHeapMultiMap(keySerialiser, elementSerialiser, chunkSize));
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        for (final MultiMap index : indexes.values()) {
+            index.clear();
+        }
+        indexes.clear();
+    }
+
+    /**
+     * Serialises indexed elements, prefixing the element bytes with the
+     * matched vertex of edges so this is preserved in the index.
+     */
+    static class IndexedElementSerialiser implements ToBytesSerialiser<Element> {
+        private static final long serialVersionUID = 2416301853296128795L;
+        private static final byte NO_MATCHED_VERTEX = 0;
+        private static final byte MATCHED_SOURCE = 1;
+        private static final byte MATCHED_DESTINATION = 2;
+
+        private final ToBytesSerialiser<Element> elementSerialiser;
+
+        IndexedElementSerialiser(final ToBytesSerialiser<Element> elementSerialiser) {
+            this.elementSerialiser = elementSerialiser;
+        }
+
+        @Override
+        public boolean canHandle(final Class clazz) {
+            return elementSerialiser.canHandle(clazz);
+        }
+
+        @Override
+        public byte[] serialise(final Element element) throws SerialisationException {
+            final byte[] elementBytes = elementSerialiser.serialise(element);
+            final byte[] bytes = new byte[elementBytes.length + 1];
+            bytes[0] = getMatchedVertexFlag(element);
+            System.arraycopy(elementBytes, 0, bytes, 1, elementBytes.length);
+            return bytes;
+        }
+
+        @Override
+        public Element deserialise(final byte[] bytes) throws SerialisationException {
+            final Element element = elementSerialiser.deserialise(Arrays.copyOfRange(bytes, 1, bytes.length));
+            if (NO_MATCHED_VERTEX != bytes[0] && element instanceof Edge) {
+                final Edge edge = (Edge) element;
+                edge.setIdentifiers(edge.getSource(), edge.getDestination(), edge.isDirected(),
+                        MATCHED_SOURCE == bytes[0] ? EdgeId.MatchedVertex.SOURCE : EdgeId.MatchedVertex.DESTINATION);
+            }
+            return element;
+        }
+
+        @Override
+        public Element deserialiseEmpty() throws SerialisationException {
+            return null;
+        }
+
+        @Override
+        public boolean preservesObjectOrdering() {
+            return false;
+        }
+
+        @Override
+        public boolean isConsistent() {
+            return elementSerialiser.isConsistent();
+        }
+
+        private static byte getMatchedVertexFlag(final Element element) {
+            if (element instanceof Edge) {
+                final EdgeId.MatchedVertex matchedVertex = ((Edge) element).getMatchedVertex();
+                if (EdgeId.MatchedVertex.SOURCE == matchedVertex) {
+                    return MATCHED_SOURCE;
+                }
+                if (EdgeId.MatchedVertex.DESTINATION == matchedVertex) {
+                    return MATCHED_DESTINATION;
+                }
+            }
+            return NO_MATCHED_VERTEX;
+        }
+    }
+}
@@ -67,7 +67,8 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
             // Add all elements directly
             addBatch(mapImpl, schema, elements);
         } else {
-            LOGGER.info("Adding elements in batches, batch size = " + bufferSize);
+            final int parallelism = mapStore.getProperties().getIngestAggregationParallelism();
+            LOGGER.info("Adding elements in batches, batch size = " + bufferSize + ", aggregation parallelism = " + parallelism);
             int count = 0;
             final List<Element> batch = new ArrayList<>(bufferSize);
             for (final Element element : elements) {
@@ -75,7 +76,7 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
                     batch.add(element);
                     count++;
                     if (count >= bufferSize) {
-                        addBatch(mapImpl, schema, AggregatorUtil.ingestAggregate(batch, schema));
+                        addBatch(mapImpl, schema, AggregatorUtil.ingestAggregate(batch, schema, parallelism));
                         batch.clear();
                         count = 0;
                     }
@@ -83,7 +84,7 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
             }
 
             if (count > 0) {
-                addBatch(mapImpl, schema, AggregatorUtil.ingestAggregate(batch, schema));
+                addBatch(mapImpl, schema, AggregatorUtil.ingestAggregate(batch, schema, parallelism));
             }
         }
     }
@@ -36,6 +36,9 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BinaryOperator;
 import java.util.stream.Stream;
 
 /**
@@ -89,14 +92,37 @@ public class MapImpl {
     private final List<String> aggregatedGroups;
     private final Schema schema;
     private final boolean maintainIndex;
-    private final AggregatorUtil.IngestPropertiesBinaryOperator propertyAggregator;
+    private final BinaryOperator<GroupedProperties> propertyAggregator;
+
+    /**
+     * When the map factory supports concurrent access, ingest aggregation of
+     * an element is guarded by one of these locks, selected by the element's
+     * hash code. This also allows readers to take a consistent copy of the
+     * aggregated properties. Null if the maps are not concurrent.
+     */
+    private final Lock[] aggElementLocks;
 
     public MapImpl(final Schema schema, final MapStoreProperties mapStoreProperties) {
         this.schema = schema;
-        propertyAggregator = new AggregatorUtil.IngestPropertiesBinaryOperator(schema);
         mapFactory = createMapFactory(schema, mapStoreProperties);
         maintainIndex = mapStoreProperties.getCreateIndex();
 
+        if (mapFactory.isConcurrent()) {
+            // The schema aggregators hold state whilst aggregating so each thread needs its own copy
+            final ThreadLocal<AggregatorUtil.IngestPropertiesBinaryOperator> threadAggregator =
+                    ThreadLocal.withInitial(() -> new AggregatorUtil.IngestPropertiesBinaryOperator(schema.clone()));
+            propertyAggregator = (a, b) -> threadAggregator.get().apply(a, b);
+            aggElementLocks = new Lock[Math.max(1, mapStoreProperties.getConcurrentLockStripes())];
+            for (int i = 0; i < aggElementLocks.length; i++) {
+                aggElementLocks[i] = new ReentrantLock();
+            }
+        } else if (mapStoreProperties.isConcurrent()) {
+            throw new IllegalArgumentException("MapFactory " + mapFactory.getClass().getName() + " does not support concurrent access");
+        } else {
+            propertyAggregator = new AggregatorUtil.IngestPropertiesBinaryOperator(schema);
+            aggElementLocks = null;
+        }
+
         for (final String group : schema.getGroups()) {
             aggElements.put(group, mapFactory.getMap(group + "|" + AGG_ELEMENTS, Element.class, GroupedProperties.class));
             nonAggElements.put(group, mapFactory.getMap(group + "|" + NON_AGG_ELEMENTS, Element.class, Long.class));
@@ -129,9 +155,19 @@ public class MapImpl {
     }
 
     void addAggElement(final Element elementWithGroupByProperties, final GroupedProperties properties) {
-        if (null != aggElements.get(elementWithGroupByProperties.getGroup())) {
-            aggElements.get(elementWithGroupByProperties.getGroup())
-                    .merge(elementWithGroupByProperties, properties, propertyAggregator);
+        final Map<Element, GroupedProperties> map = aggElements.get(elementWithGroupByProperties.getGroup());
+        if (null != map) {
+            if (null == aggElementLocks) {
+                map.merge(elementWithGroupByProperties, properties, propertyAggregator);
+            } else {
+                final Lock lock = getLock(elementWithGroupByProperties);
+                lock.lock();
+                try {
+                    map.merge(elementWithGroupByProperties, properties, propertyAggregator);
+                } finally {
+                    lock.unlock();
+                }
+            }
         }
     }
 
@@ -162,10 +198,7 @@ public class MapImpl {
     }
 
     Element getAggElement(final Element element) {
-        final Element clone = element.emptyClone();
-        clone.copyProperties(element.getProperties());
-        clone.copyProperties(aggElements.get(element.getGroup()).get(element));
-        return clone;
+        return toAggElement(element, aggElements.get(element.getGroup()).get(element), false);
     }
 
     Iterable<Element> getElements(final Element element) {
@@ -181,12 +214,7 @@ public class MapImpl {
                 .filter(entry -> groups.contains(entry.getKey()))
                 .map(Map.Entry::getValue)
                 .flatMap(map -> map.entrySet().stream())
-                .map(x -> {
-                    final Element element = x.getKey().emptyClone();
-                    element.copyProperties(x.getKey().getProperties());
-                    element.copyProperties(x.getValue());
-                    return cloneElement(element, schema);
-                });
+                .map(x -> toAggElement(x.getKey(), x.getValue(), true));
     }
 
     Stream<Element> getAllNonAggElements(final Set<String> groups) {
@@ -252,6 +280,29 @@ public class MapImpl {
         return totalCount;
     }
 
+    private Element toAggElement(final Element key, final GroupedProperties properties, final boolean clone) {
+        final Element element = key.emptyClone();
+        element.copyProperties(key.getProperties());
+        if (null == aggElementLocks) {
+            element.copyProperties(properties);
+            return clone ? cloneElement(element, schema) : element;
+        }
+
+        // Always clone whilst holding the lock so the properties can't be aggregated mid-copy
+        final Lock lock = getLock(key);
+        lock.lock();
+        try {
+            element.copyProperties(properties);
+            return cloneElement(element, schema);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Lock getLock(final Element key) {
+        return aggElementLocks[(key.hashCode() & Integer.MAX_VALUE) % aggElementLocks.length];
+    }
+
     private MapFactory createMapFactory(final Schema schema,
                                         final MapStoreProperties mapStoreProperties) {
         final MapFactory mapFactory;
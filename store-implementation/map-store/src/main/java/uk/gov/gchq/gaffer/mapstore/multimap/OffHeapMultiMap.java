@@ -0,0 +1,337 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.mapstore.multimap;
+
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
+import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+
+import java.nio.ByteBuffer;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A {@link MultiMap} that stores its keys and values serialised in off-heap
+ * memory, so large indexes do not contribute to the size of the Java heap or
+ * to garbage collection pauses.
+ * <p>
+ * Each key/value pair is appended as a record to a list of direct
+ * {@link ByteBuffer} chunks. Records are referenced by a primitive long offset
+ * and records whose keys share a hash bucket are chained together through
+ * offsets stored in the record header. The only on-heap state is the array of
+ * bucket offsets.
+ * <p>
+ * Values are deserialised each time they are iterated over, so
+ * {@link #get(Object)} returns copies of the values that were added. Chunks
+ * start small and double in size up to the configured chunk size. Duplicate
+ * key/value pairs are detected by comparing their serialised bytes, so the
+ * serialisers must be consistent. The number of buckets stops growing at
+ * 2^30, after which the chains get longer, and at most
+ * {@link Integer#MAX_VALUE} key/value pairs can be stored. This class is not
+ * thread safe.
+ *
+ * @param <K> the type of key
+ * @param <V> the type of value
+ */
+public class OffHeapMultiMap<K, V> implements MultiMap<K, V> {
+    public static final int DEFAULT_CHUNK_SIZE = MapStoreProperties.OFF_HEAP_CHUNK_SIZE_DEFAULT;
+
+    private static final int INITIAL_CHUNK_SIZE = 64 * 1024;
+    private static final int INITIAL_NUM_BUCKETS = 1024;
+    private static final int MAX_NUM_BUCKETS = 1 << 30;
+    private static final int MAX_NUM_RECORDS = Integer.MAX_VALUE;
+    private static final long NO_RECORD = -1L;
+
+    // Record layout: hash (int), next record offset (long), key length (int), value length (int), key bytes, value bytes
+    private static final int HASH_POSITION = 0;
+    private static final int NEXT_POSITION = 4;
+    private static final int KEY_LENGTH_POSITION = 12;
+    private static final int VALUE_LENGTH_POSITION = 16;
+    private static final int HEADER_SIZE = 20;
+
+    private final ToBytesSerialiser<K> keySerialiser;
+    private final ToBytesSerialiser<V> valueSerialiser;
+    private final int chunkSize;
+
+    private final List<ByteBuffer> chunks = new ArrayList<>();
+    private long[] buckets;
+    private int numRecords;
+
+    public OffHeapMultiMap(final ToBytesSerialiser<K> keySerialiser, final ToBytesSerialiser<V> valueSerialiser) {
+        this(keySerialiser, valueSerialiser, DEFAULT_CHUNK_SIZE);
+    }
+
+    public OffHeapMultiMap(final ToBytesSerialiser<K> keySerialiser, final ToBytesSerialiser<V> valueSerialiser, final int chunkSize) {
+        if (null == keySerialiser || null == valueSerialiser) {
+            throw new IllegalArgumentException("Key and value serialisers are required");
+        }
+        if (chunkSize < HEADER_SIZE) {
+            throw new IllegalArgumentException("Chunk size must be at least " + HEADER_SIZE + " bytes");
+        }
+        this.keySerialiser = keySerialiser;
+        this.valueSerialiser = valueSerialiser;
+        this.chunkSize = chunkSize;
+        this.buckets = createBuckets(INITIAL_NUM_BUCKETS);
+    }
+
+    @Override
+    public boolean put(final K key, final V value) {
+        final byte[] keyBytes = serialise(keySerialiser, key);
+        final byte[] valueBytes = serialise(valueSerialiser, value);
+        final int hash = hash(keyBytes);
+        final int bucket = hash & (buckets.length - 1);
+
+        for (long record = buckets[bucket]; NO_RECORD != record; record = getNext(record)) {
+            if (keyEquals(record, hash, keyBytes) && valueEquals(record, valueBytes)) {
+                return false;
+            }
+        }
+
+        if (MAX_NUM_RECORDS == numRecords) {
+            throw new IllegalStateException("Unable to add to the off-heap index as it already holds the maximum of "
+                    + MAX_NUM_RECORDS + " key/value pairs");
+        }
+        buckets[bucket] = append(hash, buckets[bucket], keyBytes, valueBytes);
+        numRecords++;
+        if (numRecords > buckets.length / 4 * 3 && buckets.length < MAX_NUM_BUCKETS) {
+            resize();
+        }
+        return true;
+    }
+
+    @Override
+    public void put(final K key, final Collection<V> values) {
+        for (final V value : values) {
+            put(key, value);
+        }
+    }
+
+    @Override
+    public Collection<V> get(final K key) {
+        final byte[] keyBytes = serialise(keySerialiser, key);
+        final int hash = hash(keyBytes);
+
+        long[] records = null;
+        int numValues = 0;
+        for (long record = buckets[hash & (buckets.length - 1)]; NO_RECORD != record; record = getNext(record)) {
+            if (keyEquals(record, hash, keyBytes)) {
+                if (null == records) {
+                    records = new long[4];
+                } else if (numValues == records.length) {
+                    records = Arrays.copyOf(records, 2 * numValues);
+                }
+                records[numValues++] = record;
+            }
+        }
+
+        return null == records ? null : new ValueCollection(records, numValues);
+    }
+
+    @Override
+    public Set<K> keySet() {
+        final Set<K> keys = new HashSet<>();
+        for (final long head : buckets) {
+            for (long record = head; NO_RECORD != record; record = getNext(record)) {
+                keys.add(deserialise(keySerialiser, readKey(record)));
+            }
+        }
+        return keys;
+    }
+
+    @Override
+    public void clear() {
+        chunks.clear();
+        buckets = createBuckets(INITIAL_NUM_BUCKETS);
+        numRecords = 0;
+    }
+
+    /**
+     * @return the number of key/value pairs stored in this map
+     */
+    public int size() {
+        return numRecords;
+    }
+
+    private long append(final int hash, final long next, final byte[] keyBytes, final byte[] valueBytes) {
+        final int recordSize = HEADER_SIZE + keyBytes.length + valueBytes.length;
+        ByteBuffer chunk = chunks.isEmpty() ? null : chunks.get(chunks.size() - 1);
+        if (null == chunk || chunk.remaining() < recordSize) {
+            // Start with small chunks and double their size up to the maximum, so small graphs do not reserve a
+            // full chunk for each index
+            final int nextChunkSize = null == chunk ? Math.min(chunkSize, INITIAL_CHUNK_SIZE)
+                    : (int) Math.min(chunkSize, 2L * chunk.capacity());
+            chunk = ByteBuffer.allocateDirect(Math.max(nextChunkSize, recordSize));
+            chunks.add(chunk);
+        }
+
+        final long record = ((long) (chunks.size() - 1) << 32) | chunk.position();
+        chunk.putInt(hash)
+                .putLong(next)
+                .putInt(keyBytes.length)
+                .putInt(valueBytes.length)
+                .put(keyBytes)
+                .put(valueBytes);
+        return record;
+    }
+
+    private void resize() {
+        final long[] newBuckets = createBuckets(buckets.length * 2);
+        for (final long head : buckets) {
+            long record = head;
+            while (NO_RECORD != record) {
+                final long next = getNext(record);
+                final int bucket = getChunk(record).getInt(getPosition(record) + HASH_POSITION) & (newBuckets.length - 1);
+                getChunk(record).putLong(getPosition(record) + NEXT_POSITION, newBuckets[bucket]);
+                newBuckets[bucket] = record;
+                record = next;
+            }
+        }
+        buckets = newBuckets;
+    }
+
+    private boolean keyEquals(final long record, final int hash, final byte[] keyBytes) {
+        final ByteBuffer chunk = getChunk(record);
+        final int position = getPosition(record);
+        return hash == chunk.getInt(position + HASH_POSITION)
+                && bytesEqual(chunk, position + HEADER_SIZE, chunk.getInt(position + KEY_LENGTH_POSITION), keyBytes);
+    }
+
+    private boolean valueEquals(final long record, final byte[] valueBytes) {
+        final ByteBuffer chunk = getChunk(record);
+        final int position = getPosition(record);
+        final int keyLength = chunk.getInt(position + KEY_LENGTH_POSITION);
+        return bytesEqual(chunk, position + HEADER_SIZE + keyLength, chunk.getInt(position + VALUE_LENGTH_POSITION), valueBytes);
+    }
+
+    private byte[] readKey(final long record) {
+        final ByteBuffer chunk = getChunk(record);
+        final int position = getPosition(record);
+        return read(chunk, position + HEADER_SIZE, chunk.getInt(position + KEY_LENGTH_POSITION));
+    }
+
+    private byte[] readValue(final long record) {
+        final ByteBuffer chunk = getChunk(record);
+        final int position = getPosition(record);
+        final int keyLength = chunk.getInt(position + KEY_LENGTH_POSITION);
+        return read(chunk, position + HEADER_SIZE + keyLength, chunk.getInt(position + VALUE_LENGTH_POSITION));
+    }
+
+    private long getNext(final long record) {
+        return getChunk(record).getLong(getPosition(record) + NEXT_POSITION);
+    }
+
+    private ByteBuffer getChunk(final long record) {
+        return chunks.get((int) (record >>> 32));
+    }
+
+    private static int getPosition(final long record) {
+        return (int) record;
+    }
+
+    private static boolean bytesEqual(final ByteBuffer chunk, final int position, final int length, final byte[] bytes) {
+        if (length != bytes.length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (chunk.get(position + i) != bytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static byte[] read(final ByteBuffer chunk, final int position, final int length) {
+        final byte[] bytes = new byte[length];
+        final ByteBuffer view = chunk.duplicate();
+        view.position(position);
+        view.get(bytes);
+        return bytes;
+    }
+
+    private static int hash(final byte[] bytes) {
+        final int hash = Arrays.hashCode(bytes);
+        return hash ^ (hash >>> 16);
+    }
+
+    private static long[] createBuckets(final int numBuckets) {
+        final long[] newBuckets = new long[numBuckets];
+        Arrays.fill(newBuckets, NO_RECORD);
+        return newBuckets;
+    }
+
+    private static <T> byte[] serialise(final ToBytesSerialiser<T> serialiser, final T object) {
+        try {
+            return serialiser.serialise(object);
+        } catch (final SerialisationException e) {
+            throw new RuntimeException("Unable to serialise " + object, e);
+        }
+    }
+
+    private static <T> T deserialise(final ToBytesSerialiser<T> serialiser, final byte[] bytes) {
+        try {
+            return serialiser.deserialise(bytes);
+        } catch (final SerialisationException e) {
+            throw new RuntimeException("Unable to deserialise off-heap bytes", e);
+        }
+    }
+
+    /**
+     * The values for a key, which are only deserialised when they are iterated
+     * over. The serialised values are distinct, so this is a set.
+     */
+    private final class ValueCollection extends AbstractSet<V> {
+        private final long[] records;
+        private final int size;
+
+        private ValueCollection(final long[] records, final int size) {
+            this.records = records;
+            this.size = size;
+        }
+
+        @Override
+        public Iterator<V> iterator() {
+            return new Iterator<V>() {
+                private int index;
+
+                @Override
+                public boolean hasNext() {
+                    return index < size;
+                }
+
+                @Override
+                public V next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    return deserialise(valueSerialiser, readValue(records[index++]));
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.factory;
+
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
+import uk.gov.gchq.gaffer.mapstore.multimap.ConcurrentMapOfSets;
+import uk.gov.gchq.gaffer.mapstore.multimap.MultiMap;
+import uk.gov.gchq.gaffer.mapstore.utils.ElementCloner;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+public class ConcurrentMapFactoryTest {
+
+    @Test
+    public void shouldCreateConcurrentMaps() {
+        // Given
+        final ConcurrentMapFactory factory = new ConcurrentMapFactory();
+        factory.initialise(mock(Schema.class), new MapStoreProperties());
+
+        // When
+        final Map<Object, Object> map1 = factory.getMap("mapName1", Object.class, Object.class);
+        final Map<Object, Object> map1Again = factory.getMap("mapName1", Object.class, Object.class);
+        final Map<Object, Object> map2 = factory.getMap("mapName2", Object.class, Object.class);
+
+        // Then
+        assertTrue(factory.isConcurrent());
+        assertTrue(map1 instanceof ConcurrentHashMap);
+        assertSame(map1, map1Again);
+        assertNotSame(map1, map2);
+    }
+
+    @Test
+    public void shouldCreateConcurrentMultiMapsBackedByNamedMap() {
+        // Given
+        final ConcurrentMapFactory factory = new ConcurrentMapFactory();
+        factory.initialise(mock(Schema.class), new MapStoreProperties());
+
+        // When
+        final MultiMap<Object, Object> multiMap = factory.getMultiMap("mapName1", Object.class, Object.class);
+
+        // Then
+        assertTrue(multiMap instanceof ConcurrentMapOfSets);
+        assertSame(factory.getMap("mapName1", Object.class, Object.class), ((ConcurrentMapOfSets) multiMap).getWrappedMap());
+        assertSame(multiMap, factory.getMultiMap("mapName1", Object.class, Object.class));
+    }
+
+    @Test
+    public void shouldClearAllMaps() {
+        // Given
+        final ConcurrentMapFactory factory = new ConcurrentMapFactory();
+        final Map<Object, Object> map = factory.getMap("mapName1", Object.class, Object.class);
+        final MultiMap<Object, Object> multiMap = factory.getMultiMap("mapName2", Object.class, Object.class);
+
+        // When
+        factory.clear();
+
+        // Then
+        assertNotSame(map, factory.getMap("mapName1", Object.class, Object.class));
+        assertNotSame(multiMap, factory.getMultiMap("mapName2", Object.class, Object.class));
+    }
+
+    @Test
+    public void shouldCloneElementUsingCloner() {
+        // Given
+        final ElementCloner elementCloner = mock(ElementCloner.class);
+        final Element element = mock(Element.class);
+        final Element expectedClonedElement = mock(Element.class);
+        final Schema schema = mock(Schema.class);
+        given(elementCloner.cloneElement(element, schema)).willReturn(expectedClonedElement);
+        final ConcurrentMapFactory factory = new ConcurrentMapFactory(elementCloner);
+
+        // When
+        final Element clonedElement = factory.cloneElement(element, schema);
+
+        // Then
+        assertSame(expectedClonedElement, clonedElement);
+    }
+
+    @Test
+    public void shouldBeSelectedWhenStoreIsConcurrent() {
+        // Given
+        final MapStoreProperties properties = new MapStoreProperties();
+
+        // When
+        properties.setConcurrent(true);
+
+        // Then
+        assertEquals(ConcurrentMapFactory.class.getName(), properties.getMapFactory());
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.factory;
+
+import com.google.common.collect.Sets;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.StreamUtil;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.id.EdgeId;
+import uk.gov.gchq.gaffer.data.element.id.EntityId;
+import uk.gov.gchq.gaffer.graph.Graph;
+import uk.gov.gchq.gaffer.graph.GraphConfig;
+import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
+import uk.gov.gchq.gaffer.mapstore.multimap.MapOfSets;
+import uk.gov.gchq.gaffer.mapstore.multimap.OffHeapMultiMap;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.data.EdgeSeed;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.serialiser.ElementSerialiser;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class OffHeapIndexMapFactoryTest {
+    private static final String BASIC_ENTITY = "BasicEntity";
+    private static final String BASIC_EDGE = "BasicEdge";
+
+    @Test
+    public void shouldCreateOffHeapMultiMapsForIndexes() {
+        // Given
+        final OffHeapIndexMapFactory factory = new OffHeapIndexMapFactory();
+        factory.initialise(getSchemaWithSerialisers(), new MapStoreProperties());
+
+        // When / Then
+        assertTrue(factory.getMultiMap("entityIndex", EntityId.class, Element.class) instanceof OffHeapMultiMap);
+        assertTrue(factory.getMultiMap("edgeIndex", EdgeId.class, Element.class) instanceof OffHeapMultiMap);
+        assertTrue(factory.getMultiMap("other", String.class, String.class) instanceof MapOfSets);
+    }
+
+    @Test
+    public void shouldPreserveMatchedVertexOfIndexedEdges() throws Exception {
+        // Given
+        final Schema schema = getSchemaWithSerialisers();
+        final OffHeapIndexMapFactory.IndexedElementSerialiser serialiser =
+                new OffHeapIndexMapFactory.IndexedElementSerialiser(new ElementSerialiser(schema));
+        final Edge edge = new Edge(BASIC_EDGE, "A", "B", true, EdgeId.MatchedVertex.DESTINATION, null);
+
+        // When
+        final Element result = serialiser.deserialise(serialiser.serialise(edge));
+
+        // Then
+        assertEquals(edge, result);
+        assertEquals(EdgeId.MatchedVertex.DESTINATION, ((Edge) result).getMatchedVertex());
+    }
+
+    @Test
+    public void shouldGetElementsUsingOffHeapIndex() throws OperationException {
+        // Given
+        final MapStoreProperties storeProperties = new MapStoreProperties();
+        storeProperties.setMapFactory(OffHeapIndexMapFactory.class);
+        final Graph graph = new Graph.Builder()
+                .config(new GraphConfig.Builder()
+                        .graphId("graphWithOffHeapIndex")
+                        .build())
+                .addSchema(Schema.fromJson(StreamUtil.schemas(getClass())))
+                .storeProperties(storeProperties)
+                .build();
+
+        final Entity entity = new Entity.Builder()
+                .group(BASIC_ENTITY)
+                .vertex("A")
+                .property("property1", "p")
+                .property("count", 1)
+                .build();
+        final Edge edge = new Edge.Builder()
+                .group(BASIC_EDGE)
+                .source("A")
+                .dest("B")
+                .directed(true)
+                .property("property1", "q")
+                .property("count", 2)
+                .build();
+        graph.execute(new AddElements.Builder()
+                .input(entity, edge, entity)
+                .build(), new User());
+
+        // When
+        final Set<Element> entityIdResults = getResults(graph, new GetElements.Builder()
+                .input(new EntitySeed("B"))
+                .build());
+        final Set<Element> edgeIdResults = getResults(graph, new GetElements.Builder()
+                .input(new EdgeSeed("A", "B", true))
+                .build());
+
+        // Then
+        assertEquals(Sets.newHashSet(edge), entityIdResults);
+        assertEquals(EdgeId.MatchedVertex.DESTINATION, ((Edge) entityIdResults.iterator().next()).getMatchedVertex());
+
+        final Entity aggregatedEntity = entity.shallowClone();
+        aggregatedEntity.putProperty("count", 2);
+        assertEquals(Sets.newHashSet(edge, aggregatedEntity), edgeIdResults);
+    }
+
+    @Test
+    public void shouldGetElementsWithNullPropertyUsingOffHeapIndex() throws OperationException {
+        // Given
+        final MapStoreProperties storeProperties = new MapStoreProperties();
+        storeProperties.setMapFactory(OffHeapIndexMapFactory.class);
+        storeProperties.setOffHeapChunkSize(1024);
+        final Graph graph = new Graph.Builder()
+                .config(new GraphConfig.Builder()
+                        .graphId("graphWithOffHeapIndex")
+                        .build())
+                .addSchema(Schema.fromJson(StreamUtil.schemas(getClass())))
+                .storeProperties(storeProperties)
+                .build();
+
+        final Entity entity = new Entity.Builder()
+                .group(BASIC_ENTITY)
+                .vertex("A")
+                .property("count", 1)
+                .build();
+        final Edge edge = new Edge.Builder()
+                .group(BASIC_EDGE)
+                .source("A")
+                .dest("B")
+                .directed(true)
+                .property("count", 2)
+                .build();
+        graph.execute(new AddElements.Builder()
+                .input(entity, edge)
+                .build(), new User());
+
+        // When
+        final Set<Element> results = getResults(graph, new GetElements.Builder()
+                .input(new EntitySeed("A"))
+                .build());
+
+        // Then
+        assertEquals(Sets.newHashSet(entity, edge), results);
+    }
+
+    private static Set<Element> getResults(final Graph graph, final GetElements getElements) throws OperationException {
+        final Set<Element> results = new HashSet<>();
+        try (final CloseableIterable<? extends Element> iterable = graph.execute(getElements, new User())) {
+            for (final Element element : iterable) {
+                results.add(element);
+            }
+        }
+        return results;
+    }
+
+    private Schema getSchemaWithSerialisers() {
+        return new Schema.Builder()
+                .json(StreamUtil.schemas(getClass()))
+                .vertexSerialiser(new StringSerialiser())
+                .build();
+    }
+}
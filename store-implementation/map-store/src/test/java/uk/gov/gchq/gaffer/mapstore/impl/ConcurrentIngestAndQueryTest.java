@@ -0,0 +1,169 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.impl;
+
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.graph.Graph;
+import uk.gov.gchq.gaffer.graph.GraphConfig;
+import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static uk.gov.gchq.gaffer.mapstore.impl.GetAllElementsHandlerTest.BASIC_EDGE1;
+import static uk.gov.gchq.gaffer.mapstore.impl.GetAllElementsHandlerTest.BASIC_ENTITY;
+import static uk.gov.gchq.gaffer.mapstore.impl.GetAllElementsHandlerTest.COUNT;
+import static uk.gov.gchq.gaffer.mapstore.impl.GetAllElementsHandlerTest.PROPERTY1;
+
+/**
+ * Stress test for a concurrent {@link uk.gov.gchq.gaffer.mapstore.MapStore},
+ * adding elements from several threads whilst other threads query the graph.
+ */
+public class ConcurrentIngestAndQueryTest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConcurrentIngestAndQueryTest.class);
+    private static final int NUM_BATCHES = 50;
+    private static final int BATCH_SIZE = 200;
+    private static final int NUM_VERTICES = 100;
+
+    @Test
+    public void shouldAggregateCorrectlyWhenIngestingAndQueryingConcurrently() throws Exception {
+        for (final int numThreads : new int[]{1, 2, 4, 8}) {
+            // Given
+            final Graph graph = getConcurrentGraph();
+
+            // When
+            final long startTime = System.currentTimeMillis();
+            runIngestAndQueries(graph, numThreads);
+            final long duration = System.currentTimeMillis() - startTime;
+            LOGGER.info("Ingested {} elements with {} threads in {}ms", numThreads * NUM_BATCHES * BATCH_SIZE * 2, numThreads, duration);
+
+            // Then
+            long entityCount = 0;
+            long edgeCount = 0;
+            int numEntities = 0;
+            try (final CloseableIterable<? extends Element> results = graph.execute(new GetAllElements(), new User())) {
+                for (final Element element : results) {
+                    if (element instanceof Entity) {
+                        entityCount += (Integer) element.getProperty(COUNT);
+                        numEntities++;
+                    } else {
+                        edgeCount += (Integer) element.getProperty(COUNT);
+                    }
+                }
+            }
+            assertEquals(NUM_VERTICES, numEntities);
+            assertEquals(numThreads * NUM_BATCHES * BATCH_SIZE, entityCount);
+            assertEquals(numThreads * NUM_BATCHES * BATCH_SIZE, edgeCount);
+        }
+    }
+
+    private void runIngestAndQueries(final Graph graph, final int numThreads) throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(numThreads * 2);
+        final AtomicBoolean ingesting = new AtomicBoolean(true);
+        try {
+            final List<Future<?>> writers = new ArrayList<>();
+            for (int t = 0; t < numThreads; t++) {
+                writers.add(executor.submit((Callable<Void>) () -> {
+                    for (int b = 0; b < NUM_BATCHES; b++) {
+                        graph.execute(new AddElements.Builder()
+                                .input(createBatch())
+                                .build(), new User());
+                    }
+                    return null;
+                }));
+            }
+
+            final List<Future<?>> readers = new ArrayList<>();
+            for (int t = 0; t < numThreads; t++) {
+                readers.add(executor.submit((Callable<Void>) () -> {
+                    int vertex = 0;
+                    while (ingesting.get()) {
+                        try (final CloseableIterable<? extends Element> results = graph.execute(new GetElements.Builder()
+                                .input(new EntitySeed("vertex" + (vertex++ % NUM_VERTICES)))
+                                .build(), new User())) {
+                            for (final Element element : results) {
+                                assertTrue((Integer) element.getProperty(COUNT) > 0);
+                            }
+                        }
+                    }
+                    return null;
+                }));
+            }
+
+            for (final Future<?> writer : writers) {
+                writer.get();
+            }
+            ingesting.set(false);
+            for (final Future<?> reader : readers) {
+                reader.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static List<Element> createBatch() {
+        final List<Element> batch = new ArrayList<>(BATCH_SIZE * 2);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batch.add(new Entity.Builder()
+                    .group(BASIC_ENTITY)
+                    .vertex("vertex" + (i % NUM_VERTICES))
+                    .property(PROPERTY1, "p")
+                    .property(COUNT, 1)
+                    .build());
+            batch.add(new Edge.Builder()
+                    .group(BASIC_EDGE1)
+                    .source("vertex" + (i % NUM_VERTICES))
+                    .dest("vertex" + ((i + 1) % NUM_VERTICES))
+                    .directed(true)
+                    .property(PROPERTY1, "q")
+                    .property(COUNT, 1)
+                    .build());
+        }
+        return batch;
+    }
+
+    private static Graph getConcurrentGraph() {
+        final MapStoreProperties storeProperties = new MapStoreProperties();
+        storeProperties.setConcurrent(true);
+        return new Graph.Builder()
+                .config(new GraphConfig.Builder()
+                        .graphId("concurrentGraph")
+                        .build())
+                .addSchema(GetAllElementsHandlerTest.getSchema())
+                .storeProperties(storeProperties)
+                .build();
+    }
+}
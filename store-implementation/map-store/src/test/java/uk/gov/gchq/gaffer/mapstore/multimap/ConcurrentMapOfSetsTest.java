@@ -0,0 +1,75 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.mapstore.multimap;
+
+import com.google.common.collect.Sets;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+
+public class ConcurrentMapOfSetsTest {
+    @Test
+    public void shouldPutCollectionIntoExistingSet() {
+        // Given
+        final ConcurrentMapOfSets<String, String> mapOfSets = new ConcurrentMapOfSets<>(new ConcurrentHashMap<>());
+        mapOfSets.put("key1", "value1");
+
+        // When
+        mapOfSets.put("key1", Sets.newHashSet("value2", "value3"));
+
+        // Then
+        assertEquals(Sets.newHashSet("value1", "value2", "value3"), mapOfSets.get("key1"));
+    }
+
+    @Test
+    public void shouldNotLoseValuesWhenPutFromMultipleThreads() throws Exception {
+        // Given
+        final int numThreads = 8;
+        final int numValues = 10000;
+        final ConcurrentMapOfSets<String, Integer> mapOfSets = new ConcurrentMapOfSets<>(new ConcurrentHashMap<>());
+        final ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+
+        // When
+        final List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < numThreads; t++) {
+            final int offset = t * numValues;
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < numValues; i++) {
+                    mapOfSets.put("key" + (i % 10), offset + i);
+                }
+            }));
+        }
+        for (final Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // Then
+        int total = 0;
+        for (final String key : mapOfSets.keySet()) {
+            total += mapOfSets.get(key).size();
+        }
+        assertEquals(numThreads * numValues, total);
+    }
+}
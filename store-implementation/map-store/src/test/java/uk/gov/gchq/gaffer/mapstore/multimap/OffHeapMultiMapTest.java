@@ -0,0 +1,154 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.mapstore.multimap;
+
+import com.google.common.collect.Sets;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class OffHeapMultiMapTest {
+    @Test
+    public void shouldPutAndGetValues() {
+        // Given
+        final OffHeapMultiMap<String, String> map = new OffHeapMultiMap<>(new StringSerialiser(), new StringSerialiser());
+
+        // When
+        final boolean put1 = map.put("key1", "value1");
+        final boolean put2 = map.put("key1", "value2");
+        final boolean put3 = map.put("key2", "value3");
+
+        // Then
+        assertTrue(put1);
+        assertTrue(put2);
+        assertTrue(put3);
+        assertEquals(Sets.newHashSet("value1", "value2"), map.get("key1"));
+        assertEquals(Sets.newHashSet("value3"), map.get("key2"));
+        assertNull(map.get("unknownKey"));
+        assertEquals(Sets.newHashSet("key1", "key2"), map.keySet());
+    }
+
+    @Test
+    public void shouldNotAddDuplicateValues() {
+        // Given
+        final OffHeapMultiMap<String, String> map = new OffHeapMultiMap<>(new StringSerialiser(), new StringSerialiser());
+        map.put("key1", "value1");
+
+        // When
+        final boolean putResult = map.put("key1", "value1");
+        map.put("key1", Collections.singleton("value1"));
+
+        // Then
+        assertFalse(putResult);
+        assertEquals(1, map.size());
+        assertEquals(Sets.newHashSet("value1"), map.get("key1"));
+    }
+
+    @Test
+    public void shouldKeepAllValuesWhenResizedAndSpreadOverChunks() {
+        // Given
+        final int numKeys = 5000;
+        final OffHeapMultiMap<String, String> map = new OffHeapMultiMap<>(new StringSerialiser(), new StringSerialiser(), 1024);
+
+        // When
+        for (int i = 0; i < numKeys; i++) {
+            map.put("key" + i, "value" + i);
+            map.put("key" + i, "otherValue" + i);
+        }
+
+        // Then
+        assertEquals(2 * numKeys, map.size());
+        for (int i = 0; i < numKeys; i++) {
+            assertEquals(Sets.newHashSet("value" + i, "otherValue" + i), map.get("key" + i));
+        }
+    }
+
+    @Test
+    public void shouldStoreValuesLargerThanChunkSize() {
+        // Given
+        final OffHeapMultiMap<String, String> map = new OffHeapMultiMap<>(new StringSerialiser(), new StringSerialiser(), 32);
+        final StringBuilder largeValue = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            largeValue.append("value");
+        }
+
+        // When
+        map.put("key1", largeValue.toString());
+        map.put("key1", "value2");
+
+        // Then
+        assertEquals(Sets.newHashSet(largeValue.toString(), "value2"), map.get("key1"));
+    }
+
+    @Test
+    public void shouldStoreValuesAcrossSeveralChunks() {
+        // Given
+        final OffHeapMultiMap<String, String> map = new OffHeapMultiMap<>(new StringSerialiser(), new StringSerialiser(), 1024 * 1024);
+
+        // When
+        for (int i = 0; i < 20000; i++) {
+            map.put("key" + i, "value" + i);
+        }
+
+        // Then
+        assertEquals(20000, map.size());
+        for (int i = 0; i < 20000; i++) {
+            assertEquals(Sets.newHashSet("value" + i), map.get("key" + i));
+        }
+    }
+
+    @Test
+    public void shouldClear() {
+        // Given
+        final OffHeapMultiMap<String, String> map = new OffHeapMultiMap<>(new StringSerialiser(), new StringSerialiser());
+        map.put("key1", "value1");
+
+        // When
+        map.clear();
+
+        // Then
+        assertEquals(0, map.size());
+        assertNull(map.get("key1"));
+        assertEquals(new HashSet<>(), map.keySet());
+    }
+
+    @Test
+    public void shouldPutAllFromAnotherMultiMap() {
+        // Given
+        final OffHeapMultiMap<String, String> map = new OffHeapMultiMap<>(new StringSerialiser(), new StringSerialiser());
+        final MapOfSets<String, String> other = new MapOfSets<>(new HashMap<>());
+        other.put("key1", "value1");
+        other.put("key1", "value2");
+
+        // When
+        map.putAll(other);
+
+        // Then
+        final Set<String> expected = Sets.newHashSet("value1", "value2");
+        assertEquals(expected, map.get("key1"));
+    }
+}
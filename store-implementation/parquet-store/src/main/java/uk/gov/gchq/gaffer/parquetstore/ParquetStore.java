@@ -32,7 +32,10 @@ import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.IdentifierType;
 import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.parquetstore.index.ParquetFileIndex;
+import uk.gov.gchq.gaffer.parquetstore.operation.CompactDeltas;
 import uk.gov.gchq.gaffer.parquetstore.operation.handler.AddElementsHandler;
+import uk.gov.gchq.gaffer.parquetstore.operation.handler.CompactDeltasHandler;
 import uk.gov.gchq.gaffer.parquetstore.operation.handler.GetAdjacentIdsHandler;
 import uk.gov.gchq.gaffer.parquetstore.operation.handler.GetAllElementsHandler;
 import uk.gov.gchq.gaffer.parquetstore.operation.handler.GetElementsHandler;
@@ -83,8 +86,15 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import static uk.gov.gchq.gaffer.store.StoreTrait.INGEST_AGGREGATION;
@@ -108,6 +118,8 @@ public class ParquetStore extends Store {
     public static final String SNAPSHOT = "snapshot";
     public static final String REVERSED_EDGES = "reversedEdges";
     public static final String PARTITION = "partition";
+    public static final String DELTAS = "deltas";
+    public static final String DELTA = "delta";
     public static final int LENGTH_OF_PARTITION_NUMBER_IN_FILENAME = 7;
 
     @SuppressFBWarnings("MS_MUTABLE_ARRAY")
@@ -132,6 +144,7 @@ public class ParquetStore extends Store {
     };
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ParquetStore.class);
+    private static final AtomicInteger READER_THREAD_COUNT = new AtomicInteger();
     private static final Set<StoreTrait> TRAITS =
             Collections.unmodifiableSet(Sets.newHashSet(
                     ORDERED,
@@ -143,8 +156,11 @@ public class ParquetStore extends Store {
 
     private GraphPartitioner graphPartitioner;
     private long currentSnapshot;
+    private volatile List<Long> deltas = Collections.emptyList();
+    private final Map<Path, ParquetFileIndex> fileIndexes = new ConcurrentHashMap<>();
     private SchemaUtils schemaUtils;
     private FileSystem fs;
+    private ThreadPoolExecutor readerExecutorService;
 
     @Override
     public void initialise(final String graphId, final Schema schema, final StoreProperties properties) throws StoreException {
@@ -165,13 +181,26 @@ public class ParquetStore extends Store {
         try {
             fs = FileSystem.get(new Configuration());
             schemaUtils = new SchemaUtils(getSchema());
+            readerExecutorService = createReaderExecutorService(parquetStoreProperties.getRetrieverMaxThreads());
             initialise();
             loadGraphPartitioner();
+            loadDeltas();
         } catch (final IOException e) {
             throw new StoreException("Could not connect to the file system", e);
         }
     }
 
+    private static ThreadPoolExecutor createReaderExecutorService(final int maxThreads) {
+        final ThreadPoolExecutor executorService = new ThreadPoolExecutor(
+                Math.max(1, maxThreads), Math.max(1, maxThreads), 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            final Thread thread = new Thread(runnable, "parquet-reader-" + READER_THREAD_COUNT.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        executorService.allowCoreThreadTimeOut(true);
+        return executorService;
+    }
+
     public static String getSnapshotPath(final long snapshot) {
         return SNAPSHOT + "=" + snapshot;
     }
@@ -275,10 +304,41 @@ public class ParquetStore extends Store {
         stream.close();
     }
 
+    private void loadDeltas() throws StoreException {
+        final Path deltasPath = getDeltasPath();
+        final List<Long> loadedDeltas = new ArrayList<>();
+        try {
+            if (fs.exists(deltasPath)) {
+                // Ignore any -tmp directories as they are deltas which are still being written
+                final FileStatus[] fileStatuses = fs.listStatus(deltasPath,
+                        path -> path.getName().startsWith(DELTA + "=") && !path.getName().endsWith("-tmp"));
+                for (final FileStatus status : fileStatuses) {
+                    loadedDeltas.add(Long.parseLong(status.getPath().getName().replace(DELTA + "=", "")));
+                }
+            }
+        } catch (final IOException e) {
+            throw new StoreException("IOException loading the deltas from " + deltasPath, e);
+        }
+        Collections.sort(loadedDeltas);
+        LOGGER.info("Loaded {} deltas for snapshot {}", loadedDeltas.size(), currentSnapshot);
+        this.deltas = Collections.unmodifiableList(loadedDeltas);
+    }
+
     public FileSystem getFS() {
         return fs;
     }
 
+    /**
+     * Gets the pool of threads used to read files for queries. It has at most
+     * {@link ParquetStoreProperties#getRetrieverMaxThreads()} threads, and
+     * tasks wait in its queue when they are all busy.
+     *
+     * @return the executor service for reading files
+     */
+    public ExecutorService getReaderExecutorService() {
+        return readerExecutorService;
+    }
+
     public SchemaUtils getSchemaUtils() {
         return schemaUtils;
     }
@@ -344,6 +404,116 @@ public class ParquetStore extends Store {
                 .collect(Collectors.toList());
     }
 
+    public static String getDeltaPath(final long delta) {
+        return DELTA + "=" + delta;
+    }
+
+    /**
+     * Gets the directory containing the deltas of the current snapshot.
+     *
+     * @return the path of the deltas directory
+     */
+    public Path getDeltasPath() {
+        return new Path(getDataDir()
+                + "/" + getSnapshotPath(currentSnapshot)
+                + "/" + DELTAS);
+    }
+
+    /**
+     * Gets the deltas that have been added to the current snapshot, oldest first.
+     *
+     * @return the timestamps of the deltas
+     */
+    public List<Long> getDeltas() {
+        return deltas;
+    }
+
+    /**
+     * Adds a delta, which must already have been written to the deltas directory, to the current snapshot.
+     *
+     * @param delta the timestamp of the delta
+     * @throws StoreException if the delta directory does not exist
+     */
+    public void addDelta(final long delta) throws StoreException {
+        final Path deltaPath = new Path(getDeltasPath(), getDeltaPath(delta));
+        try {
+            if (!fs.exists(deltaPath)) {
+                throw new StoreException(String.format("Failed adding delta: '%s' does not exist", deltaPath.toString()));
+            }
+        } catch (final IOException e) {
+            throw new StoreException("IOException checking Path: ", e);
+        }
+
+        LOGGER.info("Adding delta {} to snapshot {}", delta, currentSnapshot);
+        final List<Long> updatedDeltas = new ArrayList<>(deltas);
+        updatedDeltas.add(delta);
+        Collections.sort(updatedDeltas);
+        this.deltas = Collections.unmodifiableList(updatedDeltas);
+    }
+
+    /**
+     * Gets the files in the deltas of the current snapshot that correspond to the given file in the snapshot, i.e.
+     * the files for the same group and partition. Not every delta contains data for every partition, so some of these
+     * files may not exist.
+     *
+     * @param file a file in the snapshot, as returned by {@link #getFile(String, Integer)} or
+     *             {@link #getFileForReversedEdges(String, Integer)}
+     * @return the paths of the delta files, oldest first
+     */
+    public List<Path> getDeltaFiles(final Path file) {
+        final String relativePath = file.getParent().getParent().getName()
+                + "/" + file.getParent().getName()
+                + "/" + file.getName();
+        final List<Path> files = new ArrayList<>(deltas.size());
+        for (final long delta : deltas) {
+            files.add(new Path(getDeltasPath() + "/" + getDeltaPath(delta) + "/" + relativePath));
+        }
+        return files;
+    }
+
+    public List<Path> getDeltaFilesForGroup(final String group) throws IOException {
+        final List<Path> files = new ArrayList<>();
+        for (final long delta : deltas) {
+            final Path dir = new Path(getDeltasPath()
+                    + "/" + getDeltaPath(delta)
+                    + "/" + getGroupSubDir(group, false));
+            if (fs.exists(dir)) {
+                for (final FileStatus file : fs.listStatus(dir, path -> path.getName().endsWith(".parquet"))) {
+                    files.add(file.getPath());
+                }
+            }
+        }
+        return files;
+    }
+
+    /**
+     * Gets the index of a file in the current snapshot or one of its deltas. Indexes are cached until the snapshot
+     * changes, as the files in a snapshot or delta are never modified.
+     *
+     * @param file the Parquet file
+     * @return the index of the file, {@link ParquetFileIndex#UNINDEXED} if the file has no index, or
+     * {@link ParquetFileIndex#EMPTY} if the file does not exist
+     * @throws IOException if the index cannot be read
+     */
+    public ParquetFileIndex getFileIndex(final Path file) throws IOException {
+        ParquetFileIndex index = fileIndexes.get(file);
+        if (null == index) {
+            index = readFileIndex(file);
+            fileIndexes.put(file, index);
+        }
+        return index;
+    }
+
+    private ParquetFileIndex readFileIndex(final Path file) throws IOException {
+        final Path indexPath = ParquetFileIndex.getIndexPath(file);
+        if (fs.exists(indexPath)) {
+            try (final FSDataInputStream stream = fs.open(indexPath)) {
+                return ParquetFileIndex.read(stream);
+            }
+        }
+        return fs.exists(file) ? ParquetFileIndex.UNINDEXED : ParquetFileIndex.EMPTY;
+    }
+
     public Path getGroupPath(final String group) {
         return new Path(getDataDir()
                 + "/" + getSnapshotPath(currentSnapshot)
@@ -409,6 +579,7 @@ public class ParquetStore extends Store {
         addOperationHandler(GetDataFrameOfElements.class, new GetDataFrameOfElementsHandler());
         addOperationHandler(ImportJavaRDDOfElements.class, new ImportJavaRDDOfElementsHandler());
         addOperationHandler(ImportRDDOfElements.class, new ImportRDDOfElementsHandler());
+        addOperationHandler(CompactDeltas.class, new CompactDeltasHandler());
 //        addOperationHandler(GetGraphFrameOfElements.class, new GetGraphFrameOfElementsHandler());
     }
 
@@ -450,7 +621,9 @@ public class ParquetStore extends Store {
 
         LOGGER.info("Setting currentSnapshot to {} and reloading graph partitioner", snapshot);
         this.currentSnapshot = snapshot;
+        fileIndexes.clear();
         loadGraphPartitioner();
+        loadDeltas();
     }
 
     private long getLatestSnapshot(final String rootDir) throws StoreException {
@@ -41,7 +41,12 @@ public class ParquetStoreProperties extends StoreProperties implements Serializa
     public static final String PARQUET_ROW_GROUP_SIZE_IN_BYTES = "parquet.add_elements.row_group.size";
     public static final String PARQUET_PAGE_SIZE_IN_BYTES = "parquet.add_elements.page.size";
     public static final String PARQUET_THREADS_AVAILABLE = "parquet.threadsAvailable";
+    public static final String PARQUET_RETRIEVER_QUEUE_SIZE = "parquet.retriever.queue_size";
+    public static final String PARQUET_RETRIEVER_MAX_THREADS = "parquet.retriever.max_threads";
     public static final String PARQUET_ADD_ELEMENTS_OUTPUT_FILES_PER_GROUP = "parquet.add_elements.output_files_per_group";
+    public static final String PARQUET_ADD_ELEMENTS_AS_DELTAS = "parquet.add_elements.deltas";
+    public static final String PARQUET_MAX_DELTAS = "parquet.add_elements.max_deltas";
+    public static final String PARQUET_WRITE_SEED_INDEX = "parquet.add_elements.seed_index";
     public static final String SPARK_MASTER = "spark.master";
     public static final String PARQUET_SKIP_VALIDATION = "parquet.skip_validation";
     public static final String COMPRESSION_CODEC = "parquet.compression.codec";
@@ -54,7 +59,12 @@ public class ParquetStoreProperties extends StoreProperties implements Serializa
     public static final String PARQUET_SORT_BY_SPLITS_ON_INGEST_DEFAULT = "false";
     private static final String PARQUET_SPLIT_POINTS_SAMPLE_RATE_DEFAULT = "10";
     private static final String PARQUET_THREADS_AVAILABLE_DEFAULT = "3";
+    private static final String PARQUET_RETRIEVER_QUEUE_SIZE_DEFAULT = "10000";
+    private static final String PARQUET_RETRIEVER_MAX_THREADS_DEFAULT = "20";
     private static final String PARQUET_ADD_ELEMENTS_OUTPUT_FILES_PER_GROUP_DEFAULT = "10";
+    private static final String PARQUET_ADD_ELEMENTS_AS_DELTAS_DEFAULT = "false";
+    private static final String PARQUET_MAX_DELTAS_DEFAULT = "10";
+    private static final String PARQUET_WRITE_SEED_INDEX_DEFAULT = "false";
     private static final String SPARK_MASTER_DEFAULT = "local[*]";
     private static final String PARQUET_SKIP_VALIDATION_DEFAULT = "false";
     private static final String COMPRESSION_CODEC_DEFAULT = "GZIP";
@@ -104,6 +114,81 @@ public class ParquetStoreProperties extends StoreProperties implements Serializa
         set(PARQUET_THREADS_AVAILABLE, threadsAvailable.toString());
     }
 
+    /**
+     * Gets the maximum number of elements that the tasks reading the files for
+     * a query can buffer before they wait for the elements to be consumed.
+     *
+     * @return the maximum number of buffered elements for each query
+     */
+    public int getRetrieverQueueSize() {
+        return Integer.parseInt(get(PARQUET_RETRIEVER_QUEUE_SIZE, PARQUET_RETRIEVER_QUEUE_SIZE_DEFAULT));
+    }
+
+    public void setRetrieverQueueSize(final int queueSize) {
+        set(PARQUET_RETRIEVER_QUEUE_SIZE, String.valueOf(queueSize));
+    }
+
+    /**
+     * Gets the maximum number of threads that the store uses to read files,
+     * shared by all of its queries. Once they are all busy, the tasks of
+     * further queries wait for a thread to become free.
+     *
+     * @return the maximum number of threads reading files
+     */
+    public int getRetrieverMaxThreads() {
+        return Integer.parseInt(get(PARQUET_RETRIEVER_MAX_THREADS, PARQUET_RETRIEVER_MAX_THREADS_DEFAULT));
+    }
+
+    public void setRetrieverMaxThreads(final int maxThreads) {
+        set(PARQUET_RETRIEVER_MAX_THREADS, String.valueOf(maxThreads));
+    }
+
+    /**
+     * Gets whether {@link uk.gov.gchq.gaffer.operation.impl.add.AddElements} writes the new elements to a delta
+     * directory within the current snapshot, rather than merging them with all the existing data to create a new
+     * snapshot. The deltas are merged with the snapshot when they are queried. Note that
+     * {@link uk.gov.gchq.gaffer.spark.operation.dataframe.GetDataFrameOfElements} only reads the snapshot, so fails
+     * while the snapshot has deltas that have not been compacted.
+     *
+     * @return true if new elements are written as deltas
+     */
+    public boolean getAddElementsAsDeltas() {
+        return Boolean.parseBoolean(get(PARQUET_ADD_ELEMENTS_AS_DELTAS, PARQUET_ADD_ELEMENTS_AS_DELTAS_DEFAULT));
+    }
+
+    public void setAddElementsAsDeltas(final boolean addElementsAsDeltas) {
+        set(PARQUET_ADD_ELEMENTS_AS_DELTAS, String.valueOf(addElementsAsDeltas));
+    }
+
+    /**
+     * Gets the maximum number of deltas the current snapshot can have. When adding elements would exceed this, the
+     * snapshot, its deltas and the new elements are compacted into a new snapshot instead.
+     *
+     * @return the maximum number of deltas
+     */
+    public int getMaxDeltas() {
+        return Integer.parseInt(get(PARQUET_MAX_DELTAS, PARQUET_MAX_DELTAS_DEFAULT));
+    }
+
+    public void setMaxDeltas(final int maxDeltas) {
+        set(PARQUET_MAX_DELTAS, String.valueOf(maxDeltas));
+    }
+
+    /**
+     * Gets whether an index of the vertices, sources or destinations in each file is written when adding elements.
+     * Queries for seeds use these indexes to skip files that cannot contain the seeds. Writing the indexes reads the
+     * identifiers of every new file again, so makes adding elements slower; it is off by default.
+     *
+     * @return true if the indexes should be written
+     */
+    public boolean getWriteSeedIndex() {
+        return Boolean.parseBoolean(get(PARQUET_WRITE_SEED_INDEX, PARQUET_WRITE_SEED_INDEX_DEFAULT));
+    }
+
+    public void setWriteSeedIndex(final boolean writeSeedIndex) {
+        set(PARQUET_WRITE_SEED_INDEX, String.valueOf(writeSeedIndex));
+    }
+
     public Integer getRowGroupSize() {
         return Integer.parseInt(get(PARQUET_ROW_GROUP_SIZE_IN_BYTES, PARQUET_ROW_GROUP_SIZE_IN_BYTES_DEFAULT));
     }
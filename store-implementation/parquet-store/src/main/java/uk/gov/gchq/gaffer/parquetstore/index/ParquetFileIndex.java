@@ -0,0 +1,362 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.parquetstore.index;
+
+import com.google.common.primitives.UnsignedBytes;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.util.bloom.BloomFilter;
+import org.apache.hadoop.util.bloom.Key;
+import org.apache.hadoop.util.hash.Hash;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A {@code ParquetFileIndex} is a sidecar index of a Parquet file in the store. For each row group in the file it
+ * records the minimum and maximum values of the identifier that the file is sorted by, i.e. the vertex for entities,
+ * the source for edges and the destination for reversed edges, and a Bloom filter of those values. This allows the
+ * files that cannot contain any data for a seed to be skipped without opening them.
+ * <p>
+ * The values are the Parquet objects for the identifier, as returned by
+ * {@link uk.gov.gchq.gaffer.parquetstore.utils.GafferGroupObjectConverter#gafferObjectToParquetObjects(String, Object)}.
+ * Only files whose identifiers are made up of Strings, numbers, booleans and byte arrays are indexed.
+ */
+public class ParquetFileIndex {
+    /**
+     * The index of a file that does not exist, which cannot contain anything.
+     */
+    public static final ParquetFileIndex EMPTY = new ParquetFileIndex(Collections.emptyList());
+
+    /**
+     * The index of a file that has not been indexed, which might contain anything.
+     */
+    public static final ParquetFileIndex UNINDEXED = new ParquetFileIndex(null);
+
+    private static final int VERSION = 1;
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    private static final int MAXIMUM_BLOOM_FILTER_SIZE = 8 * 1024 * 1024;
+
+    private final List<RowGroup> rowGroups;
+
+    public ParquetFileIndex(final List<RowGroup> rowGroups) {
+        this.rowGroups = rowGroups;
+    }
+
+    public static Path getIndexPath(final Path file) {
+        // Files starting with a '.' are ignored by Spark and Parquet
+        return new Path(file.getParent(), "." + file.getName() + ".index");
+    }
+
+    public List<RowGroup> getRowGroups() {
+        return rowGroups;
+    }
+
+    /**
+     * Tests whether the file might contain the given identifier.
+     *
+     * @param key the Parquet objects for the identifier
+     * @return false if the file definitely does not contain the identifier, otherwise true
+     */
+    public boolean mightContain(final Object[] key) {
+        if (null == rowGroups) {
+            return true;
+        }
+        try {
+            final Key bloomKey = new Key(serialiseKey(key));
+            for (final RowGroup rowGroup : rowGroups) {
+                if (rowGroup.mightContain(key, bloomKey)) {
+                    return true;
+                }
+            }
+        } catch (final IllegalArgumentException e) {
+            // The key is not of the type that was indexed, so the index cannot be used
+            return true;
+        }
+        return false;
+    }
+
+    public void write(final OutputStream stream) throws IOException {
+        if (null == rowGroups) {
+            throw new IOException("Cannot write the index of a file that has not been indexed");
+        }
+        final DataOutputStream out = new DataOutputStream(stream);
+        out.writeInt(VERSION);
+        out.writeInt(rowGroups.size());
+        for (final RowGroup rowGroup : rowGroups) {
+            out.writeLong(rowGroup.rowCount);
+            writeBytes(out, serialiseKey(rowGroup.min));
+            writeBytes(out, serialiseKey(rowGroup.max));
+            rowGroup.bloomFilter.write(out);
+        }
+        out.flush();
+    }
+
+    public static ParquetFileIndex read(final InputStream stream) throws IOException {
+        final DataInputStream in = new DataInputStream(stream);
+        final int version = in.readInt();
+        if (VERSION != version) {
+            throw new IOException("Unknown index version " + version);
+        }
+        final int numRowGroups = in.readInt();
+        final List<RowGroup> rowGroups = new ArrayList<>(numRowGroups);
+        for (int i = 0; i < numRowGroups; i++) {
+            final long rowCount = in.readLong();
+            final Object[] min = deserialiseKey(readBytes(in));
+            final Object[] max = deserialiseKey(readBytes(in));
+            final BloomFilter bloomFilter = new BloomFilter();
+            bloomFilter.readFields(in);
+            rowGroups.add(new RowGroup(rowCount, min, max, bloomFilter));
+        }
+        return new ParquetFileIndex(rowGroups);
+    }
+
+    static byte[] serialiseKey(final Object[] key) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream out = new DataOutputStream(bytes);
+        try {
+            out.writeInt(key.length);
+            for (final Object object : key) {
+                writeObject(out, object);
+            }
+            out.flush();
+        } catch (final IOException e) {
+            // Should never happen when writing to a byte array
+            throw new IllegalArgumentException("Failed to serialise key", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Compares two keys, ordering nulls first and byte arrays lexicographically.
+     *
+     * @param key1 the first key
+     * @param key2 the second key
+     * @return the result of the comparison
+     * @throws IllegalArgumentException if the keys contain objects of different types
+     */
+    @SuppressWarnings("unchecked")
+    static int compareKeys(final Object[] key1, final Object[] key2) {
+        for (int i = 0; i < key1.length && i < key2.length; i++) {
+            final Object object1 = key1[i];
+            final Object object2 = key2[i];
+            final int result;
+            if (null == object1 || null == object2) {
+                result = null == object1 ? (null == object2 ? 0 : -1) : 1;
+            } else if (object1 instanceof byte[] && object2 instanceof byte[]) {
+                result = UnsignedBytes.lexicographicalComparator().compare((byte[]) object1, (byte[]) object2);
+            } else if (object1 instanceof Comparable && object1.getClass().equals(object2.getClass())) {
+                result = ((Comparable<Object>) object1).compareTo(object2);
+            } else {
+                throw new IllegalArgumentException("Cannot compare objects of type " + object1.getClass().getName()
+                        + " and " + object2.getClass().getName());
+            }
+            if (0 != result) {
+                return result;
+            }
+        }
+        return Integer.compare(key1.length, key2.length);
+    }
+
+    static Object[] deserialiseKey(final byte[] bytes) throws IOException {
+        final DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+        final Object[] key = new Object[in.readInt()];
+        for (int i = 0; i < key.length; i++) {
+            key[i] = readObject(in);
+        }
+        return key;
+    }
+
+    private static void writeObject(final DataOutput out, final Object object) throws IOException {
+        if (null == object) {
+            out.writeByte(0);
+        } else if (object instanceof String) {
+            out.writeByte(1);
+            writeBytes(out, ((String) object).getBytes(StandardCharsets.UTF_8));
+        } else if (object instanceof Long) {
+            out.writeByte(2);
+            out.writeLong((Long) object);
+        } else if (object instanceof Integer) {
+            out.writeByte(3);
+            out.writeInt((Integer) object);
+        } else if (object instanceof Boolean) {
+            out.writeByte(4);
+            out.writeBoolean((Boolean) object);
+        } else if (object instanceof Double) {
+            out.writeByte(5);
+            out.writeDouble((Double) object);
+        } else if (object instanceof Float) {
+            out.writeByte(6);
+            out.writeFloat((Float) object);
+        } else if (object instanceof byte[]) {
+            out.writeByte(7);
+            writeBytes(out, (byte[]) object);
+        } else if (object instanceof Short) {
+            out.writeByte(8);
+            out.writeShort((Short) object);
+        } else {
+            throw new IllegalArgumentException("Cannot index objects of type " + object.getClass().getName());
+        }
+    }
+
+    private static Object readObject(final DataInput in) throws IOException {
+        final byte type = in.readByte();
+        switch (type) {
+            case 0:
+                return null;
+            case 1:
+                return new String(readBytes(in), StandardCharsets.UTF_8);
+            case 2:
+                return in.readLong();
+            case 3:
+                return in.readInt();
+            case 4:
+                return in.readBoolean();
+            case 5:
+                return in.readDouble();
+            case 6:
+                return in.readFloat();
+            case 7:
+                return readBytes(in);
+            case 8:
+                return in.readShort();
+            default:
+                throw new IOException("Unknown type " + type + " in index");
+        }
+    }
+
+    private static void writeBytes(final DataOutput out, final byte[] bytes) throws IOException {
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static byte[] readBytes(final DataInput in) throws IOException {
+        final byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    /**
+     * The index of a single row group.
+     */
+    public static final class RowGroup {
+        private final long rowCount;
+        private final Object[] min;
+        private final Object[] max;
+        private final BloomFilter bloomFilter;
+
+        RowGroup(final long rowCount, final Object[] min, final Object[] max, final BloomFilter bloomFilter) {
+            this.rowCount = rowCount;
+            this.min = min;
+            this.max = max;
+            this.bloomFilter = bloomFilter;
+        }
+
+        public long getRowCount() {
+            return rowCount;
+        }
+
+        public Object[] getMin() {
+            return min;
+        }
+
+        public Object[] getMax() {
+            return max;
+        }
+
+        private boolean mightContain(final Object[] key, final Key bloomKey) {
+            return compareKeys(key, min) >= 0
+                    && compareKeys(key, max) <= 0
+                    && bloomFilter.membershipTest(bloomKey);
+        }
+    }
+
+    /**
+     * Builds a {@link ParquetFileIndex} from the identifiers in each row group of a file, in order.
+     */
+    public static class Builder {
+        private final List<RowGroup> rowGroups = new ArrayList<>();
+        private long rowCount;
+        private Object[] min;
+        private Object[] max;
+        private BloomFilter bloomFilter;
+
+        /**
+         * Starts a new row group.
+         *
+         * @param expectedRowCount the number of rows in the row group, used to size its Bloom filter
+         * @return this builder
+         */
+        public Builder rowGroup(final long expectedRowCount) {
+            endRowGroup();
+            final int numItems = (int) Math.max(1L, Math.min(expectedRowCount, Integer.MAX_VALUE));
+            final int size = (int) Math.min(MAXIMUM_BLOOM_FILTER_SIZE,
+                    Math.max(1L, (long) (-numItems * Math.log(FALSE_POSITIVE_RATE) / Math.pow(Math.log(2.0), 2.0))));
+            final int numHashes = Math.max(1, (int) Math.round((double) size / numItems * Math.log(2.0)));
+            bloomFilter = new BloomFilter(size, numHashes, Hash.MURMUR_HASH);
+            return this;
+        }
+
+        /**
+         * Adds the identifier of a row to the current row group.
+         *
+         * @param key the Parquet objects for the identifier
+         * @return this builder
+         * @throws IllegalArgumentException if the identifier contains a type that cannot be indexed, or differs in
+         *                                  type from the previous identifiers
+         */
+        public Builder add(final Object[] key) {
+            if (null == bloomFilter) {
+                throw new IllegalStateException("rowGroup must be called before adding keys");
+            }
+            bloomFilter.add(new Key(serialiseKey(key)));
+            if (null == min || compareKeys(key, min) < 0) {
+                min = key;
+            }
+            if (null == max || compareKeys(key, max) > 0) {
+                max = key;
+            }
+            rowCount++;
+            return this;
+        }
+
+        public ParquetFileIndex build() {
+            endRowGroup();
+            return new ParquetFileIndex(new ArrayList<>(rowGroups));
+        }
+
+        private void endRowGroup() {
+            if (null != bloomFilter && 0 < rowCount) {
+                rowGroups.add(new RowGroup(rowCount, min, max, bloomFilter));
+            }
+            rowCount = 0;
+            min = null;
+            max = null;
+            bloomFilter = null;
+        }
+    }
+}
@@ -20,7 +20,7 @@ import org.apache.parquet.io.api.GroupConverter;
 import org.apache.parquet.schema.GroupType;
 import org.apache.parquet.schema.Type;
 
-import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -30,20 +30,33 @@ import java.util.Map;
 public class BypassGroupConverter extends GroupConverter {
 
     private final String[] columnPath;
-    private final Map<Integer, Converter> fieldToConverter;
+    private final Converter[] fieldToConverter;
     private final Map<String, Object[]> parquetColumnToObject;
     private final int fieldCount;
+    private final boolean repeated;
 
     public BypassGroupConverter(final Map<String, Object[]> parquetColumnToObject, final GroupType type, final String[] columnPath) {
+        this(parquetColumnToObject, type, columnPath, type.isRepetition(Type.Repetition.REPEATED));
+    }
+
+    /**
+     * @param parquetColumnToObject the map to add the values to
+     * @param type                  the Parquet type of the group
+     * @param columnPath            the path of the group
+     * @param repeated              whether the group, or any group containing it, is repeated
+     */
+    public BypassGroupConverter(final Map<String, Object[]> parquetColumnToObject, final GroupType type,
+                                final String[] columnPath, final boolean repeated) {
         super();
         this.parquetColumnToObject = parquetColumnToObject;
         this.columnPath = columnPath;
         this.fieldCount = type.getFieldCount();
+        this.repeated = repeated;
         this.fieldToConverter = buildFieldToConverter(type);
     }
 
-    private Map<Integer, Converter> buildFieldToConverter(final GroupType schema) {
-        final Map<Integer, Converter> fieldToConverter = new HashMap<>(fieldCount);
+    private Converter[] buildFieldToConverter(final GroupType schema) {
+        final Converter[] fieldToConverter = new Converter[fieldCount];
         int i = 0;
         for (final Type field : schema.getFields()) {
             final String[] newColumnPath = new String[columnPath.length + 1];
@@ -53,10 +66,11 @@ public class BypassGroupConverter extends GroupConverter {
                 j++;
             }
             newColumnPath[j] = field.getName();
+            final boolean fieldRepeated = repeated || field.isRepetition(Type.Repetition.REPEATED);
             if (field.isPrimitive()) {
-                fieldToConverter.put(i, new PrimitiveConverter(parquetColumnToObject, field.asPrimitiveType().getPrimitiveTypeName().javaType.getSimpleName(), newColumnPath, field.getOriginalType()));
+                fieldToConverter[i] = new PrimitiveConverter(parquetColumnToObject, field.asPrimitiveType().getPrimitiveTypeName().javaType.getSimpleName(), newColumnPath, field.getOriginalType(), fieldRepeated);
             } else {
-                fieldToConverter.put(i, new BypassGroupConverter(parquetColumnToObject, field.asGroupType(), newColumnPath));
+                fieldToConverter[i] = new BypassGroupConverter(parquetColumnToObject, field.asGroupType(), newColumnPath, fieldRepeated);
             }
             i++;
         }
@@ -65,7 +79,23 @@ public class BypassGroupConverter extends GroupConverter {
 
     @Override
     public Converter getConverter(final int fieldIndex) {
-        return fieldToConverter.get(fieldIndex);
+        return fieldToConverter[fieldIndex];
+    }
+
+    /**
+     * Adds the {@link PrimitiveConverter}s of the repeated columns in this group, and any groups nested within it,
+     * to the given list.
+     *
+     * @param converters the list to add the converters to
+     */
+    void addRepeatedConverters(final List<PrimitiveConverter> converters) {
+        for (final Converter converter : fieldToConverter) {
+            if (converter instanceof BypassGroupConverter) {
+                ((BypassGroupConverter) converter).addRepeatedConverters(converters);
+            } else if (((PrimitiveConverter) converter).isRepeated()) {
+                converters.add((PrimitiveConverter) converter);
+            }
+        }
     }
 
     @Override
@@ -26,8 +26,11 @@ import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.parquetstore.utils.GafferGroupObjectConverter;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * This class is used by the {@link uk.gov.gchq.gaffer.parquetstore.io.reader.ElementRecordMaterialiser} to materialise
@@ -37,48 +40,84 @@ public class GafferElementConverter extends GroupConverter {
     private static final Logger LOGGER = LoggerFactory.getLogger(GafferElementConverter.class);
     private final boolean isEntity;
     private final GafferGroupObjectConverter gafferGroupObjectConverter;
-    private final Map<Integer, Converter> fieldToConverter;
+    private final Converter[] fieldToConverter;
+    private final PrimitiveConverter[] repeatedConverters;
     private final Map<String, Object[]> parquetColumnToObject;
     private final int fieldCount;
+    private final Set<String> columns;
     private Element currentRecord = null;
 
     public GafferElementConverter(final boolean isEntity, final MessageType schema, final GafferGroupObjectConverter gafferGroupObjectConverter) {
+        this(isEntity, schema, gafferGroupObjectConverter, null);
+    }
+
+    /**
+     * @param isEntity                   is it an Entity that is being built
+     * @param schema                     the Parquet schema of the fields being read, which may be a projection of
+     *                                   the schema of the file
+     * @param gafferGroupObjectConverter the converter for the group
+     * @param columns                    the Gaffer columns included in the schema, or null if it includes all
+     *                                   the columns
+     */
+    public GafferElementConverter(final boolean isEntity, final MessageType schema,
+                                  final GafferGroupObjectConverter gafferGroupObjectConverter, final Set<String> columns) {
         super();
         this.isEntity = isEntity;
+        this.columns = columns;
         this.parquetColumnToObject = new HashMap<>(schema.getFieldCount());
         this.gafferGroupObjectConverter = gafferGroupObjectConverter;
         this.fieldCount = schema.getFieldCount();
         this.fieldToConverter = buildFieldToConverter(schema);
+        this.repeatedConverters = getRepeatedConverters();
     }
 
-    private Map<Integer, Converter> buildFieldToConverter(final MessageType schema) {
-        final Map<Integer, Converter> fieldToConverter = new HashMap<>(fieldCount);
+    private Converter[] buildFieldToConverter(final MessageType schema) {
+        final Converter[] fieldToConverter = new Converter[fieldCount];
         int i = 0;
         for (final Type field : schema.getFields()) {
+            final boolean repeated = field.isRepetition(Type.Repetition.REPEATED);
             if (field.isPrimitive()) {
-                fieldToConverter.put(i, new PrimitiveConverter(parquetColumnToObject, field.asPrimitiveType().getPrimitiveTypeName().javaType.getSimpleName(), new String[]{field.getName()}, field.getOriginalType()));
+                fieldToConverter[i] = new PrimitiveConverter(parquetColumnToObject, field.asPrimitiveType().getPrimitiveTypeName().javaType.getSimpleName(), new String[]{field.getName()}, field.getOriginalType(), repeated);
             } else {
-                fieldToConverter.put(i, new BypassGroupConverter(parquetColumnToObject, field.asGroupType(), new String[]{field.getName()}));
+                fieldToConverter[i] = new BypassGroupConverter(parquetColumnToObject, field.asGroupType(), new String[]{field.getName()}, repeated);
             }
             i++;
         }
         return fieldToConverter;
     }
 
+    private PrimitiveConverter[] getRepeatedConverters() {
+        final List<PrimitiveConverter> converters = new ArrayList<>();
+        for (final Converter converter : fieldToConverter) {
+            if (converter instanceof BypassGroupConverter) {
+                ((BypassGroupConverter) converter).addRepeatedConverters(converters);
+            } else if (((PrimitiveConverter) converter).isRepeated()) {
+                converters.add((PrimitiveConverter) converter);
+            }
+        }
+        return converters.toArray(new PrimitiveConverter[converters.size()]);
+    }
+
     @Override
     public Converter getConverter(final int fieldIndex) {
-        return fieldToConverter.get(fieldIndex);
+        return fieldToConverter[fieldIndex];
     }
 
     @Override
     public void start() {
         parquetColumnToObject.clear();
+        for (final PrimitiveConverter converter : repeatedConverters) {
+            converter.start();
+        }
     }
 
     @Override
     public void end() {
+        for (final PrimitiveConverter converter : repeatedConverters) {
+            converter.end();
+        }
         try {
-            currentRecord = gafferGroupObjectConverter.buildElementFromParquetObjects(parquetColumnToObject, isEntity);
+            currentRecord = gafferGroupObjectConverter.buildElementFromParquetObjects(parquetColumnToObject, isEntity, columns);
         } catch (final SerialisationException e) {
             LOGGER.warn("Failed to build the Element, skipping this Element {}", parquetColumnToObject);
         }
@@ -20,23 +20,76 @@ import org.apache.parquet.io.api.Binary;
 import org.apache.parquet.schema.OriginalType;
 
 import java.lang.reflect.Array;
+import java.util.Arrays;
 import java.util.Map;
 
 /**
  * This class is used to add values from a single Parquet column to the 'parquetColumnToObject' variable which can then
  * be used by the {@link GafferElementConverter} to materialise the {@link uk.gov.gchq.gaffer.data.element.Element}.
+ * <p>
+ * Values of columns that are not repeated are added to the map in an array that is reused for every row. Values of
+ * repeated columns, i.e. lists and maps, are buffered and only added to the map when {@link #end()} is called at the
+ * end of the row. Values decoded from a dictionary are cached, apart from byte arrays as they are mutable.
+ * <p>
+ * Converters created with the deprecated constructor, which does not say whether the column is repeated, append
+ * each value to the array in the map as soon as it is read, as this class used to do for every column.
  */
 public class PrimitiveConverter extends org.apache.parquet.io.api.PrimitiveConverter {
+    private static final int INITIAL_BUFFER_SIZE = 8;
+
     private final Map<String, Object[]> parquetColumnToObject;
     private final String column;
     private Dictionary dictionary;
+    private Object[] dictionaryValues;
     private final String expectedType;
     private final String originalType;
-
+    private final boolean repeated;
+    private final boolean append;
+    private final Object[] value = new Object[1];
+    private Object[] buffer;
+    private int size;
+
+    /**
+     * Creates a converter that appends each value to a new array in the map as soon as it is read, so every row must
+     * start with the column missing from the map.
+     *
+     * @param parquetColumnToObject the map to add the values to
+     * @param expectedType          the Java type of the Parquet primitive type
+     * @param columnPath            the path of the column
+     * @param originalType          the original type of the column, or null if there is none
+     * @deprecated use {@link #PrimitiveConverter(Map, String, String[], OriginalType, boolean)}, which avoids copying
+     * the array for every value
+     */
+    @Deprecated
     public PrimitiveConverter(final Map<String, Object[]> parquetColumnToObject,
                               final String expectedType,
                               final String[] columnPath,
                               final OriginalType originalType) {
+        this(parquetColumnToObject, expectedType, columnPath, originalType, false, true);
+    }
+
+    /**
+     * @param parquetColumnToObject the map to add the values to
+     * @param expectedType          the Java type of the Parquet primitive type
+     * @param columnPath            the path of the column
+     * @param originalType          the original type of the column, or null if there is none
+     * @param repeated              whether the column, or any group containing it, is repeated so there can be more
+     *                              than one value in each row
+     */
+    public PrimitiveConverter(final Map<String, Object[]> parquetColumnToObject,
+                              final String expectedType,
+                              final String[] columnPath,
+                              final OriginalType originalType,
+                              final boolean repeated) {
+        this(parquetColumnToObject, expectedType, columnPath, originalType, repeated, false);
+    }
+
+    private PrimitiveConverter(final Map<String, Object[]> parquetColumnToObject,
+                               final String expectedType,
+                               final String[] columnPath,
+                               final OriginalType originalType,
+                               final boolean repeated,
+                               final boolean append) {
         super();
         this.parquetColumnToObject = parquetColumnToObject;
         this.expectedType = expectedType;
@@ -46,6 +99,15 @@ public class PrimitiveConverter extends org.apache.parquet.io.api.PrimitiveConve
         } else {
             this.originalType = null;
         }
+        this.repeated = repeated;
+        this.append = append;
+        if (repeated) {
+            this.buffer = new Object[INITIAL_BUFFER_SIZE];
+        }
+    }
+
+    public boolean isRepeated() {
+        return repeated;
     }
 
     @Override
@@ -66,10 +128,16 @@ public class PrimitiveConverter extends org.apache.parquet.io.api.PrimitiveConve
     @Override
     public void setDictionary(final Dictionary dictionary) {
         this.dictionary = dictionary;
+        this.dictionaryValues = new Object[dictionary.getMaxId() + 1];
     }
 
     @Override
     public void addValueFromDictionary(final int dictionaryId) {
+        final Object cached = dictionaryValues[dictionaryId];
+        if (null != cached) {
+            addObject(cached);
+            return;
+        }
         switch (expectedType) {
             case "Binary":  final Binary binary = this.dictionary.decodeToBinary(dictionaryId);
                             addBinary(binary);
@@ -89,7 +157,11 @@ public class PrimitiveConverter extends org.apache.parquet.io.api.PrimitiveConve
             case "long":    final long aLong = this.dictionary.decodeToLong(dictionaryId);
                             addLong(aLong);
                             break;
-            default:        break;
+            default:        return;
+        }
+        final Object decoded = lastObject();
+        if (!(decoded instanceof byte[])) {
+            dictionaryValues[dictionaryId] = decoded;
         }
     }
 
@@ -127,17 +199,57 @@ public class PrimitiveConverter extends org.apache.parquet.io.api.PrimitiveConve
         addObject(value);
     }
 
-    private <T extends Object> void addObject(final T object) {
-        final Object[] currentArray = parquetColumnToObject.getOrDefault(column, null);
-        final Object[] newArray;
-        if (null == currentArray) {
-            newArray = (T[]) Array.newInstance(object.getClass(), 1);
-            newArray[0] = object;
+    /**
+     * Discards any buffered values of a repeated column. This must be called at the start of each row.
+     */
+    public void start() {
+        if (repeated && 0 < size) {
+            Arrays.fill(buffer, 0, size, null);
+            size = 0;
+        }
+    }
+
+    /**
+     * Adds the values of a repeated column that have been read in the current row to the map. This must be called
+     * at the end of each row.
+     */
+    public void end() {
+        if (repeated && 0 < size) {
+            // The serialisers expect an array of the type of the values, e.g. a String[]
+            final Object[] values = (Object[]) Array.newInstance(buffer[0].getClass(), size);
+            System.arraycopy(buffer, 0, values, 0, size);
+            Arrays.fill(buffer, 0, size, null);
+            size = 0;
+            parquetColumnToObject.put(column, values);
+        }
+    }
+
+    private void addObject(final Object object) {
+        if (append) {
+            final Object[] currentArray = parquetColumnToObject.get(column);
+            final int length = null == currentArray ? 0 : currentArray.length;
+            final Object[] newArray = (Object[]) Array.newInstance(object.getClass(), length + 1);
+            if (0 < length) {
+                System.arraycopy(currentArray, 0, newArray, 0, length);
+            }
+            newArray[length] = object;
+            parquetColumnToObject.put(column, newArray);
+        } else if (repeated) {
+            if (size == buffer.length) {
+                buffer = Arrays.copyOf(buffer, 2 * size);
+            }
+            buffer[size++] = object;
         } else {
-            newArray = (T[]) Array.newInstance(object.getClass(), currentArray.length + 1);
-            System.arraycopy(currentArray, 0, newArray, 0, currentArray.length);
-            newArray[newArray.length - 1] = object;
+            value[0] = object;
+            parquetColumnToObject.put(column, value);
+        }
+    }
+
+    private Object lastObject() {
+        if (append) {
+            final Object[] values = parquetColumnToObject.get(column);
+            return values[values.length - 1];
         }
-        parquetColumnToObject.put(column, newArray);
+        return repeated ? buffer[size - 1] : value[0];
     }
 }
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.parquetstore.operation;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.koryphe.Since;
+import uk.gov.gchq.koryphe.Summary;
+
+import java.util.Map;
+
+/**
+ * A {@code CompactDeltas} operation aggregates and sorts the current snapshot of a
+ * {@link uk.gov.gchq.gaffer.parquetstore.ParquetStore} together with all the deltas
+ * that have been added to it, and writes the result to a new snapshot which has no deltas.
+ * <p>
+ * Deltas are only created when {@link uk.gov.gchq.gaffer.parquetstore.ParquetStoreProperties#PARQUET_ADD_ELEMENTS_AS_DELTAS}
+ * is set. If the current snapshot has no deltas then this operation does nothing.
+ */
+@JsonPropertyOrder(value = {"class"}, alphabetic = true)
+@Since("1.9.0")
+@Summary("Compacts the deltas of a Parquet store into a new snapshot")
+public class CompactDeltas implements
+        Operation {
+    private Map<String, String> options;
+
+    @Override
+    public Map<String, String> getOptions() {
+        return options;
+    }
+
+    @Override
+    public void setOptions(final Map<String, String> options) {
+        this.options = options;
+    }
+
+    @Override
+    public CompactDeltas shallowClone() {
+        return new CompactDeltas.Builder()
+                .options(options)
+                .build();
+    }
+
+    public static class Builder extends Operation.BaseBuilder<CompactDeltas, Builder> {
+        public Builder() {
+            super(new CompactDeltas());
+        }
+    }
+}
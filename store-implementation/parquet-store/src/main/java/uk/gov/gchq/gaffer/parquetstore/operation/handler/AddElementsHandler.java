@@ -26,12 +26,14 @@ import org.slf4j.LoggerFactory;
 
 import scala.Option;
 
+import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
 import uk.gov.gchq.gaffer.parquetstore.ParquetStore;
 import uk.gov.gchq.gaffer.parquetstore.ParquetStoreProperties;
 import uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities.AggregateAndSortData;
 import uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities.CallableResult;
+import uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities.WriteFileIndexes;
 import uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities.WriteUnsortedData;
 import uk.gov.gchq.gaffer.parquetstore.partitioner.GraphPartitioner;
 import uk.gov.gchq.gaffer.parquetstore.partitioner.Partition;
@@ -65,13 +67,32 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
     public Void doOperation(final AddElements operation,
                             final Context context,
                             final Store store) throws OperationException {
-        addElements(operation, context, (ParquetStore) store);
+        final ParquetStore parquetStore = (ParquetStore) store;
+        final ParquetStoreProperties properties = parquetStore.getProperties();
+        final boolean addAsDelta = properties.getAddElementsAsDeltas()
+                && parquetStore.getDeltas().size() < properties.getMaxDeltas();
+        if (properties.getAddElementsAsDeltas() && !addAsDelta) {
+            LOGGER.info("Snapshot already has {} deltas so compacting them into a new snapshot", parquetStore.getDeltas().size());
+        }
+        addElements(operation.getInput(), context, parquetStore, addAsDelta);
         return null;
     }
 
-    private void addElements(final AddElements addElementsOperation,
-                             final Context context,
-                             final ParquetStore store) throws OperationException {
+    /**
+     * Adds the elements to the store. If {@code addAsDelta} is true then the elements are aggregated and sorted on
+     * their own, and written to a new delta of the current snapshot. Otherwise they are aggregated and sorted with the
+     * data in the current snapshot and all its deltas, and written to a new snapshot.
+     *
+     * @param elements   the elements to add
+     * @param context    the context
+     * @param store      the store
+     * @param addAsDelta whether to add the elements as a new delta
+     * @throws OperationException if the elements could not be added
+     */
+    void addElements(final Iterable<? extends Element> elements,
+                     final Context context,
+                     final ParquetStore store,
+                     final boolean addAsDelta) throws OperationException {
         // Set up
         final FileSystem fs = store.getFS();
         final Schema schema = store.getSchema();
@@ -98,9 +119,10 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
         LOGGER.trace("currentGraphPartitioner is {}", currentGraphPartitioner);
         new WriteUnsortedData(store, currentGraphPartitioner,
                 directoryForGroupAndPartitionId, directoryForGroupAndPartitionIdForReversedEdges)
-                .writeElements(addElementsOperation.getInput());
+                .writeElements(elements);
 
-        // For every group and partition, aggregate the new data with the old data and then sort
+        // For every group and partition, aggregate the new data with the old data (unless the new data is being
+        // added as a delta) and then sort
         final BiFunction<String, Integer, String> directoryForSortedResultsForGroupAndPartitionId = (group, partitionId) ->
                 tmpDirectory
                         + "/sorted_new_old_merged"
@@ -118,8 +140,10 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
                 final List<String> inputFiles = new ArrayList<>();
                 // New data
                 inputFiles.add(directoryForGroupAndPartitionId.apply(group, partition.getPartitionId()));
-                // Old data
-                inputFiles.add(store.getFile(group, partition));
+                if (!addAsDelta) {
+                    // Old data
+                    addExistingFiles(store, store.getFile(group, partition), inputFiles);
+                }
                 final String outputDir = directoryForSortedResultsForGroupAndPartitionId.apply(group, partition.getPartitionId());
                 final AggregateAndSortData task = new AggregateAndSortData(schemaUtils, fs, inputFiles, outputDir,
                         group, group + "-" + partition.getPartitionId(), false, store.getProperties().getCompressionCodecName(), spark);
@@ -133,8 +157,10 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
                 final List<String> inputFiles = new ArrayList<>();
                 // New data
                 inputFiles.add(directoryForGroupAndPartitionIdForReversedEdges.apply(group, partition.getPartitionId()));
-                // Old data
-                inputFiles.add(store.getFileForReversedEdges(group, partition));
+                if (!addAsDelta) {
+                    // Old data
+                    addExistingFiles(store, store.getFileForReversedEdges(group, partition), inputFiles);
+                }
                 final String outputDir = directoryForSortedResultsForGroupAndPartitionIdForReversedEdges.apply(group, partition.getPartitionId());
                 final AggregateAndSortData task = new AggregateAndSortData(schemaUtils, fs, inputFiles, outputDir,
                         group, "reversed-" + group + "-" + partition.getPartitionId(), true, store.getProperties().getCompressionCodecName(), spark);
@@ -157,13 +183,16 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
         }
 
         try {
-            // Move results to a new snapshot directory (the -tmp at the end allows us to add data to the directory,
-            // and then when this is all finished we rename the directory to remove the -tmp; this allows us to make
-            // the replacement of the old data with the new data an atomic operation and ensures that a get operation
-            // against the store will not read the directory when only some of the data has been moved there).
-            final long snapshot = System.currentTimeMillis();
-            final String newDataDir = store.getDataDir() + "/" + ParquetStore.getSnapshotPath(snapshot) + "-tmp";
-            LOGGER.info("Moving aggregated and sorted data to new snapshot directory {}", newDataDir);
+            // Move results to a new snapshot or delta directory (the -tmp at the end allows us to add data to the
+            // directory, and then when this is all finished we rename the directory to remove the -tmp; this allows
+            // us to make the replacement of the old data with the new data an atomic operation and ensures that a
+            // get operation against the store will not read the directory when only some of the data has been moved
+            // there).
+            final long timestamp = System.currentTimeMillis();
+            final String newDataDir = addAsDelta
+                    ? store.getDeltasPath() + "/" + ParquetStore.getDeltaPath(timestamp) + "-tmp"
+                    : store.getDataDir() + "/" + ParquetStore.getSnapshotPath(timestamp) + "-tmp";
+            LOGGER.info("Moving aggregated and sorted data to new {} directory {}", addAsDelta ? "delta" : "snapshot", newDataDir);
             fs.mkdirs(new Path(newDataDir));
             for (final String group : schema.getGroups()) {
                 final Path groupDir = new Path(newDataDir, ParquetStore.getGroupSubDir(group, false));
@@ -176,73 +205,85 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
                 LOGGER.info("Created directory {}", groupDir);
             }
             for (final String group : schema.getGroups()) {
-                final String groupDir = newDataDir + "/" + ParquetStore.getGroupSubDir(group, false);
-                final List<Partition> partitions = currentGraphPartitioner.getGroupPartitioner(group).getPartitions();
-                for (final Partition partition : partitions) {
-                    final Path outputDir = new Path(directoryForSortedResultsForGroupAndPartitionId.apply(group, partition.getPartitionId()));
-                    if (!fs.exists(outputDir)) {
-                        LOGGER.info("Not moving data for group {}, partition id {} as the outputDir {} does not exist",
-                                group, partition.getPartitionId(), outputDir);
-                    } else {
-                        // One .parquet file and one .parquet.crc file
-                        final FileStatus[] status = fs.listStatus(outputDir, path -> path.getName().endsWith(".parquet"));
-                        if (1 != status.length) {
-                            LOGGER.error("Didn't find one Parquet file in path {} (found {} files)", outputDir, status.length);
-                            throw new OperationException("Expected to find one Parquet file in path " + outputDir
-                                    + " (found " + status.length + " files)");
-                        } else {
-                            final Path destination = new Path(groupDir, ParquetStore.getFile(partition.getPartitionId()));
-                            LOGGER.info("Renaming {} to {}", status[0].getPath(), destination);
-                            fs.rename(status[0].getPath(), destination);
-                        }
-                    }
-                }
+                moveSortedFiles(fs, group, currentGraphPartitioner.getGroupPartitioner(group).getPartitions(),
+                        directoryForSortedResultsForGroupAndPartitionId,
+                        new Path(newDataDir, ParquetStore.getGroupSubDir(group, false)));
             }
             for (final String group : schema.getEdgeGroups()) {
-                final String groupDir = newDataDir + "/" + ParquetStore.getGroupSubDir(group, true);
-                final List<Partition> partitions = currentGraphPartitioner.getGroupPartitionerForReversedEdges(group).getPartitions();
-                for (final Partition partition : partitions) {
-                    final Path outputDir = new Path(directoryForSortedResultsForGroupAndPartitionIdForReversedEdges.apply(group, partition.getPartitionId()));
-                    if (!fs.exists(outputDir)) {
-                        LOGGER.info("Not moving data for reversed edge group {}, partition id {} as the outputDir {} does not exist",
-                                group, partition.getPartitionId(), outputDir);
-                    } else {
-                        // One .parquet file and one .parquet.crc file
-                        final FileStatus[] status = fs.listStatus(outputDir, path -> path.getName().endsWith(".parquet"));
-                        if (1 != status.length) {
-                            LOGGER.error("Didn't find one Parquet file in path {} (found {} files)", outputDir, status.length);
-                            throw new OperationException("Expected to find one Parquet file in path " + outputDir
-                                    + " (found " + status.length + " files)");
-                        } else {
-                            final Path destination = new Path(groupDir, ParquetStore.getFile(partition.getPartitionId()));
-                            LOGGER.info("Renaming {} to {}", status[0].getPath(), destination);
-                            fs.rename(status[0].getPath(), destination);
-                        }
-                    }
-                }
+                moveSortedFiles(fs, group, currentGraphPartitioner.getGroupPartitionerForReversedEdges(group).getPartitions(),
+                        directoryForSortedResultsForGroupAndPartitionIdForReversedEdges,
+                        new Path(newDataDir, ParquetStore.getGroupSubDir(group, true)));
+            }
+            if (store.getProperties().getWriteSeedIndex()) {
+                LOGGER.info("Writing indexes of the files in {}", newDataDir);
+                new WriteFileIndexes(new Path(newDataDir), schemaUtils, fs).call();
             }
 
             // Delete temporary data directory
             LOGGER.info("Deleting temporary directory {}", tmpDirectory);
             fs.delete(new Path(tmpDirectory), true);
-            // Write out graph partitioner (unchanged from previous one)
-            final Path newGraphPartitionerPath = new Path(newDataDir + "/graphPartitioner");
-            final FSDataOutputStream stream = fs.create(newGraphPartitionerPath);
-            LOGGER.info("Writing graph partitioner to {}", newGraphPartitionerPath);
-            new GraphPartitionerSerialiser().write(currentGraphPartitioner, stream);
-            stream.close();
-            // Move snapshot-tmp directory to snapshot
+            if (!addAsDelta) {
+                // Write out graph partitioner (unchanged from previous one)
+                final Path newGraphPartitionerPath = new Path(newDataDir + "/graphPartitioner");
+                final FSDataOutputStream stream = fs.create(newGraphPartitionerPath);
+                LOGGER.info("Writing graph partitioner to {}", newGraphPartitionerPath);
+                new GraphPartitionerSerialiser().write(currentGraphPartitioner, stream);
+                stream.close();
+            }
+            // Move snapshot-tmp or delta-tmp directory to snapshot or delta
             final String directoryWithoutTmp = newDataDir.substring(0, newDataDir.lastIndexOf("-tmp"));
             LOGGER.info("Renaming {} to {}", newDataDir, directoryWithoutTmp);
             fs.rename(new Path(newDataDir), new Path(directoryWithoutTmp));
-            // Set snapshot on store to new value
-            LOGGER.info("Updating latest snapshot on store to {}", snapshot);
-            store.setLatestSnapshot(snapshot);
+            if (addAsDelta) {
+                // Add delta to the current snapshot on store
+                LOGGER.info("Adding delta {} to the current snapshot on store", timestamp);
+                store.addDelta(timestamp);
+            } else {
+                // Set snapshot on store to new value
+                LOGGER.info("Updating latest snapshot on store to {}", timestamp);
+                store.setLatestSnapshot(timestamp);
+            }
         } catch (final IOException | StoreException e) {
             throw new OperationException("IOException moving results files into new snapshot directory", e);
         }
     }
 
+    /**
+     * Adds the file in the current snapshot, and the corresponding files in its deltas, to the list of input files.
+     */
+    private static void addExistingFiles(final ParquetStore store, final String file, final List<String> inputFiles) {
+        inputFiles.add(file);
+        for (final Path deltaFile : store.getDeltaFiles(new Path(file))) {
+            inputFiles.add(deltaFile.toString());
+        }
+    }
+
+    private static void moveSortedFiles(final FileSystem fs,
+                                        final String group,
+                                        final List<Partition> partitions,
+                                        final BiFunction<String, Integer, String> directoryForSortedResults,
+                                        final Path groupDir) throws IOException, OperationException {
+        for (final Partition partition : partitions) {
+            final Path outputDir = new Path(directoryForSortedResults.apply(group, partition.getPartitionId()));
+            if (!fs.exists(outputDir)) {
+                LOGGER.info("Not moving data for group {}, partition id {} as the outputDir {} does not exist",
+                        group, partition.getPartitionId(), outputDir);
+            } else {
+                // One .parquet file and one .parquet.crc file
+                final FileStatus[] status = fs.listStatus(outputDir, path -> path.getName().endsWith(".parquet"));
+                if (1 != status.length) {
+                    LOGGER.error("Didn't find one Parquet file in path {} (found {} files)", outputDir, status.length);
+                    throw new OperationException("Expected to find one Parquet file in path " + outputDir
+                            + " (found " + status.length + " files)");
+                } else {
+                    final Path destination = new Path(groupDir, ParquetStore.getFile(partition.getPartitionId()));
+                    LOGGER.info("Renaming {} to {}", status[0].getPath(), destination);
+                    fs.rename(status[0].getPath(), destination);
+                }
+            }
+        }
+    }
+
     private static ExecutorService createThreadPool(final SparkSession spark, final ParquetStoreProperties storeProperties) {
         final int numberOfThreads;
         final Option<String> sparkDriverCores = spark.conf().getOption("spark.driver.cores");
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.parquetstore.operation.handler;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.parquetstore.ParquetStore;
+import uk.gov.gchq.gaffer.parquetstore.operation.CompactDeltas;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.operation.handler.OperationHandler;
+
+import java.util.Collections;
+
+/**
+ * An {@link OperationHandler} for the {@link CompactDeltas} operation on the {@link ParquetStore}.
+ */
+public class CompactDeltasHandler implements OperationHandler<CompactDeltas> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CompactDeltasHandler.class);
+
+    @Override
+    public Void doOperation(final CompactDeltas operation,
+                            final Context context,
+                            final Store store) throws OperationException {
+        final ParquetStore parquetStore = (ParquetStore) store;
+        if (parquetStore.getDeltas().isEmpty()) {
+            LOGGER.info("Not compacting as the current snapshot has no deltas");
+            return null;
+        }
+        LOGGER.info("Compacting {} deltas into a new snapshot", parquetStore.getDeltas().size());
+        new AddElementsHandler().addElements(Collections.emptyList(), context, parquetStore, false);
+        return null;
+    }
+}
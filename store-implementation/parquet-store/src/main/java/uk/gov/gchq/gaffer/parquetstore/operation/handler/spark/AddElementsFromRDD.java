@@ -34,6 +34,7 @@ import uk.gov.gchq.gaffer.parquetstore.operation.handler.spark.utilities.WriteDa
 import uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities.AggregateDataForGroup;
 import uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities.CalculatePartitioner;
 import uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities.SortFullGroup;
+import uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities.WriteFileIndexes;
 import uk.gov.gchq.gaffer.parquetstore.partitioner.GraphPartitioner;
 import uk.gov.gchq.gaffer.parquetstore.partitioner.serialisation.GraphPartitionerSerialiser;
 import uk.gov.gchq.gaffer.parquetstore.utils.SchemaUtils;
@@ -139,9 +140,11 @@ public class AddElementsFromRDD {
                 throw new OperationException("IOException finding Parquet files in " + groupDirectoryNewData, e);
             }
             Arrays.stream(newData).map(f -> f.getPath().toString()).forEach(inputFiles::add);
-            final List<Path> existingData;
+            final List<Path> existingData = new ArrayList<>();
             try {
-                existingData = store.getFilesForGroup(group);
+                // The deltas are compacted into the new snapshot along with the existing snapshot
+                existingData.addAll(store.getFilesForGroup(group));
+                existingData.addAll(store.getDeltaFilesForGroup(group));
             } catch (final IOException e) {
                 throw new OperationException("IOException finding files for group " + group, e);
             }
@@ -182,7 +185,8 @@ public class AddElementsFromRDD {
                     final FileStatus[] newData = fs
                             .listStatus(new Path(groupDirectoryNewData), path -> path.getName().endsWith(".parquet"));
                     Arrays.stream(newData).map(f -> f.getPath().toString()).forEach(inputFiles::add);
-                    final List<Path> existingData = store.getFilesForGroup(group);
+                    final List<Path> existingData = new ArrayList<>(store.getFilesForGroup(group));
+                    existingData.addAll(store.getDeltaFilesForGroup(group));
                     existingData.stream().map(p -> p.toString()).forEach(inputFiles::add);
                 }
                 sort(group, false, inputFiles, outputDir);
@@ -299,6 +303,10 @@ public class AddElementsFromRDD {
                 LOGGER.debug("Renaming {} to {}", fss[i].getPath(), destination);
                 fs.rename(fss[i].getPath(), destination);
             }
+            if (store.getProperties().getWriteSeedIndex()) {
+                LOGGER.info("Writing indexes of the files in {}", newDataDir);
+                new WriteFileIndexes(new Path(newDataDir), schemaUtils, fs).call();
+            }
 
             // Move snapshot-tmp directory to snapshot
             final String directoryWithoutTmp = newDataDir.substring(0, newDataDir.lastIndexOf("-tmp"));
@@ -38,7 +38,9 @@ import java.io.Serializable;
 
 /**
  * An {@link uk.gov.gchq.gaffer.store.operation.handler.OperationHandler} for the {@link GetDataFrameOfElements}
- * operation on the {@link ParquetStore}.
+ * operation on the {@link ParquetStore}. The operation fails if the current snapshot has deltas, as only the snapshot
+ * can be read as a DataFrame; {@link uk.gov.gchq.gaffer.parquetstore.operation.CompactDeltas} merges the deltas into
+ * the snapshot.
  */
 public class GetDataFrameOfElementsHandler implements OutputOperationHandler<GetDataFrameOfElements, Dataset<Row>>, Serializable {
     private static final Logger LOGGER = LoggerFactory.getLogger(GetDataFrameOfElementsHandler.class);
@@ -61,6 +63,11 @@ public class GetDataFrameOfElementsHandler implements OutputOperationHandler<Get
                         .edges(store.getSchema().getEdgeGroups()).build())) {
             throw new OperationException("This operation does not currently support views");
         }
+        if (!store.getDeltas().isEmpty()) {
+            // The deltas need merging and aggregating with the snapshot, which a DataFrame of the files cannot do
+            throw new OperationException("This operation does not currently support snapshots with deltas: the "
+                    + "current snapshot has " + store.getDeltas().size() + " deltas, run CompactDeltas first");
+        }
         LOGGER.debug("Creating a Dataset<Row> from path {} with option mergeSchema=true", store.getGraphPath());
 
         final StructType schema = new SchemaUtils(store.getSchema()).getMergedSparkSchema(store.getSchema().getGroups());
@@ -21,6 +21,9 @@ import org.slf4j.LoggerFactory;
 
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.commonutil.iterable.ConcurrentProducerIterator;
+import uk.gov.gchq.gaffer.commonutil.iterable.ConcurrentProducerIterator.Producer;
+import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.operation.Operation;
@@ -28,31 +31,40 @@ import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
 import uk.gov.gchq.gaffer.parquetstore.ParquetStore;
+import uk.gov.gchq.gaffer.parquetstore.query.ParquetFileQuery;
 import uk.gov.gchq.gaffer.parquetstore.query.ParquetQuery;
 import uk.gov.gchq.gaffer.parquetstore.query.QueryGenerator;
 import uk.gov.gchq.gaffer.user.User;
 
 import java.io.IOException;
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.NoSuchElementException;
-import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Converts the inputs for get element operations to a mapping of files to Parquet filters which is
  * then looped over to retrieve the filtered Elements.
+ * <p>
+ * The files are read by up to {@link uk.gov.gchq.gaffer.parquetstore.ParquetStoreProperties#getThreadsAvailable()}
+ * tasks per query, on the store's pool of at most
+ * {@link uk.gov.gchq.gaffer.parquetstore.ParquetStoreProperties#getRetrieverMaxThreads()} threads, shared by all
+ * queries. When every thread is busy, the tasks wait in the pool's queue. The elements are passed to the iterator
+ * through a queue of at most {@link uk.gov.gchq.gaffer.parquetstore.ParquetStoreProperties#getRetrieverQueueSize()}
+ * elements, so elements are returned as soon as they are read and the tasks wait when the consumer falls
+ * behind. If a task fails, the error is thrown by the iterator straight away. Closing the iterator
+ * stops the tasks.
  */
 public class ParquetElementRetriever implements CloseableIterable<Element> {
     private static final Logger LOGGER = LoggerFactory.getLogger(ParquetElementRetriever.class);
+    private static final AtomicInteger ACTIVE_READERS = new AtomicInteger();
 
     private final ParquetStore store;
     private final Operation operation;
     private final User user;
+    private final Set<ParquetIterator> iterators = Collections.newSetFromMap(new ConcurrentHashMap<>());
 
     public ParquetElementRetriever(final ParquetStore store, final Operation operation, final User user) {
         if (!(operation instanceof GetElements) && !(operation instanceof GetAllElements)) {
@@ -63,23 +75,33 @@ public class ParquetElementRetriever implements CloseableIterable<Element> {
         this.user = user;
     }
 
+    /**
+     * @return the number of tasks reading files, across all queries and stores
+     */
+    public static int getActiveReaders() {
+        return ACTIVE_READERS.get();
+    }
+
     @Override
     public void close() {
+        for (final ParquetIterator iterator : iterators) {
+            iterator.close();
+        }
     }
 
     @Override
     public CloseableIterator<Element> iterator() {
         try {
-            return new ParquetIterator(store, operation, user);
+            final ParquetIterator iterator = new ParquetIterator(store, operation, user);
+            iterators.add(iterator);
+            return iterator;
         } catch (final OperationException e) {
             throw new RuntimeException("Exception in iterator()", e);
         }
     }
 
     protected static class ParquetIterator implements CloseableIterator<Element> {
-        private ConcurrentLinkedQueue<Element> queue;
-        private List<Future<OperationException>> runningTasks;
-        private ExecutorService executorServicePool;
+        private CloseableIterator<Element> elements;
 
         protected ParquetIterator(final ParquetStore store, final Operation operation, final User user) throws OperationException {
             final QueryGenerator queryGenerator = new QueryGenerator(store);
@@ -93,90 +115,63 @@ public class ParquetElementRetriever implements CloseableIterable<Element> {
                 final ParquetQuery parquetQuery = queryGenerator.getParquetQuery(operation);
                 LOGGER.debug("Created ParquetQuery {}", parquetQuery);
                 if (!parquetQuery.isEmpty()) {
-                    queue = new ConcurrentLinkedQueue<>();
-                    executorServicePool = Executors.newFixedThreadPool(store.getProperties().getThreadsAvailable());
-                    final List<RetrieveElementsFromFile> tasks = new ArrayList<>();
-                    tasks.addAll(parquetQuery.getAllParquetFileQueries()
-                            .stream()
-                            .map(entry -> new RetrieveElementsFromFile(entry.getFile(), entry.getFilter(),
-                                    store.getSchema(), queue, !entry.isFullyApplied(),
-                                    store.getProperties().getSkipValidation(), view, user))
-                            .collect(Collectors.toList()));
-                    LOGGER.info("Invoking {} RetrieveElementsFromFile tasks", tasks.size());
-                    runningTasks = executorServicePool.invokeAll(tasks);
+                    final List<ParquetFileQuery> fileQueries = parquetQuery.getAllParquetFileQueries();
+                    final int numThreads = Math.max(1, Math.min(fileQueries.size(), store.getProperties().getThreadsAvailable()));
+                    LOGGER.info("Running {} RetrieveElementsFromFile tasks using {} threads", fileQueries.size(), numThreads);
+                    elements = runTasks(store, fileQueries, view, user, numThreads);
                 } else {
                     LOGGER.warn("No paths found - there will be no results from this query");
                 }
             } catch (final IOException | OperationException e) {
                 LOGGER.error("Exception while creating the mapping of file paths to Parquet filters: {}", e.getMessage());
                 throw new OperationException("Exception creating ParquetIterator", e);
-            } catch (final InterruptedException e) {
-                LOGGER.error("InterruptedException in ParquetIterator {}", e.getMessage());
-                throw new OperationException("InterruptedException in ParquetIterator", e);
             }
         }
 
-        @Override
-        public boolean hasNext() {
-            if (null != queue) {
-                if (queue.isEmpty()) {
-                    boolean finishedAllTasks = runningTasks.isEmpty();
-                    while (!finishedAllTasks && queue.isEmpty()) {
-                        try {
-                            finishedAllTasks = hasFinishedAllTasks();
-                            if (!finishedAllTasks) {
-                                wait(100L);
-                            }
-                        } catch (final Exception e) {
-                            LOGGER.error(e.getMessage(), e);
-                            finishedAllTasks = true;
+        private static CloseableIterator<Element> runTasks(final ParquetStore store, final List<ParquetFileQuery> fileQueries,
+                                                           final View view, final User user, final int numThreads) {
+            // Each thread takes the next file until there are none left
+            final AtomicInteger nextFile = new AtomicInteger();
+            final Producer<Element> producer = sink -> {
+                ACTIVE_READERS.incrementAndGet();
+                try {
+                    int file;
+                    while (!sink.isClosed() && (file = nextFile.getAndIncrement()) < fileQueries.size()) {
+                        final ParquetFileQuery fileQuery = fileQueries.get(file);
+                        final OperationException taskResult = new RetrieveElementsFromFile(fileQuery.getFile(),
+                                fileQuery.getDeltaFiles(), fileQuery.getFilter(), store.getSchema(), sink,
+                                !fileQuery.isFullyApplied(), store.getProperties().getSkipValidation(), view, user).call();
+                        if (null != taskResult) {
+                            throw taskResult;
                         }
                     }
-                    return !queue.isEmpty();
-                } else {
-                    return true;
+                } finally {
+                    ACTIVE_READERS.decrementAndGet();
                 }
-            } else {
-                return false;
-            }
+            };
+            return new ConcurrentProducerIterator<>(Collections.nCopies(numThreads, producer), store.getReaderExecutorService(),
+                    store.getProperties().getRetrieverQueueSize(), ConcurrentProducerIterator.DEFAULT_ABANDON_TIMEOUT_MILLIS,
+                    GafferRuntimeException::new);
         }
 
-        private boolean hasFinishedAllTasks() throws ExecutionException, InterruptedException, OperationException {
-            final List<Future<OperationException>> completedTasks = new ArrayList<>();
-            for (final Future<OperationException> task : runningTasks) {
-                if (task.isDone()) {
-                    final OperationException taskResult = task.get();
-                    if (null != taskResult) {
-                        throw taskResult;
-                    } else {
-                        completedTasks.add(task);
-                    }
-                }
-            }
-            runningTasks.removeAll(completedTasks);
-            return runningTasks.isEmpty();
+        @Override
+        public boolean hasNext() {
+            return null != elements && elements.hasNext();
         }
 
         @Override
         public Element next() throws NoSuchElementException {
-            Element e;
-            while (hasNext()) {
-                e = queue.poll();
-                if (null != e) {
-                    return e;
-                }
+            if (!hasNext()) {
+                throw new NoSuchElementException();
             }
-            throw new NoSuchElementException();
+            return elements.next();
         }
 
         @Override
         public void close() {
-            if (null != executorServicePool) {
-                executorServicePool.shutdown();
-                executorServicePool = null;
+            if (null != elements) {
+                elements.close();
             }
-            queue = null;
-            runningTasks = null;
         }
     }
 }
@@ -16,6 +16,8 @@
 
 package uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities;
 
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.parquet.filter2.compat.FilterCompat;
 import org.apache.parquet.filter2.predicate.FilterPredicate;
@@ -27,35 +29,51 @@ import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.Authorisations;
 import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.ElementVisibility;
 import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.VisibilityEvaluator;
 import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.exception.VisibilityParseException;
+import uk.gov.gchq.gaffer.commonutil.iterable.ConcurrentProducerIterator.Sink;
+import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewUtil;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.parquetstore.ParquetStore;
 import uk.gov.gchq.gaffer.parquetstore.io.reader.ParquetElementReader;
 import uk.gov.gchq.gaffer.parquetstore.utils.GafferGroupObjectConverter;
 import uk.gov.gchq.gaffer.parquetstore.utils.SchemaUtils;
+import uk.gov.gchq.gaffer.parquetstore.utils.SeedComparator;
 import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.util.AggregatorUtil;
 import uk.gov.gchq.gaffer.user.User;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
 import java.util.Set;
 import java.util.concurrent.Callable;
-import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
- * Used to retrieve the elements from a single file and put the elements into a shared
- * {@link java.util.concurrent.ConcurrentLinkedQueue}.
+ * Used to retrieve the elements from a single file and add the elements to a shared
+ * {@link Sink}. This waits when the sink is full, and it stops reading the file if the
+ * sink is closed or the thread is interrupted.
+ * <p>
+ * If there are delta files for the same group and partition as the file then the file and
+ * the delta files, which are all sorted by the identifiers, are merged. Elements with the
+ * same identifiers are aggregated using the ingest aggregation in the schema before the
+ * view is applied.
  */
 public class RetrieveElementsFromFile implements Callable<OperationException> {
     private static final Logger LOGGER = LoggerFactory.getLogger(RetrieveElementsFromFile.class);
 
     private final Path filePath;
+    private final List<Path> deltaFiles;
     private final FilterPredicate filter;
     private final byte[] jsonGafferSchema;
     private transient SchemaUtils schemaUtils;
-    private final ConcurrentLinkedQueue<Element> queue;
+    private final Sink<Element> sink;
     private transient ElementFilter elementFilter;
     private final byte[] elementDefinitionJson;
     private final boolean needsValidatorsAndFiltersApplying;
@@ -69,13 +87,28 @@ public class RetrieveElementsFromFile implements Callable<OperationException> {
     public RetrieveElementsFromFile(final Path filePath,
                                     final FilterPredicate filter,
                                     final Schema gafferSchema,
-                                    final ConcurrentLinkedQueue<Element> queue,
+                                    final Sink<Element> sink,
                                     final boolean needsValidatorsAndFiltersApplying,
                                     final boolean skipValidation,
                                     final View view,
                                     final User user) {
-        LOGGER.info("Creating RetrieveElementsFromFile for path {} with predicate {}", filePath, filter);
+        this(filePath, Collections.emptyList(), filter, gafferSchema, sink, needsValidatorsAndFiltersApplying,
+                skipValidation, view, user);
+    }
+
+    public RetrieveElementsFromFile(final Path filePath,
+                                    final List<Path> deltaFiles,
+                                    final FilterPredicate filter,
+                                    final Schema gafferSchema,
+                                    final Sink<Element> sink,
+                                    final boolean needsValidatorsAndFiltersApplying,
+                                    final boolean skipValidation,
+                                    final View view,
+                                    final User user) {
+        LOGGER.info("Creating RetrieveElementsFromFile for path {} and {} delta files with predicate {}",
+                filePath, deltaFiles.size(), filter);
         this.filePath = filePath;
+        this.deltaFiles = deltaFiles;
         this.filter = filter;
         this.jsonGafferSchema = gafferSchema.toCompactJson();
         this.gafferSchema = gafferSchema;
@@ -93,7 +126,7 @@ public class RetrieveElementsFromFile implements Callable<OperationException> {
             this.auths = new Authorisations();
         }
 
-        this.queue = queue;
+        this.sink = sink;
         this.view = view;
         this.needsValidatorsAndFiltersApplying = needsValidatorsAndFiltersApplying;
         this.skipValidation = skipValidation;
@@ -113,63 +146,156 @@ public class RetrieveElementsFromFile implements Callable<OperationException> {
         if (null == schemaUtils) {
             schemaUtils = new SchemaUtils(Schema.fromJson(jsonGafferSchema));
         }
+        if (!deltaFiles.isEmpty()) {
+            mergeFiles();
+            return null;
+        }
+        ParquetReader<Element> fileReader = null;
         try {
-            final ParquetReader<Element> fileReader = openParquetReader();
+            fileReader = openParquetReader(filePath, getRequiredColumns());
             Element e = fileReader.read();
             while (null != e) {
-                if (!visibility.isEmpty()) {
-                    if (isVisible(e)) {
-                        if (needsValidatorsAndFiltersApplying) {
-                            final String group = e.getGroup();
-                            final ElementFilter validatorFilter = gafferSchema.getElement(group).getValidator(false);
-                            if (skipValidation || validatorFilter == null || validatorFilter.test(e)) {
-                                if (elementFilter == null || elementFilter.test(e)) {
-                                    ViewUtil.removeProperties(view, e);
-                                    queue.add(e);
-                                }
-                            }
-                        } else {
-                            ViewUtil.removeProperties(view, e);
-                            queue.add(e);
-                        }
-                    }
-                } else if (needsValidatorsAndFiltersApplying) {
-                    final String group = e.getGroup();
-                    final ElementFilter validatorFilter = gafferSchema.getElement(group).getValidator(false);
-                    if (skipValidation || validatorFilter == null || validatorFilter.test(e)) {
-                        if (elementFilter == null || elementFilter.test(e)) {
-                            ViewUtil.removeProperties(view, e);
-                            queue.add(e);
-                        }
-                    }
-                } else {
-                    ViewUtil.removeProperties(view, e);
-                    queue.add(e);
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedException("Interrupted whilst reading file " + filePath);
+                }
+                if (!addElement(e)) {
+                    LOGGER.debug("Stopped reading file {} as the results are no longer wanted", filePath);
+                    break;
                 }
                 e = fileReader.read();
             }
-            fileReader.close();
         } catch (final IOException ignore) {
             LOGGER.error("IOException reading file", ignore);
             // ignore as this file does not exist
+        } finally {
+            closeReader(fileReader, filePath);
         }
         return null;
     }
 
-    private ParquetReader<Element> openParquetReader() throws IOException {
+    private void mergeFiles() throws IOException, InterruptedException, VisibilityParseException {
+        final List<Path> files = new ArrayList<>(deltaFiles.size() + 1);
+        files.add(filePath);
+        files.addAll(deltaFiles);
+        final FileSystem fs = filePath.getFileSystem(new Configuration());
+        final boolean reversed = ParquetStore.REVERSED_EDGES.equals(filePath.getParent().getParent().getName());
+        final GafferGroupObjectConverter converter = schemaUtils.getConverter(group);
+        final SeedComparator comparator = new SeedComparator();
+        final PriorityQueue<MergeEntry> entries = new PriorityQueue<>((a, b) -> {
+            final int result = comparator.compare(a.key, b.key);
+            return 0 != result ? result : Integer.compare(a.fileIndex, b.fileIndex);
+        });
+        final List<ParquetReader<Element>> readers = new ArrayList<>(files.size());
+        try {
+            for (final Path file : files) {
+                if (!fs.exists(file)) {
+                    // Not every partition has data in the snapshot and in every delta
+                    continue;
+                }
+                // All the columns are read as the aggregators need all the properties
+                final ParquetReader<Element> reader = openParquetReader(file, null);
+                readers.add(reader);
+                final MergeEntry entry = new MergeEntry(reader, readers.size() - 1);
+                if (entry.advance(converter, reversed)) {
+                    entries.add(entry);
+                }
+            }
+            LOGGER.debug("Merging {} files for path {}", readers.size(), filePath);
+
+            final List<Element> elementsWithSameKey = new ArrayList<>();
+            while (!entries.isEmpty()) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedException("Interrupted whilst merging file " + filePath);
+                }
+                final MergeEntry first = entries.poll();
+                final Object[] key = first.key;
+                elementsWithSameKey.add(first.element);
+                if (first.advance(converter, reversed)) {
+                    entries.add(first);
+                }
+                while (!entries.isEmpty() && 0 == comparator.compare(entries.peek().key, key)) {
+                    final MergeEntry next = entries.poll();
+                    elementsWithSameKey.add(next.element);
+                    if (next.advance(converter, reversed)) {
+                        entries.add(next);
+                    }
+                }
+                if (1 == elementsWithSameKey.size()) {
+                    if (!addElement(elementsWithSameKey.get(0))) {
+                        return;
+                    }
+                } else {
+                    for (final Element element : AggregatorUtil.ingestAggregate(elementsWithSameKey, gafferSchema)) {
+                        if (!addElement(element)) {
+                            return;
+                        }
+                    }
+                }
+                elementsWithSameKey.clear();
+            }
+        } finally {
+            for (final ParquetReader<Element> reader : readers) {
+                closeReader(reader, filePath);
+            }
+        }
+    }
+
+    /**
+     * Adds the element to the sink if it is visible and passes the filters.
+     *
+     * @param e the element
+     * @return false if the sink is closed, so no more elements should be read
+     * @throws VisibilityParseException if the visibility of the element cannot be parsed
+     */
+    private boolean addElement(final Element e) throws VisibilityParseException {
+        if (!visibility.isEmpty() && !isVisible(e)) {
+            return !sink.isClosed();
+        }
+        if (needsValidatorsAndFiltersApplying) {
+            final ElementFilter validatorFilter = gafferSchema.getElement(e.getGroup()).getValidator(false);
+            if (!skipValidation && null != validatorFilter && !validatorFilter.test(e)) {
+                return !sink.isClosed();
+            }
+            if (null != elementFilter && !elementFilter.test(e)) {
+                return !sink.isClosed();
+            }
+        }
+        ViewUtil.removeProperties(view, e);
+        return sink.add(e);
+    }
+
+    private Set<String> getRequiredColumns() {
+        // Only read the columns needed by the view
+        return schemaUtils.getRequiredColumns(group, view.getElement(group),
+                needsValidatorsAndFiltersApplying && !skipValidation);
+    }
+
+    private static void closeReader(final ParquetReader<Element> reader, final Path path) {
+        if (null != reader) {
+            try {
+                reader.close();
+            } catch (final IOException e) {
+                LOGGER.warn("Failed to close the reader for file {}", path, e);
+            }
+        }
+    }
+
+    private ParquetReader<Element> openParquetReader(final Path file, final Set<String> columns) throws IOException {
         final boolean isEntity = schemaUtils.getEntityGroups().contains(group);
         final GafferGroupObjectConverter converter = schemaUtils.getConverter(group);
-        LOGGER.debug("Opening a new Parquet reader for file {}", filePath);
+        LOGGER.debug("Opening a new Parquet reader for file {} reading columns {}", file, null != columns ? columns : "all");
         if (null != filter) {
-            return new ParquetElementReader.Builder<Element>(filePath)
+            return new ParquetElementReader.Builder<Element>(file)
                     .isEntity(isEntity)
                     .usingConverter(converter)
+                    .withColumns(columns)
                     .withFilter(FilterCompat.get(filter))
                     .build();
         } else {
-            return new ParquetElementReader.Builder<Element>(filePath)
+            return new ParquetElementReader.Builder<Element>(file)
                     .isEntity(isEntity)
                     .usingConverter(converter)
+                    .withColumns(columns)
                     .build();
         }
     }
@@ -184,4 +310,35 @@ public class RetrieveElementsFromFile implements Callable<OperationException> {
             return true;
         }
     }
+
+    /**
+     * The next element from one of the files being merged, and the identifiers it is sorted by.
+     */
+    private static final class MergeEntry {
+        private final ParquetReader<Element> reader;
+        private final int fileIndex;
+        private Element element;
+        private Object[] key;
+
+        private MergeEntry(final ParquetReader<Element> reader, final int fileIndex) {
+            this.reader = reader;
+            this.fileIndex = fileIndex;
+        }
+
+        private boolean advance(final GafferGroupObjectConverter converter, final boolean reversed) throws IOException {
+            element = reader.read();
+            if (null == element) {
+                key = null;
+                return false;
+            }
+            try {
+                key = reversed
+                        ? converter.corePropertiesToParquetObjectsForReversedEdge((Edge) element)
+                        : converter.corePropertiesToParquetObjects(element);
+            } catch (final SerialisationException e) {
+                throw new IOException("Failed to serialise the identifiers of element " + element, e);
+            }
+            return true;
+        }
+    }
 }
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities;
+
+import org.apache.hadoop.fs.FSDataOutputStream;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.ParquetReader;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.IdentifierType;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.parquetstore.ParquetStore;
+import uk.gov.gchq.gaffer.parquetstore.index.ParquetFileIndex;
+import uk.gov.gchq.gaffer.parquetstore.io.reader.ParquetElementReader;
+import uk.gov.gchq.gaffer.parquetstore.utils.GafferGroupObjectConverter;
+import uk.gov.gchq.gaffer.parquetstore.utils.SchemaUtils;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * Writes a {@link ParquetFileIndex} for each of the Parquet files in a snapshot or delta directory. The index of a
+ * file is written to the path given by {@link ParquetFileIndex#getIndexPath(Path)}.
+ * <p>
+ * Files whose identifiers cannot be indexed are left without an index, which means they are always read when
+ * querying for seeds.
+ */
+public class WriteFileIndexes {
+    private static final Logger LOGGER = LoggerFactory.getLogger(WriteFileIndexes.class);
+
+    private final Path path;
+    private final SchemaUtils schemaUtils;
+    private final FileSystem fs;
+
+    public WriteFileIndexes(final Path path, final SchemaUtils schemaUtils, final FileSystem fs) {
+        this.path = path;
+        this.schemaUtils = schemaUtils;
+        this.fs = fs;
+    }
+
+    public void call() throws IOException {
+        for (final String group : schemaUtils.getGafferSchema().getGroups()) {
+            writeIndexes(group, false);
+        }
+        for (final String group : schemaUtils.getGafferSchema().getEdgeGroups()) {
+            writeIndexes(group, true);
+        }
+    }
+
+    private void writeIndexes(final String group, final boolean reversed) throws IOException {
+        final Path groupPath = new Path(path, ParquetStore.getGroupSubDir(group, reversed));
+        if (!fs.exists(groupPath)) {
+            return;
+        }
+        final FileStatus[] files = fs.listStatus(groupPath, p -> p.getName().endsWith(".parquet"));
+        LOGGER.debug("Writing indexes for {} files in {}", files.length, groupPath);
+        for (final FileStatus file : files) {
+            final ParquetFileIndex index = createIndex(file.getPath(), group, reversed);
+            if (null != index) {
+                try (final FSDataOutputStream stream = fs.create(ParquetFileIndex.getIndexPath(file.getPath()), true)) {
+                    index.write(stream);
+                }
+            }
+        }
+    }
+
+    private ParquetFileIndex createIndex(final Path file, final String group, final boolean reversed) throws IOException {
+        final boolean isEntity = schemaUtils.getEntityGroups().contains(group);
+        final String column = isEntity ? ParquetStore.VERTEX : (reversed ? ParquetStore.DESTINATION : ParquetStore.SOURCE);
+        final IdentifierType identifierType = IdentifierType.valueOf(column);
+        final GafferGroupObjectConverter converter = schemaUtils.getConverter(group);
+        final List<BlockMetaData> rowGroups = ParquetFileReader.readFooter(fs.getConf(), file).getBlocks();
+        final ParquetFileIndex.Builder builder = new ParquetFileIndex.Builder();
+
+        // Only the identifiers are needed, so the properties are not read
+        final ParquetReader<Element> reader = new ParquetElementReader.Builder<Element>(file)
+                .isEntity(isEntity)
+                .usingConverter(converter)
+                .withColumns(new HashSet<>(schemaUtils.getCoreProperties(group)))
+                .build();
+        try {
+            for (final BlockMetaData rowGroup : rowGroups) {
+                builder.rowGroup(rowGroup.getRowCount());
+                for (long i = 0; i < rowGroup.getRowCount(); i++) {
+                    final Element element = reader.read();
+                    if (null == element) {
+                        throw new IOException("File " + file + " has fewer rows than recorded in its footer");
+                    }
+                    builder.add(converter.gafferObjectToParquetObjects(column, element.getIdentifier(identifierType)));
+                }
+            }
+        } catch (final SerialisationException | IllegalArgumentException e) {
+            LOGGER.info("Not writing an index for file {} as its {} cannot be indexed: {}", file, column, e.getMessage());
+            return null;
+        } finally {
+            reader.close();
+        }
+        return builder.build();
+    }
+}
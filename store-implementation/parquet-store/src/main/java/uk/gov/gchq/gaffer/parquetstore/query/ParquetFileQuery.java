@@ -23,23 +23,44 @@ import org.apache.parquet.filter2.predicate.FilterPredicate;
 
 import uk.gov.gchq.gaffer.commonutil.ToStringBuilder;
 
+import java.util.Collections;
+import java.util.List;
+
 public class ParquetFileQuery {
 
     private Path file;
+    private List<Path> deltaFiles;
     private FilterPredicate filter;
     private boolean fullyApplied;
 
     public ParquetFileQuery(final Path file, final FilterPredicate filter, final boolean fullyApplied) {
+        this(file, Collections.emptyList(), filter, fullyApplied);
+    }
+
+    /**
+     * Creates a query of a file in the snapshot and the files in the deltas for the same group and partition. The
+     * elements in these files are merged and aggregated as they are read.
+     *
+     * @param file         the file in the snapshot
+     * @param deltaFiles   the files in the deltas
+     * @param filter       the filter to apply to each of the files
+     * @param fullyApplied whether the filter fully applies the view
+     */
+    public ParquetFileQuery(final Path file, final List<Path> deltaFiles, final FilterPredicate filter, final boolean fullyApplied) {
         this.file = file;
+        this.deltaFiles = deltaFiles;
         this.filter = filter;
         this.fullyApplied = fullyApplied;
-
     }
 
     public Path getFile() {
         return file;
     }
 
+    public List<Path> getDeltaFiles() {
+        return deltaFiles;
+    }
+
     public FilterPredicate getFilter() {
         return filter;
     }
@@ -52,6 +73,7 @@ public class ParquetFileQuery {
     public String toString() {
         return new ToStringBuilder(this)
                 .append("file", file)
+                .append("deltaFiles", deltaFiles)
                 .append("filter", filter)
                 .append("fullyApplied", fullyApplied)
                 .toString();
@@ -71,6 +93,7 @@ public class ParquetFileQuery {
 
         return new EqualsBuilder()
                 .append(file, other.file)
+                .append(deltaFiles, other.deltaFiles)
                 .append(filter, other.filter)
                 .append(fullyApplied, other.fullyApplied)
                 .isEquals();
@@ -80,6 +103,7 @@ public class ParquetFileQuery {
     public int hashCode() {
         return new HashCodeBuilder(17, 37)
                 .append(file)
+                .append(deltaFiles)
                 .append(filter)
                 .append(fullyApplied)
                 .toHashCode();
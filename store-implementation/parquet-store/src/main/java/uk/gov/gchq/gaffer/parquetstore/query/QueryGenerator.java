@@ -38,6 +38,7 @@ import uk.gov.gchq.gaffer.operation.graph.SeededGraphFilters;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
 import uk.gov.gchq.gaffer.parquetstore.ParquetStore;
+import uk.gov.gchq.gaffer.parquetstore.index.ParquetFileIndex;
 import uk.gov.gchq.gaffer.parquetstore.partitioner.GraphPartitioner;
 import uk.gov.gchq.gaffer.parquetstore.utils.GafferGroupObjectConverter;
 import uk.gov.gchq.gaffer.parquetstore.utils.SchemaUtils;
@@ -90,18 +91,27 @@ public class QueryGenerator {
         // Stage 1: Use the view to identify all groups that might contain data
         final Set<String> allRelevantGroups = getRelevantGroups(getAllElements.getView());
 
-        // Stage 2: Create map from group to list of files containing data for that group
+        // Stage 2: Create map from group to list of files containing data for that group. If there are deltas then
+        // every partition is included as some partitions may only contain data in the deltas.
+        final boolean hasDeltas = !store.getDeltas().isEmpty();
         final Map<String, List<Path>> groupToPaths = new HashMap<>();
         for (final String group : allRelevantGroups) {
-            groupToPaths.put(group, store.getFilesForGroup(group));
+            if (hasDeltas) {
+                groupToPaths.put(group, store.getGraphPartitioner().getGroupPartitioner(group).getPartitions()
+                        .stream()
+                        .map(partition -> new Path(store.getFile(group, partition)))
+                        .collect(Collectors.toList()));
+            } else {
+                groupToPaths.put(group, store.getFilesForGroup(group));
+            }
         }
 
         // Stage 3: For each of the above groups, create a Parquet predicate from the view and directedType
+        final FilterPredicate directedTypeFilter = getPredicateFromDirectedType(getAllElements.getDirectedType());
         final Map<String, Pair<FilterPredicate, Boolean>> groupToPredicate = new HashMap<>();
         for (final String group : groupToPaths.keySet()) {
             Pair<FilterPredicate, Boolean> filter = getPredicateFromView(getAllElements.getView(), group, schemaUtils.getEntityGroups().contains(group));
             if (schemaUtils.getEdgeGroups().contains(group)) {
-                final FilterPredicate directedTypeFilter = getPredicateFromDirectedType(getAllElements.getDirectedType());
                 if (null != filter) {
                     filter.setFirst(FilterPredicateUtils.and(filter.getFirst(), directedTypeFilter));
                 } else {
@@ -118,10 +128,8 @@ public class QueryGenerator {
         for (final Map.Entry<String, List<Path>> entry : groupToPaths.entrySet()) {
             for (final Path path : entry.getValue()) {
                 final String group = entry.getKey();
-                final ParquetFileQuery fileQuery = groupToPredicate.containsKey(group) ?
-                        new ParquetFileQuery(path, groupToPredicate.get(group).getFirst(), groupToPredicate.get(group).getSecond())
-                                : new ParquetFileQuery(path, null, false);
-                parquetQuery.add(group, fileQuery);
+                final FilterPredicate identifierFilter = schemaUtils.getEdgeGroups().contains(group) ? directedTypeFilter : null;
+                parquetQuery.add(group, getFileQuery(path, group, groupToPredicate.get(group), identifierFilter));
             }
         }
         LOGGER.info("Created ParquetQuery of {}", parquetQuery);
@@ -151,11 +159,11 @@ public class QueryGenerator {
         final Set<String> allRelevantGroups = getRelevantGroups(getElements.getView());
 
         // Stage 2: For each of the above groups, create a Parquet predicate from the view and directedType
+        final FilterPredicate directedTypeFilter = getPredicateFromDirectedType(getElements.getDirectedType());
         final Map<String, Pair<FilterPredicate, Boolean>> groupToPredicate = new HashMap<>();
         for (final String group : allRelevantGroups) {
             Pair<FilterPredicate, Boolean> filter = getPredicateFromView(getElements.getView(), group, schemaUtils.getEntityGroups().contains(group));
             if (schemaUtils.getEdgeGroups().contains(group)) {
-                final FilterPredicate directedTypeFilter = getPredicateFromDirectedType(getElements.getDirectedType());
                 filter.setFirst(FilterPredicateUtils.and(filter.getFirst(), directedTypeFilter));
             }
             groupToPredicate.put(group, filter);
@@ -186,6 +194,11 @@ public class QueryGenerator {
         for (final Tuple3<String, ParquetElementSeed, Set<PathInfo>> tuple : groupSeedsAndPathsList) {
             Set<PathInfo> paths = tuple.get2();
             for (final PathInfo pathInfo : paths) {
+                if (!mightContainSeed(pathInfo, tuple.get1())) {
+                    LOGGER.debug("Skipping file {} for seed {} as its index shows it does not contain the seed",
+                            pathInfo.getPath(), tuple.get1());
+                    continue;
+                }
                 if (!pathToSeeds.containsKey(pathInfo)) {
                     pathToSeeds.put(pathInfo, new ArrayList<>());
                 }
@@ -199,22 +212,75 @@ public class QueryGenerator {
         final ParquetQuery parquetQuery = new ParquetQuery();
         for (final PathInfo pathInfo : pathToSeeds.keySet()) {
             List<Tuple3<String, Boolean, ParquetElementSeed>> seedList = pathToSeeds.get(pathInfo);
-            FilterPredicate filterPredicate = seedsToPredicate(seedList, includeIncomingOutgoingType, seedMatchingType);
-            if (null != filterPredicate) {
+            final FilterPredicate seedFilterPredicate = seedsToPredicate(seedList, includeIncomingOutgoingType, seedMatchingType);
+            if (null != seedFilterPredicate) {
                 final String group = pathInfo.getGroup();
                 final Pair<FilterPredicate, Boolean> viewFilterPredicate = groupToPredicate.get(group);
-                if (null != viewFilterPredicate) {
-                    // Put view predicate first as filter for checking whether it matches one of many seeds could be complex
-                    filterPredicate = FilterPredicateUtils.and(viewFilterPredicate.getFirst(), filterPredicate);
-                }
-                final ParquetFileQuery fileQuery = new ParquetFileQuery(pathInfo.getPath(), filterPredicate, viewFilterPredicate.getSecond());
-                parquetQuery.add(group, fileQuery);
+                // Put view predicate first as filter for checking whether it matches one of many seeds could be complex
+                final Pair<FilterPredicate, Boolean> filterPredicate = new Pair<>(
+                        FilterPredicateUtils.and(viewFilterPredicate.getFirst(), seedFilterPredicate), viewFilterPredicate.getSecond());
+                final FilterPredicate identifierFilter = schemaUtils.getEdgeGroups().contains(group) ?
+                        FilterPredicateUtils.and(directedTypeFilter, seedFilterPredicate) : seedFilterPredicate;
+                parquetQuery.add(group, getFileQuery(pathInfo.getPath(), group, filterPredicate, identifierFilter));
             }
         }
         LOGGER.info("Created ParquetQuery of {}", parquetQuery);
         return parquetQuery;
     }
 
+    /**
+     * Uses the indexes of the file and its delta files to check whether they might contain data for the seed. Files
+     * are sorted by the vertex, source or destination, so for an {@link EdgeSeed} only edge files can be checked.
+     */
+    private boolean mightContainSeed(final PathInfo pathInfo, final ParquetElementSeed seed) throws OperationException {
+        final List<Object[]> keys = new ArrayList<>();
+        if (seed instanceof ParquetEntitySeed) {
+            keys.add(((ParquetEntitySeed) seed).getSeed());
+        } else if (PathInfo.FILETYPE.EDGE == pathInfo.getFileType()) {
+            // Undirected edges may be stored either way round
+            keys.add(((ParquetEdgeSeed) seed).getSource());
+            keys.add(((ParquetEdgeSeed) seed).getDestination());
+        } else {
+            return true;
+        }
+        final List<Path> files = new ArrayList<>();
+        files.add(pathInfo.getPath());
+        files.addAll(store.getDeltaFiles(pathInfo.getPath()));
+        try {
+            for (final Path file : files) {
+                final ParquetFileIndex index = store.getFileIndex(file);
+                for (final Object[] key : keys) {
+                    if (index.mightContain(key)) {
+                        return true;
+                    }
+                }
+            }
+        } catch (final IOException e) {
+            throw new OperationException("IOException reading the index of file " + pathInfo.getPath(), e);
+        }
+        return false;
+    }
+
+    /**
+     * Creates the query of a file in the snapshot, which also reads the corresponding files in any deltas. The
+     * elements in an aggregated group must be merged and aggregated with those in the deltas before the view is
+     * applied, so in that case only the filter on the identifiers, i.e. the seeds and directed type, is pushed down
+     * to the files.
+     */
+    private ParquetFileQuery getFileQuery(final Path path,
+                                          final String group,
+                                          final Pair<FilterPredicate, Boolean> filter,
+                                          final FilterPredicate identifierFilter) {
+        final List<Path> deltaFiles = store.getDeltaFiles(path);
+        if (!deltaFiles.isEmpty() && store.getSchema().getElement(group).isAggregate()) {
+            return new ParquetFileQuery(path, deltaFiles, identifierFilter, false);
+        }
+        if (null == filter) {
+            return new ParquetFileQuery(path, deltaFiles, null, false);
+        }
+        return new ParquetFileQuery(path, deltaFiles, filter.getFirst(), filter.getSecond());
+    }
+
     // TODO raise issue saying that could optimise so that only the filters that have not been fully applied
     // are reapplied, and it should be able to return the fact that all filters have been applied
     // Either the result is:
@@ -44,6 +44,7 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * This class contains the logic for converting objects between the Gaffer, Parquet and Spark types for a single Gaffer group.
@@ -57,6 +58,7 @@ public class GafferGroupObjectConverter implements Serializable {
     private final String group;
     private final List<String> coreProperties;
     private final List<String> corePropertiesForReversedEdges;
+    private transient ColumnPaths[] columnPaths;
 
     public GafferGroupObjectConverter(final String group,
                                       final List<String> coreProperties,
@@ -318,6 +320,23 @@ public class GafferGroupObjectConverter implements Serializable {
      */
     public Element buildElementFromParquetObjects(final Map<String, Object[]> parquetColumnToObject,
                                                   final boolean isEntity) throws SerialisationException {
+        return buildElementFromParquetObjects(parquetColumnToObject, isEntity, null);
+    }
+
+    /**
+     * Builds up a Gaffer element using a map of parquetColumn to Object[] containing the relevant objects stored in
+     * the provided columns. This is used when only some of the columns have been read from the Parquet file.
+     *
+     * @param parquetColumnToObject is a map from parquet column path to a list of the objects stored on that path which
+     *                              only contains more then 1 if the column is storing an array or part of a map
+     * @param isEntity              is it an Entity that needs building
+     * @param columns               the columns to build the element from, or null to use all the columns
+     * @return an Element containing the objects from the parquetColumnToObject
+     * @throws SerialisationException if the parquet objects can not be de-serialised
+     */
+    public Element buildElementFromParquetObjects(final Map<String, Object[]> parquetColumnToObject,
+                                                  final boolean isEntity,
+                                                  final Set<String> columns) throws SerialisationException {
         final Element e;
         if (isEntity) {
             e = new Entity(group);
@@ -327,21 +346,18 @@ public class GafferGroupObjectConverter implements Serializable {
         Object src = null;
         Object dst = null;
         boolean isDir = false;
-        for (final Map.Entry<String, String[]> columnToPaths : this.columnToPaths.entrySet()) {
-            final String column = columnToPaths.getKey();
-            final String[] paths = columnToPaths.getValue();
+        for (final ColumnPaths columnPaths : getColumnPaths()) {
+            final String column = columnPaths.column;
+            if (null != columns && !columns.contains(column)) {
+                continue;
+            }
+            final String[] paths = columnPaths.paths;
             final Object[] parquetObjectsForColumn = new Object[paths.length];
-            boolean isMap = false;
             for (int i = 0; i < paths.length; i++) {
-                final String path = paths[i];
-                if (path.endsWith("key_value.key")) {
-                    isMap = true;
-                }
-                Object[] parquetColumnObjects = parquetColumnToObject.getOrDefault(paths[i], null);
+                final Object[] parquetColumnObjects = parquetColumnToObject.get(paths[i]);
                 if (null != parquetColumnObjects) {
-                    if (path.endsWith("list.element")) {
-                        final boolean expectsList = columnToSerialiser.get(column).canHandle(List.class);
-                        if (expectsList) {
+                    if (columnPaths.isList[i]) {
+                        if (columnPaths.expectsList) {
                             final List<Object> list = new ArrayList<>(parquetColumnObjects.length);
                             for (final Object listObject : parquetColumnObjects) {
                                 list.add(listObject);
@@ -351,7 +367,7 @@ public class GafferGroupObjectConverter implements Serializable {
                             parquetObjectsForColumn[i] = parquetColumnObjects;
                         }
                     } else {
-                        if (isMap) {
+                        if (columnPaths.isMap[i]) {
                             parquetObjectsForColumn[i] = parquetColumnObjects;
                         } else {
                             parquetObjectsForColumn[i] = parquetColumnObjects[0];
@@ -359,6 +375,7 @@ public class GafferGroupObjectConverter implements Serializable {
                     }
                 }
             }
+            final boolean isMap = columnPaths.isMap[paths.length - 1];
             final Object gafferObject;
             if (isMap) {
                 final Object[] keys = (Object[]) parquetObjectsForColumn[0];
@@ -400,4 +417,42 @@ public class GafferGroupObjectConverter implements Serializable {
         }
         return e;
     }
+
+    /**
+     * Gets the paths of each column, along with how the objects on each path should be combined, so that this only
+     * needs to be worked out once rather than for every element.
+     */
+    private ColumnPaths[] getColumnPaths() {
+        if (null == columnPaths) {
+            final List<ColumnPaths> allColumnPaths = new ArrayList<>(columnToPaths.size());
+            for (final Map.Entry<String, String[]> entry : columnToPaths.entrySet()) {
+                allColumnPaths.add(new ColumnPaths(entry.getKey(), entry.getValue(), columnToSerialiser.get(entry.getKey())));
+            }
+            columnPaths = allColumnPaths.toArray(new ColumnPaths[allColumnPaths.size()]);
+        }
+        return columnPaths;
+    }
+
+    private static final class ColumnPaths {
+        private final String column;
+        private final String[] paths;
+        private final boolean[] isList;
+        private final boolean[] isMap;
+        private final boolean expectsList;
+
+        private ColumnPaths(final String column, final String[] paths, final Serialiser serialiser) {
+            this.column = column;
+            this.paths = paths;
+            this.isList = new boolean[paths.length];
+            this.isMap = new boolean[paths.length];
+            boolean hasList = false;
+            for (int i = 0; i < paths.length; i++) {
+                // Once the key of a map has been seen, the following paths are part of the map
+                isMap[i] = paths[i].endsWith("key_value.key") || (0 < i && isMap[i - 1]);
+                isList[i] = paths[i].endsWith("list.element");
+                hasList |= isList[i];
+            }
+            this.expectsList = hasList && serialiser.canHandle(List.class);
+        }
+    }
 }
@@ -18,13 +18,16 @@ package uk.gov.gchq.gaffer.parquetstore.utils;
 
 import org.apache.parquet.schema.MessageType;
 import org.apache.parquet.schema.MessageTypeParser;
+import org.apache.parquet.schema.Type;
 import org.apache.spark.sql.execution.datasources.parquet.ParquetToSparkSchemaConverter;
 import org.apache.spark.sql.types.StructField;
 import org.apache.spark.sql.types.StructType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
 import uk.gov.gchq.gaffer.data.elementdefinition.exception.SchemaException;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.parquetstore.ParquetStore;
 import uk.gov.gchq.gaffer.parquetstore.serialisation.ParquetSerialiser;
@@ -34,9 +37,14 @@ import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
 import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
 import uk.gov.gchq.koryphe.serialisation.json.SimpleClassNameIdResolver;
+import uk.gov.gchq.koryphe.tuple.function.TupleAdaptedFunction;
+import uk.gov.gchq.koryphe.tuple.predicate.TupleAdaptedPredicate;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -172,12 +180,7 @@ public class SchemaUtils {
         final Map<String, String[]> columnToPaths = new HashMap<>();
         for (final String[] paths : getParquetSchema(group).getPaths()) {
             final String firstPath = paths[0];
-            final String col;
-            if (firstPath.contains("_")) {
-                col = firstPath.substring(0, firstPath.indexOf("_"));
-            } else {
-                col = firstPath;
-            }
+            final String col = getColumn(firstPath);
             final String newPath;
             if (paths.length > 1) {
                 newPath = String.join(".", paths);
@@ -201,6 +204,102 @@ public class SchemaUtils {
         return columnToPaths;
     }
 
+    private static String getColumn(final String parquetField) {
+        if (parquetField.contains("_")) {
+            return parquetField.substring(0, parquetField.indexOf("_"));
+        } else {
+            return parquetField;
+        }
+    }
+
+    /**
+     * Gets the columns of a group that must be read from the Parquet files to return the elements
+     * of that group using the provided {@link ViewElementDefinition}. These are the identifier columns,
+     * the visibility column, the properties returned by the view and the properties used by its filters,
+     * transforms and aggregators. If {@code includeValidatedProperties} is true then the properties used
+     * by the schema's validation functions are also required.
+     *
+     * @param group                      the group
+     * @param elementDefinition          the view element definition for the group
+     * @param includeValidatedProperties whether the properties used by the schema's validation functions are required
+     * @return the required columns, or null if all the columns are required
+     */
+    public Set<String> getRequiredColumns(final String group,
+                                          final ViewElementDefinition elementDefinition,
+                                          final boolean includeValidatedProperties) {
+        if (null == elementDefinition || elementDefinition.isAllProperties()) {
+            return null;
+        }
+
+        final Set<String> allColumns = getColumnToPaths(group).keySet();
+        final Set<String> columns = new HashSet<>(getCoreProperties(group));
+        if (null != gafferSchema.getVisibilityProperty()) {
+            columns.add(gafferSchema.getVisibilityProperty());
+        }
+        if (null != elementDefinition.getProperties()) {
+            columns.addAll(elementDefinition.getProperties());
+        } else {
+            for (final String column : allColumns) {
+                if (!elementDefinition.getExcludeProperties().contains(column)) {
+                    columns.add(column);
+                }
+            }
+        }
+        if (null != elementDefinition.getGroupBy()) {
+            columns.addAll(elementDefinition.getGroupBy());
+        }
+        addSelections(columns, elementDefinition.getPreAggregationFilterFunctions());
+        addSelections(columns, elementDefinition.getPostAggregationFilterFunctions());
+        addSelections(columns, elementDefinition.getPostTransformFilterFunctions());
+        if (null != elementDefinition.getTransformFunctions()) {
+            for (final TupleAdaptedFunction<String, ?, ?> function : elementDefinition.getTransformFunctions()) {
+                columns.addAll(Arrays.asList(function.getSelection()));
+            }
+        }
+        if (null != elementDefinition.getAggregator()) {
+            elementDefinition.getAggregator().getComponents()
+                    .forEach(aggregator -> columns.addAll(Arrays.asList(aggregator.getSelection())));
+        }
+        if (includeValidatedProperties) {
+            final ElementFilter validator = gafferSchema.getElement(group).getValidator(false);
+            if (null != validator) {
+                addSelections(columns, validator.getComponents());
+            }
+        }
+
+        if (columns.containsAll(allColumns)) {
+            return null;
+        }
+        return columns;
+    }
+
+    private static void addSelections(final Set<String> columns,
+                                      final Collection<TupleAdaptedPredicate<String, ?>> predicates) {
+        if (null != predicates) {
+            for (final TupleAdaptedPredicate<String, ?> predicate : predicates) {
+                columns.addAll(Arrays.asList(predicate.getSelection()));
+            }
+        }
+    }
+
+    /**
+     * Gets a projection of a Parquet schema, written by this store, containing only the fields for the
+     * provided columns.
+     *
+     * @param parquetSchema the Parquet schema
+     * @param columns       the columns to keep
+     * @return the projected Parquet schema
+     */
+    public static MessageType getProjectedParquetSchema(final MessageType parquetSchema, final Set<String> columns) {
+        final List<Type> fields = new ArrayList<>();
+        for (final Type field : parquetSchema.getFields()) {
+            if (columns.contains(getColumn(field.getName()))) {
+                fields.add(field);
+            }
+        }
+        return new MessageType(parquetSchema.getName(), fields);
+    }
+
     public String[] getPaths(final String group, final String column) {
         return getColumnToPaths(group).get(column);
     }
@@ -30,6 +30,8 @@ import uk.gov.gchq.gaffer.sketches.serialisation.json.SketchesJsonModules;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 public class ParquetStorePropertiesTest {
     @Rule
@@ -49,6 +51,41 @@ public class ParquetStorePropertiesTest {
         assertEquals((Integer) 9, props.getThreadsAvailable());
     }
 
+    @Test
+    public void retrieverQueueSizeTest() {
+        assertEquals(10000, props.getRetrieverQueueSize());
+        props.setRetrieverQueueSize(100);
+        assertEquals(100, props.getRetrieverQueueSize());
+    }
+
+    @Test
+    public void retrieverMaxThreadsTest() {
+        assertEquals(20, props.getRetrieverMaxThreads());
+        props.setRetrieverMaxThreads(5);
+        assertEquals(5, props.getRetrieverMaxThreads());
+    }
+
+    @Test
+    public void addElementsAsDeltasTest() {
+        assertFalse(props.getAddElementsAsDeltas());
+        props.setAddElementsAsDeltas(true);
+        assertTrue(props.getAddElementsAsDeltas());
+    }
+
+    @Test
+    public void maxDeltasTest() {
+        assertEquals(10, props.getMaxDeltas());
+        props.setMaxDeltas(2);
+        assertEquals(2, props.getMaxDeltas());
+    }
+
+    @Test
+    public void writeSeedIndexTest() {
+        assertFalse(props.getWriteSeedIndex());
+        props.setWriteSeedIndex(true);
+        assertTrue(props.getWriteSeedIndex());
+    }
+
     @Test
     public void dataDirTest() {
         assertEquals(null, props.getDataDir());
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.parquetstore.index;
+
+import org.apache.hadoop.fs.Path;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ParquetFileIndexTest {
+
+    @Test
+    public void shouldContainKeysThatWereAdded() {
+        // Given
+        final ParquetFileIndex index = createIndex();
+
+        // When / Then
+        for (long i = 0; i < 100; i += 2) {
+            assertTrue(index.mightContain(new Object[]{i}));
+        }
+        for (long i = 1000; i < 1100; i += 2) {
+            assertTrue(index.mightContain(new Object[]{i}));
+        }
+    }
+
+    @Test
+    public void shouldNotContainKeysOutsideTheRangeOfEveryRowGroup() {
+        // Given
+        final ParquetFileIndex index = createIndex();
+
+        // When / Then
+        assertFalse(index.mightContain(new Object[]{-1L}));
+        assertFalse(index.mightContain(new Object[]{500L}));
+        assertFalse(index.mightContain(new Object[]{2000L}));
+    }
+
+    @Test
+    public void shouldWriteAndReadIndex() throws IOException {
+        // Given
+        final ParquetFileIndex index = createIndex();
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+
+        // When
+        index.write(stream);
+        final ParquetFileIndex read = ParquetFileIndex.read(new ByteArrayInputStream(stream.toByteArray()));
+
+        // Then
+        assertEquals(2, read.getRowGroups().size());
+        assertEquals(50L, read.getRowGroups().get(0).getRowCount());
+        assertArrayEquals(new Object[]{0L}, read.getRowGroups().get(0).getMin());
+        assertArrayEquals(new Object[]{98L}, read.getRowGroups().get(0).getMax());
+        assertArrayEquals(new Object[]{1000L}, read.getRowGroups().get(1).getMin());
+        assertArrayEquals(new Object[]{1098L}, read.getRowGroups().get(1).getMax());
+        for (long i = 0; i < 100; i += 2) {
+            assertTrue(read.mightContain(new Object[]{i}));
+        }
+        assertFalse(read.mightContain(new Object[]{500L}));
+    }
+
+    @Test
+    public void shouldWriteAndReadIndexOfMixedTypes() throws IOException {
+        // Given
+        final Object[] key = new Object[]{"A", 1, true, 2.0D, 3.0F, new byte[]{1, 2}, (short) 4, null};
+        final ParquetFileIndex index = new ParquetFileIndex.Builder()
+                .rowGroup(1)
+                .add(key)
+                .build();
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+
+        // When
+        index.write(stream);
+        final ParquetFileIndex read = ParquetFileIndex.read(new ByteArrayInputStream(stream.toByteArray()));
+
+        // Then
+        assertArrayEquals(key, read.getRowGroups().get(0).getMin());
+        assertTrue(read.mightContain(key));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotIndexUnsupportedTypes() {
+        new ParquetFileIndex.Builder()
+                .rowGroup(1)
+                .add(new Object[]{new Object()});
+    }
+
+    @Test
+    public void shouldAlwaysContainKeysWhenUnindexed() {
+        assertTrue(ParquetFileIndex.UNINDEXED.mightContain(new Object[]{1L}));
+    }
+
+    @Test
+    public void shouldNeverContainKeysWhenEmpty() {
+        assertFalse(ParquetFileIndex.EMPTY.mightContain(new Object[]{1L}));
+    }
+
+    @Test
+    public void shouldHideIndexFile() {
+        // Given
+        final Path file = new Path("/data/snapshot=1/graph/group=A/partition-0000000.parquet");
+
+        // When
+        final Path indexPath = ParquetFileIndex.getIndexPath(file);
+
+        // Then
+        assertEquals(new Path("/data/snapshot=1/graph/group=A/.partition-0000000.parquet.index"), indexPath);
+    }
+
+    private static ParquetFileIndex createIndex() {
+        final ParquetFileIndex.Builder builder = new ParquetFileIndex.Builder();
+        builder.rowGroup(50);
+        for (long i = 0; i < 100; i += 2) {
+            builder.add(new Object[]{i});
+        }
+        builder.rowGroup(50);
+        for (long i = 1000; i < 1100; i += 2) {
+            builder.add(new Object[]{i});
+        }
+        return builder.build();
+    }
+}
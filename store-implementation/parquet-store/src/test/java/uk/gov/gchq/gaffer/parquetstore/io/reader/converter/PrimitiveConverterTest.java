@@ -0,0 +1,115 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.parquetstore.io.reader.converter;
+
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.schema.OriginalType;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class PrimitiveConverterTest {
+
+    @Test
+    public void shouldAddValueOfColumnThatIsNotRepeated() {
+        // Given
+        final Map<String, Object[]> parquetColumnToObject = new HashMap<>();
+        final PrimitiveConverter converter = new PrimitiveConverter(parquetColumnToObject, "long",
+                new String[]{"count"}, null, false);
+
+        // When
+        converter.addLong(1L);
+        final Object[] first = parquetColumnToObject.get("count");
+        converter.end();
+        parquetColumnToObject.clear();
+        converter.start();
+        converter.addLong(2L);
+
+        // Then
+        assertArrayEquals(new Object[]{2L}, parquetColumnToObject.get("count"));
+        assertTrue("The array should be reused for each row", first == parquetColumnToObject.get("count"));
+    }
+
+    @Test
+    public void shouldAddAllValuesOfRepeatedColumnAtEndOfRow() {
+        // Given
+        final Map<String, Object[]> parquetColumnToObject = new HashMap<>();
+        final PrimitiveConverter converter = new PrimitiveConverter(parquetColumnToObject, "Binary",
+                new String[]{"treeSet", "list", "element"}, OriginalType.UTF8, true);
+
+        // When
+        converter.start();
+        for (int i = 0; i < 20; i++) {
+            converter.addBinary(Binary.fromString("A" + i));
+        }
+        final boolean addedBeforeEnd = parquetColumnToObject.containsKey("treeSet.list.element");
+        converter.end();
+
+        // Then
+        assertFalse(addedBeforeEnd);
+        final Object[] values = parquetColumnToObject.get("treeSet.list.element");
+        assertTrue(values instanceof String[]);
+        assertEquals(20, values.length);
+        assertEquals("A19", values[19]);
+    }
+
+    @Test
+    public void shouldNotAddValuesOfRepeatedColumnFromPreviousRow() {
+        // Given
+        final Map<String, Object[]> parquetColumnToObject = new HashMap<>();
+        final PrimitiveConverter converter = new PrimitiveConverter(parquetColumnToObject, "int",
+                new String[]{"list", "list", "element"}, null, true);
+        converter.start();
+        converter.addInt(1);
+        converter.addInt(2);
+        converter.end();
+        parquetColumnToObject.clear();
+
+        // When
+        converter.start();
+        converter.addInt(3);
+        converter.end();
+
+        // Then
+        assertArrayEquals(new Integer[]{3}, parquetColumnToObject.get("list.list.element"));
+    }
+
+    @Test
+    public void shouldAppendEachValueToMapWhenCreatedWithoutSayingWhetherColumnIsRepeated() {
+        // Given
+        final Map<String, Object[]> parquetColumnToObject = new HashMap<>();
+        final PrimitiveConverter converter = new PrimitiveConverter(parquetColumnToObject, "Binary",
+                new String[]{"treeSet", "list", "element"}, OriginalType.UTF8);
+
+        // When
+        converter.addBinary(Binary.fromString("A"));
+        final Object[] first = parquetColumnToObject.get("treeSet.list.element");
+        converter.addBinary(Binary.fromString("B"));
+
+        // Then
+        assertFalse(converter.isRepeated());
+        assertArrayEquals(new String[]{"A"}, first);
+        assertArrayEquals(new String[]{"A", "B"}, parquetColumnToObject.get("treeSet.list.element"));
+        assertTrue(parquetColumnToObject.get("treeSet.list.element") instanceof String[]);
+    }
+}
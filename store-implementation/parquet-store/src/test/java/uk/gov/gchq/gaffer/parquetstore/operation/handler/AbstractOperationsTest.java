@@ -23,6 +23,7 @@ import org.junit.rules.TemporaryFolder;
 import uk.gov.gchq.gaffer.commonutil.CommonTestConstants;
 import uk.gov.gchq.gaffer.commonutil.TestGroups;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
 import uk.gov.gchq.gaffer.commonutil.iterable.EmptyClosableIterable;
 import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
@@ -43,6 +44,8 @@ import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
 import uk.gov.gchq.gaffer.parquetstore.ParquetStoreProperties;
+import uk.gov.gchq.gaffer.parquetstore.operation.CompactDeltas;
+import uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities.ParquetElementRetriever;
 import uk.gov.gchq.gaffer.parquetstore.testutils.TestUtils;
 import uk.gov.gchq.gaffer.store.StoreProperties;
 import uk.gov.gchq.gaffer.user.User;
@@ -122,6 +125,96 @@ public abstract class AbstractOperationsTest extends StandaloneIT {
         ElementUtil.assertElementEquals(getResultsForGetAllElementsTest(), results);
     }
 
+    @Test
+    public void shouldGetAllElementsWithOnlyViewPropertiesTest() throws OperationException {
+        // Given
+        final Graph graph = createGraph();
+        final List<Element> elements = getInputDataForGetAllElementsTest();
+        graph.execute(new AddElements.Builder().input(elements).build(), user);
+        final ViewElementDefinition countOnly = new ViewElementDefinition.Builder()
+                .properties("count")
+                .build();
+        final View view = new View.Builder()
+                .entity(TestGroups.ENTITY, countOnly)
+                .entity(TestGroups.ENTITY_2, countOnly)
+                .edge(TestGroups.EDGE, countOnly)
+                .edge(TestGroups.EDGE_2, countOnly)
+                .build();
+
+        // When
+        final CloseableIterable<? extends Element> results = graph.execute(
+                new GetAllElements.Builder().view(view).build(), user);
+
+        // Then
+        final List<Element> expected = getResultsForGetAllElementsTest();
+        expected.forEach(element -> element.getProperties().keepOnly(countOnly.getProperties()));
+        ElementUtil.assertElementEquals(expected, results);
+    }
+
+    @Test
+    public void shouldGetAllElementsWithSmallRetrieverQueue() throws OperationException {
+        // Given
+        final ParquetStoreProperties properties = (ParquetStoreProperties) createStoreProperties();
+        properties.setRetrieverQueueSize(1);
+        final Graph graph = createGraph(properties);
+        final List<Element> elements = getInputDataForGetAllElementsTest();
+        graph.execute(new AddElements.Builder().input(elements).build(), user);
+
+        // When
+        final CloseableIterable<? extends Element> results = graph.execute(
+                new GetAllElements.Builder().build(), user);
+
+        // Then
+        ElementUtil.assertElementEquals(getResultsForGetAllElementsTest(), results);
+    }
+
+    @Test
+    public void shouldGetAllElementsWhenTasksWaitForASingleReaderThread() throws OperationException {
+        // Given
+        final ParquetStoreProperties properties = (ParquetStoreProperties) createStoreProperties();
+        properties.setRetrieverMaxThreads(1);
+        properties.setRetrieverQueueSize(1);
+        final Graph graph = createGraph(properties);
+        final List<Element> elements = getInputDataForGetAllElementsTest();
+        graph.execute(new AddElements.Builder().input(elements).build(), user);
+
+        // When
+        final CloseableIterable<? extends Element> results = graph.execute(
+                new GetAllElements.Builder().build(), user);
+
+        // Then
+        ElementUtil.assertElementEquals(getResultsForGetAllElementsTest(), results);
+    }
+
+    @Test
+    public void shouldStopRetrievingElementsWhenIteratorIsClosed() throws OperationException, InterruptedException {
+        // Given
+        final ParquetStoreProperties properties = (ParquetStoreProperties) createStoreProperties();
+        properties.setRetrieverQueueSize(1);
+        final Graph graph = createGraph(properties);
+        final List<Element> elements = getInputDataForGetAllElementsTest();
+        graph.execute(new AddElements.Builder().input(elements).build(), user);
+        // Readers left waiting by iterators that other tests did not close are not counted
+        final int readersBefore = ParquetElementRetriever.getActiveReaders();
+        final CloseableIterable<? extends Element> results = graph.execute(
+                new GetAllElements.Builder().build(), user);
+        final CloseableIterator<? extends Element> iterator = results.iterator();
+        assertTrue(iterator.hasNext());
+        iterator.next();
+        assertTrue(ParquetElementRetriever.getActiveReaders() > readersBefore);
+
+        // When
+        iterator.close();
+
+        // Then
+        assertFalse(iterator.hasNext());
+        final long deadline = System.currentTimeMillis() + 10000L;
+        while (ParquetElementRetriever.getActiveReaders() > readersBefore && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10L);
+        }
+        assertTrue(ParquetElementRetriever.getActiveReaders() <= readersBefore);
+    }
+
     @Test
     public void shouldGetNoResultsFromGetAllElementsOnEmptyGraph() throws OperationException {
         // Given (test on a graph on which add has been called with an empty list and
@@ -189,6 +282,78 @@ public abstract class AbstractOperationsTest extends StandaloneIT {
         ElementUtil.assertElementEquals(getResultsForGetAllElementsAfterTwoAdds(), results);
     }
 
+    @Test
+    public void shouldGetAllElementsAfterTwoAddElementsAsDeltasTest() throws OperationException {
+        // Given
+        final ParquetStoreProperties properties = (ParquetStoreProperties) createStoreProperties();
+        properties.setAddElementsAsDeltas(true);
+        final Graph graph = createGraph(properties);
+        final List<Element> elements = getInputDataForGetAllElementsTest();
+        graph.execute(new AddElements.Builder().input(elements).build(), user);
+        graph.execute(new AddElements.Builder().input(elements).build(), user);
+
+        // When
+        final CloseableIterable<? extends Element> results = graph.execute(new GetAllElements.Builder().build(), user);
+
+        // Then
+        ElementUtil.assertElementEquals(getResultsForGetAllElementsAfterTwoAdds(), results);
+    }
+
+    @Test
+    public void shouldGetAllElementsAfterTwoAddElementsWhenMaxDeltasIsReachedTest() throws OperationException {
+        // Given
+        final ParquetStoreProperties properties = (ParquetStoreProperties) createStoreProperties();
+        properties.setAddElementsAsDeltas(true);
+        properties.setMaxDeltas(1);
+        final Graph graph = createGraph(properties);
+        final List<Element> elements = getInputDataForGetAllElementsTest();
+        graph.execute(new AddElements.Builder().input(elements).build(), user);
+        graph.execute(new AddElements.Builder().input(elements).build(), user);
+
+        // When
+        final CloseableIterable<? extends Element> results = graph.execute(new GetAllElements.Builder().build(), user);
+
+        // Then
+        ElementUtil.assertElementEquals(getResultsForGetAllElementsAfterTwoAdds(), results);
+    }
+
+    @Test
+    public void shouldGetAllElementsAfterDeltasAreCompactedTest() throws OperationException {
+        // Given
+        final ParquetStoreProperties properties = (ParquetStoreProperties) createStoreProperties();
+        properties.setAddElementsAsDeltas(true);
+        final Graph graph = createGraph(properties);
+        final List<Element> elements = getInputDataForGetAllElementsTest();
+        graph.execute(new AddElements.Builder().input(elements).build(), user);
+        graph.execute(new AddElements.Builder().input(elements).build(), user);
+
+        // When
+        graph.execute(new CompactDeltas(), user);
+        final CloseableIterable<? extends Element> results = graph.execute(new GetAllElements.Builder().build(), user);
+
+        // Then
+        ElementUtil.assertElementEquals(getResultsForGetAllElementsAfterTwoAdds(), results);
+    }
+
+    @Test
+    public void shouldGetElementsWithSeedsAndViewWhenAddedAsDeltaTest() throws OperationException {
+        // Given
+        final ParquetStoreProperties properties = (ParquetStoreProperties) createStoreProperties();
+        properties.setAddElementsAsDeltas(true);
+        final Graph graph = createGraph(properties);
+        final List<Element> elements = getInputDataForGetAllElementsTest();
+        graph.execute(new AddElements.Builder().input(elements).build(), user);
+
+        // When
+        final List<ElementSeed> seeds = getSeeds();
+        final View view = getView();
+        final CloseableIterable<? extends Element> results = graph
+                .execute(new GetElements.Builder().input(seeds).view(view).build(), user);
+
+        // Then
+        ElementUtil.assertElementEquals(getResultsForGetElementsWithSeedsAndViewTest(), results);
+    }
+
     @Test
     public void shouldGetAllElementsAfterElementsAddedSeparatelyByGroup() throws OperationException {
         // Given
@@ -275,6 +440,27 @@ public abstract class AbstractOperationsTest extends StandaloneIT {
         ElementUtil.assertElementEquals(getResultsForGetElementsWithSeedsRelatedTest(), results);
     }
 
+    @Test
+    public void shouldGetElementsWithSeedsRelatedWhenSeedIndexIsWrittenTest() throws OperationException {
+        // Given
+        final ParquetStoreProperties properties = (ParquetStoreProperties) createStoreProperties();
+        properties.setWriteSeedIndex(true);
+        final Graph graph = createGraph(properties);
+        final List<Element> elements = getInputDataForGetAllElementsTest();
+        graph.execute(new AddElements.Builder().input(elements).build(), user);
+
+        // When
+        final List<ElementSeed> seeds = getSeeds();
+        final CloseableIterable<? extends Element> results = graph
+                .execute(new GetElements.Builder()
+                        .input(seeds)
+                        .seedMatching(SeedMatching.SeedMatchingType.RELATED)
+                        .build(), user);
+
+        // Then
+        ElementUtil.assertElementEquals(getResultsForGetElementsWithSeedsRelatedTest(), results);
+    }
+
     @Test
     public void shouldGetElementsWithSeedsEqualTest() throws OperationException {
         // Given
@@ -36,6 +36,7 @@ import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
 import uk.gov.gchq.gaffer.parquetstore.ParquetStoreProperties;
+import uk.gov.gchq.gaffer.parquetstore.operation.CompactDeltas;
 import uk.gov.gchq.gaffer.parquetstore.testutils.TestUtils;
 import uk.gov.gchq.gaffer.spark.operation.dataframe.GetDataFrameOfElements;
 import uk.gov.gchq.gaffer.spark.operation.scalardd.ImportRDDOfElements;
@@ -45,6 +46,9 @@ import uk.gov.gchq.gaffer.user.User;
 import java.io.IOException;
 import java.util.List;
 
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
 public abstract class AbstractSparkOperationsTest extends StandaloneIT {
     @Rule
     public final TemporaryFolder testFolder = new TemporaryFolder(CommonTestConstants.TMP_DIRECTORY);
@@ -153,4 +157,40 @@ public abstract class AbstractSparkOperationsTest extends StandaloneIT {
         final List<Element> elementsFromRows = convertRowsToElements(results.collectAsList());
         ElementUtil.assertElementEquals(getResultsForGetAllElementsTest(), elementsFromRows);
     }
+
+    @Test
+    public void shouldFailGetDataFrameOfElementsWhenSnapshotHasDeltas() throws OperationException {
+        // Given
+        final ParquetStoreProperties properties = (ParquetStoreProperties) createStoreProperties();
+        properties.setAddElementsAsDeltas(true);
+        final Graph graph = createGraph(properties);
+        final List<Element> elements = getInputDataForGetAllElementsTestAsList();
+        graph.execute(new AddElements.Builder().input(elements).build(), user);
+
+        // When / Then
+        try {
+            graph.execute(new GetDataFrameOfElements.Builder().build(), user);
+            fail("Exception expected");
+        } catch (final OperationException e) {
+            assertTrue(e.getMessage().contains("run CompactDeltas first"));
+        }
+    }
+
+    @Test
+    public void shouldReturnCorrectResultsWhenGetDataFrameOfElementsCalledAfterDeltasAreCompacted() throws OperationException {
+        // Given
+        final ParquetStoreProperties properties = (ParquetStoreProperties) createStoreProperties();
+        properties.setAddElementsAsDeltas(true);
+        final Graph graph = createGraph(properties);
+        final List<Element> elements = getInputDataForGetAllElementsTestAsList();
+        graph.execute(new AddElements.Builder().input(elements).build(), user);
+        graph.execute(new CompactDeltas(), user);
+
+        // When
+        final Dataset<Row> results = graph.execute(new GetDataFrameOfElements.Builder().build(), user);
+
+        // Then
+        final List<Element> elementsFromRows = convertRowsToElements(results.collectAsList());
+        ElementUtil.assertElementEquals(getResultsForGetAllElementsTest(), elementsFromRows);
+    }
 }
@@ -16,6 +16,7 @@
 
 package uk.gov.gchq.gaffer.parquetstore.query;
 
+import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.Path;
 import org.apache.parquet.filter2.predicate.FilterApi;
 import org.apache.parquet.filter2.predicate.FilterPredicate;
@@ -38,6 +39,7 @@ import uk.gov.gchq.gaffer.parquetstore.ParquetStore;
 import uk.gov.gchq.gaffer.parquetstore.ParquetStoreProperties;
 import uk.gov.gchq.gaffer.parquetstore.operation.handler.LongVertexOperationsTest;
 import uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities.CalculatePartitionerTest;
+import uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities.WriteFileIndexes;
 import uk.gov.gchq.gaffer.parquetstore.utils.SchemaUtils;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
@@ -314,6 +316,47 @@ public class QueryGeneratorTest {
         assertThat(expected, containsInAnyOrder(query.getAllParquetFileQueries().toArray()));
     }
 
+    @Test
+    public void testQueryGeneratorSkipsFilesWhoseIndexDoesNotContainTheSeed() throws IOException, OperationException {
+        // Given
+        // - Create snapshot folder
+        final String folder = "file:///" + testFolder.newFolder().toString();
+        final String snapshotFolder = folder + "/" + ParquetStore.getSnapshotPath(1000L);
+        // - Write out Parquet files so know the partitioning, and index them
+        final SchemaUtils schemaUtils = new SchemaUtils(schema);
+        CalculatePartitionerTest.writeData(snapshotFolder, schemaUtils);
+        final Path snapshotPath = new Path(snapshotFolder);
+        new WriteFileIndexes(snapshotPath, schemaUtils, snapshotPath.getFileSystem(new Configuration())).call();
+        // - Initialise store
+        final ParquetStoreProperties storeProperties = new ParquetStoreProperties();
+        storeProperties.setDataDir(folder);
+        storeProperties.setTempFilesDir(folder + "/tmpdata");
+        final ParquetStore store = (ParquetStore) ParquetStore.createStore("graphId", schema, storeProperties);
+
+        // When - query for vertices 0 and 1000000
+        final GetElements getElements = new GetElements.Builder()
+                .input(new EntitySeed(0L), new EntitySeed(1000000L))
+                .seedMatching(SeedMatching.SeedMatchingType.RELATED)
+                .build();
+        final ParquetQuery query = new QueryGenerator(store).getParquetQuery(getElements);
+
+        // Then
+        // - Partition 9 contains vertices up to 100, so its index rules out vertex 1000000
+        // - The reversed edges in partition 0 have destinations 1 to 10, so their index rules out vertex 0
+        final List<ParquetFileQuery> expected = new ArrayList<>();
+        final FilterPredicate vertex0 = eq(FilterApi.longColumn(ParquetStore.VERTEX), 0L);
+        final FilterPredicate source0 = eq(FilterApi.longColumn(ParquetStore.SOURCE), 0L);
+        for (final String group : Arrays.asList(TestGroups.ENTITY, TestGroups.ENTITY_2)) {
+            final Path groupFolderPath = new Path(snapshotFolder, ParquetStore.getGroupSubDir(group, false));
+            expected.add(new ParquetFileQuery(new Path(groupFolderPath, ParquetStore.getFile(0)), vertex0, true));
+        }
+        for (final String group : Arrays.asList(TestGroups.EDGE, TestGroups.EDGE_2)) {
+            final Path groupFolderPath = new Path(snapshotFolder, ParquetStore.getGroupSubDir(group, false));
+            expected.add(new ParquetFileQuery(new Path(groupFolderPath, ParquetStore.getFile(0)), source0, true));
+        }
+        assertThat(expected, containsInAnyOrder(query.getAllParquetFileQueries().toArray()));
+    }
+
     @Test
     public void testQueryGeneratorForGetElementsWithEdgeSeeds() throws IOException, OperationException {
         // Given
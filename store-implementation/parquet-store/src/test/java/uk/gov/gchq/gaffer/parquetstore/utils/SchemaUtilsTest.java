@@ -20,18 +20,26 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.Type;
+
 import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.parquetstore.ParquetStore;
 import uk.gov.gchq.gaffer.parquetstore.testutils.TestUtils;
 import uk.gov.gchq.gaffer.store.StoreException;
 import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
 
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 
 public class SchemaUtilsTest {
     private SchemaUtils utils;
@@ -93,4 +101,77 @@ public class SchemaUtilsTest {
         expected.add(TestGroups.EDGE_2);
         assertEquals(expected, edgeGroups);
     }
+
+    @Test
+    public void shouldRequireAllColumnsWhenViewHasAllProperties() {
+        // When
+        final Set<String> columns = utils.getRequiredColumns(TestGroups.EDGE, new ViewElementDefinition.Builder().build(), true);
+
+        // Then
+        assertNull(columns);
+    }
+
+    @Test
+    public void shouldRequireIdentifiersAndViewPropertiesAndFilteredProperties() {
+        // Given
+        final ViewElementDefinition elementDefinition = new ViewElementDefinition.Builder()
+                .properties("count")
+                .preAggregationFilter(new ElementFilter.Builder()
+                        .select("double")
+                        .execute(new IsMoreThan(1.0))
+                        .build())
+                .build();
+
+        // When
+        final Set<String> columns = utils.getRequiredColumns(TestGroups.EDGE, elementDefinition, false);
+
+        // Then
+        final Set<String> expected = new HashSet<>();
+        expected.add(ParquetStore.SOURCE);
+        expected.add(ParquetStore.DESTINATION);
+        expected.add(ParquetStore.DIRECTED);
+        expected.add("count");
+        expected.add("double");
+        assertEquals(expected, columns);
+    }
+
+    @Test
+    public void shouldRequireAllColumnsExceptExcludedProperties() {
+        // Given
+        final ViewElementDefinition elementDefinition = new ViewElementDefinition.Builder()
+                .excludeProperties("freqMap", "treeSet")
+                .build();
+
+        // When
+        final Set<String> columns = utils.getRequiredColumns(TestGroups.ENTITY, elementDefinition, false);
+
+        // Then
+        final Set<String> expected = new HashSet<>(utils.getColumnToPaths(TestGroups.ENTITY).keySet());
+        expected.remove("freqMap");
+        expected.remove("treeSet");
+        assertEquals(expected, columns);
+    }
+
+    @Test
+    public void shouldProjectParquetSchemaToColumns() {
+        // Given
+        final Set<String> columns = new HashSet<>();
+        columns.add(ParquetStore.SOURCE);
+        columns.add(ParquetStore.DESTINATION);
+        columns.add(ParquetStore.DIRECTED);
+        columns.add("freqMap");
+
+        // When
+        final MessageType projection = SchemaUtils.getProjectedParquetSchema(utils.getParquetSchema(TestGroups.EDGE), columns);
+
+        // Then
+        final Set<String> projectedColumns = new HashSet<>();
+        for (final Type field : projection.getFields()) {
+            projectedColumns.add(field.getName().split("_")[0]);
+        }
+        assertEquals(columns, projectedColumns);
+        assertEquals(utils.getColumnToPaths(TestGroups.EDGE).get("freqMap").length, projection.getPaths().stream()
+                .filter(path -> path[0].startsWith("freqMap"))
+                .count());
+    }
 }
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.proxystore;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.core.exception.Error;
+import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
+import uk.gov.gchq.gaffer.core.exception.GafferWrappedErrorRuntimeException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Parses the results from the chunked endpoint of the delegate REST API, where
+ * each result is written as a line of JSON.
+ * <p>
+ * If the delegate store fails after some results have been sent, the final
+ * chunk is an error starting with {@link Error#CHUNKED_ERROR_PREFIX}. This is
+ * thrown as a {@link GafferWrappedErrorRuntimeException}, so the partial
+ * results are not mistaken for the complete results.
+ *
+ * @param <T> the type of the results
+ */
+public class ChunkedResultsParser<T> implements ProxyResultsIterable.ResultsParser<T> {
+    private final ObjectReader reader;
+
+    /**
+     * @param resultType the type of each result
+     */
+    public ChunkedResultsParser(final JavaType resultType) {
+        this.reader = JSONSerialiser.getMapper().readerFor(resultType);
+    }
+
+    @Override
+    public Iterator<T> parse(final InputStream stream) {
+        return new ChunkedResultsIterator(new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8)));
+    }
+
+    private final class ChunkedResultsIterator implements CloseableIterator<T> {
+        private final BufferedReader chunks;
+        private boolean ended;
+        private boolean hasNext;
+        private T next;
+
+        private ChunkedResultsIterator(final BufferedReader chunks) {
+            this.chunks = chunks;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (!hasNext && !ended) {
+                try {
+                    String chunk = chunks.readLine();
+                    while (null != chunk && chunk.isEmpty()) {
+                        chunk = chunks.readLine();
+                    }
+                    if (null == chunk) {
+                        ended = true;
+                    } else if (chunk.startsWith(Error.CHUNKED_ERROR_PREFIX)) {
+                        ended = true;
+                        throw new GafferWrappedErrorRuntimeException(JSONSerialiser.deserialise(
+                                chunk.substring(Error.CHUNKED_ERROR_PREFIX.length()), Error.class));
+                    } else {
+                        next = reader.readValue(chunk);
+                        hasNext = true;
+                    }
+                } catch (final IOException e) {
+                    ended = true;
+                    throw new GafferRuntimeException("Unable to read chunked results from the delegate Gaffer store: " + e.getMessage(), e);
+                }
+            }
+            return hasNext;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            hasNext = false;
+            final T result = next;
+            next = null;
+            return result;
+        }
+
+        @Override
+        public void close() {
+            ended = true;
+            CloseableUtil.close(chunks);
+        }
+    }
+}
@@ -36,11 +36,42 @@ public class ProxyProperties extends StoreProperties {
     public static final String CONNECT_TIMEOUT = "gaffer.connect-timeout";
     public static final String READ_TIMEOUT = "gaffer.read-timeout";
 
+    /**
+     * Property name for requesting iterable results from the delegate REST API
+     * in the compact Gaffer binary format rather than JSON. If the REST API does
+     * not support the binary format, JSON is returned instead.
+     */
+    public static final String BINARY_RESULTS = "gaffer.binary-results";
+
+    /**
+     * Property name for streaming iterable results from the delegate REST API
+     * chunked endpoint, rather than reading the whole JSON response into memory.
+     * This is used when binary results are disabled.
+     */
+    public static final String CHUNKED_RESULTS = "gaffer.chunked-results";
+
+    /**
+     * Property name for the maximum number of pooled HTTP connections to the
+     * delegate REST API.
+     */
+    public static final String MAX_CONNECTIONS = "gaffer.max-connections";
+
+    /**
+     * Property name for the time in milliseconds to wait for a pooled HTTP
+     * connection to become available. Streamed results hold a connection
+     * until they are closed.
+     */
+    public static final String CONNECTION_REQUEST_TIMEOUT = "gaffer.connection-request-timeout";
+
     public static final String DEFAULT_GAFFER_HOST = "localhost";
     public static final String DEFAULT_GAFFER_CONTEXT_ROOT = "/rest";
     public static final int DEFAULT_GAFFER_PORT = 8080;
     public static final int DEFAULT_CONNECT_TIMEOUT = 10000;
     public static final int DEFAULT_READ_TIMEOUT = 10000;
+    public static final String DEFAULT_BINARY_RESULTS = "true";
+    public static final String DEFAULT_CHUNKED_RESULTS = "true";
+    public static final int DEFAULT_MAX_CONNECTIONS = 20;
+    public static final int DEFAULT_CONNECTION_REQUEST_TIMEOUT = 10000;
 
     private static final String GAFFER_REST_API_VERSION = "v2";
 
@@ -94,6 +125,48 @@ public class ProxyProperties extends StoreProperties {
         set(READ_TIMEOUT, String.valueOf(timeout));
     }
 
+    public boolean isBinaryResults() {
+        return Boolean.parseBoolean(get(BINARY_RESULTS, DEFAULT_BINARY_RESULTS));
+    }
+
+    public void setBinaryResults(final boolean binaryResults) {
+        set(BINARY_RESULTS, String.valueOf(binaryResults));
+    }
+
+    public boolean isChunkedResults() {
+        return Boolean.parseBoolean(get(CHUNKED_RESULTS, DEFAULT_CHUNKED_RESULTS));
+    }
+
+    public void setChunkedResults(final boolean chunkedResults) {
+        set(CHUNKED_RESULTS, String.valueOf(chunkedResults));
+    }
+
+    public int getMaxConnections() {
+        final String maxConnections = get(MAX_CONNECTIONS, null);
+        try {
+            return null == maxConnections ? DEFAULT_MAX_CONNECTIONS : Integer.parseInt(maxConnections);
+        } catch (final NumberFormatException e) {
+            throw new IllegalArgumentException("Unable to convert gaffer max connections into an integer", e);
+        }
+    }
+
+    public void setMaxConnections(final int maxConnections) {
+        set(MAX_CONNECTIONS, String.valueOf(maxConnections));
+    }
+
+    public int getConnectionRequestTimeout() {
+        final String timeout = get(CONNECTION_REQUEST_TIMEOUT, null);
+        try {
+            return null == timeout ? DEFAULT_CONNECTION_REQUEST_TIMEOUT : Integer.parseInt(timeout);
+        } catch (final NumberFormatException e) {
+            throw new IllegalArgumentException("Unable to convert gaffer connection request timeout into an integer", e);
+        }
+    }
+
+    public void setConnectionRequestTimeout(final int timeout) {
+        set(CONNECTION_REQUEST_TIMEOUT, String.valueOf(timeout));
+    }
+
     public String getGafferHost() {
         return get(GAFFER_HOST, DEFAULT_GAFFER_HOST);
     }
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.proxystore;
+
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
+
+import javax.ws.rs.core.Response;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A {@link CloseableIterable} of results that are parsed incrementally from
+ * the entity stream of a delegate REST API {@link Response}, so the results
+ * are never all held in memory.
+ * <p>
+ * As a response can only be read once, and requesting the results again
+ * would re-execute the operation chain on the delegate store, the results can
+ * only be iterated once.
+ * <p>
+ * Each response holds one of the ProxyStore's pooled HTTP connections until
+ * it is closed, so this iterable must always be closed. The response is closed
+ * once its results have been fully read, or when the iterator or this iterable
+ * are closed. Closing a response before all of its results have been read
+ * releases the connection without reading the remaining results.
+ *
+ * @param <T> the type of the results
+ */
+public class ProxyResultsIterable<T> implements CloseableIterable<T> {
+    private final ResultsParser<T> resultsParser;
+    private Response response;
+    private ResultsIterator iterator;
+    private boolean iterated;
+
+    /**
+     * @param response      the successful response containing the results
+     * @param resultsParser parses the results from a response entity stream
+     */
+    public ProxyResultsIterable(final Response response,
+                                final ResultsParser<T> resultsParser) {
+        this.response = response;
+        this.resultsParser = resultsParser;
+    }
+
+    @Override
+    public synchronized CloseableIterator<T> iterator() {
+        if (iterated) {
+            throw new IllegalStateException("Results from the delegate Gaffer store can only be iterated once");
+        }
+        iterated = true;
+
+        final Iterator<T> results;
+        try {
+            results = resultsParser.parse(response.readEntity(InputStream.class));
+        } catch (final IOException | RuntimeException e) {
+            close();
+            throw new GafferRuntimeException("Unable to read results from the delegate Gaffer store: " + e.getMessage(), e);
+        }
+
+        iterator = new ResultsIterator(results);
+        return iterator;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (null != iterator) {
+            iterator.close();
+        } else if (null != response) {
+            response.close();
+            response = null;
+        }
+    }
+
+    /**
+     * Parses results from a response entity stream. The results should be
+     * read lazily as they are iterated.
+     *
+     * @param <T> the type of the results
+     */
+    @FunctionalInterface
+    public interface ResultsParser<T> {
+        /**
+         * @param stream the response entity stream
+         * @return an iterator over the results in the stream
+         * @throws IOException if the stream cannot be read
+         */
+        Iterator<T> parse(final InputStream stream) throws IOException;
+    }
+
+    private final class ResultsIterator implements CloseableIterator<T> {
+        private final Iterator<T> results;
+        private boolean closed;
+
+        private ResultsIterator(final Iterator<T> results) {
+            this.results = results;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (closed) {
+                return false;
+            }
+
+            final boolean hasNext;
+            try {
+                hasNext = results.hasNext();
+            } catch (final RuntimeException e) {
+                close();
+                throw e;
+            }
+            if (!hasNext) {
+                close();
+            }
+            return hasNext;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return results.next();
+        }
+
+        @Override
+        public void close() {
+            synchronized (ProxyResultsIterable.this) {
+                if (!closed) {
+                    closed = true;
+                    CloseableUtil.close(results);
+                    if (null != response) {
+                        response.close();
+                        response = null;
+                    }
+                }
+            }
+        }
+    }
+}
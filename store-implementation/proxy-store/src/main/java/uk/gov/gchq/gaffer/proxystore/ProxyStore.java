@@ -17,8 +17,14 @@
 package uk.gov.gchq.gaffer.proxystore;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
 import com.google.common.collect.Sets;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.glassfish.jersey.apache.connector.ApacheClientProperties;
+import org.glassfish.jersey.apache.connector.ApacheConnectorProvider;
+import org.glassfish.jersey.client.ClientConfig;
 import org.glassfish.jersey.client.ClientProperties;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -55,6 +61,8 @@ import uk.gov.gchq.gaffer.store.TypeReferenceStoreImpl;
 import uk.gov.gchq.gaffer.store.operation.handler.OperationHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
 import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.serialiser.BinaryResultsReader;
+import uk.gov.gchq.gaffer.store.serialiser.BinaryResultsWriter;
 
 import javax.ws.rs.client.Client;
 import javax.ws.rs.client.ClientBuilder;
@@ -65,6 +73,8 @@ import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status.Family;
 
 import java.io.UnsupportedEncodingException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
 import java.net.URL;
 import java.util.Collections;
 import java.util.HashSet;
@@ -76,9 +86,16 @@ import java.util.Set;
  * <p>
  * The ProxyStore is simply a Gaffer store which delegates all operations to a Gaffer
  * REST API.
+ * <p>
+ * When binary or chunked results are enabled, the output of an operation
+ * chain that returns an {@link Iterable} is streamed from the REST API as a
+ * single use {@link ProxyResultsIterable}. It can only be iterated once and
+ * must be closed to release its connection.
  */
 public class ProxyStore extends Store {
     private static final Logger LOGGER = LoggerFactory.getLogger(ProxyStore.class);
+    private static final MediaType BINARY_RESULTS_MEDIA_TYPE = MediaType.valueOf(BinaryResultsWriter.MEDIA_TYPE);
+    private static final String[] BINARY_RESULTS_ACCEPT = {BinaryResultsWriter.MEDIA_TYPE, MediaType.APPLICATION_JSON + ";q=0.9"};
     private Client client;
     private Schema schema;
 
@@ -167,14 +184,100 @@ public class ProxyStore extends Store {
             throw new OperationException("Unable to serialise operation chain into JSON.", e);
         }
 
-        final URL url = getProperties().getGafferUrl("graph/operations/execute");
         try {
-            return doPost(url, opChainJson, opChain.getOutputTypeReference(), context);
+            if (isIterableOutput(opChain.getOutputTypeReference())) {
+                if (getProperties().isBinaryResults()) {
+                    return doPostForBinaryResults(getProperties().getGafferUrl("graph/operations/execute"),
+                            opChainJson, opChain.getOutputTypeReference(), context);
+                }
+                if (getProperties().isChunkedResults()) {
+                    return doPostForChunkedResults(getProperties().getGafferUrl("graph/operations/execute/chunked"),
+                            opChainJson, opChain.getOutputTypeReference(), context);
+                }
+            }
+            return doPost(getProperties().getGafferUrl("graph/operations/execute"),
+                    opChainJson, opChain.getOutputTypeReference(), context);
         } catch (final StoreException e) {
             throw new OperationException(e.getMessage(), e);
         }
     }
 
+    /**
+     * Posts the request, asking for the results in the Gaffer binary format
+     * with JSON as a fallback. Binary results are streamed and deserialised
+     * lazily as they are iterated. The results are never requested again, so
+     * they are returned as a single use {@link ProxyResultsIterable} that
+     * throws an {@link IllegalStateException} if it is iterated more than
+     * once. The results must be closed to release the connection.
+     *
+     * @param url        the url to post to
+     * @param jsonBody   the json request body
+     * @param outputType the type of the output
+     * @param context    the context
+     * @param <O>        the output type
+     * @return the results
+     * @throws StoreException if the request fails
+     */
+    protected <O> O doPostForBinaryResults(final URL url, final String jsonBody,
+                                           final TypeReference<O> outputType,
+                                           final Context context) throws StoreException {
+        final Response response = doPostForStream(url, jsonBody, context, BINARY_RESULTS_ACCEPT);
+        if (Family.SUCCESSFUL == response.getStatusInfo().getFamily() && isBinaryResults(response)) {
+            final Class<?> resultClass = getResultType(outputType).getRawClass();
+            return (O) new ProxyResultsIterable<>(response,
+                    stream -> new BinaryResultsReader(stream, resultClass).iterator());
+        }
+
+        return handleResponse(response, outputType);
+    }
+
+    /**
+     * Posts the request to the chunked endpoint of the delegate REST API. The
+     * JSON results are streamed and deserialised lazily as they are iterated.
+     * The results are never requested again, so they are returned as a single
+     * use {@link ProxyResultsIterable} that throws an {@link IllegalStateException}
+     * if it is iterated more than once. The results must be closed to release
+     * the connection.
+     *
+     * @param url        the chunked url to post to
+     * @param jsonBody   the json request body
+     * @param outputType the type of the output, used to determine the type of each result
+     * @param context    the context
+     * @param <O>        the output type
+     * @return the results
+     * @throws StoreException if the request fails
+     */
+    protected <O> O doPostForChunkedResults(final URL url, final String jsonBody,
+                                            final TypeReference<O> outputType,
+                                            final Context context) throws StoreException {
+        final Response response = checkStreamedResponse(doPostForStream(url, jsonBody, context, MediaType.APPLICATION_JSON));
+        return (O) new ProxyResultsIterable<>(response, new ChunkedResultsParser<>(getResultType(outputType)));
+    }
+
+    private Response doPostForStream(final URL url, final String jsonBody,
+                                     final Context context, final String... acceptTypes) throws StoreException {
+        try {
+            return createRequest(jsonBody, url, context)
+                    .accept(acceptTypes)
+                    .post(Entity.json(jsonBody));
+        } catch (final Exception e) {
+            throw new StoreException("Failed to execute post via " +
+                    "the Gaffer URL " + url.toExternalForm(), e);
+        }
+    }
+
+    private Response checkStreamedResponse(final Response response) throws StoreException {
+        if (Family.SUCCESSFUL != response.getStatusInfo().getFamily()) {
+            // Reads the error from the response and throws it
+            handleResponse(response, null);
+        }
+        return response;
+    }
+
+    private static boolean isBinaryResults(final Response response) {
+        return response.hasEntity() && BINARY_RESULTS_MEDIA_TYPE.isCompatible(response.getMediaType());
+    }
+
     protected <O> O doPost(final URL url, final Object body,
                            final TypeReference<O> outputType,
                            final Context context) throws StoreException {
@@ -253,6 +356,25 @@ public class ProxyStore extends Store {
         return request;
     }
 
+    private static JavaType getResultType(final TypeReference<?> outputType) {
+        final JavaType resultType = JSONSerialiser.getMapper().getTypeFactory().constructType(outputType.getType()).containedType(0);
+        return null != resultType ? resultType : JSONSerialiser.getMapper().getTypeFactory().constructType(Object.class);
+    }
+
+    private static boolean isIterableOutput(final TypeReference<?> outputType) {
+        if (null == outputType) {
+            return false;
+        }
+        Type type = outputType.getType();
+        if (type instanceof ParameterizedType) {
+            type = ((ParameterizedType) type).getRawType();
+        }
+        // Only outputs that can be a CloseableIterable are streamed, not Object or List outputs
+        return type instanceof Class
+                && Iterable.class.isAssignableFrom((Class<?>) type)
+                && ((Class<?>) type).isAssignableFrom(CloseableIterable.class);
+    }
+
     protected <O> O deserialise(final String jsonString,
                                 final TypeReference<O> outputTypeReference)
             throws SerialisationException {
@@ -324,10 +446,21 @@ public class ProxyStore extends Store {
     }
 
     protected Client createClient() {
-        final Client client = ClientBuilder.newClient();
-        client.property(ClientProperties.CONNECT_TIMEOUT, getProperties().getConnectTimeout());
-        client.property(ClientProperties.READ_TIMEOUT, getProperties().getReadTimeout());
-        return client;
+        // Connections to the delegate REST API are pooled and reused between requests
+        final PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(getProperties().getMaxConnections());
+        connectionManager.setDefaultMaxPerRoute(getProperties().getMaxConnections());
+
+        final ClientConfig config = new ClientConfig();
+        config.connectorProvider(new ApacheConnectorProvider());
+        config.property(ApacheClientProperties.CONNECTION_MANAGER, connectionManager);
+        // Fail rather than wait forever if the pool is exhausted, e.g. by streamed results that have not been closed
+        config.property(ApacheClientProperties.REQUEST_CONFIG, RequestConfig.custom()
+                .setConnectionRequestTimeout(getProperties().getConnectionRequestTimeout())
+                .build());
+        config.property(ClientProperties.CONNECT_TIMEOUT, getProperties().getConnectTimeout());
+        config.property(ClientProperties.READ_TIMEOUT, getProperties().getReadTimeout());
+        return ClientBuilder.newClient(config);
     }
 
     @Override
@@ -372,6 +505,11 @@ public class ProxyStore extends Store {
             return this;
         }
 
+        public Builder maxConnections(final int maxConnections) {
+            properties.setMaxConnections(maxConnections);
+            return this;
+        }
+
         public Builder jsonSerialiser(final Class<? extends JSONSerialiser> serialiserClass) {
             properties.setJsonSerialiserClass(serialiserClass);
             return this;
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.proxystore;
+
+import com.google.common.collect.Lists;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.StringUtil;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.core.exception.Error;
+import uk.gov.gchq.gaffer.core.exception.GafferWrappedErrorRuntimeException;
+import uk.gov.gchq.gaffer.core.exception.Status;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ChunkedResultsParserTest {
+    private static final Element ENTITY_1 = new Entity.Builder()
+            .group(TestGroups.ENTITY)
+            .vertex("vertex1")
+            .build();
+    private static final Element ENTITY_2 = new Entity.Builder()
+            .group(TestGroups.ENTITY)
+            .vertex("vertex2")
+            .build();
+
+    private final ChunkedResultsParser<Element> parser =
+            new ChunkedResultsParser<>(JSONSerialiser.getMapper().getTypeFactory().constructType(Element.class));
+
+    @Test
+    public void shouldParseEachChunkAsAResult() throws IOException {
+        // Given
+        final String chunks = toJson(ENTITY_1) + "\r\n" + toJson(ENTITY_2) + "\r\n";
+
+        // When
+        final List<Element> results = Lists.newArrayList(parser.parse(new ByteArrayInputStream(StringUtil.toBytes(chunks))));
+
+        // Then
+        assertEquals(Arrays.asList(ENTITY_1, ENTITY_2), results);
+    }
+
+    @Test
+    public void shouldThrowErrorFromFinalChunkAfterReturningEarlierResults() throws IOException {
+        // Given
+        final Error error = new Error.ErrorBuilder()
+                .status(Status.INTERNAL_SERVER_ERROR)
+                .statusCode(500)
+                .simpleMessage("Store failure")
+                .build();
+        final String chunks = toJson(ENTITY_1) + "\r\n"
+                + Error.CHUNKED_ERROR_PREFIX + StringUtil.toString(JSONSerialiser.serialise(error)) + "\r\n";
+        final Iterator<Element> results = parser.parse(new ByteArrayInputStream(StringUtil.toBytes(chunks)));
+
+        // When
+        final Element first = results.next();
+        try {
+            results.hasNext();
+            fail("Exception expected");
+        } catch (final GafferWrappedErrorRuntimeException e) {
+            // Then
+            assertEquals(ENTITY_1, first);
+            assertTrue(e.getMessage().contains("Store failure"));
+        }
+        assertFalse(results.hasNext());
+    }
+
+    private static String toJson(final Object obj) throws IOException {
+        return StringUtil.toString(JSONSerialiser.serialise(obj));
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.proxystore;
+
+import com.google.common.collect.Lists;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.StringUtil;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
+
+import javax.ws.rs.core.Response;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class ProxyResultsIterableTest {
+    private static final ProxyResultsIterable.ResultsParser<String> LINE_PARSER =
+            stream -> new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8)).lines().iterator();
+
+    @Test
+    public void shouldReadResultsFromResponseAndOnlyAllowOneIteration() {
+        // Given
+        final Response response = createResponse("a\nb\nc");
+        final ProxyResultsIterable<String> iterable = new ProxyResultsIterable<>(response, LINE_PARSER);
+
+        // When
+        final Iterable<String> results = Lists.newArrayList(iterable);
+
+        // Then
+        assertEquals(Arrays.asList("a", "b", "c"), results);
+        verify(response).close();
+        try {
+            iterable.iterator();
+            fail("Exception expected");
+        } catch (final IllegalStateException e) {
+            assertEquals("Results from the delegate Gaffer store can only be iterated once", e.getMessage());
+        }
+        verify(response, times(1)).readEntity(InputStream.class);
+    }
+
+    @Test
+    public void shouldCloseResponseWhenIteratorClosedBeforeAllResultsRead() {
+        // Given
+        final Response response = createResponse("a\nb\nc");
+        final ProxyResultsIterable<String> iterable = new ProxyResultsIterable<>(response, LINE_PARSER);
+        final CloseableIterator<String> iterator = iterable.iterator();
+
+        // When
+        final String first = iterator.next();
+        iterator.close();
+
+        // Then
+        assertEquals("a", first);
+        verify(response).close();
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    public void shouldCloseOpenIteratorsAndUnreadResponseWhenClosed() {
+        // Given
+        final Response response = createResponse("a\nb\nc");
+        final ProxyResultsIterable<String> iterable = new ProxyResultsIterable<>(response, LINE_PARSER);
+        final Iterator<String> iterator = iterable.iterator();
+        iterator.next();
+
+        // When
+        iterable.close();
+
+        // Then
+        verify(response).close();
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    public void shouldCloseInitialResponseWhenClosedWithoutIterating() {
+        // Given
+        final Response response = createResponse("a");
+        final ProxyResultsIterable<String> iterable = new ProxyResultsIterable<>(response, LINE_PARSER);
+
+        // When
+        iterable.close();
+
+        // Then
+        verify(response).close();
+    }
+
+    @Test
+    public void shouldCloseResponseAndThrowExceptionIfResultsCannotBeParsed() {
+        // Given
+        final Response response = createResponse("a");
+        final ProxyResultsIterable<String> iterable = new ProxyResultsIterable<>(response, stream -> {
+            throw new IllegalArgumentException("Invalid results");
+        });
+
+        // When / Then
+        try {
+            iterable.iterator();
+            fail("Exception expected");
+        } catch (final GafferRuntimeException e) {
+            assertTrue(e.getMessage().contains("Invalid results"));
+        }
+        verify(response).close();
+    }
+
+    private static Response createResponse(final String entity) {
+        final Response response = mock(Response.class);
+        given(response.readEntity(InputStream.class)).willReturn(new ByteArrayInputStream(StringUtil.toBytes(entity)));
+        return response;
+    }
+}
@@ -43,7 +43,9 @@ import uk.gov.gchq.gaffer.mapstore.MapStore;
 import uk.gov.gchq.gaffer.operation.OperationChain;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.impl.GetVariable;
 import uk.gov.gchq.gaffer.operation.impl.Limit;
+import uk.gov.gchq.gaffer.operation.impl.SetVariable;
 import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
@@ -239,6 +241,26 @@ public class ProxyStoreBasicIT {
         graph.execute(add, USER);
     }
 
+    @Test
+    public void shouldReturnObjectOutputWithoutStreaming() throws Exception {
+        // Given
+        final OperationChain<Object> opChain = new OperationChain.Builder()
+                .first(new SetVariable.Builder()
+                        .variableName("variable")
+                        .input("value")
+                        .build())
+                .then(new GetVariable.Builder()
+                        .variableName("variable")
+                        .build())
+                .build();
+
+        // When
+        final Object result = graph.execute(opChain, USER);
+
+        // Then
+        assertEquals("value", result);
+    }
+
     @Test
     public void shouldNotErrorWithNonNullOptionsMapAndNullHandlerOption() throws Exception {
         final AddElements add = new AddElements.Builder()